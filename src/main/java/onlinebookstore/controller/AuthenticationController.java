@@ -10,10 +10,15 @@ import onlinebookstore.dto.user.UserRegistrationRequestDto;
 import onlinebookstore.dto.user.UserResponseDto;
 import onlinebookstore.exception.RegistrationException;
 import onlinebookstore.security.AuthenticationService;
+import onlinebookstore.security.JwtAuthenticationFilter;
 import onlinebookstore.service.user.UserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @Tag(name = "User management", description = "Endpoints of management users.")
@@ -43,4 +48,11 @@ public class AuthenticationController {
     ) {
         return authenticationService.authenticate(request);
     }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Logout user", description = "Revoke the access token of the current user")
+    public void logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        authenticationService.logout(JwtAuthenticationFilter.getToken(authorization));
+    }
 }
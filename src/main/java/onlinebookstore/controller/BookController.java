@@ -3,33 +3,52 @@ package onlinebookstore.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.io.InputStream;
 import lombok.RequiredArgsConstructor;
 import onlinebookstore.dto.book.BookDto;
+import onlinebookstore.dto.book.BookImportResultDto;
 import onlinebookstore.dto.book.BookSearchParametersDto;
 import onlinebookstore.dto.book.CreateBookRequestDto;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.dto.pagination.CursorRequestDto;
+import onlinebookstore.dto.stock.StockDto;
+import onlinebookstore.dto.stock.UpdateStockDto;
+import onlinebookstore.service.book.BookExportService;
+import onlinebookstore.service.book.BookImportService;
 import onlinebookstore.service.book.BookService;
+import onlinebookstore.service.stock.StockService;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Book management", description = "Endpoints of managing books")
 @RestController
 @RequestMapping("/books")
 @RequiredArgsConstructor
 public class BookController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final StockService stockService;
 
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping
@@ -38,11 +57,31 @@ public class BookController {
         return bookService.findAll(pageable);
     }
 
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/cursor")
+    @Operation(summary = "Get books with a cursor",
+            description = "Get a slice of available books after the given cursor")
+    public CursorPageDto<BookDto> getAllByCursor(
+            @ParameterObject @Valid CursorRequestDto cursorRequest) {
+        return bookService.findAll(cursorRequest);
+    }
+
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping("/search")
-    @Operation(summary = "Search books", description = "Get a list of books by given parameters")
-    public List<BookDto> searchBooks(@Valid BookSearchParametersDto searchParameters) {
-        return bookService.search(searchParameters);
+    @Operation(summary = "Search books", description = "Get a page of books by given parameters")
+    public Page<BookDto> searchBooks(@Valid BookSearchParametersDto searchParameters,
+                                     @ParameterObject Pageable pageable) {
+        return bookService.search(searchParameters, pageable);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search books with a cursor",
+            description = "Get a slice of books by given parameters after the given cursor")
+    public CursorPageDto<BookDto> searchBooksByCursor(
+            @Valid BookSearchParametersDto searchParameters,
+            @ParameterObject @Valid CursorRequestDto cursorRequest) {
+        return bookService.search(searchParameters, cursorRequest);
     }
 
     @PreAuthorize("hasRole('ROLE_USER')")
@@ -60,6 +99,32 @@ public class BookController {
         return bookService.save(bookRequestDto);
     }
 
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/import",
+            consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import books",
+            description = "Import books from a CSV or NDJSON body and report rejected rows")
+    public BookImportResultDto importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        return bookImportService.importBooks(body, contentType);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    @Operation(summary = "Export books as CSV",
+            description = "Stream all available books with their category ids as CSV")
+    public ResponseEntity<StreamingResponseBody> exportBooksAsCsv() {
+        return exportBooks(MediaType.valueOf(TEXT_CSV_VALUE));
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export books as NDJSON",
+            description = "Stream all available books with their category ids as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportBooksAsNdjson() {
+        return exportBooks(MediaType.APPLICATION_NDJSON);
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PutMapping("/{id}")
     @Operation(summary = "Update book", description = "Update book identified by id")
@@ -68,6 +133,24 @@ public class BookController {
         return bookService.update(id, bookRequestDto);
     }
 
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/{id}/stock")
+    @Operation(summary = "Get book stock",
+            description = "Get the quantity of a book in stock. "
+                    + "The quantity is null for a book whose stock isn't tracked.")
+    public StockDto getStock(@PathVariable Long id) {
+        return stockService.getStock(id);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PatchMapping("/{id}/stock")
+    @Operation(summary = "Update book stock",
+            description = "Set the quantity of a book in stock")
+    public StockDto updateStock(@PathVariable Long id,
+                                @RequestBody @Valid UpdateStockDto updateStockDto) {
+        return stockService.updateStock(id, updateStockDto);
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -75,4 +158,10 @@ public class BookController {
     public void delete(@PathVariable Long id) {
         bookService.deleteById(id);
     }
+
+    private ResponseEntity<StreamingResponseBody> exportBooks(MediaType contentType) {
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(output -> bookExportService.exportBooks(output, contentType));
+    }
 }
@@ -5,8 +5,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import onlinebookstore.dto.category.CategoriesVersionDto;
 import onlinebookstore.dto.category.CategoryDto;
 import onlinebookstore.dto.category.CreateCategoryRequestDto;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.dto.pagination.CursorRequestDto;
 import onlinebookstore.service.book.BookService;
 import onlinebookstore.service.category.CategoryService;
 import org.springdoc.core.annotations.ParameterObject;
@@ -23,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Categories manager.", description = "Endpoints of managing categories.")
 @RequestMapping("/categories")
@@ -47,7 +51,10 @@ public class CategoryController {
             summary = "Get all categories.",
             description = "Retrieve a list of all available categories."
     )
-    public Page<CategoryDto> getAll(@ParameterObject Pageable pageable) {
+    public Page<CategoryDto> getAll(@ParameterObject Pageable pageable, WebRequest request) {
+        if (isNotModified(request, categoryService.getVersion())) {
+            return null;
+        }
         return categoryService.findAll(pageable);
     }
 
@@ -57,8 +64,13 @@ public class CategoryController {
             summary = "Get a category by id.",
             description = "Retrieve a specific category by its ID"
     )
-    public CategoryDto getCategoryById(@PathVariable Long id) {
-        return categoryService.getById(id);
+    public CategoryDto getCategoryById(@PathVariable Long id, WebRequest request) {
+        CategoriesVersionDto version = categoryService.getVersion();
+        CategoryDto category = categoryService.getById(id);
+        if (isNotModified(request, version)) {
+            return null;
+        }
+        return category;
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -96,4 +108,22 @@ public class CategoryController {
     ) {
         return bookService.getByCategoryId(id, pageable);
     }
+
+    @PreAuthorize(value = "hasRole('ROLE_USER')")
+    @GetMapping("/{id}/books/cursor")
+    @Operation(
+            summary = "Get books by a specific category with a cursor.",
+            description = "Retrieve a slice of books by a specific category after the given cursor."
+    )
+    public CursorPageDto<BookDtoWithoutCategoryIds> getBooksByCategoryIdAndCursor(
+            @PathVariable Long id,
+            @ParameterObject @Valid CursorRequestDto cursorRequest
+    ) {
+        return bookService.getByCategoryId(id, cursorRequest);
+    }
+
+    private boolean isNotModified(WebRequest request, CategoriesVersionDto version) {
+        long lastModified = version.lastModified().toEpochMilli();
+        return request.checkNotModified(version.tag() + "-" + lastModified, lastModified);
+    }
 }
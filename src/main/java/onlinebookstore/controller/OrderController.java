@@ -3,14 +3,23 @@ package onlinebookstore.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.concurrent.Callable;
 import lombok.RequiredArgsConstructor;
 import onlinebookstore.dto.order.OrderDto;
 import onlinebookstore.dto.order.OrderRequestDto;
+import onlinebookstore.dto.order.OrderStatusBatchRequestDto;
+import onlinebookstore.dto.order.OrderStatusBatchResultDto;
 import onlinebookstore.dto.order.UpdateOrderDto;
 import onlinebookstore.dto.orderitem.OrderItemDto;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.dto.pagination.CursorRequestDto;
 import onlinebookstore.model.User;
+import onlinebookstore.service.idempotency.IdempotencyStore;
 import onlinebookstore.service.order.OrderService;
+import onlinebookstore.service.order.OrderStatusService;
 import onlinebookstore.service.orderitem.OrderItemService;
+import onlinebookstore.service.retry.ConflictRetryExecutor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -21,6 +30,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -32,7 +42,10 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class OrderController {
     private final OrderService orderService;
+    private final OrderStatusService orderStatusService;
     private final OrderItemService orderItemService;
+    private final IdempotencyStore idempotencyStore;
+    private final ConflictRetryExecutor conflictRetryExecutor;
 
     @PostMapping
     @PreAuthorize(value = "hasRole('ROLE_USER')")
@@ -40,9 +53,13 @@ public class OrderController {
     @Operation(summary = "Add order.", description = "Place an order by the user "
             + "to be able to purchase books from their shopping cart.")
     public OrderDto addOrder(Authentication authentication,
+                             @RequestHeader(name = IdempotencyStore.IDEMPOTENCY_KEY_HEADER,
+                                     required = false) String idempotencyKey,
                              @RequestBody @Valid OrderRequestDto orderRequestDto) {
         User user = (User) authentication.getPrincipal();
-        return orderService.createOrder(user.getId(), orderRequestDto);
+        return idempotencyStore.execute(user.getId(), "orders", idempotencyKey, orderRequestDto,
+                () -> conflictRetryExecutor.execute("orders.create",
+                        () -> orderService.createOrder(user.getId(), orderRequestDto)));
     }
 
     @GetMapping
@@ -53,12 +70,34 @@ public class OrderController {
         return orderService.getOrders(user.getId(), pageable);
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize(value = "hasRole('ROLE_USER')")
+    @Operation(summary = "Get orders with a cursor.",
+            description = "Retrieve a slice of user's order history after the given cursor.")
+    public CursorPageDto<OrderDto> getOrdersByCursor(
+            Authentication authentication,
+            @ParameterObject @Valid CursorRequestDto cursorRequest) {
+        User user = (User) authentication.getPrincipal();
+        return orderService.getOrders(user.getId(), cursorRequest);
+    }
+
+    @PatchMapping("/status")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(summary = "Update status of many orders.",
+            description = "Move the given orders to the next status and report "
+                    + "the outcome for every order.")
+    public Callable<OrderStatusBatchResultDto> updateOrders(
+            @RequestBody @Valid OrderStatusBatchRequestDto requestDto) {
+        return () -> orderStatusService.changeStatusOrders(requestDto);
+    }
+
     @PatchMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @Operation(summary = "Update order status.", description = "Update order status.")
     public OrderDto updateOrder(@PathVariable("id") Long orderId,
                                 @RequestBody @Valid UpdateOrderDto updateOrderDto) {
-        return orderService.changeStatusOrder(orderId, updateOrderDto);
+        return conflictRetryExecutor.execute("orders.update-status",
+                () -> orderService.changeStatusOrder(orderId, updateOrderDto));
     }
 
     @GetMapping("/{orderId}/items")
@@ -3,13 +3,22 @@ package onlinebookstore.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.Arrays;
 import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.cartitem.CartItemBatchRequestDto;
+import onlinebookstore.dto.cartitem.CartItemBatchResultDto;
+import onlinebookstore.dto.cartitem.CartItemChangeDto;
 import onlinebookstore.dto.cartitem.CartItemRequestDto;
 import onlinebookstore.dto.cartitem.UpdateCartItemDto;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
 import onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import onlinebookstore.model.User;
+import onlinebookstore.service.idempotency.IdempotencyStore;
+import onlinebookstore.service.retry.ConflictRetryExecutor;
 import onlinebookstore.service.shoppingcart.ShoppingCartService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,6 +27,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,7 +37,13 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/cart")
 @RequiredArgsConstructor
 public class ShoppingCartController {
+    public static final String PREFER = "Prefer";
+    public static final String PREFERENCE_APPLIED = "Preference-Applied";
+    public static final String RETURN_MINIMAL = "return=minimal";
+
     private final ShoppingCartService shoppingCartService;
+    private final IdempotencyStore idempotencyStore;
+    private final ConflictRetryExecutor conflictRetryExecutor;
 
     @GetMapping
     @PreAuthorize("hasRole('ROLE_USER')")
@@ -38,35 +54,121 @@ public class ShoppingCartController {
         return shoppingCartService.getShoppingCart(user.getId());
     }
 
+    @GetMapping("/totals")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Operation(summary = "Get shopping cart totals.",
+            description = "Retrieve the number of books and the total price "
+                    + "of the user's shopping cart without its items.")
+    public CartTotalsDto getCartTotals(Authentication authentication) {
+        User user = (User)authentication.getPrincipal();
+        return shoppingCartService.getCartTotals(user.getId());
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ROLE_USER')")
     @ResponseStatus(value = HttpStatus.CREATED)
     @Operation(summary = "Add cart item to the shopping cart.",
-            description = "Add a book to the shopping cart.")
+            description = "Add a book to the shopping cart. Send the cart version in If-Match "
+                    + "to add it only to that version of the cart.")
     public ShoppingCartDto addCartItem(Authentication authentication,
+                                       @RequestHeader(
+                                               name = IdempotencyStore.IDEMPOTENCY_KEY_HEADER,
+                                               required = false) String idempotencyKey,
+                                       @RequestHeader(name = HttpHeaders.IF_MATCH,
+                                               required = false) String ifMatch,
                                        @RequestBody @Valid CartItemRequestDto cartItemRequestDto) {
         User user = (User)authentication.getPrincipal();
-        return shoppingCartService.addCartItem(user.getId(), cartItemRequestDto);
+        Long expectedVersion = parseVersion(ifMatch);
+        return idempotencyStore.execute(user.getId(), "cart", idempotencyKey, cartItemRequestDto,
+                expectedVersion, () -> conflictRetryExecutor.execute("cart.add-item",
+                        () -> shoppingCartService.addCartItem(user.getId(), expectedVersion,
+                                cartItemRequestDto)));
+    }
+
+    @PostMapping("/items/batch")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Operation(summary = "Apply many cart item operations at once.",
+            description = "Add, update and remove many cart items in one request. "
+                    + "Returns the result of every operation and the cart totals. "
+                    + "Send the cart version in If-Match to apply them only to that version.")
+    public CartItemBatchResultDto applyCartItemOperations(
+            Authentication authentication,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid CartItemBatchRequestDto batchRequest) {
+        User user = (User)authentication.getPrincipal();
+        Long expectedVersion = parseVersion(ifMatch);
+        return conflictRetryExecutor.execute("cart.apply-operations",
+                () -> shoppingCartService.applyCartItemOperations(user.getId(), expectedVersion,
+                        batchRequest));
     }
 
     @PutMapping("/items/{cartItemId}")
     @PreAuthorize("hasRole('ROLE_USER')")
     @Operation(summary = "Update cart item of a book in the shopping cart.",
-            description = "Update the books quantity in the shopping cart by cart item id.")
-    public ShoppingCartDto updateCartItem(Authentication authentication,
-                                          @PathVariable Long cartItemId,
-                                          @RequestBody @Valid UpdateCartItemDto updateCartItem) {
+            description = "Update the books quantity in the shopping cart by cart item id. "
+                    + "Returns the shopping cart, or only the updated cart item and the cart "
+                    + "totals with 'Prefer: return=minimal'. "
+                    + "Send the cart version in If-Match to update it only in that version.")
+    public ResponseEntity<Object> updateCartItem(
+            Authentication authentication,
+            @PathVariable Long cartItemId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = PREFER, required = false) String prefer,
+            @RequestBody @Valid UpdateCartItemDto updateCartItem) {
         User user = (User)authentication.getPrincipal();
-        return shoppingCartService.updateCartItem(user.getId(), cartItemId, updateCartItem);
+        Long expectedVersion = parseVersion(ifMatch);
+        CartItemChangeDto cartItemChange = conflictRetryExecutor.execute("cart.update-item",
+                () -> shoppingCartService.updateCartItem(user.getId(), cartItemId,
+                        expectedVersion, updateCartItem));
+        if (prefersMinimal(prefer)) {
+            return ResponseEntity.ok()
+                    .header(PREFERENCE_APPLIED, RETURN_MINIMAL)
+                    .body(cartItemChange);
+        }
+        return ResponseEntity.ok(shoppingCartService.getShoppingCart(user.getId()));
     }
 
     @DeleteMapping("/items/{cartItemId}")
     @PreAuthorize("hasRole('ROLE_USER')")
-    @ResponseStatus(value = HttpStatus.NO_CONTENT)
     @Operation(summary = "Remove a book from the shopping cart.",
-            description = "Remove an item from the user's shopping cart.")
-    public void delete(Authentication authentication, @PathVariable Long cartItemId) {
+            description = "Remove an item from the user's shopping cart. "
+                    + "Returns no content, or the cart totals with 'Prefer: return=minimal'. "
+                    + "Send the cart version in If-Match to remove it only from that version.")
+    public ResponseEntity<CartTotalsDto> delete(
+            Authentication authentication,
+            @PathVariable Long cartItemId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = PREFER, required = false) String prefer) {
         User user = (User)authentication.getPrincipal();
-        shoppingCartService.deleteById(user.getId(), cartItemId);
+        Long expectedVersion = parseVersion(ifMatch);
+        CartTotalsDto totals = conflictRetryExecutor.execute("cart.delete-item",
+                () -> shoppingCartService.deleteById(user.getId(), cartItemId, expectedVersion));
+        if (prefersMinimal(prefer)) {
+            return ResponseEntity.ok()
+                    .header(PREFERENCE_APPLIED, RETURN_MINIMAL)
+                    .body(totals);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private static boolean prefersMinimal(String prefer) {
+        return prefer != null && Arrays.stream(prefer.split("[,;]"))
+                .map(String::strip)
+                .anyMatch(RETURN_MINIMAL::equalsIgnoreCase);
+    }
+
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String version = ifMatch.strip();
+        if (version.length() > 1 && version.startsWith("\"") && version.endsWith("\"")) {
+            version = version.substring(1, version.length() - 1);
+        }
+        try {
+            return Long.valueOf(version);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match version: " + ifMatch);
+        }
     }
 }
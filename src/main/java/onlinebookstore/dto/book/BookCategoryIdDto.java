@@ -0,0 +1,7 @@
+package onlinebookstore.dto.book;
+
+public record BookCategoryIdDto(
+        Long bookId,
+        Long categoryId
+) {
+}
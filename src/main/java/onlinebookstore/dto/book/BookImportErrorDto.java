@@ -0,0 +1,10 @@
+package onlinebookstore.dto.book;
+
+import java.util.List;
+
+public record BookImportErrorDto(
+        long row,
+        String isbn,
+        List<String> errors
+) {
+}
@@ -0,0 +1,10 @@
+package onlinebookstore.dto.book;
+
+import java.util.List;
+
+public record BookImportResultDto(
+        long imported,
+        long rejected,
+        List<BookImportErrorDto> errors
+) {
+}
@@ -0,0 +1,11 @@
+package onlinebookstore.dto.book;
+
+import java.math.BigDecimal;
+
+public record BookPriceChangedEventDto(
+        Long bookId,
+        BigDecimal price
+) {
+    public static final String TYPE = "book.price-changed";
+    public static final String AGGREGATE = "book";
+}
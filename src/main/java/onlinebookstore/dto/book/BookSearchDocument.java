@@ -0,0 +1,12 @@
+package onlinebookstore.dto.book;
+
+import java.math.BigDecimal;
+
+public record BookSearchDocument(
+        Long id,
+        String title,
+        String author,
+        String isbn,
+        BigDecimal price
+) {
+}
@@ -0,0 +1,14 @@
+package onlinebookstore.dto.cartitem;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record CartItemBatchRequestDto(
+        @NotEmpty(message = "Invalid operations. Value shouldn't be empty.")
+        @Size(max = 100, message = "Invalid operations. Value should not exceed 100 items.")
+        List<@NotNull @Valid CartItemOperationDto> operations
+) {
+}
@@ -0,0 +1,10 @@
+package onlinebookstore.dto.cartitem;
+
+import java.util.List;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
+
+public record CartItemBatchResultDto(
+        List<CartItemOperationResultDto> results,
+        CartTotalsDto totals
+) {
+}
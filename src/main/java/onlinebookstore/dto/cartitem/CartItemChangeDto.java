@@ -0,0 +1,9 @@
+package onlinebookstore.dto.cartitem;
+
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
+
+public record CartItemChangeDto(
+        CartItemDto cartItem,
+        CartTotalsDto totals
+) {
+}
@@ -1,8 +1,12 @@
 package onlinebookstore.dto.cartitem;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class CartItemDto {
     private Long id;
     private Long bookId;
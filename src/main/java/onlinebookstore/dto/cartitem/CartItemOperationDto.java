@@ -0,0 +1,24 @@
+package onlinebookstore.dto.cartitem;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record CartItemOperationDto(
+        @NotNull(message = "Invalid type. Value shouldn't be null")
+        Type type,
+
+        @Positive(message = "Invalid book id. Value should be positive.")
+        Long bookId,
+
+        @Positive(message = "Invalid cart item id. Value should be positive.")
+        Long cartItemId,
+
+        @Positive(message = "Invalid quantity. Value should be positive.")
+        Integer quantity
+) {
+    public enum Type {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+}
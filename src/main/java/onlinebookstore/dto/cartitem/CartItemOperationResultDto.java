@@ -0,0 +1,14 @@
+package onlinebookstore.dto.cartitem;
+
+public record CartItemOperationResultDto(
+        int index,
+        CartItemOperationDto.Type type,
+        Status status,
+        String message
+) {
+    public enum Status {
+        APPLIED,
+        NOT_FOUND,
+        INVALID
+    }
+}
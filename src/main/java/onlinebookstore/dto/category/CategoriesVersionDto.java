@@ -0,0 +1,9 @@
+package onlinebookstore.dto.category;
+
+import java.time.Instant;
+
+public record CategoriesVersionDto(
+        String tag,
+        Instant lastModified
+) {
+}
@@ -0,0 +1,14 @@
+package onlinebookstore.dto.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderPlacedEventDto(
+        Long orderId,
+        Long userId,
+        BigDecimal total,
+        LocalDateTime orderDate
+) {
+    public static final String TYPE = "order.placed";
+    public static final String AGGREGATE = "user";
+}
@@ -0,0 +1,18 @@
+package onlinebookstore.dto.order;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record OrderStatusBatchRequestDto(
+        @NotBlank(message = "Invalid status. Status can't be blank.")
+        @Size(max = 10, message = "Invalid status. Status cannot be more than 10 characters.")
+        String status,
+        @NotEmpty(message = "Invalid order ids. Value shouldn't be empty.")
+        @Size(max = 10000, message = "Invalid order ids. Value should not exceed 10000 items.")
+        List<@NotNull @Positive Long> orderIds
+) {
+}
@@ -0,0 +1,10 @@
+package onlinebookstore.dto.order;
+
+import java.util.List;
+
+public record OrderStatusBatchResultDto(
+        long applied,
+        long rejected,
+        List<OrderStatusResultDto> results
+) {
+}
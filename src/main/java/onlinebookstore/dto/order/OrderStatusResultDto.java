@@ -0,0 +1,14 @@
+package onlinebookstore.dto.order;
+
+public record OrderStatusResultDto(
+        Long orderId,
+        Outcome outcome,
+        String message
+) {
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        INVALID_TRANSITION,
+        CONFLICT
+    }
+}
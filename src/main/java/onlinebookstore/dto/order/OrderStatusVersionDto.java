@@ -0,0 +1,10 @@
+package onlinebookstore.dto.order;
+
+import onlinebookstore.model.Order;
+
+public record OrderStatusVersionDto(
+        Long id,
+        Order.Status status,
+        Long version
+) {
+}
@@ -0,0 +1,10 @@
+package onlinebookstore.dto.outbox;
+
+public record OutboxEventDto(
+        Long id,
+        String eventType,
+        String partitionKey,
+        String payload,
+        int attempts
+) {
+}
@@ -0,0 +1,11 @@
+package onlinebookstore.dto.pagination;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext,
+        Long totalElements
+) {
+}
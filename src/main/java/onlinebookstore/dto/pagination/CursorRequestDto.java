@@ -0,0 +1,29 @@
+package onlinebookstore.dto.pagination;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+public record CursorRequestDto(
+        String cursor,
+
+        @Positive(message = "Invalid size. Value should be positive.")
+        @Max(value = 100, message = "Invalid size. Value should not exceed 100.")
+        Integer size,
+
+        @Pattern(regexp = "^\\w+(,(?i)(asc|desc))?$", message = "Invalid sort. "
+                + "Use a property name optionally followed by ',asc' or ',desc'.")
+        String sort,
+
+        Boolean includeCount
+) {
+    public static final int DEFAULT_SIZE = 20;
+
+    public int limit() {
+        return size == null ? DEFAULT_SIZE : size;
+    }
+
+    public boolean countRequested() {
+        return Boolean.TRUE.equals(includeCount);
+    }
+}
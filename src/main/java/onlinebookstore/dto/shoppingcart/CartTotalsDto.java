@@ -0,0 +1,10 @@
+package onlinebookstore.dto.shoppingcart;
+
+import java.math.BigDecimal;
+
+public record CartTotalsDto(
+        Long totalQuantity,
+        BigDecimal totalPrice,
+        Long version
+) {
+}
@@ -1,5 +1,6 @@
 package onlinebookstore.dto.shoppingcart;
 
+import java.math.BigDecimal;
 import java.util.Set;
 import lombok.Data;
 import onlinebookstore.dto.cartitem.CartItemDto;
@@ -9,4 +10,7 @@ public class ShoppingCartDto {
     private Long id;
     private Long userId;
     private Set<CartItemDto> cartItems;
+    private Long totalQuantity;
+    private BigDecimal totalPrice;
+    private Long version;
 }
@@ -0,0 +1,7 @@
+package onlinebookstore.dto.stock;
+
+public record StockDto(
+        Long bookId,
+        Integer quantity
+) {
+}
@@ -0,0 +1,7 @@
+package onlinebookstore.dto.stock;
+
+public record StockLineDto(
+        Long bookId,
+        int quantity
+) {
+}
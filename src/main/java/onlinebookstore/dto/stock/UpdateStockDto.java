@@ -0,0 +1,11 @@
+package onlinebookstore.dto.stock;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record UpdateStockDto(
+        @NotNull(message = "Invalid quantity. Quantity shouldn't be null.")
+        @PositiveOrZero(message = "Invalid quantity. Quantity shouldn't be negative.")
+        Integer quantity
+) {
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -55,12 +56,34 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex) {
+        Map<String, Object> body = bodyBuilder(
+                "The resource was changed concurrently. Please retry the request.",
+                HttpStatus.CONFLICT);
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(
+            PreconditionFailedException ex) {
+        Map<String, Object> body = bodyBuilder(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+        return new ResponseEntity<>(body, HttpStatus.PRECONDITION_FAILED);
+    }
+
     @ExceptionHandler(DataProcessingException.class)
     public ResponseEntity<Object> handleDataProcessingException(DataProcessingException ex) {
         Map<String, Object> body = bodyBuilder(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
         return new ResponseEntity<>(body, HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
+    @ExceptionHandler(IdempotencyKeyException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyException(IdempotencyKeyException ex) {
+        Map<String, Object> body = bodyBuilder(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+        return new ResponseEntity<>(body, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<Object> handleEntityNotFoundException(EntityNotFoundException ex) {
         Map<String, Object> body = bodyBuilder(ex.getMessage(), HttpStatus.NOT_FOUND);
@@ -13,11 +13,13 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
-@Mapper(config = MapperConfig.class, uses = CategoryMapper.class)
+@Mapper(config = MapperConfig.class, uses = CategoryReferenceMapper.class)
 public interface BookMapper {
     @Mapping(target = "categoryIds", ignore = true)
     BookDto toBookDto(Book book);
 
+    BookDto toBookDto(BookDtoWithoutCategoryIds book, Set<Long> categoryIds);
+
     @AfterMapping
     default void setCategoryIds(@MappingTarget BookDto bookDto, Book book) {
         Set<Long> categoryIds = book.getCategories().stream()
@@ -2,18 +2,12 @@ package onlinebookstore.mapper;
 
 import onlinebookstore.config.MapperConfig;
 import onlinebookstore.dto.cartitem.CartItemDto;
-import onlinebookstore.dto.cartitem.CartItemRequestDto;
 import onlinebookstore.model.CartItem;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 @Mapper(config = MapperConfig.class)
 public interface CartItemMapper {
-    @Mapping(target = "id", ignore = true)
-    @Mapping(target = "shoppingCart", ignore = true)
-    @Mapping(target = "book", ignore = true)
-    CartItem toCartItemEntity(CartItemRequestDto cartItemRequestDto);
-
     @Mapping(source = "book.id", target = "bookId")
     @Mapping(source = "book.title", target = "bookTitle")
     CartItemDto toCartItemDto(CartItem cartItem);
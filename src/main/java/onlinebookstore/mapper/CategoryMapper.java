@@ -1,18 +1,12 @@
 package onlinebookstore.mapper;
 
-import static onlinebookstore.service.category.CategoryServiceImpl.categoriesCache;
-
-import java.util.HashSet;
-import java.util.Set;
 import onlinebookstore.config.MapperConfig;
 import onlinebookstore.dto.category.CategoryDto;
 import onlinebookstore.dto.category.CreateCategoryRequestDto;
-import onlinebookstore.exception.EntityNotFoundException;
 import onlinebookstore.model.Category;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
-import org.mapstruct.Named;
 
 @Mapper(config = MapperConfig.class)
 public interface CategoryMapper {
@@ -20,24 +14,14 @@ public interface CategoryMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Category toCategoryEntity(CreateCategoryRequestDto categoryRequestDto);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     void updateCategoryEntity(
             @MappingTarget Category category,
             CreateCategoryRequestDto categoryRequestDto
     );
-
-    @Named("mappingCategoriesIDToCategories")
-    default Set<Category> mappingCategoriesIdToCategories(Set<Long> categoryIDs) {
-        Set<Category> categories = new HashSet<>();
-        for (Long id : categoryIDs) {
-            if (!categoriesCache.containsKey(id)) {
-                throw new EntityNotFoundException("Category with id " + id + " not found");
-            }
-            categories.add(categoriesCache.get(id));
-        }
-        return categories;
-    }
 }
@@ -0,0 +1,26 @@
+package onlinebookstore.mapper;
+
+import java.util.HashSet;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.exception.EntityNotFoundException;
+import onlinebookstore.model.Category;
+import onlinebookstore.service.category.CategoryCache;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CategoryReferenceMapper {
+    private final CategoryCache categoryCache;
+
+    @Named("mappingCategoriesIDToCategories")
+    public Set<Category> mappingCategoriesIdToCategories(Set<Long> categoryIds) {
+        Set<Category> categories = new HashSet<>();
+        for (Long id : categoryIds) {
+            categories.add(categoryCache.get(id).orElseThrow(() ->
+                    new EntityNotFoundException("Category with id " + id + " not found")));
+        }
+        return categories;
+    }
+}
@@ -2,7 +2,6 @@ package onlinebookstore.mapper;
 
 import onlinebookstore.config.MapperConfig;
 import onlinebookstore.dto.orderitem.OrderItemDto;
-import onlinebookstore.model.CartItem;
 import onlinebookstore.model.OrderItem;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -11,9 +10,4 @@ import org.mapstruct.Mapping;
 public interface OrderItemMapper {
     @Mapping(target = "bookId", source = "book.id")
     OrderItemDto toOrderItemDto(OrderItem orderItem);
-
-    @Mapping(target = "id", ignore = true)
-    @Mapping(target = "order", ignore = true)
-    @Mapping(target = "price", source = "book.price")
-    OrderItem toOrderItemEntity(CartItem cartItem);
 }
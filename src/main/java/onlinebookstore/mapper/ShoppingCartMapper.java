@@ -1,6 +1,9 @@
 package onlinebookstore.mapper;
 
+import java.util.Set;
 import onlinebookstore.config.MapperConfig;
+import onlinebookstore.dto.cartitem.CartItemDto;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
 import onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import onlinebookstore.model.ShoppingCart;
 import org.mapstruct.Mapper;
@@ -9,5 +12,14 @@ import org.mapstruct.Mapping;
 @Mapper(config = MapperConfig.class, uses = CartItemMapper.class)
 public interface ShoppingCartMapper {
     @Mapping(target = "userId", source = "id")
+    @Mapping(target = "totalQuantity", source = "itemCount")
+    @Mapping(target = "totalPrice", source = "subtotal")
     ShoppingCartDto toShoppingCartDto(ShoppingCart shoppingCart);
+
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "userId", source = "id")
+    @Mapping(target = "totalQuantity", source = "totals.totalQuantity")
+    @Mapping(target = "totalPrice", source = "totals.totalPrice")
+    @Mapping(target = "version", source = "totals.version")
+    ShoppingCartDto toShoppingCartDto(Long id, Set<CartItemDto> cartItems, CartTotalsDto totals);
 }
@@ -2,24 +2,27 @@ package onlinebookstore.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
+import onlinebookstore.model.id.PooledId;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
 @Table(name = "categories")
-@SQLDelete(sql = "UPDATE categories SET is_deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE categories SET is_deleted = true, updated_at = CURRENT_TIMESTAMP "
+        + "WHERE id=?")
 @SQLRestriction("is_deleted = false")
 @Setter
 @Getter
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("categories")
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -28,5 +31,9 @@ public class Category {
     @Column(length = 500)
     private String description;
 
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
     private boolean isDeleted = false;
 }
@@ -13,6 +13,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -68,12 +69,17 @@ public class Order {
 
     private boolean isDeleted = false;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum Status {
         PENDING,
         PAID,
         SHIPPED,
         DELIVERED,
-        COMPLETED;
+        COMPLETED,
+        EXPIRED;
 
         public static Status valueOfStatus(String value) {
             return Arrays.stream(values())
@@ -81,5 +87,9 @@ public class Order {
                     .findFirst().orElseThrow(() ->
                             new IllegalArgumentException("Invalid order status: " + value));
         }
+
+        public boolean canTransitionTo(Status status) {
+            return status != EXPIRED && status.ordinal() == ordinal() + 1;
+        }
     }
 }
@@ -1,6 +1,7 @@
 package onlinebookstore.model;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
@@ -9,6 +10,8 @@ import jakarta.persistence.MapsId;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.EqualsAndHashCode;
@@ -41,4 +44,14 @@ public class ShoppingCart {
     private Set<CartItem> cartItems = new HashSet<>();
 
     private boolean isDeleted = false;
+
+    @Column(nullable = false)
+    private long itemCount;
+
+    @Column(nullable = false)
+    private BigDecimal subtotal = BigDecimal.ZERO;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
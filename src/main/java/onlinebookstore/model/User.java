@@ -2,13 +2,13 @@ package onlinebookstore.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.Size;
 import java.util.Collection;
 import java.util.HashSet;
@@ -18,6 +18,9 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import onlinebookstore.model.id.PooledId;
+import onlinebookstore.security.TokenDenylistListener;
+import onlinebookstore.security.UserPrincipalCacheListener;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.security.core.GrantedAuthority;
@@ -26,6 +29,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 @Entity
 @Table(name = "users")
+@EntityListeners({UserPrincipalCacheListener.class, TokenDenylistListener.class})
 @SQLDelete(sql = "UPDATE users SET is_deleted = true WHERE id =?")
 @SQLRestriction("is_deleted = false")
 @Getter
@@ -34,7 +38,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 public class User implements UserDetails {
     private static final String ROLE_PREFIX = "ROLE_";
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("users")
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -63,6 +67,10 @@ public class User implements UserDetails {
 
     private boolean isDeleted = false;
 
+    @Transient
+    @ToString.Exclude
+    private TokenDenylistListener.Credentials loadedCredentials;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return roles.stream()
@@ -0,0 +1,15 @@
+package onlinebookstore.model.id;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface PooledId {
+    String value();
+}
@@ -0,0 +1,37 @@
+package onlinebookstore.model.id;
+
+import java.util.Properties;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+public class PooledIdGenerator extends TableGenerator {
+    public static final String TABLE_NAME = "id_generators";
+    public static final String ALLOCATION_SIZE_SETTING = "onlinebookstore.id.allocation-size";
+    private static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String segment;
+
+    public PooledIdGenerator(PooledId config) {
+        this.segment = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER,
+                        DEFAULT_ALLOCATION_SIZE);
+        if (allocationSize < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid id allocation size: " + allocationSize);
+        }
+        parameters.put(TABLE_PARAM, TABLE_NAME);
+        parameters.put(SEGMENT_VALUE_PARAM, segment);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
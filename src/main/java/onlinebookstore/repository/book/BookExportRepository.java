@@ -0,0 +1,78 @@
+package onlinebookstore.repository.book;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.function.Consumer;
+import onlinebookstore.dto.book.BookDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class BookExportRepository {
+    private static final String SELECT_ALL = "SELECT b.id, b.title, b.author, b.isbn, b.price, "
+            + "b.description, b.cover_image, c.id AS category_id FROM books b "
+            + "LEFT JOIN books_categories bc ON bc.book_id = b.id "
+            + "LEFT JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+            + "WHERE b.is_deleted = false ORDER BY b.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public BookExportRepository(JdbcTemplate jdbcTemplate,
+                                @Value("${book.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    public void forEach(Consumer<BookDto> consumer) {
+        BookCollector collector = new BookCollector(consumer);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ALL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, collector);
+        collector.finish();
+    }
+
+    private static class BookCollector implements RowCallbackHandler {
+        private final Consumer<BookDto> consumer;
+        private BookDto current;
+
+        private BookCollector(Consumer<BookDto> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long id = resultSet.getLong("id");
+            if (current == null || current.getId() != id) {
+                finish();
+                current = new BookDto();
+                current.setId(id);
+                current.setTitle(resultSet.getString("title"));
+                current.setAuthor(resultSet.getString("author"));
+                current.setIsbn(resultSet.getString("isbn"));
+                current.setPrice(resultSet.getBigDecimal("price"));
+                current.setDescription(resultSet.getString("description"));
+                current.setCoverImage(resultSet.getString("cover_image"));
+                current.setCategoryIds(new HashSet<>());
+            }
+            long categoryId = resultSet.getLong("category_id");
+            if (!resultSet.wasNull()) {
+                current.getCategoryIds().add(categoryId);
+            }
+        }
+
+        private void finish() {
+            if (current != null) {
+                consumer.accept(current);
+                current = null;
+            }
+        }
+    }
+}
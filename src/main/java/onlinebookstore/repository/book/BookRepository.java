@@ -1,11 +1,15 @@
 package onlinebookstore.repository.book;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import onlinebookstore.dto.book.BookCategoryIdDto;
+import onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import onlinebookstore.dto.book.BookSearchDocument;
 import onlinebookstore.model.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -18,17 +22,38 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
     @Query(value = "SELECT COUNT(*) > 0 FROM books WHERE isbn = :isbn", nativeQuery = true)
     Long existsByIsbnIncludingDeleted(@Param("isbn") String isbn);
 
-    @Query("SELECT b FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
-    Page<Book> findAllByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    @Query(value = "SELECT new onlinebookstore.dto.book.BookDtoWithoutCategoryIds("
+            + "b.id, b.title, b.author, b.isbn, b.price, b.description, b.coverImage) "
+            + "FROM Book b JOIN b.categories c WHERE c.id = :categoryId",
+            countQuery = "SELECT COUNT(b) FROM Book b JOIN b.categories c "
+                    + "WHERE c.id = :categoryId")
+    Page<BookDtoWithoutCategoryIds> findAllByCategoryId(@Param("categoryId") Long categoryId,
+                                                        Pageable pageable);
 
-    @Override
-    @EntityGraph(attributePaths = "categories")
-    Page<Book> findAll(Pageable pageable);
-
-    @Override
-    @EntityGraph(attributePaths = "categories")
-    List<Book> findAll(Specification<Book> bookSpecification);
+    @Query("SELECT b.id FROM Book b")
+    Page<Long> findAllIds(Pageable pageable);
 
     @EntityGraph(attributePaths = "categories")
     Optional<Book> findById(Long id);
+
+    @Query("SELECT new onlinebookstore.dto.book.BookDtoWithoutCategoryIds("
+            + "b.id, b.title, b.author, b.isbn, b.price, b.description, b.coverImage) "
+            + "FROM Book b WHERE b.id IN :ids")
+    List<BookDtoWithoutCategoryIds> findAllViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    Set<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT isbn FROM books", nativeQuery = true)
+    List<String> findAllIsbnsIncludingDeleted();
+
+    @Query("SELECT new onlinebookstore.dto.book.BookCategoryIdDto(b.id, c.id) "
+            + "FROM Book b JOIN b.categories c WHERE b.id IN :ids")
+    List<BookCategoryIdDto> findCategoryIdsByBookIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new onlinebookstore.dto.book.BookSearchDocument("
+            + "b.id, b.title, b.author, b.isbn, b.price) "
+            + "FROM Book b WHERE b.id > :lastId ORDER BY b.id")
+    List<BookSearchDocument> findSearchDocumentsAfterId(@Param("lastId") Long lastId,
+                                                        Pageable pageable);
 }
@@ -0,0 +1,68 @@
+package onlinebookstore.repository.cartitem;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.cartitem.CartItemOperationDto;
+import onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CartItemBatchRepository {
+    private static final String UPSERT_QUANTITY = "INSERT INTO cart_items "
+            + "(shopping_cart_id, book_id, quantity) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)";
+    private static final String UPDATE_QUANTITY = "UPDATE cart_items "
+            + "SET quantity = ? "
+            + "WHERE id = ? AND shopping_cart_id = ?";
+    private static final String DELETE = "DELETE FROM cart_items "
+            + "WHERE id = ? AND shopping_cart_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public int[] upsertQuantities(Long shoppingCartId, List<CartItemOperationDto> operations) {
+        namedParameterJdbcTemplate.batchUpdate(ShoppingCartRepository.ADD_TO_TOTALS,
+                operations.stream()
+                        .map(operation -> new MapSqlParameterSource()
+                                .addValue("id", shoppingCartId)
+                                .addValue("bookId", operation.bookId())
+                                .addValue("quantity", operation.quantity()))
+                        .toArray(SqlParameterSource[]::new));
+        return jdbcTemplate.batchUpdate(UPSERT_QUANTITY, operations.stream()
+                .map(operation -> new Object[] {
+                        shoppingCartId, operation.bookId(), operation.quantity()})
+                .toList());
+    }
+
+    public int[] updateQuantities(Long shoppingCartId, List<CartItemOperationDto> operations) {
+        changeTotals(shoppingCartId, operations);
+        return jdbcTemplate.batchUpdate(UPDATE_QUANTITY, operations.stream()
+                .map(operation -> new Object[] {
+                        operation.quantity(), operation.cartItemId(), shoppingCartId})
+                .toList());
+    }
+
+    public int[] deleteAll(Long shoppingCartId, List<CartItemOperationDto> operations) {
+        changeTotals(shoppingCartId, operations);
+        return jdbcTemplate.batchUpdate(DELETE, operations.stream()
+                .map(operation -> new Object[] {operation.cartItemId(), shoppingCartId})
+                .toList());
+    }
+
+    private void changeTotals(Long shoppingCartId, List<CartItemOperationDto> operations) {
+        namedParameterJdbcTemplate.batchUpdate(ShoppingCartRepository.CHANGE_TOTALS,
+                operations.stream()
+                        .map(operation -> new MapSqlParameterSource()
+                                .addValue("id", shoppingCartId)
+                                .addValue("cartItemId", operation.cartItemId())
+                                .addValue("quantity", operation.type()
+                                        == CartItemOperationDto.Type.REMOVE
+                                        ? 0 : operation.quantity()))
+                        .toArray(SqlParameterSource[]::new));
+    }
+}
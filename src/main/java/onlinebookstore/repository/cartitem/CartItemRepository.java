@@ -1,13 +1,53 @@
 package onlinebookstore.repository.cartitem;
 
+import java.util.List;
 import java.util.Optional;
+import onlinebookstore.dto.cartitem.CartItemDto;
 import onlinebookstore.model.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
-    Optional<CartItem> findByIdAndShoppingCartId(Long itemId, Long cartId);
-
     Optional<CartItem> findByBookId(Long bookId);
+
+    @Modifying
+    @Query(value = "INSERT INTO cart_items (shopping_cart_id, book_id, quantity) "
+            + "VALUES (:shoppingCartId, :bookId, :quantity) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity",
+            nativeQuery = true)
+    void upsertQuantity(@Param("shoppingCartId") Long shoppingCartId,
+                        @Param("bookId") Long bookId,
+                        @Param("quantity") int quantity);
+
+    @Query("SELECT new onlinebookstore.dto.cartitem.CartItemDto("
+            + "ci.id, b.id, b.title, ci.quantity) "
+            + "FROM CartItem ci JOIN ci.book b WHERE ci.shoppingCart.id = :shoppingCartId")
+    List<CartItemDto> findAllDtosByShoppingCartId(@Param("shoppingCartId") Long shoppingCartId);
+
+    @Query("SELECT new onlinebookstore.dto.cartitem.CartItemDto("
+            + "ci.id, b.id, b.title, ci.quantity) "
+            + "FROM CartItem ci JOIN ci.book b "
+            + "WHERE ci.id = :id AND ci.shoppingCart.id = :shoppingCartId")
+    Optional<CartItemDto> findDtoByIdAndShoppingCartId(
+            @Param("id") Long id, @Param("shoppingCartId") Long shoppingCartId);
+
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.quantity = :quantity "
+            + "WHERE ci.id = :id AND ci.shoppingCart.id = :shoppingCartId")
+    int updateQuantityByIdAndShoppingCartId(@Param("id") Long id,
+                                            @Param("shoppingCartId") Long shoppingCartId,
+                                            @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.id = :id AND ci.shoppingCart.id = :shoppingCartId")
+    int deleteByIdAndShoppingCartId(@Param("id") Long id,
+                                    @Param("shoppingCartId") Long shoppingCartId);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.shoppingCart.id = :shoppingCartId")
+    int deleteAllByShoppingCartId(@Param("shoppingCartId") Long shoppingCartId);
 }
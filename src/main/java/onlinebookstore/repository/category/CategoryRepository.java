@@ -1,10 +1,16 @@
 package onlinebookstore.repository.category;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
 import onlinebookstore.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByNameIgnoreCase(String name);
+
+    @Query(value = "SELECT MAX(updated_at) FROM categories", nativeQuery = true)
+    Optional<LocalDateTime> findLastModified();
 }
@@ -0,0 +1,50 @@
+package onlinebookstore.repository.order;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.model.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderPlacementRepository {
+    private static final String INSERT_ORDER = "INSERT INTO orders "
+            + "(user_id, status, total, order_date, shipping_address) "
+            + "SELECT ci.shopping_cart_id, ?, SUM(ci.quantity * b.price), ?, ? "
+            + "FROM cart_items ci JOIN books b ON b.id = ci.book_id AND b.is_deleted = false "
+            + "WHERE ci.shopping_cart_id = ? "
+            + "GROUP BY ci.shopping_cart_id";
+    private static final String INSERT_ORDER_ITEMS = "INSERT INTO order_items "
+            + "(order_id, book_id, quantity, price) "
+            + "SELECT ?, ci.book_id, ci.quantity, b.price "
+            + "FROM cart_items ci JOIN books b ON b.id = ci.book_id AND b.is_deleted = false "
+            + "WHERE ci.shopping_cart_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Long> insertOrderFromShoppingCart(Long shoppingCartId,
+                                                      String shippingAddress,
+                                                      LocalDateTime orderDate) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    INSERT_ORDER, new String[] {"id"});
+            statement.setString(1, Order.Status.PENDING.name());
+            statement.setTimestamp(2, Timestamp.valueOf(orderDate));
+            statement.setString(3, shippingAddress);
+            statement.setLong(4, shoppingCartId);
+            return statement;
+        }, keyHolder);
+        return Optional.ofNullable(keyHolder.getKey()).map(Number::longValue);
+    }
+
+    public int insertOrderItemsFromShoppingCart(Long orderId, Long shoppingCartId) {
+        return jdbcTemplate.update(INSERT_ORDER_ITEMS, orderId, shoppingCartId);
+    }
+}
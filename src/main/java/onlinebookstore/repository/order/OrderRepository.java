@@ -1,19 +1,33 @@
 package onlinebookstore.repository.order;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import onlinebookstore.dto.order.OrderStatusVersionDto;
 import onlinebookstore.model.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Integer> {
+public interface OrderRepository extends JpaRepository<Order, Integer>,
+        JpaSpecificationExecutor<Order> {
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId")
+    Page<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
     @EntityGraph(attributePaths = {"orderItems", "orderItems.book"})
-    Page<Order> findByUserId(Long userId, Pageable pageable);
+    List<Order> findAllByIdIn(Collection<Long> ids);
 
     Optional<Order> findById(Long id);
 
     boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT new onlinebookstore.dto.order.OrderStatusVersionDto("
+            + "o.id, o.status, o.version) FROM Order o WHERE o.id IN :ids")
+    List<OrderStatusVersionDto> findStatusVersionsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,41 @@
+package onlinebookstore.repository.order;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.order.OrderStatusVersionDto;
+import onlinebookstore.model.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderStatusRepository {
+    private static final String UPDATE_STATUS = "UPDATE orders "
+            + "SET status = :to, version = version + 1 "
+            + "WHERE id = :id AND version = :version AND status = :from AND is_deleted = false";
+    private static final String EXPIRE_PENDING = "UPDATE orders "
+            + "SET status = :to, version = version + 1 "
+            + "WHERE id = :id AND status = :from AND is_deleted = false";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public int[] updateStatus(List<OrderStatusVersionDto> orders, Order.Status to) {
+        return namedParameterJdbcTemplate.batchUpdate(UPDATE_STATUS, orders.stream()
+                .map(order -> new MapSqlParameterSource()
+                        .addValue("id", order.id())
+                        .addValue("version", order.version())
+                        .addValue("from", order.status().name())
+                        .addValue("to", to.name()))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    public boolean expirePending(Long orderId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", orderId)
+                .addValue("to", Order.Status.EXPIRED.name())
+                .addValue("from", Order.Status.PENDING.name());
+        return namedParameterJdbcTemplate.update(EXPIRE_PENDING, parameters) == 1;
+    }
+}
@@ -0,0 +1,116 @@
+package onlinebookstore.repository.outbox;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.outbox.OutboxEventDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventRepository {
+    private static final String INSERT_EVENT = "INSERT INTO outbox_events "
+            + "(event_type, partition_key, payload, status, attempts, created_at, available_at) "
+            + "VALUES (?, ?, ?, 'PENDING', 0, ?, ?)";
+    private static final String SELECT_DISPATCHABLE = "SELECT e.id FROM outbox_events e "
+            + "WHERE e.status = 'PENDING' AND e.available_at <= :now "
+            + "AND NOT EXISTS (SELECT 1 FROM outbox_events p "
+            + "WHERE p.partition_key = e.partition_key AND p.status = 'PENDING' "
+            + "AND p.id < e.id AND p.available_at > :now) "
+            + "ORDER BY e.id LIMIT :limit";
+    private static final String CLAIM = "UPDATE outbox_events "
+            + "SET claimed_by = :claimedBy, available_at = :leaseUntil "
+            + "WHERE id IN (:ids) AND status = 'PENDING' AND available_at <= :now";
+    private static final String SELECT_OUT_OF_ORDER = "SELECT e.id FROM outbox_events e "
+            + "WHERE e.claimed_by = :claimedBy AND e.status = 'PENDING' "
+            + "AND EXISTS (SELECT 1 FROM outbox_events p "
+            + "WHERE p.partition_key = e.partition_key AND p.status = 'PENDING' "
+            + "AND p.id < e.id AND (p.claimed_by IS NULL OR p.claimed_by <> :claimedBy))";
+    private static final String RELEASE = "UPDATE outbox_events "
+            + "SET claimed_by = NULL, available_at = :now "
+            + "WHERE id IN (:ids) AND claimed_by = :claimedBy";
+    private static final String SELECT_CLAIMED = "SELECT id, event_type, partition_key, "
+            + "payload, attempts FROM outbox_events "
+            + "WHERE claimed_by = :claimedBy AND status = 'PENDING' ORDER BY id";
+    private static final String MARK_PROCESSED = "UPDATE outbox_events "
+            + "SET status = 'PROCESSED', processed_at = :processedAt WHERE id IN (:ids)";
+    private static final String SCHEDULE_RETRY = "UPDATE outbox_events "
+            + "SET attempts = ?, last_error = ?, available_at = ? WHERE id = ?";
+    private static final String MARK_FAILED = "UPDATE outbox_events "
+            + "SET status = 'FAILED', attempts = ?, last_error = ?, processed_at = ? WHERE id = ?";
+    private static final String DELETE_PROCESSED = "DELETE FROM outbox_events "
+            + "WHERE status = 'PROCESSED' AND processed_at < ?";
+    private static final RowMapper<OutboxEventDto> EVENT_ROW_MAPPER = (resultSet, rowNum) ->
+            new OutboxEventDto(
+                    resultSet.getLong("id"),
+                    resultSet.getString("event_type"),
+                    resultSet.getString("partition_key"),
+                    resultSet.getString("payload"),
+                    resultSet.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void insert(String eventType, String partitionKey, String payload,
+                       LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        jdbcTemplate.update(INSERT_EVENT, eventType, partitionKey, payload, timestamp, timestamp);
+    }
+
+    public List<OutboxEventDto> claimDispatchable(String claimedBy, LocalDateTime now,
+                                                  LocalDateTime leaseUntil, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("limit", limit);
+        List<Long> ids = namedParameterJdbcTemplate.queryForList(SELECT_DISPATCHABLE,
+                parameters, Long.class);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        parameters.addValue("ids", ids)
+                .addValue("claimedBy", claimedBy)
+                .addValue("leaseUntil", Timestamp.valueOf(leaseUntil));
+        if (namedParameterJdbcTemplate.update(CLAIM, parameters) == 0) {
+            return List.of();
+        }
+        release(namedParameterJdbcTemplate.queryForList(SELECT_OUT_OF_ORDER, parameters,
+                Long.class), claimedBy, now);
+        return namedParameterJdbcTemplate.query(SELECT_CLAIMED, parameters, EVENT_ROW_MAPPER);
+    }
+
+    public int release(List<Long> ids, String claimedBy, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update(RELEASE, new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("ids", ids)
+                .addValue("claimedBy", claimedBy));
+    }
+
+    public int markProcessed(List<Long> ids, LocalDateTime processedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update(MARK_PROCESSED, new MapSqlParameterSource()
+                .addValue("processedAt", Timestamp.valueOf(processedAt))
+                .addValue("ids", ids));
+    }
+
+    public void scheduleRetry(Long id, int attempts, String error, LocalDateTime availableAt) {
+        jdbcTemplate.update(SCHEDULE_RETRY, attempts, error, Timestamp.valueOf(availableAt), id);
+    }
+
+    public void markFailed(Long id, int attempts, String error, LocalDateTime failedAt) {
+        jdbcTemplate.update(MARK_FAILED, attempts, error, Timestamp.valueOf(failedAt), id);
+    }
+
+    public int deleteProcessedBefore(LocalDateTime processedBefore) {
+        return jdbcTemplate.update(DELETE_PROCESSED, Timestamp.valueOf(processedBefore));
+    }
+}
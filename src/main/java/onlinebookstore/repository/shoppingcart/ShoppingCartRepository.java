@@ -1,13 +1,85 @@
 package onlinebookstore.repository.shoppingcart;
 
 import java.util.Optional;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
 import onlinebookstore.model.ShoppingCart;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
+    String REFRESH_TOTALS = "UPDATE shopping_carts sc SET "
+            + "item_count = (SELECT COALESCE(SUM(ci.quantity), 0) FROM cart_items ci "
+            + "JOIN books b ON b.id = ci.book_id AND b.is_deleted = false "
+            + "WHERE ci.shopping_cart_id = sc.id), "
+            + "subtotal = (SELECT COALESCE(SUM(ci.quantity * b.price), 0) FROM cart_items ci "
+            + "JOIN books b ON b.id = ci.book_id AND b.is_deleted = false "
+            + "WHERE ci.shopping_cart_id = sc.id) ";
+    String ADD_TO_TOTALS = "UPDATE shopping_carts sc SET "
+            + "item_count = sc.item_count + :quantity * (SELECT COUNT(*) FROM books b "
+            + "WHERE b.id = :bookId AND b.is_deleted = false), "
+            + "subtotal = sc.subtotal + COALESCE((SELECT :quantity * b.price FROM books b "
+            + "WHERE b.id = :bookId AND b.is_deleted = false), 0) "
+            + "WHERE sc.id = :id";
+    String CHANGE_TOTALS = "UPDATE shopping_carts sc SET "
+            + "item_count = sc.item_count + COALESCE((SELECT :quantity - ci.quantity "
+            + "FROM cart_items ci JOIN books b ON b.id = ci.book_id AND b.is_deleted = false "
+            + "WHERE ci.id = :cartItemId AND ci.shopping_cart_id = sc.id), 0), "
+            + "subtotal = sc.subtotal + COALESCE((SELECT (:quantity - ci.quantity) * b.price "
+            + "FROM cart_items ci JOIN books b ON b.id = ci.book_id AND b.is_deleted = false "
+            + "WHERE ci.id = :cartItemId AND ci.shopping_cart_id = sc.id), 0) "
+            + "WHERE sc.id = :id";
+
     @EntityGraph(attributePaths = {"cartItems", "cartItems.book"})
     Optional<ShoppingCart> findByUserId(Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO shopping_carts (id) "
+            + "SELECT u.id FROM users u WHERE u.id = :userId AND u.is_deleted = false "
+            + "ON DUPLICATE KEY UPDATE shopping_carts.is_deleted = false", nativeQuery = true)
+    int upsertByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT sc.version FROM ShoppingCart sc WHERE sc.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "UPDATE shopping_carts SET version = version + 1 "
+            + "WHERE id = :id AND is_deleted = false", nativeQuery = true)
+    int incrementVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "UPDATE shopping_carts SET version = version + 1 "
+            + "WHERE id = :id AND version = :version AND is_deleted = false", nativeQuery = true)
+    int incrementVersion(@Param("id") Long id, @Param("version") Long version);
+
+    @Query("SELECT new onlinebookstore.dto.shoppingcart.CartTotalsDto("
+            + "sc.itemCount, sc.subtotal, sc.version) FROM ShoppingCart sc WHERE sc.id = :id")
+    Optional<CartTotalsDto> findTotalsById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = ADD_TO_TOTALS, nativeQuery = true)
+    int addToTotals(@Param("id") Long id,
+                    @Param("bookId") Long bookId,
+                    @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = CHANGE_TOTALS, nativeQuery = true)
+    int changeTotals(@Param("id") Long id,
+                     @Param("cartItemId") Long cartItemId,
+                     @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE shopping_carts SET item_count = 0, subtotal = 0 WHERE id = :id",
+            nativeQuery = true)
+    int clearTotals(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = REFRESH_TOTALS + "WHERE sc.id IN "
+            + "(SELECT ci.shopping_cart_id FROM cart_items ci WHERE ci.book_id = :bookId)",
+            nativeQuery = true)
+    int refreshTotalsByBookId(@Param("bookId") Long bookId);
 }
@@ -0,0 +1,49 @@
+package onlinebookstore.repository.stock;
+
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.stock.StockLineDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BookStockRepository {
+    private static final String SELECT_QUANTITY = "SELECT quantity FROM book_stocks "
+            + "WHERE book_id = ?";
+    private static final String UPSERT_QUANTITY = "INSERT INTO book_stocks (book_id, quantity) "
+            + "VALUES (?, ?) ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)";
+    private static final String DECREMENT_QUANTITY = "UPDATE book_stocks "
+            + "SET quantity = quantity - ? WHERE book_id = ? AND quantity >= ?";
+    private static final String INCREMENT_QUANTITY = "UPDATE book_stocks "
+            + "SET quantity = quantity + ? WHERE book_id = ?";
+    private static final String SELECT_ORDER_LINES = "SELECT book_id, quantity "
+            + "FROM order_items WHERE order_id = ? ORDER BY book_id";
+    private static final RowMapper<StockLineDto> LINE_ROW_MAPPER = (resultSet, rowNum) ->
+            new StockLineDto(resultSet.getLong("book_id"), resultSet.getInt("quantity"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Integer> findQuantity(Long bookId) {
+        return jdbcTemplate.queryForList(SELECT_QUANTITY, Integer.class, bookId).stream()
+                .findFirst();
+    }
+
+    public void upsertQuantity(Long bookId, int quantity) {
+        jdbcTemplate.update(UPSERT_QUANTITY, bookId, quantity);
+    }
+
+    public boolean decrement(Long bookId, int quantity) {
+        return jdbcTemplate.update(DECREMENT_QUANTITY, quantity, bookId, quantity) == 1;
+    }
+
+    public void increment(Long bookId, int quantity) {
+        jdbcTemplate.update(INCREMENT_QUANTITY, quantity, bookId);
+    }
+
+    public List<StockLineDto> findOrderLines(Long orderId) {
+        return jdbcTemplate.query(SELECT_ORDER_LINES, LINE_ROW_MAPPER, orderId);
+    }
+}
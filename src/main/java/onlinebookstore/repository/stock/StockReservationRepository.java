@@ -0,0 +1,34 @@
+package onlinebookstore.repository.stock;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class StockReservationRepository {
+    private static final String INSERT_RESERVATION = "INSERT INTO stock_reservations "
+            + "(order_id, expires_at) VALUES (?, ?)";
+    private static final String SELECT_EXPIRED = "SELECT order_id FROM stock_reservations "
+            + "WHERE expires_at <= ? ORDER BY expires_at LIMIT ?";
+    private static final String DELETE_RESERVATION = "DELETE FROM stock_reservations "
+            + "WHERE order_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(Long orderId, LocalDateTime expiresAt) {
+        jdbcTemplate.update(INSERT_RESERVATION, orderId, Timestamp.valueOf(expiresAt));
+    }
+
+    public List<Long> findExpiredOrderIds(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList(SELECT_EXPIRED, Long.class,
+                Timestamp.valueOf(now), limit);
+    }
+
+    public void delete(Long orderId) {
+        jdbcTemplate.update(DELETE_RESERVATION, orderId);
+    }
+}
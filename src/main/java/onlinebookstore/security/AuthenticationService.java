@@ -3,6 +3,7 @@ package onlinebookstore.security;
 import lombok.RequiredArgsConstructor;
 import onlinebookstore.dto.user.UserLoginRequestDto;
 import onlinebookstore.dto.user.UserLoginResponseDto;
+import onlinebookstore.model.User;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -13,12 +14,20 @@ import org.springframework.stereotype.Service;
 public class AuthenticationService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final TokenDenylist tokenDenylist;
 
     public UserLoginResponseDto authenticate(UserLoginRequestDto requestDto) {
         final Authentication authentication = authenticationManager
                 .authenticate(new UsernamePasswordAuthenticationToken(requestDto.email(),
                         requestDto.password()));
-        String token = jwtUtil.generateToken(authentication.getName());
+        String token = jwtUtil.generateToken((User) authentication.getPrincipal());
         return new UserLoginResponseDto(token);
     }
+
+    public void logout(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Bearer token is required to logout.");
+        }
+        tokenDenylist.revokeToken(jwtUtil.getClaimsFromToken(token).getId());
+    }
 }
@@ -1,5 +1,6 @@
 package onlinebookstore.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -7,7 +8,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import onlinebookstore.model.Role;
+import onlinebookstore.model.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -25,6 +30,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     public static final String CONTENT_TYPE = "application/json";
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenDenylist tokenDenylist;
+
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
 
     @Override
     protected void doFilterInternal(
@@ -35,9 +45,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = getToken(request);
 
-            if (token != null && jwtUtil.isValidToken(token)) {
-                String username = jwtUtil.getUsernameFromToken(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (token != null) {
+                Claims claims = jwtUtil.getClaimsFromToken(token);
+                if (tokenDenylist.isRevoked(claims)) {
+                    setErrorResponse(response, "Token has been revoked.");
+                    return;
+                }
+                UserDetails userDetails = getPrincipal(claims);
                 Authentication authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
                 );
@@ -53,14 +67,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String getToken(HttpServletRequest request) {
-        String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+    public static String getToken(String bearerToken) {
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
             return bearerToken.substring(BEARER_PREFIX.length());
         }
         return null;
     }
 
+    private String getToken(HttpServletRequest request) {
+        return getToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+    }
+
+    private UserDetails getPrincipal(Claims claims) {
+        if (statelessEnabled && claims.containsKey(JwtUtil.USER_ID_CLAIM)) {
+            return getPrincipalFromClaims(claims);
+        }
+        return userPrincipalCache.get(claims.getSubject(), userDetailsService::loadUserByUsername);
+    }
+
+    private UserDetails getPrincipalFromClaims(Claims claims) {
+        User user = new User();
+        user.setId(claims.get(JwtUtil.USER_ID_CLAIM, Long.class));
+        user.setEmail(claims.getSubject());
+        List<?> roleNames = claims.get(JwtUtil.ROLES_CLAIM, List.class);
+        if (roleNames != null) {
+            roleNames.forEach(roleName -> {
+                Role role = new Role();
+                role.setName(Role.RoleName.valueOf(roleName.toString()));
+                user.getRoles().add(role);
+            });
+        }
+        return user;
+    }
+
     private void setErrorResponse(HttpServletResponse response, String message)
             throws IOException {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
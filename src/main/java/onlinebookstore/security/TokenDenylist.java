@@ -0,0 +1,50 @@
+package onlinebookstore.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TokenDenylist {
+    private final Cache<String, Instant> revokedTokens;
+    private final Cache<Long, Instant> revokedUsers;
+
+    public TokenDenylist(@Value("${jwt.expiration}") long expiration,
+                         @Value("${jwt.denylist.max-size:100000}") long maxSize) {
+        revokedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expiration))
+                .build();
+        revokedUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expiration))
+                .build();
+    }
+
+    public void revokeToken(String tokenId) {
+        if (tokenId != null) {
+            revokedTokens.put(tokenId, Instant.now());
+        }
+    }
+
+    public void revokeUser(Long userId) {
+        if (userId != null) {
+            revokedUsers.put(userId, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        }
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revokedTokens.getIfPresent(claims.getId()) != null) {
+            return true;
+        }
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        Instant revokedAt = userId == null ? null : revokedUsers.getIfPresent(userId);
+        return revokedAt != null && claims.getIssuedAt() != null
+                && claims.getIssuedAt().toInstant().isBefore(revokedAt);
+    }
+}
@@ -0,0 +1,39 @@
+package onlinebookstore.security;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.model.User;
+import org.springframework.beans.factory.ObjectProvider;
+
+@RequiredArgsConstructor
+public class TokenDenylistListener {
+    private final ObjectProvider<TokenDenylist> tokenDenylist;
+
+    @PostLoad
+    @PostPersist
+    public void rememberCredentials(User user) {
+        user.setLoadedCredentials(Credentials.of(user));
+    }
+
+    @PostUpdate
+    public void revokeChangedCredentials(User user) {
+        if (!Credentials.of(user).equals(user.getLoadedCredentials())) {
+            revokeTokens(user);
+        }
+        rememberCredentials(user);
+    }
+
+    @PostRemove
+    public void revokeTokens(User user) {
+        tokenDenylist.ifAvailable(denylist -> denylist.revokeUser(user.getId()));
+    }
+
+    public record Credentials(String email, String password, boolean enabled) {
+        private static Credentials of(User user) {
+            return new Credentials(user.getEmail(), user.getPassword(), user.isEnabled());
+        }
+    }
+}
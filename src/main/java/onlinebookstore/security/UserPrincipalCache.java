@@ -0,0 +1,61 @@
+package onlinebookstore.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import onlinebookstore.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserPrincipalCache {
+    public static final String CACHE_NAME = "userPrincipals";
+    private final Map<Long, String> usernames = new ConcurrentHashMap<>();
+    private final Cache<String, UserDetails> principals;
+
+    public UserPrincipalCache(@Value("${jwt.expiration}") long expiration,
+                              @Value("${jwt.principal-cache.max-size:10000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expiration))
+                .evictionListener((String username, UserDetails principal, RemovalCause cause) -> {
+                    if (principal instanceof User user && user.getId() != null) {
+                        usernames.remove(user.getId(), username);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, CACHE_NAME);
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return principals.get(username, key -> {
+            UserDetails principal = loader.apply(key);
+            if (principal instanceof User user && user.getId() != null) {
+                usernames.put(user.getId(), key);
+            }
+            return principal;
+        });
+    }
+
+    public void evict(Long userId, String username) {
+        principals.invalidate(username);
+        String cachedUsername = userId == null ? null : usernames.remove(userId);
+        if (cachedUsername != null) {
+            principals.invalidate(cachedUsername);
+        }
+    }
+
+    public void evictAll() {
+        principals.invalidateAll();
+        usernames.clear();
+    }
+}
@@ -0,0 +1,18 @@
+package onlinebookstore.security;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.model.User;
+import org.springframework.beans.factory.ObjectProvider;
+
+@RequiredArgsConstructor
+public class UserPrincipalCacheListener {
+    private final ObjectProvider<UserPrincipalCache> userPrincipalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evictPrincipal(User user) {
+        userPrincipalCache.ifAvailable(cache -> cache.evict(user.getId(), user.getEmail()));
+    }
+}
@@ -0,0 +1,74 @@
+package onlinebookstore.service.book;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Function;
+import onlinebookstore.dto.book.BookDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class BookCache {
+    public static final String CACHE_NAME = "books";
+    public static final String ISBN_CACHE_NAME = "bookIsbns";
+    private final Cache<Long, BookDto> books;
+    private final Cache<String, Long> isbns;
+
+    public BookCache(@Value("${book.cache.max-size:10000}") long maxSize,
+                     @Value("${book.cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+                     MeterRegistry meterRegistry) {
+        books = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        isbns = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, books, CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, isbns, ISBN_CACHE_NAME);
+    }
+
+    public BookDto get(Long id, Function<Long, BookDto> loader) {
+        BookDto book = books.get(id, loader);
+        isbns.put(book.getIsbn(), id);
+        return book;
+    }
+
+    public boolean containsIsbn(String isbn) {
+        return isbns.getIfPresent(isbn) != null;
+    }
+
+    public void putIsbn(String isbn, Long id) {
+        isbns.put(isbn, id);
+    }
+
+    public void evict(Long id) {
+        books.invalidate(id);
+        afterCompletion(() -> books.invalidate(id));
+    }
+
+    public void evictAll() {
+        books.invalidateAll();
+        isbns.invalidateAll();
+        afterCompletion(books::invalidateAll);
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            action.run();
+                        }
+                    });
+        }
+    }
+}
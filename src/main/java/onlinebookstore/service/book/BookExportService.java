@@ -0,0 +1,8 @@
+package onlinebookstore.service.book;
+
+import java.io.OutputStream;
+import org.springframework.http.MediaType;
+
+public interface BookExportService {
+    void exportBooks(OutputStream output, MediaType contentType);
+}
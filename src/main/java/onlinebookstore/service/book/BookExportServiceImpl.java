@@ -0,0 +1,79 @@
+package onlinebookstore.service.book;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.book.BookDto;
+import onlinebookstore.repository.book.BookExportRepository;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BookExportServiceImpl implements BookExportService {
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+    private static final String CSV_HEADER =
+            "id,title,author,isbn,price,description,coverImage,categoryIds";
+    private static final String CATEGORY_ID_SEPARATOR = ";";
+
+    private final BookExportRepository bookExportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportBooks(OutputStream output, MediaType contentType) {
+        boolean csv = TEXT_CSV.includes(contentType);
+        if (!csv && !MediaType.APPLICATION_NDJSON.includes(contentType)) {
+            throw new IllegalArgumentException("Can't export books as content type: "
+                    + contentType);
+        }
+        try {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            bookExportRepository.forEach(book -> {
+                try {
+                    writer.write(csv ? toCsvRow(book) : objectMapper.writeValueAsString(book));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsvRow(BookDto book) {
+        String categoryIds = book.getCategoryIds().stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(CATEGORY_ID_SEPARATOR));
+        return Stream.of(String.valueOf(book.getId()), book.getTitle(), book.getAuthor(),
+                        book.getIsbn(), book.getPrice().toPlainString(), book.getDescription(),
+                        book.getCoverImage(), categoryIds)
+                .map(BookExportServiceImpl::escape)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.chars().noneMatch(ch -> ch == ',' || ch == '"' || ch == '\n' || ch == '\r')) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
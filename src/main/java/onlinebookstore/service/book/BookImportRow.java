@@ -0,0 +1,13 @@
+package onlinebookstore.service.book;
+
+import onlinebookstore.dto.book.CreateBookRequestDto;
+
+record BookImportRow(long number, CreateBookRequestDto book, String isbn, String error) {
+    static BookImportRow valid(long number, CreateBookRequestDto book) {
+        return new BookImportRow(number, book, book.isbn(), null);
+    }
+
+    static BookImportRow invalid(long number, String isbn, String error) {
+        return new BookImportRow(number, null, isbn, error);
+    }
+}
@@ -0,0 +1,9 @@
+package onlinebookstore.service.book;
+
+import java.io.InputStream;
+import onlinebookstore.dto.book.BookImportResultDto;
+import org.springframework.http.MediaType;
+
+public interface BookImportService {
+    BookImportResultDto importBooks(InputStream body, MediaType contentType);
+}
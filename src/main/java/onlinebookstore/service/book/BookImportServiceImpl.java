@@ -0,0 +1,154 @@
+package onlinebookstore.service.book;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import onlinebookstore.dto.book.BookImportErrorDto;
+import onlinebookstore.dto.book.BookImportResultDto;
+import onlinebookstore.dto.book.CreateBookRequestDto;
+import onlinebookstore.model.Book;
+import onlinebookstore.repository.book.BookRepository;
+import onlinebookstore.service.category.CategoryCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    private final BookRepository bookRepository;
+    private final BookImportWriter bookImportWriter;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCache bookCache;
+    private final CategoryCache categoryCache;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public BookImportServiceImpl(BookRepository bookRepository,
+                                 BookImportWriter bookImportWriter,
+                                 BookSearchIndex bookSearchIndex,
+                                 BookCache bookCache,
+                                 CategoryCache categoryCache,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 @Value("${book.import.batch-size:500}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid book import batch size: " + batchSize);
+        }
+        this.bookRepository = bookRepository;
+        this.bookImportWriter = bookImportWriter;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookCache = bookCache;
+        this.categoryCache = categoryCache;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public BookImportResultDto importBooks(InputStream body, MediaType contentType) {
+        Charset charset = Objects.requireNonNullElse(
+                contentType.getCharset(), StandardCharsets.UTF_8);
+        Set<String> isbns = new HashSet<>(bookRepository.findAllIsbnsIncludingDeleted());
+        List<BookImportErrorDto> errors = new ArrayList<>();
+        List<BookImportRow> batch = new ArrayList<>(batchSize);
+        long imported = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset))) {
+            BookRowReader rows = open(reader, contentType);
+            for (BookImportRow row = rows.next(); row != null; row = rows.next()) {
+                List<String> rowErrors = validate(row, isbns);
+                if (!rowErrors.isEmpty()) {
+                    errors.add(new BookImportErrorDto(row.number(), row.isbn(), rowErrors));
+                    continue;
+                }
+                isbns.add(row.isbn());
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    imported += write(batch, errors);
+                    batch.clear();
+                }
+            }
+            imported += write(batch, errors);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read the book import body", e);
+        }
+        errors.sort(Comparator.comparingLong(BookImportErrorDto::row));
+        return new BookImportResultDto(imported, errors.size(), errors);
+    }
+
+    private BookRowReader open(BufferedReader reader, MediaType contentType) throws IOException {
+        if (TEXT_CSV.includes(contentType)) {
+            return new CsvBookRowReader(reader);
+        }
+        if (MediaType.APPLICATION_NDJSON.includes(contentType)) {
+            return new NdjsonBookRowReader(reader, objectMapper.reader());
+        }
+        throw new IllegalArgumentException("Can't import books from content type: "
+                + contentType);
+    }
+
+    private List<String> validate(BookImportRow row, Set<String> isbns) {
+        if (row.error() != null) {
+            return List.of(row.error());
+        }
+        CreateBookRequestDto book = row.book();
+        List<String> errors = new ArrayList<>(validator.validate(book).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList());
+        if (book.isbn() != null && isbns.contains(book.isbn())) {
+            errors.add("Can't save a book with this ISBN: " + book.isbn());
+        }
+        if (book.categoryIds() != null) {
+            book.categoryIds().stream()
+                    .filter(id -> id != null && !categoryCache.contains(id))
+                    .forEach(id -> errors.add("Category with id " + id + " not found"));
+        }
+        return errors;
+    }
+
+    private long write(List<BookImportRow> rows, List<BookImportErrorDto> errors) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            indexAll(bookImportWriter.write(rows.stream().map(BookImportRow::book).toList()));
+            return rows.size();
+        } catch (DataIntegrityViolationException e) {
+            long imported = 0;
+            for (BookImportRow row : rows) {
+                try {
+                    indexAll(bookImportWriter.write(List.of(row.book())));
+                    imported++;
+                } catch (DataIntegrityViolationException rowException) {
+                    errors.add(new BookImportErrorDto(row.number(), row.isbn(),
+                            List.of("Can't save a book with this ISBN: " + row.isbn())));
+                }
+            }
+            return imported;
+        }
+    }
+
+    private void indexAll(List<Book> books) {
+        for (Book book : books) {
+            bookSearchIndex.index(book);
+            bookCache.putIsbn(book.getIsbn(), book.getId());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package onlinebookstore.service.book;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.book.CreateBookRequestDto;
+import onlinebookstore.mapper.BookMapper;
+import onlinebookstore.model.Book;
+import onlinebookstore.repository.book.BookRepository;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class BookImportWriter {
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public List<Book> write(List<CreateBookRequestDto> bookRequestDtos) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(bookRequestDtos.size());
+        List<Book> books = bookRepository.saveAll(bookRequestDtos.stream()
+                .map(bookMapper::toBookEntity)
+                .toList());
+        bookRepository.flush();
+        return books;
+    }
+}
@@ -0,0 +1,7 @@
+package onlinebookstore.service.book;
+
+import java.io.IOException;
+
+interface BookRowReader {
+    BookImportRow next() throws IOException;
+}
@@ -0,0 +1,532 @@
+package onlinebookstore.service.book;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import onlinebookstore.dto.book.BookSearchDocument;
+import onlinebookstore.dto.book.BookSearchParametersDto;
+import onlinebookstore.model.Book;
+import onlinebookstore.repository.book.BookRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class BookSearchIndex {
+    public static final String VISITED_DOCUMENTS = "book.search.documents.visited";
+    private static final int GRAM_SIZE = 3;
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int COMPACTION_THRESHOLD = 256;
+    private static final long NO_ID = Long.MIN_VALUE;
+    private static final long[] NO_IDS = new long[0];
+    private static final char TITLE_FIELD = 't';
+    private static final char AUTHOR_FIELD = 'a';
+    private static final char ISBN_FIELD = 'i';
+    private static final String ID = "id";
+
+    private final BookRepository bookRepository;
+    private final DistributionSummary visitedDocuments;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private List<UnaryOperator<Snapshot>> pendingChanges;
+
+    public BookSearchIndex(BookRepository bookRepository, MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.visitedDocuments = meterRegistry.summary(VISITED_DOCUMENTS);
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public boolean canSearch(BookSearchParametersDto params) {
+        List<String> fragments = Stream.of(params.title(), params.author(), params.isbn())
+                .filter(fragment -> fragment != null && !fragment.isEmpty())
+                .toList();
+        return isReady() && (fragments.isEmpty()
+                || fragments.stream().anyMatch(fragment -> fragment.length() >= GRAM_SIZE));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${book.search.index.refresh-interval:PT5M}",
+            fixedDelayString = "${book.search.index.refresh-interval:PT5M}")
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            List<BookSearchDocument> documents = new ArrayList<>();
+            long lastId = 0L;
+            List<BookSearchDocument> batch;
+            do {
+                batch = bookRepository.findSearchDocumentsAfterId(
+                        lastId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+                documents.addAll(batch);
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            Snapshot rebuilt = Snapshot.of(documents);
+            synchronized (this) {
+                for (UnaryOperator<Snapshot> change : pendingChanges) {
+                    rebuilt = change.apply(rebuilt);
+                }
+                pendingChanges = null;
+                snapshot = rebuilt;
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void index(Book book) {
+        BookSearchDocument document = new BookSearchDocument(book.getId(), book.getTitle(),
+                book.getAuthor(), book.getIsbn(), book.getPrice());
+        afterCommit(() -> apply(current -> current.with(document)));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> apply(current -> current.without(id)));
+    }
+
+    public Page<Long> search(BookSearchParametersDto params, Pageable pageable) {
+        Sort sort = pageable.getSort();
+        Comparator<BookSearchDocument> comparator = comparator(sort);
+        Sort.Order first = sort.stream().findFirst().orElse(Sort.Order.asc(ID));
+        boolean idOrdered = first.getProperty().equals(ID);
+        Query query = new Query(params);
+        Stream<BookSearchDocument> matches = query.matches(null,
+                idOrdered && first.isDescending());
+        if (pageable.isUnpaged()) {
+            List<Long> ids = matches.sorted(comparator).map(BookSearchDocument::id).toList();
+            query.record();
+            return new PageImpl<>(ids);
+        }
+        long offset = pageable.getOffset();
+        int pageSize = pageable.getPageSize();
+        long[] total = new long[1];
+        List<BookSearchDocument> page;
+        if (idOrdered) {
+            page = new ArrayList<>(pageSize);
+            matches.forEach(document -> {
+                if (total[0] >= offset && page.size() < pageSize) {
+                    page.add(document);
+                }
+                total[0]++;
+            });
+        } else {
+            List<BookSearchDocument> top = top(matches.peek(document -> total[0]++),
+                    comparator, offset + pageSize);
+            page = offset < top.size() ? top.subList((int) offset, top.size()) : List.of();
+        }
+        query.record();
+        return new PageImpl<>(page.stream().map(BookSearchDocument::id).toList(),
+                pageable, total[0]);
+    }
+
+    public List<Long> searchAfter(BookSearchParametersDto params, Long afterId, int limit) {
+        Query query = new Query(params);
+        List<Long> ids = query.matches(afterId, false)
+                .limit(limit)
+                .map(BookSearchDocument::id)
+                .toList();
+        query.record();
+        return ids;
+    }
+
+    public long count(BookSearchParametersDto params) {
+        Query query = new Query(params);
+        long count = query.matches(null, false).count();
+        query.record();
+        return count;
+    }
+
+    static <T> List<T> top(Stream<T> elements, Comparator<T> comparator, long limit) {
+        PriorityQueue<T> heap = new PriorityQueue<>(comparator.reversed());
+        elements.forEach(element -> {
+            if (heap.size() < limit) {
+                heap.add(element);
+            } else if (comparator.compare(element, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(element);
+            }
+        });
+        List<T> top = new ArrayList<>(heap);
+        top.sort(comparator);
+        return top;
+    }
+
+    private static Comparator<BookSearchDocument> comparator(Sort sort) {
+        Comparator<BookSearchDocument> comparator = (first, second) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<BookSearchDocument> byProperty = switch (order.getProperty()) {
+                case ID -> Comparator.comparing(BookSearchDocument::id);
+                case "title" -> Comparator.comparing(BookSearchDocument::title);
+                case "author" -> Comparator.comparing(BookSearchDocument::author);
+                case "isbn" -> Comparator.comparing(BookSearchDocument::isbn);
+                case "price" -> Comparator.comparing(BookSearchDocument::price);
+                default -> throw new IllegalArgumentException(
+                        "Can't sort books by property: " + order.getProperty());
+            };
+            comparator = comparator.thenComparing(
+                    order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator.thenComparing(BookSearchDocument::id);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+
+    private synchronized void apply(UnaryOperator<Snapshot> change) {
+        if (snapshot != null) {
+            snapshot = change.apply(snapshot);
+        }
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private static boolean contains(String value, String fragment) {
+        return fragment == null || value.contains(fragment);
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isEmpty() ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static BigDecimal priceAt(List<BigDecimal> priceRange, int index) {
+        return priceRange != null && priceRange.size() > index ? priceRange.get(index) : null;
+    }
+
+    private static List<String> grams(char field, String value) {
+        if (value == null || value.length() < GRAM_SIZE) {
+            return List.of();
+        }
+        List<String> grams = new ArrayList<>(value.length() - GRAM_SIZE + 1);
+        for (int i = 0; i <= value.length() - GRAM_SIZE; i++) {
+            grams.add(field + value.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private final class Query {
+        private final Snapshot current;
+        private final String title;
+        private final String author;
+        private final String isbn;
+        private final BigDecimal fromPrice;
+        private final BigDecimal toPrice;
+        private final List<String> grams;
+        private long visited;
+
+        private Query(BookSearchParametersDto params) {
+            current = snapshot;
+            if (current == null) {
+                throw new IllegalStateException("Book search index is not built yet.");
+            }
+            title = normalize(params.title());
+            author = normalize(params.author());
+            isbn = params.isbn() == null || params.isbn().isEmpty() ? null : params.isbn();
+            fromPrice = priceAt(params.priceRange(), 0);
+            toPrice = priceAt(params.priceRange(), 1);
+            grams = Stream.of(grams(TITLE_FIELD, title),
+                            grams(AUTHOR_FIELD, author),
+                            grams(ISBN_FIELD, isbn))
+                    .flatMap(List::stream)
+                    .distinct()
+                    .toList();
+        }
+
+        private Stream<BookSearchDocument> matches(Long afterId, boolean descending) {
+            return current.candidates(grams, afterId, descending)
+                    .map(id -> {
+                        visited++;
+                        return current.document(id);
+                    })
+                    .filter(this::matches);
+        }
+
+        private boolean matches(BookSearchDocument document) {
+            return document != null
+                    && contains(document.title(), title)
+                    && contains(document.author(), author)
+                    && contains(document.isbn(), isbn)
+                    && (fromPrice == null || document.price().compareTo(fromPrice) >= 0)
+                    && (toPrice == null || document.price().compareTo(toPrice) <= 0);
+        }
+
+        private void record() {
+            visitedDocuments.record(visited);
+        }
+    }
+
+    private static final class Snapshot {
+        private final long[] ids;
+        private final BookSearchDocument[] documents;
+        private final Map<String, long[]> postings;
+        private final Map<Long, BookSearchDocument> changes;
+        private final long[] changedIds;
+        private final Map<String, long[]> changedPostings;
+
+        private Snapshot(long[] ids, BookSearchDocument[] documents, Map<String, long[]> postings,
+                Map<Long, BookSearchDocument> changes, long[] changedIds,
+                Map<String, long[]> changedPostings) {
+            this.ids = ids;
+            this.documents = documents;
+            this.postings = postings;
+            this.changes = changes;
+            this.changedIds = changedIds;
+            this.changedPostings = changedPostings;
+        }
+
+        private static Snapshot of(List<BookSearchDocument> sources) {
+            BookSearchDocument[] documents = sources.stream()
+                    .map(Snapshot::normalized)
+                    .sorted(Comparator.comparing(BookSearchDocument::id))
+                    .toArray(BookSearchDocument[]::new);
+            long[] ids = new long[documents.length];
+            Map<String, PostingsBuilder> builders = new HashMap<>();
+            for (int i = 0; i < documents.length; i++) {
+                long id = documents[i].id();
+                ids[i] = id;
+                grams(documents[i]).forEach(gram -> builders
+                        .computeIfAbsent(gram, key -> new PostingsBuilder())
+                        .add(id));
+            }
+            Map<String, long[]> postings = new HashMap<>();
+            builders.forEach((gram, builder) -> postings.put(gram, builder.toArray()));
+            return new Snapshot(ids, documents, postings, Map.of(), NO_IDS, Map.of());
+        }
+
+        private Snapshot with(BookSearchDocument source) {
+            BookSearchDocument document = normalized(source);
+            Map<Long, BookSearchDocument> nextChanges = new HashMap<>(changes);
+            nextChanges.put(document.id(), document);
+            Map<String, long[]> nextPostings = new HashMap<>(changedPostings);
+            long[] id = {document.id()};
+            grams(document).forEach(gram -> nextPostings.merge(gram, id, Snapshot::union));
+            return next(nextChanges, union(changedIds, id), nextPostings);
+        }
+
+        private Snapshot without(Long id) {
+            Map<Long, BookSearchDocument> nextChanges = new HashMap<>(changes);
+            nextChanges.put(id, null);
+            return next(nextChanges, exclude(changedIds, id), changedPostings);
+        }
+
+        private Snapshot next(Map<Long, BookSearchDocument> nextChanges, long[] nextChangedIds,
+                Map<String, long[]> nextChangedPostings) {
+            Snapshot next = new Snapshot(ids, documents, postings, nextChanges, nextChangedIds,
+                    nextChangedPostings);
+            return nextChanges.size() < COMPACTION_THRESHOLD ? next : next.compact();
+        }
+
+        private Snapshot compact() {
+            long[] allIds = union(ids, changedIds);
+            long[] nextIds = new long[allIds.length];
+            BookSearchDocument[] nextDocuments = new BookSearchDocument[allIds.length];
+            int size = 0;
+            for (long id : allIds) {
+                BookSearchDocument document = document(id);
+                if (document != null) {
+                    nextIds[size] = id;
+                    nextDocuments[size++] = document;
+                }
+            }
+            Map<String, long[]> nextPostings = new HashMap<>(postings);
+            changedPostings.forEach((gram, changed) ->
+                    nextPostings.merge(gram, changed, Snapshot::union));
+            return new Snapshot(Arrays.copyOf(nextIds, size), Arrays.copyOf(nextDocuments, size),
+                    nextPostings, Map.of(), NO_IDS, Map.of());
+        }
+
+        private BookSearchDocument document(long id) {
+            if (changes.containsKey(id)) {
+                return changes.get(id);
+            }
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? documents[index] : null;
+        }
+
+        private Stream<Long> candidates(List<String> grams, Long afterId, boolean descending) {
+            List<Postings> postingLists = new ArrayList<>(Math.max(grams.size(), 1));
+            if (grams.isEmpty()) {
+                postingLists.add(new Postings(ids, changedIds));
+            }
+            for (String gram : grams) {
+                long[] base = postings.getOrDefault(gram, NO_IDS);
+                long[] changed = changedPostings.getOrDefault(gram, NO_IDS);
+                if (base.length == 0 && changed.length == 0) {
+                    return Stream.empty();
+                }
+                postingLists.add(new Postings(base, changed));
+            }
+            long start = afterId != null ? afterId
+                    : descending ? Long.MAX_VALUE : Long.MIN_VALUE;
+            return StreamSupport.stream(new Intersection(postingLists, start, descending), false);
+        }
+
+        private static BookSearchDocument normalized(BookSearchDocument source) {
+            return new BookSearchDocument(source.id(), normalize(source.title()),
+                    normalize(source.author()), source.isbn(), source.price());
+        }
+
+        private static List<String> grams(BookSearchDocument document) {
+            return Stream.of(BookSearchIndex.grams(TITLE_FIELD, document.title()),
+                            BookSearchIndex.grams(AUTHOR_FIELD, document.author()),
+                            BookSearchIndex.grams(ISBN_FIELD, document.isbn()))
+                    .flatMap(List::stream)
+                    .distinct()
+                    .toList();
+        }
+
+        private static long[] union(long[] first, long[] second) {
+            long[] union = new long[first.length + second.length];
+            int i = 0;
+            int j = 0;
+            int size = 0;
+            while (i < first.length || j < second.length) {
+                long next = j == second.length || i < first.length && first[i] <= second[j]
+                        ? first[i] : second[j];
+                if (i < first.length && first[i] == next) {
+                    i++;
+                }
+                if (j < second.length && second[j] == next) {
+                    j++;
+                }
+                union[size++] = next;
+            }
+            return size == union.length ? union : Arrays.copyOf(union, size);
+        }
+
+        private static long[] exclude(long[] ids, long id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return ids;
+            }
+            long[] excluded = new long[ids.length - 1];
+            System.arraycopy(ids, 0, excluded, 0, index);
+            System.arraycopy(ids, index + 1, excluded, index, excluded.length - index);
+            return excluded;
+        }
+    }
+
+    private record Postings(long[] base, long[] changed) {
+        private long next(long bound, boolean descending) {
+            long fromBase = next(base, bound, descending);
+            long fromChanged = next(changed, bound, descending);
+            if (fromBase == NO_ID || fromChanged == NO_ID) {
+                return fromBase == NO_ID ? fromChanged : fromBase;
+            }
+            return descending ? Math.max(fromBase, fromChanged) : Math.min(fromBase, fromChanged);
+        }
+
+        private static long next(long[] ids, long bound, boolean descending) {
+            int index = Arrays.binarySearch(ids, bound);
+            int position;
+            if (descending) {
+                position = index >= 0 ? index - 1 : -index - 2;
+            } else {
+                position = index >= 0 ? index + 1 : -index - 1;
+            }
+            return position >= 0 && position < ids.length ? ids[position] : NO_ID;
+        }
+    }
+
+    private static final class PostingsBuilder {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    private static final class Intersection extends Spliterators.AbstractSpliterator<Long> {
+        private final List<Postings> postingLists;
+        private final boolean descending;
+        private long last;
+        private boolean exhausted;
+
+        private Intersection(List<Postings> postingLists, long start, boolean descending) {
+            super(Long.MAX_VALUE, ORDERED | DISTINCT | NONNULL);
+            this.postingLists = postingLists;
+            this.descending = descending;
+            this.last = start;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Long> action) {
+            if (exhausted) {
+                return false;
+            }
+            long candidate = postingLists.get(0).next(last, descending);
+            int matched = 1;
+            int next = 1 % postingLists.size();
+            while (candidate != NO_ID && matched < postingLists.size()) {
+                long found = postingLists.get(next)
+                        .next(descending ? candidate + 1 : candidate - 1, descending);
+                if (found == candidate) {
+                    matched++;
+                } else {
+                    candidate = found;
+                    matched = 1;
+                }
+                next = (next + 1) % postingLists.size();
+            }
+            if (candidate == NO_ID) {
+                exhausted = true;
+                return false;
+            }
+            last = candidate;
+            action.accept(candidate);
+            return true;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package onlinebookstore.service.book;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.Set;
 import onlinebookstore.dto.book.BookDto;
 import onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
 import onlinebookstore.dto.book.BookSearchParametersDto;
 import onlinebookstore.dto.book.CreateBookRequestDto;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.dto.pagination.CursorRequestDto;
 import onlinebookstore.model.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,7 +17,11 @@ public interface BookService {
 
     Page<BookDto> findAll(Pageable pageable);
 
-    List<BookDto> search(BookSearchParametersDto params);
+    CursorPageDto<BookDto> findAll(CursorRequestDto cursorRequest);
+
+    Page<BookDto> search(BookSearchParametersDto params, Pageable pageable);
+
+    CursorPageDto<BookDto> search(BookSearchParametersDto params, CursorRequestDto cursorRequest);
 
     BookDto findById(Long id);
 
@@ -24,5 +31,10 @@ public interface BookService {
 
     Page<BookDtoWithoutCategoryIds> getByCategoryId(Long categoryId, Pageable pageable);
 
+    CursorPageDto<BookDtoWithoutCategoryIds> getByCategoryId(Long categoryId,
+                                                             CursorRequestDto cursorRequest);
+
     Book findBookById(Long id);
+
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
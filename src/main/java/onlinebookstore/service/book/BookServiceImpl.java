@@ -1,13 +1,22 @@
 package onlinebookstore.service.book;
 
-import static onlinebookstore.service.category.CategoryServiceImpl.categoriesCache;
-
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.book.BookCategoryIdDto;
 import onlinebookstore.dto.book.BookDto;
 import onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import onlinebookstore.dto.book.BookPriceChangedEventDto;
 import onlinebookstore.dto.book.BookSearchParametersDto;
 import onlinebookstore.dto.book.CreateBookRequestDto;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.dto.pagination.CursorRequestDto;
 import onlinebookstore.exception.DataProcessingException;
 import onlinebookstore.exception.EntityNotFoundException;
 import onlinebookstore.mapper.BookMapper;
@@ -15,8 +24,16 @@ import onlinebookstore.model.Book;
 import onlinebookstore.repository.SpecificationBuilder;
 import onlinebookstore.repository.book.BookRepository;
 import onlinebookstore.repository.cartitem.CartItemRepository;
+import onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import onlinebookstore.service.category.CategoryCache;
+import onlinebookstore.service.outbox.OutboxPublisher;
+import onlinebookstore.service.pagination.CursorCodec;
+import onlinebookstore.service.pagination.KeysetPaginator;
+import onlinebookstore.service.pagination.KeysetProperty;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,49 +41,119 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
+    private static final Map<String, KeysetProperty> KEYSET_PROPERTIES = Map.of(
+            KeysetPaginator.ID, new KeysetProperty(Long::valueOf),
+            "title", new KeysetProperty(Function.identity()),
+            "author", new KeysetProperty(Function.identity()),
+            "price", new KeysetProperty(BigDecimal::new)
+    );
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final SpecificationBuilder<Book> specificationBuilder;
     private final CartItemRepository cartItemRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final CategoryCache categoryCache;
+    private final BookCache bookCache;
+    private final CursorCodec cursorCodec;
+    private final KeysetPaginator keysetPaginator;
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final OutboxPublisher outboxPublisher;
 
     @Override
     public BookDto save(CreateBookRequestDto bookRequestDto) {
-        if (bookRepository.existsByIsbnIncludingDeleted(bookRequestDto.isbn()) > 0) {
+        if (bookCache.containsIsbn(bookRequestDto.isbn())
+                || bookRepository.existsByIsbnIncludingDeleted(bookRequestDto.isbn()) > 0) {
             throw new DataProcessingException("Can't save a book with this ISBN: "
                     + bookRequestDto.isbn());
         }
 
-        Book book = bookMapper.toBookEntity(bookRequestDto);
-        return bookMapper.toBookDto(bookRepository.save(book));
+        Book book = bookRepository.save(bookMapper.toBookEntity(bookRequestDto));
+        bookSearchIndex.index(book);
+        bookCache.putIsbn(book.getIsbn(), book.getId());
+        return bookMapper.toBookDto(book);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable).map(bookMapper::toBookDto);
+        Page<Long> ids = bookRepository.findAllIds(pageable);
+        return new PageImpl<>(findAllInOrder(ids.getContent()), pageable, ids.getTotalElements());
     }
 
     @Override
-    public List<BookDto> search(BookSearchParametersDto params) {
-        Specification<Book> bookSpecification = specificationBuilder.build(params);
-        return bookRepository.findAll(bookSpecification).stream()
-                .map(bookMapper::toBookDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookDto> findAll(CursorRequestDto cursorRequest) {
+        return keysetPaginator.paginate(bookRepository, Book.class, Specification.where(null),
+                cursorRequest, KEYSET_PROPERTIES, this::findAllInOrder);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDto> search(BookSearchParametersDto params, Pageable pageable) {
+        Page<Long> ids = bookSearchIndex.canSearch(params)
+                ? bookSearchIndex.search(params, pageable)
+                : bookRepository.findAll(specificationBuilder.build(params), pageable)
+                        .map(Book::getId);
+        return new PageImpl<>(findAllInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookDto> search(BookSearchParametersDto params,
+                                         CursorRequestDto cursorRequest) {
+        if (cursorRequest.sort() != null && !cursorRequest.sort().equals(KeysetPaginator.ID)) {
+            throw new IllegalArgumentException("Can't sort books by property: "
+                    + cursorRequest.sort());
+        }
+        Long afterId = cursorRequest.cursor() == null
+                ? 0L
+                : parseId(cursorCodec.decode(cursorRequest.cursor(), 1).get(0));
+        int limit = cursorRequest.limit();
+        List<Long> ids = bookSearchIndex.canSearch(params)
+                ? bookSearchIndex.searchAfter(params, afterId, limit + 1)
+                : bookRepository.findBy(
+                        specificationBuilder.build(params).and(idGreaterThan(afterId)),
+                        query -> query.sortBy(Sort.by("id")).limit(limit + 1).all())
+                        .stream()
+                        .map(Book::getId)
+                        .toList();
+        boolean hasNext = ids.size() > limit;
+        List<Long> pageIds = hasNext ? ids.subList(0, limit) : ids;
+        String nextCursor = hasNext ? cursorCodec.encode(pageIds.get(limit - 1)) : null;
+        Long totalElements = null;
+        if (cursorRequest.countRequested()) {
+            totalElements = bookSearchIndex.canSearch(params)
+                    ? bookSearchIndex.count(params)
+                    : bookRepository.count(specificationBuilder.build(params));
+        }
+        return new CursorPageDto<>(findAllInOrder(pageIds), nextCursor, hasNext, totalElements);
     }
 
     @Override
     public BookDto findById(Long id) {
-        return bookMapper.toBookDto(findBookById(id));
+        return bookCache.get(id, this::loadBookDto);
     }
 
     @Override
+    @Transactional
     public BookDto update(Long id, CreateBookRequestDto bookRequestDto) {
         Book book = findBookById(id);
         if (!book.getIsbn().equals(bookRequestDto.isbn())) {
             throw new EntityNotFoundException("Can't update the book. Invalid book id: "
                     + id + " or isbn: " + bookRequestDto.isbn());
         }
+        final BigDecimal oldPrice = book.getPrice();
         bookMapper.updateBookEntity(bookRequestDto, book);
-        return bookMapper.toBookDto(bookRepository.save(book));
+        Book updatedBook = bookRepository.save(book);
+        if (oldPrice.compareTo(updatedBook.getPrice()) != 0) {
+            outboxPublisher.publish(BookPriceChangedEventDto.TYPE,
+                    BookPriceChangedEventDto.AGGREGATE, id,
+                    new BookPriceChangedEventDto(id, updatedBook.getPrice()));
+        }
+        bookSearchIndex.index(updatedBook);
+        bookCache.evict(id);
+        return bookMapper.toBookDto(updatedBook);
     }
 
     @Override
@@ -75,17 +162,31 @@ public class BookServiceImpl implements BookService {
         if (!bookRepository.existsById(id)) {
             throw new EntityNotFoundException("Can't delete a book with ID: " + id);
         }
-        cartItemRepository.findByBookId(id).ifPresent(cartItemRepository::delete);
         bookRepository.deleteById(id);
+        shoppingCartRepository.refreshTotalsByBookId(id);
+        cartItemRepository.findByBookId(id).ifPresent(cartItemRepository::delete);
+        bookSearchIndex.remove(id);
+        bookCache.evict(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<BookDtoWithoutCategoryIds> getByCategoryId(Long categoryId, Pageable pageable) {
-        if (!categoriesCache.containsKey(categoryId)) {
+        if (!categoryCache.contains(categoryId)) {
+            throw new EntityNotFoundException("Can't get books with category ID: " + categoryId);
+        }
+        return bookRepository.findAllByCategoryId(categoryId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookDtoWithoutCategoryIds> getByCategoryId(
+            Long categoryId, CursorRequestDto cursorRequest) {
+        if (!categoryCache.contains(categoryId)) {
             throw new EntityNotFoundException("Can't get books with category ID: " + categoryId);
         }
-        return bookRepository.findAllByCategoryId(categoryId, pageable)
-                .map(bookMapper::toBookDtoWithoutCategoryIds);
+        return keysetPaginator.paginate(bookRepository, Book.class, inCategory(categoryId),
+                cursorRequest, KEYSET_PROPERTIES, this::findViewsInOrder);
     }
 
     @Override
@@ -93,4 +194,61 @@ public class BookServiceImpl implements BookService {
         return bookRepository.findById(id).orElseThrow(() ->
                 new EntityNotFoundException("Can`t find the book by id: " + id));
     }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return ids.isEmpty() ? Set.of() : bookRepository.findIdsByIdIn(ids);
+    }
+
+    private BookDto loadBookDto(Long id) {
+        List<BookDto> books = findAllInOrder(List.of(id));
+        if (books.isEmpty()) {
+            throw new EntityNotFoundException("Can`t find the book by id: " + id);
+        }
+        return books.get(0);
+    }
+
+    private List<BookDto> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<BookDtoWithoutCategoryIds> books = findViewsInOrder(ids);
+        Map<Long, Set<Long>> categoryIds = bookRepository.findCategoryIdsByBookIdIn(ids).stream()
+                .collect(Collectors.groupingBy(BookCategoryIdDto::bookId,
+                        Collectors.mapping(BookCategoryIdDto::categoryId, Collectors.toSet())));
+        return books.stream()
+                .map(book -> bookMapper.toBookDto(book,
+                        categoryIds.getOrDefault(book.id(), Set.of())))
+                .toList();
+    }
+
+    private List<BookDtoWithoutCategoryIds> findViewsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookDtoWithoutCategoryIds> books = bookRepository.findAllViewsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(BookDtoWithoutCategoryIds::id, Function.identity()));
+        return ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static Specification<Book> inCategory(Long categoryId) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.join("categories").get("id"), categoryId);
+    }
+
+    private static Specification<Book> idGreaterThan(Long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), id);
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor key: " + value);
+        }
+    }
 }
@@ -0,0 +1,155 @@
+package onlinebookstore.service.book;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import onlinebookstore.dto.book.CreateBookRequestDto;
+
+class CsvBookRowReader implements BookRowReader {
+    private static final List<String> COLUMNS = List.of(
+            "title", "author", "isbn", "price", "description", "coverImage", "categoryIds");
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "title", "author", "isbn", "price", "categoryIds");
+    private static final String CATEGORY_ID_SEPARATOR = ";";
+
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long line = 1;
+    private boolean unterminatedQuote;
+
+    CsvBookRowReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV body has no header row.");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim();
+            if (!COLUMNS.contains(column) || columns.putIfAbsent(column, i) != null) {
+                throw new IllegalArgumentException("Invalid CSV column: " + column);
+            }
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("Missing CSV column: " + column);
+            }
+        }
+    }
+
+    @Override
+    public BookImportRow next() throws IOException {
+        long number;
+        List<String> values;
+        do {
+            number = line;
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+        String isbn = value(values, "isbn");
+        if (unterminatedQuote) {
+            return BookImportRow.invalid(number, isbn, "Unterminated quoted value.");
+        }
+        if (values.size() != columns.size()) {
+            return BookImportRow.invalid(number, isbn, "Expected " + columns.size()
+                    + " values but found " + values.size() + ".");
+        }
+        try {
+            return BookImportRow.valid(number, new CreateBookRequestDto(
+                    value(values, "title"),
+                    value(values, "author"),
+                    isbn,
+                    parsePrice(value(values, "price")),
+                    value(values, "description"),
+                    value(values, "coverImage"),
+                    parseCategoryIds(value(values, "categoryIds"))
+            ));
+        } catch (IllegalArgumentException e) {
+            return BookImportRow.invalid(number, isbn, e.getMessage());
+        }
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private List<String> readRecord() throws IOException {
+        int ch = reader.read();
+        if (ch == -1) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (ch == -1) {
+                    unterminatedQuote = true;
+                    values.add(value.toString());
+                    return values;
+                }
+                if (ch == '"') {
+                    ch = reader.read();
+                    if (ch != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (ch == '\n') {
+                    line++;
+                }
+                value.append((char) ch);
+            } else if (ch == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (ch == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (ch == '\n' || ch == -1) {
+                if (ch == '\n') {
+                    line++;
+                }
+                values.add(value.toString());
+                return values;
+            } else if (ch != '\r') {
+                value.append((char) ch);
+            }
+            ch = reader.read();
+        }
+    }
+
+    private static BigDecimal parsePrice(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price: " + value);
+        }
+    }
+
+    private static Set<Long> parseCategoryIds(String value) {
+        if (value == null) {
+            return null;
+        }
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        for (String id : value.split(CATEGORY_ID_SEPARATOR)) {
+            try {
+                categoryIds.add(Long.valueOf(id.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid category id: " + id);
+            }
+        }
+        return categoryIds;
+    }
+}
@@ -0,0 +1,40 @@
+package onlinebookstore.service.book;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import onlinebookstore.dto.book.CreateBookRequestDto;
+
+class NdjsonBookRowReader implements BookRowReader {
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long line;
+
+    NdjsonBookRowReader(BufferedReader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader.forType(CreateBookRequestDto.class);
+    }
+
+    @Override
+    public BookImportRow next() throws IOException {
+        String json;
+        do {
+            json = reader.readLine();
+            if (json == null) {
+                return null;
+            }
+            line++;
+        } while (json.isBlank());
+        try {
+            JsonNode node = objectReader.readTree(json);
+            if (!node.isObject()) {
+                return BookImportRow.invalid(line, null, "Invalid JSON: expected an object");
+            }
+            return BookImportRow.valid(line, objectReader.readValue(node));
+        } catch (JsonProcessingException e) {
+            return BookImportRow.invalid(line, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package onlinebookstore.service.category;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import onlinebookstore.dto.category.CategoriesVersionDto;
+import onlinebookstore.model.Category;
+import onlinebookstore.repository.category.CategoryRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategoryCache {
+    public static final String CACHE_NAME = "categories";
+    private static final Comparator<Category> BY_ID = Comparator.comparing(Category::getId);
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(
+            new Snapshot(Map.of(), List.of(), tag(List.of()), Instant.EPOCH));
+    private final CategoryRepository categoryRepository;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CategoryCache(CategoryRepository categoryRepository, MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        hits = Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        misses = Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", snapshot, current -> current.get().categories().size())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${category.cache.refresh-interval:PT1M}",
+            fixedDelayString = "${category.cache.refresh-interval:PT1M}")
+    public synchronized void refresh() {
+        Map<Long, Category> loaded = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getId, CategoryCache::copy));
+        publish(loaded);
+    }
+
+    public boolean contains(Long id) {
+        return lookup(id) != null;
+    }
+
+    public Optional<Category> get(Long id) {
+        return Optional.ofNullable(lookup(id)).map(CategoryCache::copy);
+    }
+
+    public Page<Category> findAll(Pageable pageable) {
+        List<Category> ordered = snapshot.get().ordered();
+        List<Category> sorted = pageable.getSort().isSorted()
+                ? ordered.stream().sorted(comparator(pageable.getSort())).toList()
+                : ordered;
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted.stream().map(CategoryCache::copy).toList());
+        }
+        List<Category> content = sorted.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(CategoryCache::copy)
+                .toList();
+        return new PageImpl<>(content, pageable, sorted.size());
+    }
+
+    public CategoriesVersionDto version() {
+        Snapshot current = snapshot.get();
+        return new CategoriesVersionDto(current.tag(), current.lastModified());
+    }
+
+    public int size() {
+        return snapshot.get().categories().size();
+    }
+
+    public synchronized void put(Category category) {
+        Category cached = copy(category);
+        update(categories -> categories.put(cached.getId(), cached));
+    }
+
+    public synchronized void evict(Long id) {
+        update(categories -> categories.remove(id));
+    }
+
+    private Category lookup(Long id) {
+        Category category = snapshot.get().categories().get(id);
+        (category == null ? misses : hits).increment();
+        return category;
+    }
+
+    private void update(Consumer<Map<Long, Category>> change) {
+        Map<Long, Category> categories = new HashMap<>(snapshot.get().categories());
+        change.accept(categories);
+        publish(categories);
+    }
+
+    private void publish(Map<Long, Category> categories) {
+        List<Category> ordered = categories.values().stream().sorted(BY_ID).toList();
+        String tag = tag(ordered);
+        Instant lastModified = categoryRepository.findLastModified()
+                .map(updatedAt -> updatedAt.atZone(ZoneId.systemDefault()).toInstant())
+                .orElse(Instant.EPOCH)
+                .truncatedTo(ChronoUnit.SECONDS);
+        Snapshot current = snapshot.get();
+        if (!tag.equals(current.tag()) || !lastModified.equals(current.lastModified())) {
+            snapshot.set(new Snapshot(Map.copyOf(categories), ordered, tag, lastModified));
+        }
+    }
+
+    private static String tag(List<Category> ordered) {
+        List<List<Object>> content = ordered.stream()
+                .map(category -> Arrays.<Object>asList(category.getId(), category.getName(),
+                        category.getDescription()))
+                .toList();
+        return ordered.size() + "-" + Integer.toHexString(content.hashCode());
+    }
+
+    private static Comparator<Category> comparator(Sort sort) {
+        Comparator<Category> comparator = (first, second) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Category> byProperty = switch (order.getProperty()) {
+                case "id" -> BY_ID;
+                case "name" -> Comparator.comparing(Category::getName,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "description" -> Comparator.comparing(Category::getDescription,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                default -> throw new IllegalArgumentException(
+                        "Can't sort categories by property: " + order.getProperty());
+            };
+            comparator = comparator.thenComparing(
+                    order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator.thenComparing(BY_ID);
+    }
+
+    private static Category copy(Category source) {
+        Category category = new Category();
+        category.setId(source.getId());
+        category.setName(source.getName());
+        category.setDescription(source.getDescription());
+        return category;
+    }
+
+    private record Snapshot(
+            Map<Long, Category> categories,
+            List<Category> ordered,
+            String tag,
+            Instant lastModified
+    ) {
+    }
+}
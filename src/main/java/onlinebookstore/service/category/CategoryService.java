@@ -1,5 +1,6 @@
 package onlinebookstore.service.category;
 
+import onlinebookstore.dto.category.CategoriesVersionDto;
 import onlinebookstore.dto.category.CategoryDto;
 import onlinebookstore.dto.category.CreateCategoryRequestDto;
 import org.springframework.data.domain.Page;
@@ -10,6 +11,8 @@ public interface CategoryService {
 
     CategoryDto getById(Long id);
 
+    CategoriesVersionDto getVersion();
+
     CategoryDto save(CreateCategoryRequestDto categoryRequestDto);
 
     CategoryDto update(Long id, CreateCategoryRequestDto categoryRequestDto);
@@ -1,9 +1,7 @@
 package onlinebookstore.service.category;
 
-import jakarta.annotation.PostConstruct;
-import java.util.HashMap;
-import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.category.CategoriesVersionDto;
 import onlinebookstore.dto.category.CategoryDto;
 import onlinebookstore.dto.category.CreateCategoryRequestDto;
 import onlinebookstore.exception.DataProcessingException;
@@ -11,6 +9,7 @@ import onlinebookstore.exception.EntityNotFoundException;
 import onlinebookstore.mapper.CategoryMapper;
 import onlinebookstore.model.Category;
 import onlinebookstore.repository.category.CategoryRepository;
+import onlinebookstore.service.book.BookCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,24 +17,25 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
-    public static final Map<Long, Category> categoriesCache = new HashMap<>();
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
-
-    @PostConstruct
-    public void initializeCategoriesCash() {
-        categoryRepository.findAll().forEach(category ->
-                categoriesCache.put(category.getId(), category));
-    }
+    private final CategoryCache categoryCache;
+    private final BookCache bookCache;
 
     @Override
     public Page<CategoryDto> findAll(Pageable pageable) {
-        return categoryRepository.findAll(pageable).map(categoryMapper::toCategoryDto);
+        return categoryCache.findAll(pageable).map(categoryMapper::toCategoryDto);
     }
 
     @Override
     public CategoryDto getById(Long id) {
-        return categoryMapper.toCategoryDto(findCategoryById(id));
+        return categoryCache.get(id).map(categoryMapper::toCategoryDto).orElseThrow(() ->
+                new EntityNotFoundException("Can't find the category by id: " + id));
+    }
+
+    @Override
+    public CategoriesVersionDto getVersion() {
+        return categoryCache.version();
     }
 
     @Override
@@ -46,7 +46,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         Category category = categoryMapper.toCategoryEntity(categoryRequestDto);
         categoryRepository.save(category);
-        categoriesCache.put(category.getId(), category);
+        categoryCache.put(category);
         return categoryMapper.toCategoryDto(category);
     }
 
@@ -55,7 +55,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = findCategoryById(id);
         categoryMapper.updateCategoryEntity(category, categoryRequestDto);
         categoryRepository.save(category);
-        categoriesCache.put(category.getId(), category);
+        categoryCache.put(category);
         return categoryMapper.toCategoryDto(category);
     }
 
@@ -65,7 +65,8 @@ public class CategoryServiceImpl implements CategoryService {
             throw new EntityNotFoundException("Can't delete a category with id: " + id);
         }
         categoryRepository.deleteById(id);
-        categoriesCache.remove(id);
+        categoryCache.evict(id);
+        bookCache.evictAll();
     }
 
     private Category findCategoryById(Long id) {
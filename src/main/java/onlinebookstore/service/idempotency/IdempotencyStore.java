@@ -0,0 +1,89 @@
+package onlinebookstore.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import onlinebookstore.exception.IdempotencyKeyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdempotencyStore {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String CACHE_NAME = "idempotencyKeys";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Execution> executions;
+
+    public IdempotencyStore(@Value("${idempotency.max-size:10000}") long maxSize,
+                            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        executions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, executions, CACHE_NAME);
+    }
+
+    public <T> T execute(Long userId, String scope, String key, Object request,
+                         Supplier<T> action) {
+        return execute(userId, scope, key, request, null, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Long userId, String scope, String key, Object request,
+                         Object precondition, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Invalid idempotency key. "
+                    + "Key should contain from 1 to " + MAX_KEY_LENGTH + " characters.");
+        }
+        String cacheKey = userId + ":" + scope + ":" + key;
+        Execution candidate = new Execution(request, precondition, new CompletableFuture<>());
+        Execution execution = executions.get(cacheKey, ignored -> candidate);
+        if (!Objects.equals(execution.request(), request)) {
+            throw new IdempotencyKeyException(
+                    "Idempotency key was already used for a different request: " + key);
+        }
+        if (!Objects.equals(execution.precondition(), precondition)) {
+            throw new IdempotencyKeyException(
+                    "Idempotency key was already used with a different precondition: " + key);
+        }
+        if (execution != candidate) {
+            return (T) await(execution.response());
+        }
+        try {
+            T response = action.get();
+            candidate.response().complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            executions.asMap().remove(cacheKey, candidate);
+            candidate.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Execution(Object request, Object precondition,
+                             CompletableFuture<Object> response) {
+    }
+}
@@ -0,0 +1,45 @@
+package onlinebookstore.service.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import onlinebookstore.dto.order.OrderPlacedEventDto;
+import onlinebookstore.dto.outbox.OutboxEventDto;
+import onlinebookstore.exception.DataProcessingException;
+import onlinebookstore.service.outbox.OutboxEventConsumer;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderPlacedMetricsConsumer implements OutboxEventConsumer {
+    public static final String PLACED_ORDERS = "orders.placed";
+    public static final String PLACED_ORDER_TOTALS = "orders.placed.total";
+
+    private final ObjectMapper objectMapper;
+    private final Counter placedOrders;
+    private final DistributionSummary placedOrderTotals;
+
+    public OrderPlacedMetricsConsumer(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.placedOrders = meterRegistry.counter(PLACED_ORDERS);
+        this.placedOrderTotals = meterRegistry.summary(PLACED_ORDER_TOTALS);
+    }
+
+    @Override
+    public String eventType() {
+        return OrderPlacedEventDto.TYPE;
+    }
+
+    @Override
+    public void accept(OutboxEventDto event) {
+        OrderPlacedEventDto orderPlaced;
+        try {
+            orderPlaced = objectMapper.readValue(event.payload(), OrderPlacedEventDto.class);
+        } catch (JsonProcessingException e) {
+            throw new DataProcessingException("Can't read outbox event with id: " + event.id());
+        }
+        placedOrders.increment();
+        placedOrderTotals.record(orderPlaced.total().doubleValue());
+    }
+}
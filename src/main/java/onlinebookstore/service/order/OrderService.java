@@ -3,6 +3,8 @@ package onlinebookstore.service.order;
 import onlinebookstore.dto.order.OrderDto;
 import onlinebookstore.dto.order.OrderRequestDto;
 import onlinebookstore.dto.order.UpdateOrderDto;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.dto.pagination.CursorRequestDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,5 +13,7 @@ public interface OrderService {
 
     Page<OrderDto> getOrders(Long userId, Pageable pageable);
 
+    CursorPageDto<OrderDto> getOrders(Long userId, CursorRequestDto cursorRequest);
+
     OrderDto changeStatusOrder(Long orderId, UpdateOrderDto updateOrderDto);
 }
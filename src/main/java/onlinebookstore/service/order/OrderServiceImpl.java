@@ -1,20 +1,35 @@
 package onlinebookstore.service.order;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import onlinebookstore.dto.order.OrderDto;
+import onlinebookstore.dto.order.OrderPlacedEventDto;
 import onlinebookstore.dto.order.OrderRequestDto;
 import onlinebookstore.dto.order.UpdateOrderDto;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.dto.pagination.CursorRequestDto;
 import onlinebookstore.exception.EntityNotFoundException;
 import onlinebookstore.exception.OrderProcessingException;
 import onlinebookstore.mapper.OrderMapper;
 import onlinebookstore.model.Order;
-import onlinebookstore.model.ShoppingCart;
+import onlinebookstore.repository.cartitem.CartItemRepository;
+import onlinebookstore.repository.order.OrderPlacementRepository;
 import onlinebookstore.repository.order.OrderRepository;
 import onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
-import onlinebookstore.service.shoppingcart.ShoppingCartService;
+import onlinebookstore.service.outbox.OutboxPublisher;
+import onlinebookstore.service.pagination.KeysetPaginator;
+import onlinebookstore.service.pagination.KeysetProperty;
+import onlinebookstore.service.stock.StockService;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,40 +37,82 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Transactional
 public class OrderServiceImpl implements OrderService {
+    private static final Map<String, KeysetProperty> KEYSET_PROPERTIES = Map.of(
+            KeysetPaginator.ID, new KeysetProperty(Long::valueOf),
+            "orderDate", new KeysetProperty(LocalDateTime::parse)
+    );
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
-    private final ShoppingCartService shoppingCartService;
+    private final OrderPlacementRepository orderPlacementRepository;
+    private final CartItemRepository cartItemRepository;
     private final ShoppingCartRepository shoppingCartRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final OutboxPublisher outboxPublisher;
+    private final StockService stockService;
 
     @Override
     public OrderDto createOrder(Long userId, OrderRequestDto orderRequestDto) {
-        String shippingAddress = orderRequestDto.shippingAddress();
-        ShoppingCart shoppingCart = shoppingCartService.findShoppingCartByUserId(userId);
-
-        if (shoppingCart.getCartItems().isEmpty()) {
-            throw new OrderProcessingException("Shopping cart is empty for user: " + userId);
+        Long cartVersion = shoppingCartRepository.findVersionById(userId)
+                .orElseThrow(() -> new OrderProcessingException(
+                        "Shopping cart is empty for user: " + userId));
+        if (shoppingCartRepository.incrementVersion(userId, cartVersion) == 0) {
+            throw new OptimisticLockingFailureException(
+                    "Shopping cart was changed while placing an order for user: " + userId);
         }
-        Order order = orderMapper.toOrderEntity(shoppingCart);
-        order.setOrderDate(LocalDateTime.now());
-        order.setShippingAddress(shippingAddress);
-        orderRepository.save(order);
-
-        shoppingCart.getCartItems().clear();
-        shoppingCartRepository.save(shoppingCart);
-
-        return orderMapper.toOrderDto(order);
+        LocalDateTime orderDate = LocalDateTime.now();
+        Long orderId = orderPlacementRepository.insertOrderFromShoppingCart(userId,
+                        orderRequestDto.shippingAddress(), orderDate)
+                .orElseThrow(() -> new OrderProcessingException(
+                        "Shopping cart is empty for user: " + userId));
+        orderPlacementRepository.insertOrderItemsFromShoppingCart(orderId, userId);
+        stockService.reserve(orderId);
+        cartItemRepository.deleteAllByShoppingCartId(userId);
+        shoppingCartRepository.clearTotals(userId);
+        OrderDto orderDto = toOrderDtosInOrder(List.of(orderId)).get(0);
+        outboxPublisher.publish(OrderPlacedEventDto.TYPE, OrderPlacedEventDto.AGGREGATE, userId,
+                new OrderPlacedEventDto(orderId, userId, orderDto.getTotal(), orderDate));
+        return orderDto;
     }
 
     @Override
     public Page<OrderDto> getOrders(Long userId, Pageable pageable) {
-        return orderRepository.findByUserId(userId, pageable).map(orderMapper::toOrderDto);
+        Page<Long> ids = orderRepository.findIdsByUserId(userId, pageable);
+        return new PageImpl<>(toOrderDtosInOrder(ids.getContent()), pageable,
+                ids.getTotalElements());
+    }
+
+    @Override
+    public CursorPageDto<OrderDto> getOrders(Long userId, CursorRequestDto cursorRequest) {
+        Specification<Order> byUser = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("user").get("id"), userId);
+        return keysetPaginator.paginate(orderRepository, Order.class, byUser, cursorRequest,
+                KEYSET_PROPERTIES, this::toOrderDtosInOrder);
     }
 
     @Override
     public OrderDto changeStatusOrder(Long orderId, UpdateOrderDto updateOrderDto) {
         Order order = orderRepository.findById(orderId).orElseThrow(() ->
                 new EntityNotFoundException("Can't find order with id: " + orderId));
-        order.setStatus(Order.Status.valueOfStatus(updateOrderDto.status()));
+        Order.Status status = Order.Status.valueOfStatus(updateOrderDto.status());
+        if (!order.getStatus().canTransitionTo(status)) {
+            throw new OrderProcessingException("Can't change order status from "
+                    + order.getStatus() + " to " + status);
+        }
+        order.setStatus(status);
         return orderMapper.toOrderDto(orderRepository.save(order));
     }
+
+    private List<OrderDto> toOrderDtosInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Order> orders = orderRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return ids.stream()
+                .map(orders::get)
+                .filter(Objects::nonNull)
+                .map(orderMapper::toOrderDto)
+                .toList();
+    }
 }
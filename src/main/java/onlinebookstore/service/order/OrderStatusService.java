@@ -0,0 +1,8 @@
+package onlinebookstore.service.order;
+
+import onlinebookstore.dto.order.OrderStatusBatchRequestDto;
+import onlinebookstore.dto.order.OrderStatusBatchResultDto;
+
+public interface OrderStatusService {
+    OrderStatusBatchResultDto changeStatusOrders(OrderStatusBatchRequestDto requestDto);
+}
@@ -0,0 +1,103 @@
+package onlinebookstore.service.order;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import onlinebookstore.dto.order.OrderStatusBatchRequestDto;
+import onlinebookstore.dto.order.OrderStatusBatchResultDto;
+import onlinebookstore.dto.order.OrderStatusResultDto;
+import onlinebookstore.dto.order.OrderStatusVersionDto;
+import onlinebookstore.model.Order;
+import onlinebookstore.repository.order.OrderRepository;
+import onlinebookstore.repository.order.OrderStatusRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class OrderStatusServiceImpl implements OrderStatusService {
+    private final OrderRepository orderRepository;
+    private final OrderStatusRepository orderStatusRepository;
+    private final int chunkSize;
+
+    public OrderStatusServiceImpl(OrderRepository orderRepository,
+                                  OrderStatusRepository orderStatusRepository,
+                                  @Value("${order.status.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid order status chunk size: " + chunkSize);
+        }
+        this.orderRepository = orderRepository;
+        this.orderStatusRepository = orderStatusRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public OrderStatusBatchResultDto changeStatusOrders(OrderStatusBatchRequestDto requestDto) {
+        Order.Status status = Order.Status.valueOfStatus(requestDto.status());
+        List<Long> orderIds = List.copyOf(new LinkedHashSet<>(requestDto.orderIds()));
+        List<OrderStatusResultDto> results = new ArrayList<>(orderIds.size());
+        for (int from = 0; from < orderIds.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, orderIds.size());
+            results.addAll(changeStatusChunk(orderIds.subList(from, to), status));
+        }
+        long applied = results.stream()
+                .filter(result -> result.outcome() == OrderStatusResultDto.Outcome.APPLIED)
+                .count();
+        return new OrderStatusBatchResultDto(applied, results.size() - applied, results);
+    }
+
+    private List<OrderStatusResultDto> changeStatusChunk(List<Long> orderIds,
+                                                         Order.Status status) {
+        Map<Long, OrderStatusVersionDto> orders = findStatusVersions(orderIds);
+        List<OrderStatusVersionDto> candidates = orderIds.stream()
+                .map(orders::get)
+                .filter(order -> order != null && order.status().canTransitionTo(status))
+                .toList();
+        Set<Long> conflicts = updateStatus(candidates, status);
+        return orderIds.stream()
+                .map(orderId -> toResult(orderId, orders.get(orderId), status, conflicts))
+                .toList();
+    }
+
+    private Set<Long> updateStatus(List<OrderStatusVersionDto> candidates, Order.Status status) {
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        int[] updated = orderStatusRepository.updateStatus(candidates, status);
+        Set<Long> conflicts = new HashSet<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (updated[i] == 0) {
+                conflicts.add(candidates.get(i).id());
+            }
+        }
+        return conflicts;
+    }
+
+    private Map<Long, OrderStatusVersionDto> findStatusVersions(Collection<Long> orderIds) {
+        return orderRepository.findStatusVersionsByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(OrderStatusVersionDto::id, Function.identity()));
+    }
+
+    private static OrderStatusResultDto toResult(Long orderId, OrderStatusVersionDto order,
+                                                 Order.Status status, Set<Long> conflicts) {
+        if (order == null) {
+            return new OrderStatusResultDto(orderId, OrderStatusResultDto.Outcome.NOT_FOUND,
+                    "Can't find order with id: " + orderId);
+        }
+        if (!order.status().canTransitionTo(status)) {
+            return new OrderStatusResultDto(orderId,
+                    OrderStatusResultDto.Outcome.INVALID_TRANSITION,
+                    "Can't change order status from " + order.status() + " to " + status);
+        }
+        if (conflicts.contains(orderId)) {
+            return new OrderStatusResultDto(orderId, OrderStatusResultDto.Outcome.CONFLICT,
+                    "Order with id " + orderId + " was changed concurrently");
+        }
+        return new OrderStatusResultDto(orderId, OrderStatusResultDto.Outcome.APPLIED, null);
+    }
+}
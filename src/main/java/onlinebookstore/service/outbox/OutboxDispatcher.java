@@ -0,0 +1,109 @@
+package onlinebookstore.service.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import onlinebookstore.dto.outbox.OutboxEventDto;
+import onlinebookstore.repository.outbox.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxDispatcher {
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int MAX_BACKOFF_SHIFT = 10;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Map<String, List<OutboxEventConsumer>> consumers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+    private final Duration retention;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<OutboxEventConsumer> consumers,
+                            @Value("${outbox.dispatch.batch-size:100}") int batchSize,
+                            @Value("${outbox.dispatch.max-attempts:10}") int maxAttempts,
+                            @Value("${outbox.dispatch.retry-backoff:PT5S}") Duration retryBackoff,
+                            @Value("${outbox.dispatch.lease:PT1M}") Duration lease,
+                            @Value("${outbox.retention:P7D}") Duration retention) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid outbox batch size: " + batchSize);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Invalid outbox max attempts: " + maxAttempts);
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.consumers = consumers.stream()
+                .collect(Collectors.groupingBy(OutboxEventConsumer::eventType));
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+        this.retention = retention;
+    }
+
+    @Scheduled(initialDelayString = "${outbox.dispatch.interval:PT1S}",
+            fixedDelayString = "${outbox.dispatch.interval:PT1S}")
+    public void dispatch() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch(LocalDateTime.now());
+        } while (dispatched == batchSize);
+    }
+
+    @Scheduled(initialDelayString = "${outbox.purge-interval:PT1H}",
+            fixedDelayString = "${outbox.purge-interval:PT1H}")
+    public void purge() {
+        outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    int dispatchBatch(LocalDateTime now) {
+        String claimedBy = UUID.randomUUID().toString();
+        List<OutboxEventDto> events = outboxEventRepository.claimDispatchable(claimedBy, now,
+                now.plus(lease), batchSize);
+        Set<String> blockedPartitions = new HashSet<>();
+        List<Long> processed = new ArrayList<>(events.size());
+        List<Long> skipped = new ArrayList<>();
+        for (OutboxEventDto event : events) {
+            if (blockedPartitions.contains(event.partitionKey())) {
+                skipped.add(event.id());
+                continue;
+            }
+            try {
+                consumers.getOrDefault(event.eventType(), List.of())
+                        .forEach(consumer -> consumer.accept(event));
+                processed.add(event.id());
+            } catch (RuntimeException e) {
+                blockedPartitions.add(event.partitionKey());
+                fail(event, e, now);
+            }
+        }
+        outboxEventRepository.markProcessed(processed, now);
+        outboxEventRepository.release(skipped, claimedBy, now);
+        return processed.size();
+    }
+
+    private void fail(OutboxEventDto event, RuntimeException exception, LocalDateTime now) {
+        int attempts = event.attempts() + 1;
+        String error = String.valueOf(exception);
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        if (attempts >= maxAttempts) {
+            outboxEventRepository.markFailed(event.id(), attempts, error, now);
+            return;
+        }
+        Duration backoff = retryBackoff.multipliedBy(
+                1L << Math.min(attempts - 1, MAX_BACKOFF_SHIFT));
+        outboxEventRepository.scheduleRetry(event.id(), attempts, error, now.plus(backoff));
+    }
+}
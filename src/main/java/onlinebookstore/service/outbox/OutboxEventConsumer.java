@@ -0,0 +1,9 @@
+package onlinebookstore.service.outbox;
+
+import onlinebookstore.dto.outbox.OutboxEventDto;
+
+public interface OutboxEventConsumer {
+    String eventType();
+
+    void accept(OutboxEventDto event);
+}
@@ -0,0 +1,29 @@
+package onlinebookstore.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.exception.DataProcessingException;
+import onlinebookstore.repository.outbox.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, String aggregateType, Long aggregateId,
+                        Object payload) {
+        try {
+            outboxEventRepository.insert(eventType, aggregateType + ":" + aggregateId,
+                    objectMapper.writeValueAsString(payload), LocalDateTime.now());
+        } catch (JsonProcessingException e) {
+            throw new DataProcessingException("Can't serialize outbox event: " + eventType);
+        }
+    }
+}
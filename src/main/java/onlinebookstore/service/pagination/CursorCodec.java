@@ -0,0 +1,43 @@
+package onlinebookstore.service.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CursorCodec {
+    private static final TypeReference<List<String>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public String encode(Object... keys) {
+        List<String> values = Arrays.stream(keys).map(String::valueOf).toList();
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsBytes(values));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't encode the cursor keys: " + values, e);
+        }
+    }
+
+    public List<String> decode(String cursor, int expectedSize) {
+        List<String> values;
+        try {
+            values = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), KEYS_TYPE);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (values == null || values.size() != expectedSize) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return values;
+    }
+}
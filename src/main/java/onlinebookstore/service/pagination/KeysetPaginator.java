@@ -0,0 +1,146 @@
+package onlinebookstore.service.pagination;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.dto.pagination.CursorRequestDto;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginator {
+    public static final String ID = "id";
+    private static final int CURSOR_SIZE = 4;
+
+    private final CursorCodec cursorCodec;
+    private final EntityManager entityManager;
+
+    public <T, D> CursorPageDto<D> paginate(JpaSpecificationExecutor<T> repository,
+                                            Class<T> entityType,
+                                            Specification<T> filter,
+                                            CursorRequestDto cursorRequest,
+                                            Map<String, KeysetProperty> properties,
+                                            Function<List<Long>, List<D>> loader) {
+        Sort.Order order = parseOrder(cursorRequest.sort(), properties);
+        Specification<T> specification = filter;
+        if (cursorRequest.cursor() != null) {
+            List<String> keys = cursorCodec.decode(cursorRequest.cursor(), CURSOR_SIZE);
+            if (!keys.get(0).equals(order.getProperty())
+                    || !keys.get(1).equals(order.getDirection().name())) {
+                throw new IllegalArgumentException("The cursor doesn't match the sort: "
+                        + order.getProperty() + "," + order.getDirection());
+            }
+            specification = specification.and(after(order, properties, keys));
+        }
+        int limit = cursorRequest.limit();
+        List<Tuple> rows = findKeys(entityType, specification, order, limit + 1);
+
+        boolean hasNext = rows.size() > limit;
+        List<Tuple> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Tuple last = content.get(limit - 1);
+            nextCursor = cursorCodec.encode(order.getProperty(), order.getDirection().name(),
+                    last.get(order.getProperty()), last.get(ID));
+        }
+        Long totalElements = cursorRequest.countRequested() ? repository.count(filter) : null;
+        List<Long> ids = content.stream()
+                .map(row -> row.get(ID, Long.class))
+                .toList();
+        return new CursorPageDto<>(loader.apply(ids), nextCursor, hasNext, totalElements);
+    }
+
+    private <T> List<Tuple> findKeys(Class<T> entityType,
+                                     Specification<T> specification,
+                                     Sort.Order order,
+                                     int maxResults) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        Path<Object> idPath = root.get(ID);
+        if (order.getProperty().equals(ID)) {
+            query.multiselect(idPath.alias(ID))
+                    .orderBy(toOrder(criteriaBuilder, order, idPath));
+        } else {
+            Path<Object> keyPath = root.get(order.getProperty());
+            query.multiselect(idPath.alias(ID), keyPath.alias(order.getProperty()))
+                    .orderBy(toOrder(criteriaBuilder, order, keyPath),
+                            toOrder(criteriaBuilder, order, idPath));
+        }
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    private static jakarta.persistence.criteria.Order toOrder(CriteriaBuilder criteriaBuilder,
+                                                             Sort.Order order,
+                                                             Path<Object> path) {
+        return order.isAscending() ? criteriaBuilder.asc(path) : criteriaBuilder.desc(path);
+    }
+
+    private static Sort.Order parseOrder(String sort, Map<String, KeysetProperty> properties) {
+        if (sort == null) {
+            return Sort.Order.asc(ID);
+        }
+        String[] parts = sort.split(",");
+        if (!properties.containsKey(parts[0])) {
+            throw new IllegalArgumentException("Can't sort by property: " + parts[0]);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1])
+                : Sort.Direction.ASC;
+        return new Sort.Order(direction, parts[0]);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Specification<T> after(Sort.Order order,
+                                              Map<String, KeysetProperty> properties,
+                                              List<String> keys) {
+        Comparable key = parseKey(properties.get(order.getProperty()), keys.get(2));
+        Comparable id = parseKey(properties.get(ID), keys.get(3));
+        return (root, query, criteriaBuilder) -> {
+            Expression<Comparable> idPath = root.get(ID);
+            Predicate afterId = beyond(criteriaBuilder, order, idPath, id);
+            if (order.getProperty().equals(ID)) {
+                return afterId;
+            }
+            Expression<Comparable> keyPath = root.get(order.getProperty());
+            return criteriaBuilder.or(
+                    beyond(criteriaBuilder, order, keyPath, key),
+                    criteriaBuilder.and(criteriaBuilder.equal(keyPath, key), afterId));
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyond(CriteriaBuilder criteriaBuilder, Sort.Order order,
+                                    Expression<Comparable> path, Comparable value) {
+        return order.isAscending()
+                ? criteriaBuilder.greaterThan(path, value)
+                : criteriaBuilder.lessThan(path, value);
+    }
+
+    private static Comparable<?> parseKey(KeysetProperty property, String value) {
+        try {
+            return property.parser().apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor key: " + value);
+        }
+    }
+}
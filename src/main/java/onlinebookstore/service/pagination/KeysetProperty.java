@@ -0,0 +1,6 @@
+package onlinebookstore.service.pagination;
+
+import java.util.function.Function;
+
+public record KeysetProperty(Function<String, ? extends Comparable<?>> parser) {
+}
@@ -0,0 +1,71 @@
+package onlinebookstore.service.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class ConflictRetryExecutor {
+    public static final String CONFLICTS_METRIC = "concurrency.conflicts";
+    private static final String RETRIED = "retried";
+    private static final String EXHAUSTED = "exhausted";
+
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final MeterRegistry meterRegistry;
+
+    public ConflictRetryExecutor(@Value("${conflict.retry.max-attempts:3}") int maxAttempts,
+                                 @Value("${conflict.retry.backoff:PT0.02S}") Duration backoff,
+                                 @Value("${conflict.retry.max-backoff:PT0.5S}")
+                                 Duration maxBackoff,
+                                 MeterRegistry meterRegistry) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Invalid conflict retry max attempts: "
+                    + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    conflicts(operation, EXHAUSTED).increment();
+                    throw e;
+                }
+                conflicts(operation, RETRIED).increment();
+                sleep(attempt, e);
+            }
+        }
+    }
+
+    private void sleep(int attempt, ConcurrencyFailureException conflict) {
+        long ceiling = Math.min(maxBackoff.toMillis(), backoff.toMillis() << (attempt - 1));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private Counter conflicts(String operation, String outcome) {
+        return meterRegistry.counter(CONFLICTS_METRIC, "operation", operation,
+                "outcome", outcome);
+    }
+}
@@ -0,0 +1,37 @@
+package onlinebookstore.service.shoppingcart;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.book.BookPriceChangedEventDto;
+import onlinebookstore.dto.outbox.OutboxEventDto;
+import onlinebookstore.exception.DataProcessingException;
+import onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import onlinebookstore.service.outbox.OutboxEventConsumer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class CartTotalsReconciler implements OutboxEventConsumer {
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String eventType() {
+        return BookPriceChangedEventDto.TYPE;
+    }
+
+    @Override
+    @Transactional
+    public void accept(OutboxEventDto event) {
+        BookPriceChangedEventDto priceChanged;
+        try {
+            priceChanged = objectMapper.readValue(event.payload(),
+                    BookPriceChangedEventDto.class);
+        } catch (JsonProcessingException e) {
+            throw new DataProcessingException("Can't read outbox event with id: " + event.id());
+        }
+        shoppingCartRepository.refreshTotalsByBookId(priceChanged.bookId());
+    }
+}
@@ -1,25 +1,35 @@
 package onlinebookstore.service.shoppingcart;
 
+import onlinebookstore.dto.cartitem.CartItemBatchRequestDto;
+import onlinebookstore.dto.cartitem.CartItemBatchResultDto;
+import onlinebookstore.dto.cartitem.CartItemChangeDto;
 import onlinebookstore.dto.cartitem.CartItemRequestDto;
 import onlinebookstore.dto.cartitem.UpdateCartItemDto;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
 import onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import onlinebookstore.model.ShoppingCart;
-import onlinebookstore.model.User;
 
 public interface ShoppingCartService {
     ShoppingCartDto getShoppingCart(Long userId);
 
-    ShoppingCartDto addCartItem(Long userId, CartItemRequestDto cartItemRequestDto);
+    ShoppingCartDto addCartItem(Long userId,
+                                Long expectedVersion,
+                                CartItemRequestDto cartItemRequestDto);
 
-    ShoppingCartDto updateCartItem(
+    CartItemChangeDto updateCartItem(
             Long userId,
             Long cartItemId,
+            Long expectedVersion,
             UpdateCartItemDto updateCartItem
     );
 
-    void deleteById(Long userId, Long cartItemId);
+    CartTotalsDto deleteById(Long userId, Long cartItemId, Long expectedVersion);
 
-    ShoppingCart registerNewShoppingCart(User user);
+    CartItemBatchResultDto applyCartItemOperations(Long userId,
+                                                   Long expectedVersion,
+                                                   CartItemBatchRequestDto batchRequest);
+
+    CartTotalsDto getCartTotals(Long userId);
 
     ShoppingCart findShoppingCartByUserId(Long userId);
 }
@@ -1,20 +1,32 @@
 package onlinebookstore.service.shoppingcart;
 
 import jakarta.transaction.Transactional;
-import java.util.Optional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import onlinebookstore.dto.cartitem.CartItemBatchRequestDto;
+import onlinebookstore.dto.cartitem.CartItemBatchResultDto;
+import onlinebookstore.dto.cartitem.CartItemChangeDto;
+import onlinebookstore.dto.cartitem.CartItemDto;
+import onlinebookstore.dto.cartitem.CartItemOperationDto;
+import onlinebookstore.dto.cartitem.CartItemOperationResultDto;
+import onlinebookstore.dto.cartitem.CartItemOperationResultDto.Status;
 import onlinebookstore.dto.cartitem.CartItemRequestDto;
 import onlinebookstore.dto.cartitem.UpdateCartItemDto;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
 import onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import onlinebookstore.exception.EntityNotFoundException;
-import onlinebookstore.mapper.CartItemMapper;
+import onlinebookstore.exception.PreconditionFailedException;
 import onlinebookstore.mapper.ShoppingCartMapper;
-import onlinebookstore.model.CartItem;
 import onlinebookstore.model.ShoppingCart;
-import onlinebookstore.model.User;
+import onlinebookstore.repository.cartitem.CartItemBatchRepository;
 import onlinebookstore.repository.cartitem.CartItemRepository;
 import onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
-import onlinebookstore.repository.user.UserRepository;
 import onlinebookstore.service.book.BookService;
 import org.springframework.stereotype.Service;
 
@@ -22,12 +34,11 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 @Transactional
 public class ShoppingCartServiceImpl implements ShoppingCartService {
-    private final UserRepository userRepository;
     private final ShoppingCartRepository shoppingCartRepository;
     private final ShoppingCartMapper shoppingCartMapper;
     private final CartItemRepository cartItemRepository;
-    private final CartItemMapper cartItemMapper;
     private final BookService bookService;
+    private final CartItemBatchRepository cartItemBatchRepository;
 
     @Override
     public ShoppingCartDto getShoppingCart(Long userId) {
@@ -35,62 +46,181 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     }
 
     @Override
-    public ShoppingCartDto addCartItem(Long userId, CartItemRequestDto cartItemRequestDto) {
+    public ShoppingCartDto addCartItem(Long userId,
+                                       Long expectedVersion,
+                                       CartItemRequestDto cartItemRequestDto) {
+        Long shoppingCartId = touchShoppingCart(userId, expectedVersion);
         Long bookId = cartItemRequestDto.getBookId();
-        ShoppingCart shoppingCart = findShoppingCartByUserId(userId);
-        Optional<CartItem> optionalCartItem = shoppingCart.getCartItems().stream()
-                .filter(cartItem -> cartItem.getBook().getId().equals(bookId))
-                .findFirst();
-
-        if (optionalCartItem.isPresent()) {
-            CartItem cartItem = optionalCartItem.get();
-            cartItem.setQuantity(cartItem.getQuantity() + cartItemRequestDto.getQuantity());
-        } else {
-            CartItem cartItem = cartItemMapper.toCartItemEntity(cartItemRequestDto);
-            cartItem.setShoppingCart(shoppingCart);
-            cartItem.setBook(bookService.findBookById(bookId));
-            shoppingCart.getCartItems().add(cartItem);
+        bookService.findById(bookId);
+        cartItemRepository.upsertQuantity(shoppingCartId, bookId,
+                cartItemRequestDto.getQuantity());
+        shoppingCartRepository.addToTotals(shoppingCartId, bookId,
+                cartItemRequestDto.getQuantity());
+        return shoppingCartMapper.toShoppingCartDto(shoppingCartId, new HashSet<>(
+                cartItemRepository.findAllDtosByShoppingCartId(shoppingCartId)),
+                getCartTotals(shoppingCartId));
+    }
+
+    @Override
+    public CartItemChangeDto updateCartItem(Long userId,
+                                            Long cartItemId,
+                                            Long expectedVersion,
+                                            UpdateCartItemDto updateCartItem) {
+        lockShoppingCart(userId, expectedVersion);
+        shoppingCartRepository.changeTotals(userId, cartItemId, updateCartItem.getQuantity());
+        if (cartItemRepository.updateQuantityByIdAndShoppingCartId(
+                cartItemId, userId, updateCartItem.getQuantity()) == 0) {
+            throw new EntityNotFoundException("Can't find cart with id: " + cartItemId);
         }
-        return shoppingCartMapper.toShoppingCartDto(shoppingCartRepository.save(shoppingCart));
+        CartItemDto cartItem = cartItemRepository
+                .findDtoByIdAndShoppingCartId(cartItemId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Can't find cart with id: "
+                        + cartItemId));
+        return new CartItemChangeDto(cartItem, getCartTotals(userId));
     }
 
     @Override
-    public ShoppingCartDto updateCartItem(Long userId,
-                                          Long cartItemId,
-                                          UpdateCartItemDto updateCartItem) {
-        ShoppingCart shoppingCart = findShoppingCartByUserId(userId);
-        CartItem cartItem = findCartItemByItemIdAndCartId(cartItemId, shoppingCart.getId());
-        cartItem.setQuantity(updateCartItem.getQuantity());
-        shoppingCart.getCartItems().add(cartItem);
-        return shoppingCartMapper.toShoppingCartDto(shoppingCartRepository.save(shoppingCart));
+    public CartTotalsDto deleteById(Long userId, Long cartItemId, Long expectedVersion) {
+        lockShoppingCart(userId, expectedVersion);
+        shoppingCartRepository.changeTotals(userId, cartItemId, 0);
+        if (cartItemRepository.deleteByIdAndShoppingCartId(cartItemId, userId) == 0) {
+            throw new EntityNotFoundException("Can't find cart with id: " + cartItemId);
+        }
+        return getCartTotals(userId);
     }
 
     @Override
-    public void deleteById(Long userId, Long cartItemId) {
-        ShoppingCart shoppingCart = findShoppingCartByUserId(userId);
-        CartItem cartItem = findCartItemByItemIdAndCartId(cartItemId, shoppingCart.getId());
-        shoppingCart.getCartItems().remove(cartItem);
-        shoppingCartRepository.save(shoppingCart);
+    public CartItemBatchResultDto applyCartItemOperations(Long userId,
+                                                          Long expectedVersion,
+                                                          CartItemBatchRequestDto batchRequest) {
+        Long shoppingCartId = touchShoppingCart(userId, expectedVersion);
+        List<CartItemOperationDto> operations = batchRequest.operations();
+        Set<Long> existingBookIds = bookService.findExistingIds(operations.stream()
+                .filter(operation -> operation.type() == CartItemOperationDto.Type.ADD)
+                .map(CartItemOperationDto::bookId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        CartItemOperationResultDto[] results =
+                new CartItemOperationResultDto[operations.size()];
+        List<Integer> batch = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            CartItemOperationDto operation = operations.get(i);
+            String error = validate(operation);
+            if (error != null) {
+                results[i] = result(i, operation, Status.INVALID, error);
+            } else if (operation.type() == CartItemOperationDto.Type.ADD
+                    && !existingBookIds.contains(operation.bookId())) {
+                results[i] = result(i, operation, Status.NOT_FOUND,
+                        "Can`t find the book by id: " + operation.bookId());
+            } else {
+                if (!batch.isEmpty() && !canJoinBatch(operations, batch, operation)) {
+                    executeBatch(shoppingCartId, operations, batch, results);
+                }
+                batch.add(i);
+            }
+        }
+        executeBatch(shoppingCartId, operations, batch, results);
+        return new CartItemBatchResultDto(List.of(results), getCartTotals(shoppingCartId));
     }
 
     @Override
-    public ShoppingCart registerNewShoppingCart(User user) {
-        ShoppingCart shoppingCart = new ShoppingCart();
-        shoppingCart.setUser(user);
-        return shoppingCartRepository.save(shoppingCart);
+    public CartTotalsDto getCartTotals(Long userId) {
+        return shoppingCartRepository.findTotalsById(userId)
+                .orElseGet(() -> new CartTotalsDto(0L, BigDecimal.ZERO, 0L));
     }
 
     @Override
     public ShoppingCart findShoppingCartByUserId(Long userId) {
-        return shoppingCartRepository.findByUserId(userId).orElseGet(() ->
-                registerNewShoppingCart(userRepository.findById(userId).orElseThrow(() ->
-                        new EntityNotFoundException("User with id " + userId + " not found"))));
+        return shoppingCartRepository.findByUserId(userId).orElseGet(() -> {
+            createShoppingCartIfAbsent(userId);
+            return shoppingCartRepository.findByUserId(userId).orElseThrow(() ->
+                    new EntityNotFoundException("User with id " + userId + " not found"));
+        });
     }
 
-    private CartItem findCartItemByItemIdAndCartId(Long cartItemId, Long shoppingCartId) {
-        return cartItemRepository
-                .findByIdAndShoppingCartId(cartItemId, shoppingCartId)
-                .orElseThrow(() -> new EntityNotFoundException("Can't find cart with id: "
-                        + cartItemId));
+    private Long touchShoppingCart(Long userId, Long expectedVersion) {
+        if (expectedVersion != null) {
+            lockShoppingCart(userId, expectedVersion);
+        } else if (shoppingCartRepository.incrementVersion(userId) == 0) {
+            createShoppingCartIfAbsent(userId);
+        }
+        return userId;
+    }
+
+    private void lockShoppingCart(Long userId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            shoppingCartRepository.incrementVersion(userId);
+        } else if (shoppingCartRepository.incrementVersion(userId, expectedVersion) == 0) {
+            throw new PreconditionFailedException("Shopping cart of user " + userId
+                    + " is no longer at version " + expectedVersion);
+        }
+    }
+
+    private void createShoppingCartIfAbsent(Long userId) {
+        if (shoppingCartRepository.upsertByUserId(userId) == 0
+                && !shoppingCartRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User with id " + userId + " not found");
+        }
+    }
+
+    private void executeBatch(Long shoppingCartId,
+                              List<CartItemOperationDto> operations,
+                              List<Integer> batch,
+                              CartItemOperationResultDto[] results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CartItemOperationDto> batchOperations = batch.stream()
+                .map(operations::get)
+                .toList();
+        int[] counts = switch (batchOperations.get(0).type()) {
+            case ADD -> cartItemBatchRepository.upsertQuantities(shoppingCartId, batchOperations);
+            case UPDATE -> cartItemBatchRepository.updateQuantities(shoppingCartId,
+                    batchOperations);
+            case REMOVE -> cartItemBatchRepository.deleteAll(shoppingCartId, batchOperations);
+        };
+        for (int i = 0; i < batch.size(); i++) {
+            int index = batch.get(i);
+            CartItemOperationDto operation = operations.get(index);
+            results[index] = counts[i] == 0
+                    ? result(index, operation, Status.NOT_FOUND,
+                            "Can't find cart item with id: " + operation.cartItemId())
+                    : result(index, operation, Status.APPLIED, null);
+        }
+        batch.clear();
+    }
+
+    private static boolean canJoinBatch(List<CartItemOperationDto> operations,
+                                        List<Integer> batch,
+                                        CartItemOperationDto operation) {
+        if (operations.get(batch.get(0)).type() != operation.type()) {
+            return false;
+        }
+        return operation.type() == CartItemOperationDto.Type.ADD
+                || batch.stream().noneMatch(index -> operation.cartItemId()
+                        .equals(operations.get(index).cartItemId()));
+    }
+
+    private static String validate(CartItemOperationDto operation) {
+        if (operation.type() == CartItemOperationDto.Type.ADD) {
+            return operation.bookId() == null || operation.quantity() == null
+                    ? "Book id and quantity are required to add a cart item."
+                    : null;
+        }
+        if (operation.cartItemId() == null) {
+            return "Cart item id is required to change a cart item.";
+        }
+        return operation.type() == CartItemOperationDto.Type.UPDATE
+                && operation.quantity() == null
+                ? "Quantity is required to update a cart item."
+                : null;
+    }
+
+    private static CartItemOperationResultDto result(int index,
+                                                     CartItemOperationDto operation,
+                                                     Status status,
+                                                     String message) {
+        return new CartItemOperationResultDto(index, operation.type(), status, message);
     }
 }
@@ -0,0 +1,28 @@
+package onlinebookstore.service.stock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import onlinebookstore.repository.stock.StockReservationRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class StockReservationExpirer {
+    private static final int BATCH_SIZE = 100;
+
+    private final StockReservationRepository stockReservationRepository;
+    private final StockService stockService;
+
+    @Scheduled(initialDelayString = "${stock.reservation.expiry-interval:PT1M}",
+            fixedDelayString = "${stock.reservation.expiry-interval:PT1M}")
+    public void releaseExpired() {
+        List<Long> orderIds;
+        do {
+            orderIds = stockReservationRepository.findExpiredOrderIds(
+                    LocalDateTime.now(), BATCH_SIZE);
+            orderIds.forEach(stockService::releaseReservation);
+        } while (orderIds.size() == BATCH_SIZE);
+    }
+}
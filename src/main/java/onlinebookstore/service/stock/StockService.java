@@ -0,0 +1,14 @@
+package onlinebookstore.service.stock;
+
+import onlinebookstore.dto.stock.StockDto;
+import onlinebookstore.dto.stock.UpdateStockDto;
+
+public interface StockService {
+    StockDto getStock(Long bookId);
+
+    StockDto updateStock(Long bookId, UpdateStockDto updateStockDto);
+
+    void reserve(Long orderId);
+
+    void releaseReservation(Long orderId);
+}
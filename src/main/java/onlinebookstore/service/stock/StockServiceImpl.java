@@ -0,0 +1,79 @@
+package onlinebookstore.service.stock;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import onlinebookstore.dto.stock.StockDto;
+import onlinebookstore.dto.stock.StockLineDto;
+import onlinebookstore.dto.stock.UpdateStockDto;
+import onlinebookstore.exception.EntityNotFoundException;
+import onlinebookstore.exception.OrderProcessingException;
+import onlinebookstore.repository.book.BookRepository;
+import onlinebookstore.repository.order.OrderStatusRepository;
+import onlinebookstore.repository.stock.BookStockRepository;
+import onlinebookstore.repository.stock.StockReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional
+public class StockServiceImpl implements StockService {
+    private final BookRepository bookRepository;
+    private final BookStockRepository bookStockRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final OrderStatusRepository orderStatusRepository;
+    private final Duration reservationTtl;
+
+    public StockServiceImpl(BookRepository bookRepository,
+                            BookStockRepository bookStockRepository,
+                            StockReservationRepository stockReservationRepository,
+                            OrderStatusRepository orderStatusRepository,
+                            @Value("${stock.reservation.ttl:PT30M}") Duration reservationTtl) {
+        this.bookRepository = bookRepository;
+        this.bookStockRepository = bookStockRepository;
+        this.stockReservationRepository = stockReservationRepository;
+        this.orderStatusRepository = orderStatusRepository;
+        this.reservationTtl = reservationTtl;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockDto getStock(Long bookId) {
+        checkBookExists(bookId);
+        return new StockDto(bookId, bookStockRepository.findQuantity(bookId).orElse(null));
+    }
+
+    @Override
+    public StockDto updateStock(Long bookId, UpdateStockDto updateStockDto) {
+        checkBookExists(bookId);
+        bookStockRepository.upsertQuantity(bookId, updateStockDto.quantity());
+        return new StockDto(bookId, updateStockDto.quantity());
+    }
+
+    @Override
+    public void reserve(Long orderId) {
+        for (StockLineDto line : bookStockRepository.findOrderLines(orderId)) {
+            if (!bookStockRepository.decrement(line.bookId(), line.quantity())
+                    && bookStockRepository.findQuantity(line.bookId()).isPresent()) {
+                throw new OrderProcessingException("Not enough stock for book with id: "
+                        + line.bookId());
+            }
+        }
+        stockReservationRepository.insert(orderId, LocalDateTime.now().plus(reservationTtl));
+    }
+
+    @Override
+    public void releaseReservation(Long orderId) {
+        if (orderStatusRepository.expirePending(orderId)) {
+            bookStockRepository.findOrderLines(orderId).forEach(line ->
+                    bookStockRepository.increment(line.bookId(), line.quantity()));
+        }
+        stockReservationRepository.delete(orderId);
+    }
+
+    private void checkBookExists(Long bookId) {
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException("Can't find book with id: " + bookId);
+        }
+    }
+}
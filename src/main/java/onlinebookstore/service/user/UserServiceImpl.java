@@ -12,7 +12,6 @@ import onlinebookstore.model.Role;
 import onlinebookstore.model.User;
 import onlinebookstore.repository.role.RoleRepository;
 import onlinebookstore.repository.user.UserRepository;
-import onlinebookstore.service.shoppingcart.ShoppingCartService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,7 +25,6 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
-    private final ShoppingCartService shoppingCartService;
 
     @PostConstruct
     public void initializeRolesCache() {
@@ -48,8 +46,6 @@ public class UserServiceImpl implements UserService {
         user.getRoles().add(rolesCache.get(DEFAULT_ROLE));
         userRepository.save(user);
 
-        shoppingCartService.registerNewShoppingCart(user);
-
         return userMapper.toUserDto(user);
     }
 }
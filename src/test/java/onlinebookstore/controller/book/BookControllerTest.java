@@ -1,8 +1,11 @@
 package onlinebookstore.controller.book;
 
+import static onlinebookstore.util.TestDataUtil.BOOK_CSV_HEADER;
 import static onlinebookstore.util.TestDataUtil.BOOK_DTO_IGNORING_FIELDS;
 import static onlinebookstore.util.TestDataUtil.BOOK_PAGEABLE;
+import static onlinebookstore.util.TestDataUtil.BOOK_TEST_DATA_MAP;
 import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_ISBN;
 import static onlinebookstore.util.TestDataUtil.EXPECTED_BOOKS_SIZE;
 import static onlinebookstore.util.TestDataUtil.INVALID_FORMAT_ISBN;
 import static onlinebookstore.util.TestDataUtil.NEW_BOOK_ID;
@@ -10,16 +13,17 @@ import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_ISBN;
 import static onlinebookstore.util.TestDataUtil.SAFE_DELETED_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.TEST_LONG_DATA;
+import static onlinebookstore.util.TestDataUtil.createTestBookCsvRow;
 import static onlinebookstore.util.TestDataUtil.createTestBookDto;
 import static onlinebookstore.util.TestDataUtil.createTestBookDtoList;
 import static onlinebookstore.util.TestDataUtil.createTestBookRequestDto;
 import static onlinebookstore.util.TestDataUtil.createTestInvalidBookDto;
 import static onlinebookstore.util.TestDataUtil.createTestUpdatedBookDto;
-import static onlinebookstore.util.TestDataUtil.fillCategoryCache;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertCollectionsAreEqualIgnoringFields;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertObjectsAreEqualIgnoringFields;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertValidationError;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertValidationErrorList;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.BAD_REQUEST;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.EXPECTED_BOOK_ERRORS;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.EXPECTED_BOOK_NULL_ERRORS;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.EXPECTED_SEARCH_ERROR_MESSAGES;
@@ -27,10 +31,16 @@ import static onlinebookstore.util.controller.ControllerTestDataUtil.NOT_FOUND;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.NO_CONTENT;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.UNPROCESSABLE_ENTITY;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS_CURSOR;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS_EXISTING_BOOK_ID;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS_EXISTING_BOOK_ID_STOCK;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS_EXPORT;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS_IMPORT;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS_NOT_EXISTING_BOOK_ID;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS_NOT_EXISTING_BOOK_ID_STOCK;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS_SAFE_DELETED_BOOK_ID;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS_SEARCH;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_BOOKS_SEARCH_CURSOR;
 import static onlinebookstore.util.controller.ControllerTestUtil.createRequestWithPageable;
 import static onlinebookstore.util.controller.ControllerTestUtil.parsePageContent;
 import static onlinebookstore.util.controller.ControllerTestUtil.parseResponseToList;
@@ -40,32 +50,47 @@ import static onlinebookstore.util.controller.MockMvcUtil.buildMockMvc;
 import static onlinebookstore.util.controller.MvcTestHelper.createJsonMvcResult;
 import static onlinebookstore.util.controller.MvcTestHelper.createMvcResult;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import javax.sql.DataSource;
 import lombok.SneakyThrows;
 import onlinebookstore.dto.book.BookDto;
+import onlinebookstore.dto.book.BookImportErrorDto;
+import onlinebookstore.dto.book.BookImportResultDto;
 import onlinebookstore.dto.book.BookSearchParametersDto;
 import onlinebookstore.dto.book.CreateBookRequestDto;
-import onlinebookstore.repository.category.CategoryRepository;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.dto.stock.StockDto;
+import onlinebookstore.dto.stock.UpdateStockDto;
+import onlinebookstore.service.book.BookCache;
+import onlinebookstore.service.book.BookSearchIndex;
+import onlinebookstore.service.category.CategoryCache;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.web.context.WebApplicationContext;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -75,11 +100,15 @@ public class BookControllerTest {
 
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+    @Autowired
+    private BookCache bookCache;
 
     @BeforeAll
     static void beforeAll(@Autowired DataSource dataSource,
                           @Autowired WebApplicationContext applicationContext,
-                          @Autowired CategoryRepository categoryRepository) {
+                          @Autowired CategoryCache categoryCache) {
         mockMvc = buildMockMvc(applicationContext);
 
         teardown(dataSource);
@@ -88,10 +117,16 @@ public class BookControllerTest {
                     "database/categories/add-test-category-to-categories-table.sql",
                     "database/bookscategories/add-test-dependencies-to-books-categories-table.sql");
 
-        fillCategoryCache(categoryRepository);
+        categoryCache.refresh();
         expectedBookDtos = createTestBookDtoList(EXISTING_BOOK_ID, EXPECTED_BOOKS_SIZE);
     }
 
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex.rebuild();
+        bookCache.evictAll();
+    }
+
     @AfterAll
     static void afterAll(@Autowired DataSource dataSource) {
         teardown(dataSource);
@@ -156,6 +191,56 @@ public class BookControllerTest {
         assertThat(actualBookDtos).isEmpty();
     }
 
+    @WithMockUser(username = "alice@example.com")
+    @Test
+    @DisplayName("Verify getAllByCursor() method walks the catalog in the requested order.")
+    void getAllByCursor_SortedByPriceDesc_ShouldReturnAllBooksInOrder() throws Exception {
+        // Given
+        String sort = "price,desc";
+
+        // When
+        CursorPageDto<BookDto> firstSlice = getBooksSlice(sort, null, true);
+        CursorPageDto<BookDto> secondSlice = getBooksSlice(sort, firstSlice.nextCursor(), false);
+
+        // Then
+        assertThat(firstSlice.hasNext()).isTrue();
+        assertThat(firstSlice.totalElements()).isEqualTo(EXPECTED_BOOKS_SIZE);
+        assertThat(secondSlice.hasNext()).isFalse();
+        assertThat(secondSlice.totalElements()).isNull();
+        List<BookDto> actualBookDtos = new ArrayList<>(firstSlice.content());
+        actualBookDtos.addAll(secondSlice.content());
+        assertCollectionsAreEqualIgnoringFields(
+                actualBookDtos,
+                expectedBookDtos.reversed(),
+                BOOK_DTO_IGNORING_FIELDS
+        );
+    }
+
+    @WithMockUser(username = "alice@example.com")
+    @Test
+    @DisplayName("Verify that an exception is throw when the cursor doesn't match the sort.")
+    void getAllByCursor_CursorOfAnotherSort_ShouldReturnBadRequest() throws Exception {
+        // Given
+        CursorPageDto<BookDto> firstSlice = getBooksSlice("title", null, false);
+
+        // When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                get(URL_BOOKS_CURSOR)
+                        .param("sort", "price")
+                        .param("cursor", firstSlice.nextCursor()),
+                status().isBadRequest()
+        );
+
+        // Then
+        assertValidationError(
+                result,
+                objectMapper,
+                BAD_REQUEST,
+                "The cursor doesn't match the sort: price,ASC"
+        );
+    }
+
     @WithMockUser(username = "alice@example.com")
     @Test
     @DisplayName("Search for book by all parameters at once.")
@@ -370,6 +455,97 @@ public class BookControllerTest {
         );
     }
 
+    @WithMockUser(username = "alice@example.com")
+    @Test
+    @DisplayName("Verify searchBooks() method returns the requested page of books.")
+    void searchBooks_GivenPageable_ShouldReturnPage() throws Exception {
+        // Given
+        int pageSize = 2;
+
+        // When
+        MvcResult result = mockMvc.perform(get(URL_BOOKS_SEARCH)
+                        .param("author", BOOK_TEST_DATA_MAP.get("author"))
+                        .param("page", "1")
+                        .param("size", String.valueOf(pageSize))
+                        .param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        List<BookDto> actualBookDtos = parseResponseToList(result, objectMapper);
+        assertCollectionsAreEqualIgnoringFields(
+                actualBookDtos,
+                List.of(expectedBookDtos.get(0)),
+                BOOK_DTO_IGNORING_FIELDS
+        );
+        JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(page.get("totalElements").asInt()).isEqualTo(EXPECTED_BOOKS_SIZE);
+    }
+
+    @WithMockUser(username = "alice@example.com")
+    @Test
+    @DisplayName("Verify searchBooksByCursor() method walks all books slice by slice.")
+    void searchBooksByCursor_FollowNextCursor_ShouldReturnAllBooks() throws Exception {
+        // Given
+        int sliceSize = 2;
+
+        // When
+        MvcResult firstResult = mockMvc.perform(get(URL_BOOKS_SEARCH_CURSOR)
+                        .param("author", BOOK_TEST_DATA_MAP.get("author"))
+                        .param("size", String.valueOf(sliceSize)))
+                .andExpect(status().isOk())
+                .andReturn();
+        CursorPageDto<BookDto> firstSlice = objectMapper.readValue(
+                firstResult.getResponse().getContentAsString(),
+                new TypeReference<CursorPageDto<BookDto>>() {}
+        );
+        MvcResult secondResult = mockMvc.perform(get(URL_BOOKS_SEARCH_CURSOR)
+                        .param("author", BOOK_TEST_DATA_MAP.get("author"))
+                        .param("size", String.valueOf(sliceSize))
+                        .param("cursor", firstSlice.nextCursor()))
+                .andExpect(status().isOk())
+                .andReturn();
+        CursorPageDto<BookDto> secondSlice = objectMapper.readValue(
+                secondResult.getResponse().getContentAsString(),
+                new TypeReference<CursorPageDto<BookDto>>() {}
+        );
+
+        // Then
+        assertThat(firstSlice.hasNext()).isTrue();
+        assertThat(secondSlice.hasNext()).isFalse();
+        assertThat(secondSlice.nextCursor()).isNull();
+        List<BookDto> actualBookDtos = new ArrayList<>(firstSlice.content());
+        actualBookDtos.addAll(secondSlice.content());
+        assertCollectionsAreEqualIgnoringFields(
+                actualBookDtos,
+                expectedBookDtos,
+                BOOK_DTO_IGNORING_FIELDS
+        );
+    }
+
+    @WithMockUser(username = "alice@example.com")
+    @Test
+    @DisplayName("Verify that an exception is throw when the cursor is not valid.")
+    void searchBooksByCursor_InvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Given
+        String invalidCursor = "not-a-cursor";
+
+        // When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                get(URL_BOOKS_SEARCH_CURSOR).param("cursor", invalidCursor),
+                status().isBadRequest()
+        );
+
+        // Then
+        assertValidationError(
+                result,
+                objectMapper,
+                BAD_REQUEST,
+                "Invalid cursor: " + invalidCursor
+        );
+    }
+
     @WithMockUser(username = "alice@example.com")
     @Test
     @DisplayName("Verify that an exception is throw when params is not valid.")
@@ -397,6 +573,44 @@ public class BookControllerTest {
         assertValidationErrorList(result, objectMapper, EXPECTED_SEARCH_ERROR_MESSAGES);
     }
 
+    @WithMockUser(username = "bob@example.com", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Export all available books as NDJSON.")
+    void exportBooks_Ndjson_ShouldStreamAllBooks() throws Exception {
+        // Given
+        MvcResult asyncResult = mockMvc.perform(get(URL_BOOKS_EXPORT)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        List<BookDto> actualBookDtos = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().lines().toList()) {
+            actualBookDtos.add(objectMapper.readValue(line, BookDto.class));
+        }
+        assertThat(result.getResponse().getContentType())
+                .isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+        assertCollectionsAreEqualIgnoringFields(
+                actualBookDtos,
+                expectedBookDtos,
+                BOOK_DTO_IGNORING_FIELDS
+        );
+    }
+
+    @WithMockUser(username = "alice@example.com")
+    @Test
+    @DisplayName("Verify that an exception is thrown when a user exports books.")
+    void exportBooks_NotAdmin_ShouldReturnForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(get(URL_BOOKS_EXPORT).accept("text/csv"))
+                .andExpect(status().isForbidden());
+    }
+
     @WithMockUser(username = "alice@example.com")
     @Test
     @DisplayName("Get book by id.")
@@ -463,6 +677,58 @@ public class BookControllerTest {
         );
     }
 
+    @WithMockUser(username = "bob@example.com", roles = {"ADMIN", "USER"})
+    @Test
+    @Sql(scripts = "classpath:database/stocks/remove-test-stocks-from-book_stocks-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Update book stock.")
+    void updateStock_ValidRequestDto_ShouldUpdateStock() throws Exception {
+        // Given
+        StockDto expectedStockDto = new StockDto(EXISTING_BOOK_ID, 25);
+        String jsonRequest = objectMapper.writeValueAsString(new UpdateStockDto(25));
+
+        // When
+        createJsonMvcResult(
+                mockMvc,
+                patch(URL_BOOKS_EXISTING_BOOK_ID_STOCK),
+                status().isOk(),
+                jsonRequest
+        );
+        MvcResult result = createMvcResult(
+                mockMvc,
+                get(URL_BOOKS_EXISTING_BOOK_ID_STOCK),
+                status().isOk()
+        );
+
+        // Then
+        StockDto actualStockDto = parseResponseToObject(result, objectMapper, StockDto.class);
+        assertThat(actualStockDto).isEqualTo(expectedStockDto);
+    }
+
+    @WithMockUser(username = "bob@example.com", roles = {"ADMIN", "USER"})
+    @Test
+    @DisplayName("Verify that an exception is thrown when a stock of a missing book is updated.")
+    void updateStock_BookIdNotExist_ShouldReturnNotFound() throws Exception {
+        // Given
+        String jsonRequest = objectMapper.writeValueAsString(new UpdateStockDto(25));
+
+        // When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                patch(URL_BOOKS_NOT_EXISTING_BOOK_ID_STOCK),
+                status().isNotFound(),
+                jsonRequest
+        );
+
+        // Then
+        assertValidationError(
+                result,
+                objectMapper,
+                NOT_FOUND,
+                "Can't find book with id: " + NOT_EXISTING_BOOK_ID
+        );
+    }
+
     @WithMockUser(username = "bob@example.com", roles = {"ADMIN", "USER"})
     @Test
     @Sql(scripts = "classpath:database/books/restoring-book-id101-and-its-dependencies.sql",
@@ -563,6 +829,52 @@ public class BookControllerTest {
         );
     }
 
+    @WithMockUser(username = "bob@example.com", roles = {"ADMIN", "USER"})
+    @Test
+    @Sql(scripts = "classpath:database/books/remove-new-test-book-and-its-dependencies.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Import books from a CSV body and report rejected rows.")
+    void importBooks_CsvWithExistingIsbn_ImportsNewBooksAndReportsErrors() throws Exception {
+        // Given
+        BookDto expectedBookDto = createTestBookDto(NEW_BOOK_ID);
+        String csv = String.join("\n",
+                BOOK_CSV_HEADER,
+                createTestBookCsvRow(expectedBookDto),
+                createTestBookCsvRow(createTestBookDto(EXISTING_BOOK_ID)));
+
+        // When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                post(URL_BOOKS_IMPORT).contentType("text/csv").content(csv),
+                status().isOk()
+        );
+
+        // Then
+        BookImportResultDto actualResult = parseResponseToObject(
+                result,
+                objectMapper,
+                BookImportResultDto.class
+        );
+        assertThat(actualResult.imported()).isEqualTo(1);
+        assertThat(actualResult.errors()).containsExactly(new BookImportErrorDto(3,
+                EXISTING_ISBN, List.of("Can't save a book with this ISBN: " + EXISTING_ISBN)));
+        List<Long> importedIds = bookSearchIndex.searchAfter(new BookSearchParametersDto(
+                null, null, expectedBookDto.getIsbn(), null), 0L, 1);
+        assertThat(importedIds).hasSize(1);
+        BookDto actualBookDto = parseResponseToObject(
+                createMvcResult(mockMvc, get(URL_BOOKS + "/" + importedIds.get(0)),
+                        status().isOk()),
+                objectMapper,
+                BookDto.class
+        );
+        assertObjectsAreEqualIgnoringFields(
+                actualBookDto,
+                expectedBookDto,
+                BOOK_DTO_IGNORING_FIELDS
+        );
+        assertThat(actualBookDto.getCategoryIds()).isEqualTo(expectedBookDto.getCategoryIds());
+    }
+
     @WithMockUser(username = "bob@example.com", roles = {"ADMIN"})
     @Test
     @DisplayName("Verify that an exception is throw when a book already exists.")
@@ -783,4 +1095,20 @@ public class BookControllerTest {
         // Then
         assertValidationErrorList(result, objectMapper, EXPECTED_BOOK_NULL_ERRORS);
     }
+
+    private CursorPageDto<BookDto> getBooksSlice(String sort, String cursor,
+                                                 boolean includeCount) throws Exception {
+        MockHttpServletRequestBuilder request = get(URL_BOOKS_CURSOR)
+                .param("size", "2")
+                .param("sort", sort)
+                .param("includeCount", String.valueOf(includeCount));
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        MvcResult result = createMvcResult(mockMvc, request, status().isOk());
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<CursorPageDto<BookDto>>() {}
+        );
+    }
 }
@@ -1,6 +1,5 @@
 package onlinebookstore.controller.category;
 
-import static onlinebookstore.service.category.CategoryServiceImpl.categoriesCache;
 import static onlinebookstore.util.TestDataUtil.BOOK_PAGEABLE;
 import static onlinebookstore.util.TestDataUtil.CATEGORY_IGNORING_FIELD;
 import static onlinebookstore.util.TestDataUtil.CATEGORY_PAGEABLE;
@@ -14,7 +13,6 @@ import static onlinebookstore.util.TestDataUtil.createTestCategoryDto;
 import static onlinebookstore.util.TestDataUtil.createTestCategoryRequestDto;
 import static onlinebookstore.util.TestDataUtil.createTestInvalidCategoryDto;
 import static onlinebookstore.util.TestDataUtil.createTestUpdatedCategoryDto;
-import static onlinebookstore.util.TestDataUtil.fillCategoryCache;
 import static onlinebookstore.util.assertions.CategoryAssertionsUtil.assertObjectsAreEqualIgnoringFields;
 import static onlinebookstore.util.assertions.CategoryAssertionsUtil.assertValidationError;
 import static onlinebookstore.util.assertions.CategoryAssertionsUtil.assertValidationErrorList;
@@ -30,6 +28,7 @@ import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_CATEGOR
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_CATEGORIES_SAFE_DELETED_CATEGORY_ID;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_GET_BOOKS_BY_ALTERNATIVE_CATEGORY_ID;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_GET_BOOKS_BY_EXISTING_CATEGORY_ID;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_GET_BOOKS_BY_EXISTING_CATEGORY_ID_CURSOR;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_GET_BOOKS_BY_NOT_EXISTING_CATEGORY_ID;
 import static onlinebookstore.util.controller.ControllerTestUtil.createRequestWithPageable;
 import static onlinebookstore.util.controller.ControllerTestUtil.parsePageContent;
@@ -54,7 +53,9 @@ import lombok.SneakyThrows;
 import onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
 import onlinebookstore.dto.category.CategoryDto;
 import onlinebookstore.dto.category.CreateCategoryRequestDto;
-import onlinebookstore.repository.category.CategoryRepository;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.model.Category;
+import onlinebookstore.service.category.CategoryCache;
 import onlinebookstore.util.TestDataUtil;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -63,6 +64,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
@@ -72,9 +74,12 @@ import org.springframework.web.context.WebApplicationContext;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class CategoryControllerTest {
     protected static MockMvc mockMvc;
+    private static final String CHANGED_DESCRIPTION = "Changed description";
 
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private CategoryCache categoryCache;
 
     @BeforeAll
     static void beforeAll(@Autowired DataSource dataSource,
@@ -94,8 +99,8 @@ public class CategoryControllerTest {
     }
 
     @BeforeEach
-    void setUp(@Autowired CategoryRepository categoryRepository) {
-        fillCategoryCache(categoryRepository);
+    void setUp() {
+        categoryCache.refresh();
     }
 
     @SneakyThrows
@@ -164,6 +169,85 @@ public class CategoryControllerTest {
         assertThat(actualCategoryDtos).isEmpty();
     }
 
+    @WithMockUser(username = "alice@example.com")
+    @Test
+    @DisplayName("Verify that getAll() returns 304 when the categories haven't changed.")
+    void getAll_IfNoneMatchCurrentVersion_ShouldReturnNotModified() throws Exception {
+        // Given
+        MvcResult firstResult = createMvcResult(
+                mockMvc,
+                createRequestWithPageable(URL_CATEGORIES, CATEGORY_PAGEABLE),
+                status().isOk());
+        String etag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                createRequestWithPageable(URL_CATEGORIES, CATEGORY_PAGEABLE)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag),
+                status().isNotModified());
+
+        // Then
+        assertThat(etag).isNotBlank();
+        assertThat(firstResult.getResponse().getDateHeader(HttpHeaders.LAST_MODIFIED))
+                .isPositive();
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @WithMockUser(username = "alice@example.com")
+    @Test
+    @DisplayName("Verify that a stale ETag doesn't prevent getting a changed category.")
+    void getCategoryById_IfNoneMatchStaleVersion_ShouldReturnCategory() throws Exception {
+        // Given
+        MvcResult firstResult = createMvcResult(
+                mockMvc,
+                get(URL_CATEGORIES_EXISTING_CATEGORY_ID),
+                status().isOk());
+        String staleETag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+        Category changedCategory = categoryCache.get(EXISTING_CATEGORY_ID).orElseThrow();
+        changedCategory.setDescription(CHANGED_DESCRIPTION);
+        categoryCache.put(changedCategory);
+
+        // When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                get(URL_CATEGORIES_EXISTING_CATEGORY_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, staleETag),
+                status().isOk());
+
+        // Then
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(staleETag);
+        assertThat(parseResponseToObject(result, objectMapper, CategoryDto.class).id())
+                .isEqualTo(EXISTING_CATEGORY_ID);
+    }
+
+    @WithMockUser(username = "alice@example.com")
+    @Test
+    @DisplayName("Verify that a current ETag doesn't hide a missing category.")
+    void getCategoryById_IfNoneMatchCurrentVersionAndInvalidId_ShouldReturnNotFound()
+            throws Exception {
+        // Given
+        MvcResult firstResult = createMvcResult(
+                mockMvc,
+                get(URL_CATEGORIES_EXISTING_CATEGORY_ID),
+                status().isOk());
+        String etag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                get(URL_CATEGORIES_NOT_EXISTING_CATEGORY_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag),
+                status().isNotFound());
+
+        // Then
+        assertValidationError(
+                result,
+                objectMapper, NOT_FOUND,
+                "Can't find the category by id: " + NOT_EXISTING_CATEGORY_ID
+        );
+    }
+
     @WithMockUser(username = "alice@example.com")
     @Test
     @DisplayName("Get a category by id.")
@@ -255,8 +339,8 @@ public class CategoryControllerTest {
                 NOT_FOUND,
                 "Can't find the category by id: " + EXISTING_CATEGORY_ID
         );
-        assertThat(categoriesCache).hasSize(EXPECTED_CATEGORIES_SIZE - 1);
-        assertThat(categoriesCache).doesNotContainKey(EXISTING_CATEGORY_ID);
+        assertThat(categoryCache.size()).isEqualTo(EXPECTED_CATEGORIES_SIZE - 1);
+        assertThat(categoryCache.contains(EXISTING_CATEGORY_ID)).isFalse();
     }
 
     @WithMockUser(username = "bob@example.com", roles = {"ADMIN"})
@@ -329,8 +413,8 @@ public class CategoryControllerTest {
                 expectedCategoryDto,
                 CATEGORY_IGNORING_FIELD
         );
-        assertThat(categoriesCache).hasSize(EXPECTED_CATEGORIES_SIZE + 1);
-        assertThat(categoriesCache).containsKey(NEW_CATEGORY_ID);
+        assertThat(categoryCache.size()).isEqualTo(EXPECTED_CATEGORIES_SIZE + 1);
+        assertThat(categoryCache.contains(actualCategoryDto.id())).isTrue();
     }
 
     @WithMockUser(username = "bob@example.com", roles = {"ADMIN"})
@@ -357,8 +441,8 @@ public class CategoryControllerTest {
                 UNPROCESSABLE_ENTITY,
                 "Can't save category with name: " + expectedCategoryDto.name()
         );
-        assertThat(categoriesCache).hasSize(EXPECTED_CATEGORIES_SIZE);
-        assertThat(categoriesCache).doesNotContainKey(NEW_CATEGORY_ID);
+        assertThat(categoryCache.size()).isEqualTo(EXPECTED_CATEGORIES_SIZE);
+        assertThat(categoryCache.contains(NEW_CATEGORY_ID)).isFalse();
     }
 
     @WithMockUser(username = "bob@example.com", roles = {"ADMIN"})
@@ -379,8 +463,8 @@ public class CategoryControllerTest {
 
         // Then
         assertValidationErrorList(result, objectMapper, EXPECTED_CATEGORY_ERRORS);
-        assertThat(categoriesCache).hasSize(EXPECTED_CATEGORIES_SIZE);
-        assertThat(categoriesCache).doesNotContainKey(NEW_CATEGORY_ID);
+        assertThat(categoryCache.size()).isEqualTo(EXPECTED_CATEGORIES_SIZE);
+        assertThat(categoryCache.contains(NEW_CATEGORY_ID)).isFalse();
     }
 
     @WithMockUser(username = "bob@example.com", roles = {"ADMIN"})
@@ -402,8 +486,8 @@ public class CategoryControllerTest {
 
         // Then
         assertValidationErrorList(result, objectMapper, EXPECTED_CATEGORY_NULL_ERRORS);
-        assertThat(categoriesCache).hasSize(EXPECTED_CATEGORIES_SIZE);
-        assertThat(categoriesCache).doesNotContainKey(NEW_CATEGORY_ID);
+        assertThat(categoryCache.size()).isEqualTo(EXPECTED_CATEGORIES_SIZE);
+        assertThat(categoryCache.contains(NEW_CATEGORY_ID)).isFalse();
     }
 
     @WithMockUser(value = "bob@example.com", roles = {"ADMIN"})
@@ -436,9 +520,9 @@ public class CategoryControllerTest {
                 expectedCategoryDto,
                 CATEGORY_IGNORING_FIELD
         );
-        assertThat(categoriesCache).hasSize(EXPECTED_CATEGORIES_SIZE);
-        assertThat(categoriesCache).containsKey(EXISTING_CATEGORY_ID);
-        assertThat(categoriesCache.get(EXISTING_CATEGORY_ID).getName())
+        assertThat(categoryCache.size()).isEqualTo(EXPECTED_CATEGORIES_SIZE);
+        assertThat(categoryCache.contains(EXISTING_CATEGORY_ID)).isTrue();
+        assertThat(categoryCache.get(EXISTING_CATEGORY_ID).orElseThrow().getName())
                 .isEqualTo(expectedCategoryDto.name());
     }
 
@@ -466,8 +550,8 @@ public class CategoryControllerTest {
                 NOT_FOUND,
                 "Can't find the category by id: " + NOT_EXISTING_CATEGORY_ID
         );
-        assertThat(categoriesCache).hasSize(EXPECTED_CATEGORIES_SIZE);
-        assertThat(categoriesCache).doesNotContainKey(NOT_EXISTING_CATEGORY_ID);
+        assertThat(categoryCache.size()).isEqualTo(EXPECTED_CATEGORIES_SIZE);
+        assertThat(categoryCache.contains(NOT_EXISTING_CATEGORY_ID)).isFalse();
     }
 
     @WithMockUser(username = "bob@example.com", roles = {"ADMIN"})
@@ -489,8 +573,8 @@ public class CategoryControllerTest {
 
         // Then
         assertValidationErrorList(result, objectMapper, EXPECTED_CATEGORY_ERRORS);
-        assertThat(categoriesCache).hasSize(EXPECTED_CATEGORIES_SIZE);
-        assertThat(categoriesCache.get(EXISTING_CATEGORY_ID).getName())
+        assertThat(categoryCache.size()).isEqualTo(EXPECTED_CATEGORIES_SIZE);
+        assertThat(categoryCache.get(EXISTING_CATEGORY_ID).orElseThrow().getName())
                 .isNotEqualTo(expectedCategoryDto.name());
     }
 
@@ -513,8 +597,8 @@ public class CategoryControllerTest {
 
         // Then
         assertValidationErrorList(result, objectMapper, EXPECTED_CATEGORY_NULL_ERRORS);
-        assertThat(categoriesCache).hasSize(EXPECTED_CATEGORIES_SIZE);
-        assertThat(categoriesCache.get(EXISTING_CATEGORY_ID).getName()).isNotNull();
+        assertThat(categoryCache.size()).isEqualTo(EXPECTED_CATEGORIES_SIZE);
+        assertThat(categoryCache.get(EXISTING_CATEGORY_ID).orElseThrow().getName()).isNotNull();
     }
 
     @WithMockUser(username = "alice@example.com")
@@ -540,6 +624,45 @@ public class CategoryControllerTest {
         assertThat(actualBookDtos).hasSize(EXPECTED_BOOKS_SIZE);
     }
 
+    @WithMockUser(username = "alice@example.com")
+    @Test
+    @DisplayName("Get a slice of books by a specific category with a cursor.")
+    void getBooksByCategoryIdAndCursor_ValidCursor_ShouldReturnNextSlice() throws Exception {
+        // Given
+        MvcResult firstResult = createMvcResult(
+                mockMvc,
+                get(URL_GET_BOOKS_BY_EXISTING_CATEGORY_ID_CURSOR)
+                        .param("size", String.valueOf(EXPECTED_BOOKS_SIZE - 1))
+                        .param("sort", "title"),
+                status().isOk()
+        );
+        CursorPageDto<BookDtoWithoutCategoryIds> firstSlice = objectMapper.readValue(
+                firstResult.getResponse().getContentAsString(),
+                new TypeReference<CursorPageDto<BookDtoWithoutCategoryIds>>() {}
+        );
+
+        // When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                get(URL_GET_BOOKS_BY_EXISTING_CATEGORY_ID_CURSOR)
+                        .param("size", String.valueOf(EXPECTED_BOOKS_SIZE - 1))
+                        .param("sort", "title")
+                        .param("cursor", firstSlice.nextCursor()),
+                status().isOk()
+        );
+
+        // Then
+        CursorPageDto<BookDtoWithoutCategoryIds> actualSlice = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<CursorPageDto<BookDtoWithoutCategoryIds>>() {}
+        );
+        assertThat(firstSlice.content()).hasSize(EXPECTED_BOOKS_SIZE - 1);
+        assertThat(firstSlice.hasNext()).isTrue();
+        assertThat(actualSlice.content()).hasSize(1);
+        assertThat(actualSlice.hasNext()).isFalse();
+        assertThat(firstSlice.content()).doesNotContainAnyElementsOf(actualSlice.content());
+    }
+
     @WithMockUser(username = "alice@example.com")
     @Test
     @DisplayName("Get empty page when no books found by the category id.")
@@ -1,6 +1,7 @@
 package onlinebookstore.controller.order;
 
 import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_ORDER_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_ORDER_ITEM_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
@@ -27,8 +28,10 @@ import static onlinebookstore.util.controller.ControllerTestDataUtil.BAD_REQUEST
 import static onlinebookstore.util.controller.ControllerTestDataUtil.EXPECTED_ADD_ORDER_ERRORS;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.NOT_FOUND;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_ORDERS;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_ORDERS_CURSOR;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_ORDERS_EXISTING_ORDER_ID;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_ORDERS_NOT_EXISTING_ORDER_ID;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_ORDERS_STATUS;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_ORDER_ITEMS_EXISTING_ORDER_ID;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_ORDER_ITEMS_EXISTING_ORDER_ID_AND_ITEM_ID;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_ORDER_ITEMS_EXISTING_ORDER_ID_AND_NOT_EXISTING_ITEM_ID;
@@ -42,9 +45,11 @@ import static onlinebookstore.util.controller.MockMvcUtil.buildMockMvc;
 import static onlinebookstore.util.controller.MvcTestHelper.createJsonMvcResult;
 import static onlinebookstore.util.controller.MvcTestHelper.createMvcResult;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -55,8 +60,12 @@ import javax.sql.DataSource;
 import lombok.SneakyThrows;
 import onlinebookstore.dto.order.OrderDto;
 import onlinebookstore.dto.order.OrderRequestDto;
+import onlinebookstore.dto.order.OrderStatusBatchRequestDto;
+import onlinebookstore.dto.order.OrderStatusBatchResultDto;
+import onlinebookstore.dto.order.OrderStatusResultDto;
 import onlinebookstore.dto.order.UpdateOrderDto;
 import onlinebookstore.dto.orderitem.OrderItemDto;
+import onlinebookstore.dto.pagination.CursorPageDto;
 import onlinebookstore.model.Order;
 import onlinebookstore.model.User;
 import onlinebookstore.util.TestDataUtil;
@@ -67,6 +76,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -139,6 +149,39 @@ public class OrderControllerTest {
         );
     }
 
+    @Test
+    @DisplayName("Orders must be returned by user id with a cursor.")
+    void getOrdersByCursor_GivenOrdersCatalog_ShouldReturnAllUserOrders() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        List<OrderDto> expectedOrderDtos = List.of(createTestOrderDto(EXISTING_ORDER_ID));
+
+        //When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                get(URL_ORDERS_CURSOR)
+                        .param("sort", "orderDate,desc")
+                        .param("includeCount", "true"),
+                status().isOk()
+        );
+
+        //Then
+        CursorPageDto<OrderDto> actualSlice = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<CursorPageDto<OrderDto>>() {}
+        );
+        actualSlice.content().forEach(TestDataUtil::sortOrderItemsInAllOrdersByBookId);
+        assertThat(actualSlice.hasNext()).isFalse();
+        assertThat(actualSlice.nextCursor()).isNull();
+        assertThat(actualSlice.totalElements()).isEqualTo(expectedOrderDtos.size());
+        assertCollectionsAreEqualIgnoringFields(
+                actualSlice.content(),
+                expectedOrderDtos,
+                ORDER_DTO_IGNORING_FIELDS
+        );
+    }
+
     @Test
     @Sql(scripts = {
             "classpath:database/orderitems/clear-all-order-items.sql",
@@ -178,10 +221,12 @@ public class OrderControllerTest {
             "classpath:database/orderitems/clear-all-order-items.sql",
             "classpath:database/orders/clear-all-orders.sql",
             "classpath:database/carts/add-test-shoppingcart-to-shoppingcarts-table.sql",
-            "classpath:database/carts/add-test-cartitems-to-cartitems-table.sql"
+            "classpath:database/carts/add-test-cartitems-to-cartitems-table.sql",
+            "classpath:database/stocks/add-test-stocks-to-book_stocks-table.sql"
     },
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = {
+            "classpath:database/stocks/remove-test-stocks-from-book_stocks-table.sql",
             "classpath:database/carts/remove-test-cartitems-from-cartitems-table.sql",
             "classpath:database/carts/remove-test-shoppingcart-from-shoppingcarts-table.sql",
             "classpath:database/orderitems/clear-all-order-items.sql",
@@ -222,6 +267,45 @@ public class OrderControllerTest {
         );
     }
 
+    @Test
+    @Sql(scripts = {
+            "classpath:database/carts/add-test-shoppingcart-to-shoppingcarts-table.sql",
+            "classpath:database/carts/add-test-cartitems-to-cartitems-table.sql",
+            "classpath:database/stocks/add-empty-test-stocks-to-book_stocks-table.sql"
+    },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {
+            "classpath:database/stocks/remove-test-stocks-from-book_stocks-table.sql",
+            "classpath:database/carts/remove-test-cartitems-from-cartitems-table.sql",
+            "classpath:database/carts/remove-test-shoppingcart-from-shoppingcarts-table.sql"
+    },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Verify that an exception is thrown when books are out of stock.")
+    void addOrder_BooksOutOfStock_ShouldReturnBadRequest() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        OrderRequestDto orderRequestDto = new OrderRequestDto(
+                ORDER_TEST_DATA_MAP.get("shippingAddress"));
+        String jsonRequest = objectMapper.writeValueAsString(orderRequestDto);
+
+        //When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                post(URL_ORDERS),
+                status().isBadRequest(),
+                jsonRequest
+        );
+
+        //Then
+        assertValidationError(
+                result,
+                objectMapper,
+                BAD_REQUEST,
+                "Not enough stock for book with id: " + EXISTING_BOOK_ID
+        );
+    }
+
     @Test
     @Sql(scripts = {
             "classpath:database/carts/add-test-shoppingcart-to-shoppingcarts-table.sql"
@@ -293,7 +377,7 @@ public class OrderControllerTest {
     @DisplayName("Update order status.")
     void updateOrder_ValidOrderIdAndUpdateOrderDto_Success() throws Exception {
         // Given
-        String updatedStatus = "SHIPPED";
+        String updatedStatus = "PAID";
         User user = createTestUser(EXISTING_USER_ID);
         SecurityTestUtil.setAuthenticationForUser(user);
         UpdateOrderDto updateOrderDto = new UpdateOrderDto(updatedStatus);
@@ -316,6 +400,95 @@ public class OrderControllerTest {
         assertThat(actualOrderDto.getStatus()).isEqualTo(updatedStatus);
     }
 
+    @Test
+    @DisplayName("Verify that an exception is thrown when a status transition is not allowed.")
+    void updateOrder_SkippedStatus_ShouldReturnBadRequest() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        UpdateOrderDto updateOrderDto = new UpdateOrderDto("DELIVERED");
+        String jsonRequest = objectMapper.writeValueAsString(updateOrderDto);
+
+        //When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                patch(URL_ORDERS_EXISTING_ORDER_ID),
+                status().isBadRequest(),
+                jsonRequest
+        );
+
+        //Then
+        assertValidationError(
+                result,
+                objectMapper,
+                BAD_REQUEST,
+                "Can't change order status from PENDING to DELIVERED"
+        );
+    }
+
+    @Test
+    @Sql(scripts = {
+            "classpath:database/orders/restoring-order-id101-from-orders-table.sql"
+    },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Update status of many orders and report the outcome for every order.")
+    void updateOrders_ValidRequest_ReturnsOutcomePerOrder() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        OrderStatusBatchRequestDto requestDto = new OrderStatusBatchRequestDto("PAID",
+                List.of(EXISTING_ORDER_ID, NOT_EXISTING_ORDER_ID));
+        MvcResult asyncResult = mockMvc.perform(patch(URL_ORDERS_STATUS)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //When
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //Then
+        OrderStatusBatchResultDto actual = parseResponseToObject(
+                result,
+                objectMapper,
+                OrderStatusBatchResultDto.class
+        );
+        assertThat(actual.applied()).isEqualTo(1);
+        assertThat(actual.results()).containsExactly(
+                new OrderStatusResultDto(EXISTING_ORDER_ID,
+                        OrderStatusResultDto.Outcome.APPLIED, null),
+                new OrderStatusResultDto(NOT_EXISTING_ORDER_ID,
+                        OrderStatusResultDto.Outcome.NOT_FOUND,
+                        "Can't find order with id: " + NOT_EXISTING_ORDER_ID));
+    }
+
+    @Test
+    @DisplayName("Verify that an exception is thrown when no order ids are given.")
+    void updateOrders_EmptyOrderIds_ShouldReturnBadRequest() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        OrderStatusBatchRequestDto requestDto = new OrderStatusBatchRequestDto("PAID",
+                List.of());
+
+        //When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                patch(URL_ORDERS_STATUS),
+                status().isBadRequest(),
+                objectMapper.writeValueAsString(requestDto)
+        );
+
+        //Then
+        assertValidationErrorList(
+                result,
+                objectMapper,
+                List.of("orderIds Invalid order ids. Value shouldn't be empty.")
+        );
+    }
+
     @Test
     @DisplayName("Verify that an exception is throw when an order id doesn't exists.")
     void updateOrder_InvalidOrderId_ShouldReturnNotFound() throws Exception {
@@ -1,11 +1,20 @@
 package onlinebookstore.controller.shoppingcart;
 
+import static onlinebookstore.controller.ShoppingCartController.PREFER;
+import static onlinebookstore.controller.ShoppingCartController.PREFERENCE_APPLIED;
+import static onlinebookstore.controller.ShoppingCartController.RETURN_MINIMAL;
+import static onlinebookstore.dto.cartitem.CartItemOperationDto.Type.ADD;
+import static onlinebookstore.dto.cartitem.CartItemOperationDto.Type.REMOVE;
+import static onlinebookstore.dto.cartitem.CartItemOperationDto.Type.UPDATE;
+import static onlinebookstore.service.idempotency.IdempotencyStore.IDEMPOTENCY_KEY_HEADER;
 import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_CART_ITEM_ID;
 import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_USER_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_CART_ITEM_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
 import static onlinebookstore.util.TestDataUtil.EXPECTED_CART_ITEMS_SIZE;
+import static onlinebookstore.util.TestDataUtil.IDEMPOTENCY_KEY;
 import static onlinebookstore.util.TestDataUtil.NEGATIVE_ID;
 import static onlinebookstore.util.TestDataUtil.NEGATIVE_VALUE;
 import static onlinebookstore.util.TestDataUtil.NEW_CART_ITEM_ID;
@@ -13,23 +22,33 @@ import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_CART_ITEM_ID;
 import static onlinebookstore.util.TestDataUtil.SHOPPING_CART_DTO_IGNORING_CART_ITEMS_FIELD;
 import static onlinebookstore.util.TestDataUtil.SHOPPING_CART_DTO_IGNORING_FIELDS;
+import static onlinebookstore.util.TestDataUtil.STALE_CART_VERSION;
 import static onlinebookstore.util.TestDataUtil.UPDATED_QUANTITY;
 import static onlinebookstore.util.TestDataUtil.createTestCartItemDto;
+import static onlinebookstore.util.TestDataUtil.createTestCartItemOperationDto;
 import static onlinebookstore.util.TestDataUtil.createTestCartItemRequestDto;
+import static onlinebookstore.util.TestDataUtil.createTestCartTotalsDto;
 import static onlinebookstore.util.TestDataUtil.createTestShoppingCartDto;
 import static onlinebookstore.util.TestDataUtil.createTestUpdateCartItemDto;
 import static onlinebookstore.util.TestDataUtil.createTestUser;
+import static onlinebookstore.util.assertions.TestAssertionsUtil.assertCartTotalsEqual;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertObjectsAreEqualIgnoringFields;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertShoppingCartContainsExpectedItem;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertValidationError;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertValidationErrorList;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.BAD_REQUEST;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.EXPECTED_CART_ITEM_BATCH_ERRORS;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.EXPECTED_CART_ITEM_ERRORS;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.EXPECTED_CART_ITEM_VALUE_NEGATIVE_ERRORS;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.NOT_FOUND;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.NO_CONTENT;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.PRECONDITION_FAILED;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.UNPROCESSABLE_ENTITY;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_SHOPPING_CART;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_SHOPPING_CART_ITEMS_BATCH;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_SHOPPING_CART_ITEMS_EXISTING_CART_ID;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_SHOPPING_CART_ITEMS_NOT_EXISTING_CART_ID;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_SHOPPING_CART_TOTALS;
 import static onlinebookstore.util.controller.ControllerTestUtil.parseResponseToObject;
 import static onlinebookstore.util.controller.DatabaseTestUtil.executeSqlScript;
 import static onlinebookstore.util.controller.MockMvcUtil.buildMockMvc;
@@ -43,22 +62,33 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import javax.sql.DataSource;
 import lombok.SneakyThrows;
+import onlinebookstore.dto.cartitem.CartItemBatchRequestDto;
+import onlinebookstore.dto.cartitem.CartItemBatchResultDto;
+import onlinebookstore.dto.cartitem.CartItemChangeDto;
 import onlinebookstore.dto.cartitem.CartItemDto;
+import onlinebookstore.dto.cartitem.CartItemOperationResultDto;
+import onlinebookstore.dto.cartitem.CartItemOperationResultDto.Status;
 import onlinebookstore.dto.cartitem.CartItemRequestDto;
 import onlinebookstore.dto.cartitem.UpdateCartItemDto;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
 import onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import onlinebookstore.model.User;
+import onlinebookstore.service.book.BookCache;
 import onlinebookstore.util.controller.SecurityTestUtil;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -67,9 +97,13 @@ import org.springframework.web.context.WebApplicationContext;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class ShoppingCartControllerTest {
     protected static MockMvc mockMvc;
+    private static final int ADDED_QUANTITY = 3;
+    private static final String IF_MATCH_IDEMPOTENCY_KEY = "8d3e1f5a-7c2b-4a9e-b6d0-1e3f5a7c9b24";
 
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private BookCache bookCache;
 
     @BeforeAll
     static void beforeAll(@Autowired DataSource dataSource,
@@ -85,6 +119,11 @@ public class ShoppingCartControllerTest {
         );
     }
 
+    @BeforeEach
+    void setUp() {
+        bookCache.evictAll();
+    }
+
     @AfterAll
     static void afterAll(@Autowired DataSource dataSource) {
         teardown(dataSource);
@@ -124,6 +163,26 @@ public class ShoppingCartControllerTest {
         );
     }
 
+    @Test
+    @DisplayName("Get shopping cart totals.")
+    void getCartTotals_GivenShoppingCart_ShouldReturnCartTotalsDto() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+
+        // When
+        MvcResult result = createMvcResult(mockMvc, get(URL_SHOPPING_CART_TOTALS),
+                status().isOk());
+
+        // Then
+        CartTotalsDto actualTotals = parseResponseToObject(
+                result,
+                objectMapper,
+                CartTotalsDto.class
+        );
+        assertCartTotalsEqual(actualTotals, createTestCartTotalsDto());
+    }
+
     @Test
     @DisplayName("Method should register new shopping cart if none exists and return it as DTO.")
     void getShoppingCart_ShoppingCartNotExists_ShouldReturnShoppingCartDto() throws Exception {
@@ -131,6 +190,8 @@ public class ShoppingCartControllerTest {
         User user = createTestUser(ALTERNATIVE_USER_ID);
         SecurityTestUtil.setAuthenticationForUser(user);
         ShoppingCartDto expectedShoppingCartDto = createTestShoppingCartDto(ALTERNATIVE_USER_ID);
+        expectedShoppingCartDto.setTotalQuantity(0L);
+        expectedShoppingCartDto.setTotalPrice(BigDecimal.ZERO);
 
         // When
         MvcResult result = createMvcResult(mockMvc, get(URL_SHOPPING_CART), status().isOk());
@@ -160,6 +221,10 @@ public class ShoppingCartControllerTest {
         ShoppingCartDto expectedShoppingCartDto = createTestShoppingCartDto(EXISTING_USER_ID);
         CartItemDto newCartItemDto = createTestCartItemDto(NEW_CART_ITEM_ID, ALTERNATIVE_BOOK_ID);
         expectedShoppingCartDto.getCartItems().add(newCartItemDto);
+        CartTotalsDto expectedTotals =
+                createTestCartTotalsDto(expectedShoppingCartDto.getCartItems());
+        expectedShoppingCartDto.setTotalQuantity(expectedTotals.totalQuantity());
+        expectedShoppingCartDto.setTotalPrice(expectedTotals.totalPrice());
         CartItemRequestDto requestDto = createTestCartItemRequestDto(newCartItemDto);
         String jsonRequest = objectMapper.writeValueAsString(requestDto);
 
@@ -213,6 +278,86 @@ public class ShoppingCartControllerTest {
         assertShoppingCartContainsExpectedItem(actualShoppingCartDto, expected);
     }
 
+    @Test
+    @DisplayName("Add cart item only once when the request is retried with the same key.")
+    @Sql(scripts =
+            "classpath:database/carts/restoring-cart-item-id101-from-cart-items-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void addCartItem_RetriedWithSameIdempotencyKey_AddsQuantityOnce() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        CartItemRequestDto requestDto = createTestCartItemRequestDto(EXISTING_CART_ITEM_ID);
+        CartItemDto expected = createTestCartItemDto(EXISTING_CART_ITEM_ID, EXISTING_BOOK_ID);
+        expected.setQuantity(expected.getQuantity() + requestDto.getQuantity());
+        String jsonRequest = objectMapper.writeValueAsString(requestDto);
+        createJsonMvcResult(
+                mockMvc,
+                post(URL_SHOPPING_CART).header(IDEMPOTENCY_KEY_HEADER, IDEMPOTENCY_KEY),
+                status().isCreated(),
+                jsonRequest);
+
+        //When
+        createJsonMvcResult(
+                mockMvc,
+                post(URL_SHOPPING_CART).header(IDEMPOTENCY_KEY_HEADER, IDEMPOTENCY_KEY),
+                status().isCreated(),
+                jsonRequest);
+
+        //Then
+        MvcResult result = createMvcResult(mockMvc, get(URL_SHOPPING_CART), status().isOk());
+        ShoppingCartDto actualShoppingCartDto = parseResponseToObject(
+                result,
+                objectMapper,
+                ShoppingCartDto.class
+        );
+        assertShoppingCartContainsExpectedItem(actualShoppingCartDto, expected);
+    }
+
+    @Test
+    @DisplayName("Reject a retry with the same key when it sends a different If-Match version.")
+    @Sql(scripts =
+            "classpath:database/carts/restoring-cart-item-id101-from-cart-items-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void addCartItem_RetriedWithDifferentIfMatch_ShouldReturnUnprocessableEntity()
+            throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        String jsonRequest = objectMapper.writeValueAsString(
+                createTestCartItemRequestDto(EXISTING_CART_ITEM_ID));
+        Long currentVersion = parseResponseToObject(
+                createMvcResult(mockMvc, get(URL_SHOPPING_CART_TOTALS), status().isOk()),
+                objectMapper,
+                CartTotalsDto.class
+        ).version();
+        createJsonMvcResult(
+                mockMvc,
+                post(URL_SHOPPING_CART)
+                        .header(IDEMPOTENCY_KEY_HEADER, IF_MATCH_IDEMPOTENCY_KEY)
+                        .header(HttpHeaders.IF_MATCH, "\"" + currentVersion + "\""),
+                status().isCreated(),
+                jsonRequest);
+
+        //When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                post(URL_SHOPPING_CART)
+                        .header(IDEMPOTENCY_KEY_HEADER, IF_MATCH_IDEMPOTENCY_KEY)
+                        .header(HttpHeaders.IF_MATCH, STALE_CART_VERSION),
+                status().isUnprocessableEntity(),
+                jsonRequest);
+
+        //Then
+        assertValidationError(
+                result,
+                objectMapper,
+                UNPROCESSABLE_ENTITY,
+                "Idempotency key was already used with a different precondition: "
+                        + IF_MATCH_IDEMPOTENCY_KEY
+        );
+    }
+
     @Test
     @DisplayName("Verify that an exception is throw when a book id doesn't exists.")
     void addCartItem_InvalidBookId_ShouldReturnNotFound() throws Exception {
@@ -324,6 +469,131 @@ public class ShoppingCartControllerTest {
         assertShoppingCartContainsExpectedItem(actualShoppingCartDto, expected);
     }
 
+    @Test
+    @DisplayName("Update cart item and return only the change when minimal return is preferred.")
+    @Sql(scripts =
+            "classpath:database/carts/restoring-cart-item-id101-from-cart-items-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void updateCartItem_PreferReturnMinimal_ShouldReturnCartItemChange() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        UpdateCartItemDto updateCartItem = createTestUpdateCartItemDto(UPDATED_QUANTITY);
+        CartItemDto expected = createTestCartItemDto(EXISTING_CART_ITEM_ID, EXISTING_BOOK_ID);
+        expected.setQuantity(updateCartItem.getQuantity());
+        String jsonRequest = objectMapper.writeValueAsString(updateCartItem);
+
+        //When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                put(URL_SHOPPING_CART_ITEMS_EXISTING_CART_ID).header(PREFER, RETURN_MINIMAL),
+                status().isOk(),
+                jsonRequest
+        );
+
+        //Then
+        assertThat(result.getResponse().getHeader(PREFERENCE_APPLIED)).isEqualTo(RETURN_MINIMAL);
+        CartItemChangeDto actualCartItemChangeDto = parseResponseToObject(
+                result,
+                objectMapper,
+                CartItemChangeDto.class
+        );
+        assertThat(actualCartItemChangeDto.cartItem()).isEqualTo(expected);
+        assertCartTotalsEqual(actualCartItemChangeDto.totals(), createTestCartTotalsDto(
+                Set.of(expected, createTestCartItemDto(ALTERNATIVE_CART_ITEM_ID,
+                        ALTERNATIVE_CART_ITEM_ID))));
+    }
+
+    @Test
+    @DisplayName("Update cart item when If-Match holds the current cart version.")
+    @Sql(scripts =
+            "classpath:database/carts/restoring-cart-item-id101-from-cart-items-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void updateCartItem_CurrentIfMatch_Success() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        String jsonRequest = objectMapper.writeValueAsString(
+                createTestUpdateCartItemDto(UPDATED_QUANTITY));
+        Long currentVersion = parseResponseToObject(
+                createMvcResult(mockMvc, get(URL_SHOPPING_CART_TOTALS), status().isOk()),
+                objectMapper,
+                CartTotalsDto.class
+        ).version();
+
+        //When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                put(URL_SHOPPING_CART_ITEMS_EXISTING_CART_ID)
+                        .header(HttpHeaders.IF_MATCH, "\"" + currentVersion + "\""),
+                status().isOk(),
+                jsonRequest
+        );
+
+        //Then
+        ShoppingCartDto actualShoppingCartDto = parseResponseToObject(
+                result,
+                objectMapper,
+                ShoppingCartDto.class
+        );
+        assertThat(actualShoppingCartDto.getVersion()).isEqualTo(currentVersion + 1);
+    }
+
+    @Test
+    @DisplayName("Verify that a cart item isn't updated when If-Match holds a stale cart version.")
+    void updateCartItem_StaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        String jsonRequest = objectMapper.writeValueAsString(
+                createTestUpdateCartItemDto(UPDATED_QUANTITY));
+
+        //When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                put(URL_SHOPPING_CART_ITEMS_EXISTING_CART_ID)
+                        .header(HttpHeaders.IF_MATCH, STALE_CART_VERSION),
+                status().isPreconditionFailed(),
+                jsonRequest
+        );
+
+        //Then
+        assertValidationError(
+                result,
+                objectMapper,
+                PRECONDITION_FAILED,
+                "Shopping cart of user " + EXISTING_USER_ID
+                        + " is no longer at version " + STALE_CART_VERSION
+        );
+        CartTotalsDto actualTotals = parseResponseToObject(
+                createMvcResult(mockMvc, get(URL_SHOPPING_CART_TOTALS), status().isOk()),
+                objectMapper,
+                CartTotalsDto.class
+        );
+        assertCartTotalsEqual(actualTotals, createTestCartTotalsDto());
+    }
+
+    @Test
+    @DisplayName("Verify that a malformed If-Match header is rejected.")
+    void updateCartItem_MalformedIfMatch_ShouldReturnBadRequest() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        String jsonRequest = objectMapper.writeValueAsString(
+                createTestUpdateCartItemDto(UPDATED_QUANTITY));
+
+        //When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                put(URL_SHOPPING_CART_ITEMS_EXISTING_CART_ID).header(HttpHeaders.IF_MATCH, "*"),
+                status().isBadRequest(),
+                jsonRequest
+        );
+
+        //Then
+        assertValidationError(result, objectMapper, BAD_REQUEST, "Invalid If-Match version: *");
+    }
+
     @Test
     @DisplayName("Verify that an exception is throw when a cart item id doesn't exists.")
     public void updateCartItem_CartItemIdNoExists_ShouldReturnNotFound() throws Exception {
@@ -396,6 +666,50 @@ public class ShoppingCartControllerTest {
 
         // Then
         assertThat(result.getResponse().getStatus()).isEqualTo(NO_CONTENT);
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+        MvcResult checkResult = createMvcResult(
+                mockMvc,
+                get(URL_SHOPPING_CART),
+                status().isOk()
+        );
+        ShoppingCartDto shoppingCartDto = parseResponseToObject(
+                checkResult,
+                objectMapper,
+                ShoppingCartDto.class
+        );
+        assertThat(shoppingCartDto.getCartItems()).hasSize(EXPECTED_CART_ITEMS_SIZE - 1);
+        assertThat(shoppingCartDto.getCartItems()).noneMatch(actual ->
+                Objects.equals(actual.getBookId(), EXISTING_BOOK_ID));
+    }
+
+    @Test
+    @DisplayName("Remove a book and return the cart totals when minimal return is preferred.")
+    @Sql(scripts = {
+            "classpath:database/carts/remove-test-cartitems-from-cartitems-table.sql",
+            "classpath:database/carts/add-test-cartitems-to-cartitems-table.sql"
+    },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void delete_PreferReturnMinimal_ShouldReturnCartTotals() throws Exception {
+        //Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+
+        //When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                delete(URL_SHOPPING_CART_ITEMS_EXISTING_CART_ID).header(PREFER, RETURN_MINIMAL),
+                status().isOk()
+        );
+
+        // Then
+        assertThat(result.getResponse().getHeader(PREFERENCE_APPLIED)).isEqualTo(RETURN_MINIMAL);
+        CartTotalsDto actualTotals = parseResponseToObject(
+                result,
+                objectMapper,
+                CartTotalsDto.class
+        );
+        assertCartTotalsEqual(actualTotals, createTestCartTotalsDto(Set.of(
+                createTestCartItemDto(ALTERNATIVE_CART_ITEM_ID, ALTERNATIVE_CART_ITEM_ID))));
         MvcResult checkResult = createMvcResult(
                 mockMvc,
                 get(URL_SHOPPING_CART),
@@ -433,4 +747,75 @@ public class ShoppingCartControllerTest {
                 "Can't find cart with id: " + NOT_EXISTING_CART_ITEM_ID
         );
     }
+
+    @Test
+    @DisplayName("Apply add, update and remove operations to the shopping cart at once.")
+    @Sql(scripts = {
+            "classpath:database/carts/remove-new-test-cart-item-from-cart-items-table.sql",
+            "classpath:database/carts/remove-test-cartitems-from-cartitems-table.sql",
+            "classpath:database/carts/add-test-cartitems-to-cartitems-table.sql"
+    },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void applyCartItemOperations_MixedOperations_ShouldReturnResults() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        CartItemBatchRequestDto requestDto = new CartItemBatchRequestDto(List.of(
+                createTestCartItemOperationDto(ADD, ALTERNATIVE_BOOK_ID, ADDED_QUANTITY),
+                createTestCartItemOperationDto(UPDATE, EXISTING_CART_ITEM_ID, UPDATED_QUANTITY),
+                createTestCartItemOperationDto(REMOVE, ALTERNATIVE_CART_ITEM_ID, null),
+                createTestCartItemOperationDto(ADD, NOT_EXISTING_BOOK_ID, ADDED_QUANTITY)
+        ));
+        CartItemDto updatedCartItem = createTestCartItemDto(EXISTING_CART_ITEM_ID,
+                EXISTING_BOOK_ID);
+        updatedCartItem.setQuantity(UPDATED_QUANTITY);
+        CartItemDto newCartItem = createTestCartItemDto(NEW_CART_ITEM_ID, ALTERNATIVE_BOOK_ID);
+        newCartItem.setQuantity(ADDED_QUANTITY);
+        String jsonRequest = objectMapper.writeValueAsString(requestDto);
+
+        //When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                post(URL_SHOPPING_CART_ITEMS_BATCH),
+                status().isOk(),
+                jsonRequest);
+
+        //Then
+        CartItemBatchResultDto actualResult = parseResponseToObject(
+                result,
+                objectMapper,
+                CartItemBatchResultDto.class
+        );
+        assertThat(actualResult.results())
+                .extracting(CartItemOperationResultDto::status)
+                .containsExactly(Status.APPLIED, Status.APPLIED, Status.APPLIED,
+                        Status.NOT_FOUND);
+        assertCartTotalsEqual(actualResult.totals(),
+                createTestCartTotalsDto(Set.of(updatedCartItem, newCartItem)));
+    }
+
+    @Test
+    @DisplayName("Verify that an exception is throw when the operations are empty.")
+    void applyCartItemOperations_EmptyOperations_ShouldReturnBadRequest() throws Exception {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        SecurityTestUtil.setAuthenticationForUser(user);
+        String jsonRequest = objectMapper.writeValueAsString(
+                new CartItemBatchRequestDto(List.of()));
+
+        //When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                post(URL_SHOPPING_CART_ITEMS_BATCH),
+                status().isBadRequest(),
+                jsonRequest
+        );
+
+        //Then
+        assertValidationErrorList(
+                result,
+                objectMapper,
+                EXPECTED_CART_ITEM_BATCH_ERRORS
+        );
+    }
 }
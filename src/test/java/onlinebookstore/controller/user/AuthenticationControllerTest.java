@@ -1,5 +1,6 @@
 package onlinebookstore.controller.user;
 
+import static onlinebookstore.security.JwtAuthenticationFilter.BEARER_PREFIX;
 import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
 import static onlinebookstore.util.TestDataUtil.NEW_USER_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_USER_ID;
@@ -18,11 +19,13 @@ import static onlinebookstore.util.controller.ControllerTestDataUtil.EXPECTED_US
 import static onlinebookstore.util.controller.ControllerTestDataUtil.EXPECTED_USER_REGISTRATION_SIZE_ERRORS;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.UNAUTHORIZED;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_LOGIN;
+import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_LOGOUT;
 import static onlinebookstore.util.controller.ControllerTestDataUtil.URL_REGISTRATION;
 import static onlinebookstore.util.controller.ControllerTestUtil.parseResponseToObject;
 import static onlinebookstore.util.controller.DatabaseTestUtil.executeSqlScript;
 import static onlinebookstore.util.controller.MockMvcUtil.buildMockMvc;
 import static onlinebookstore.util.controller.MvcTestHelper.createJsonMvcResult;
+import static onlinebookstore.util.controller.MvcTestHelper.createMvcResult;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -42,6 +45,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -108,6 +112,41 @@ public class AuthenticationControllerTest {
         assertThat(tokenParts).hasSize(3);
     }
 
+    @Test
+    @DisplayName("Revoke the access token of the current user.")
+    void logout_ValidToken_ShouldRevokeToken() throws Exception {
+        //Given
+        UserLoginRequestDto userLoginRequestDto = createTestUserLoginRequestDto(EXISTING_USER_ID);
+        String jsonRequest = objectMapper.writeValueAsString(userLoginRequestDto);
+        MvcResult loginResult = createJsonMvcResult(
+                mockMvc,
+                post(URL_LOGIN),
+                status().isOk(),
+                jsonRequest
+        );
+        String authorization = BEARER_PREFIX + parseResponseToObject(
+                loginResult,
+                objectMapper,
+                UserLoginResponseDto.class
+        ).token();
+
+        //When
+        createMvcResult(
+                mockMvc,
+                post(URL_LOGOUT).header(HttpHeaders.AUTHORIZATION, authorization),
+                status().isNoContent()
+        );
+
+        //Then
+        MvcResult result = createMvcResult(
+                mockMvc,
+                post(URL_LOGOUT).header(HttpHeaders.AUTHORIZATION, authorization),
+                status().isUnauthorized()
+        );
+        assertThat(result.getResponse().getContentAsString())
+                .contains("Token has been revoked.");
+    }
+
     @Test
     @DisplayName("Verify that an exception is trow when an email doesn't exists.")
     void login_InvalidEmail_ShouldReturnUnauthorized() throws Exception {
@@ -0,0 +1,79 @@
+package onlinebookstore.repository.book;
+
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_CATEGORY_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_CATEGORY_ID;
+import static onlinebookstore.util.TestDataUtil.SAFE_DELETED_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.SAFE_DELETED_CATEGORY_ID;
+import static onlinebookstore.util.TestDataUtil.createTestBookDto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import onlinebookstore.dto.book.BookDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@Import(BookExportRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {
+        "classpath:database/books/add-test-books-to-books-table.sql",
+        "classpath:database/categories/add-test-category-to-categories-table.sql",
+        "classpath:database/bookscategories/add-test-dependencies-to-books-categories-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {
+        "classpath:database/bookscategories/remove-test-dependencies-from-books-categories.sql",
+        "classpath:database/categories/remove-test-categories-from-categories-table.sql",
+        "classpath:database/books/remove-test-books-from-books-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class BookExportRepositoryTest {
+    private static final String INSERT_BOOK_CATEGORY =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)";
+
+    @Autowired
+    private BookExportRepository bookExportRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Stream every available book once with its available category ids.")
+    void forEach_BooksWithCategories_StreamsBooksWithCategoryIds() {
+        // Given
+        jdbcTemplate.update(INSERT_BOOK_CATEGORY, EXISTING_BOOK_ID, ALTERNATIVE_CATEGORY_ID);
+        jdbcTemplate.update(INSERT_BOOK_CATEGORY, ALTERNATIVE_BOOK_ID, SAFE_DELETED_CATEGORY_ID);
+        final BookDto expectedBookDto = createTestBookDto(EXISTING_BOOK_ID);
+        List<BookDto> actualBookDtos = new ArrayList<>();
+
+        // When
+        bookExportRepository.forEach(actualBookDtos::add);
+
+        // Then
+        Map<Long, BookDto> actualBooks = actualBookDtos.stream()
+                .collect(Collectors.toMap(BookDto::getId, Function.identity()));
+        assertThat(actualBooks).hasSameSizeAs(actualBookDtos)
+                .doesNotContainKey(SAFE_DELETED_BOOK_ID);
+        assertThat(actualBookDtos).extracting(BookDto::getId).isSorted();
+        BookDto actualBookDto = actualBooks.get(EXISTING_BOOK_ID);
+        assertThat(actualBookDto.getTitle()).isEqualTo(expectedBookDto.getTitle());
+        assertThat(actualBookDto.getIsbn()).isEqualTo(expectedBookDto.getIsbn());
+        assertThat(actualBookDto.getPrice()).isEqualByComparingTo(expectedBookDto.getPrice());
+        assertThat(actualBookDto.getCategoryIds())
+                .isEqualTo(Set.of(EXISTING_CATEGORY_ID, ALTERNATIVE_CATEGORY_ID));
+        assertThat(actualBooks.get(ALTERNATIVE_BOOK_ID).getCategoryIds())
+                .isEqualTo(Set.of(EXISTING_CATEGORY_ID));
+    }
+}
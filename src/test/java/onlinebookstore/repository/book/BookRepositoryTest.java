@@ -1,28 +1,40 @@
 package onlinebookstore.repository.book;
 
 import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_CATEGORY_ID;
-import static onlinebookstore.util.TestDataUtil.BOOK_IGNORING_FIELDS;
 import static onlinebookstore.util.TestDataUtil.BOOK_PAGEABLE;
 import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_CATEGORY_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_ISBN;
 import static onlinebookstore.util.TestDataUtil.EXPECTED_BOOKS_SIZE;
+import static onlinebookstore.util.TestDataUtil.NEW_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_ISBN;
 import static onlinebookstore.util.TestDataUtil.SOFT_DELETED_BOOK_ISBN;
-import static onlinebookstore.util.TestDataUtil.createTestBookList;
+import static onlinebookstore.util.TestDataUtil.createTestBook;
+import static onlinebookstore.util.TestDataUtil.createTestBookCategoryIdDtoList;
+import static onlinebookstore.util.TestDataUtil.createTestBookDtoList;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertCollectionsAreEqualIgnoringFields;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertPageMetadataEquals;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import jakarta.persistence.TypedQuery;
+import java.util.HashSet;
 import java.util.List;
+import onlinebookstore.dto.book.BookCategoryIdDto;
+import onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
 import onlinebookstore.model.Book;
+import onlinebookstore.util.TestDataUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.jdbc.Sql;
 
 @DataJpaTest
@@ -42,6 +54,8 @@ import org.springframework.test.context.jdbc.Sql;
 public class BookRepositoryTest {
     @Autowired
     private BookRepository bookRepository;
+    @Autowired
+    private TestEntityManager entityManager;
 
     @Test
     @DisplayName("Check for book existence by ISBN, including safe deleted books.")
@@ -86,15 +100,18 @@ public class BookRepositoryTest {
     @DisplayName("Find all books by category id.")
     void findAllByCategoryId_ValidBooksByCategoryId_ReturnsAllBooks() {
         // Given
-        List<Book> expectedBooks = createTestBookList(EXISTING_BOOK_ID, EXPECTED_BOOKS_SIZE);
-        Page<Book> expectedBooksPage = new PageImpl<>(
+        List<BookDtoWithoutCategoryIds> expectedBooks = createTestBookDtoList(
+                EXISTING_BOOK_ID, EXPECTED_BOOKS_SIZE).stream()
+                .map(TestDataUtil::createTestBookDtoWithoutCategoryId)
+                .toList();
+        Page<BookDtoWithoutCategoryIds> expectedBooksPage = new PageImpl<>(
                 expectedBooks,
                 BOOK_PAGEABLE,
                 expectedBooks.size()
         );
 
         // When
-        Page<Book> actualBooksPage = bookRepository.findAllByCategoryId(
+        Page<BookDtoWithoutCategoryIds> actualBooksPage = bookRepository.findAllByCategoryId(
                 EXISTING_CATEGORY_ID,
                 BOOK_PAGEABLE
         );
@@ -103,8 +120,7 @@ public class BookRepositoryTest {
         assertPageMetadataEquals(actualBooksPage, expectedBooksPage);
         assertCollectionsAreEqualIgnoringFields(
                 actualBooksPage.getContent(),
-                expectedBooksPage.getContent(),
-                BOOK_IGNORING_FIELDS
+                expectedBooksPage.getContent()
         );
     }
 
@@ -112,10 +128,10 @@ public class BookRepositoryTest {
     @DisplayName("Find all books by category id when no books exist in that category.")
     void findAllByCategoryId_NoBooksByCategoryId_ReturnsEmptyPage() {
         // Given
-        Page<Book> expectedBooksPage = Page.empty(BOOK_PAGEABLE);
+        Page<BookDtoWithoutCategoryIds> expectedBooksPage = Page.empty(BOOK_PAGEABLE);
 
         // When
-        Page<Book> actualBooksPage = bookRepository.findAllByCategoryId(
+        Page<BookDtoWithoutCategoryIds> actualBooksPage = bookRepository.findAllByCategoryId(
                 ALTERNATIVE_CATEGORY_ID,
                 BOOK_PAGEABLE
         );
@@ -124,4 +140,88 @@ public class BookRepositoryTest {
         assertPageMetadataEquals(actualBooksPage, expectedBooksPage);
         assertThat(actualBooksPage.getContent()).isEmpty();
     }
+
+    @Test
+    @DisplayName("Find a page of book ids sorted and limited in the database.")
+    void findAllIds_ValidPageable_ReturnsIdsPage() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("id").descending());
+        List<Long> expectedIds = List.of(EXISTING_BOOK_ID + 2, EXISTING_BOOK_ID + 1);
+
+        // When
+        Page<Long> actualIdsPage = bookRepository.findAllIds(pageable);
+
+        // Then
+        assertThat(actualIdsPage.getContent()).isEqualTo(expectedIds);
+        assertThat(actualIdsPage.getTotalElements()).isEqualTo(bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Find book projections by ids.")
+    void findAllViewsByIdIn_ValidIds_ReturnsBookViews() {
+        // Given
+        List<BookDtoWithoutCategoryIds> expectedBooks = createTestBookDtoList(
+                EXISTING_BOOK_ID, EXPECTED_BOOKS_SIZE).stream()
+                .map(TestDataUtil::createTestBookDtoWithoutCategoryId)
+                .toList();
+        List<Long> ids = expectedBooks.stream().map(BookDtoWithoutCategoryIds::id).toList();
+
+        // When
+        List<BookDtoWithoutCategoryIds> actualBooks = bookRepository.findAllViewsByIdIn(ids);
+
+        // Then
+        assertCollectionsAreEqualIgnoringFields(actualBooks, expectedBooks);
+    }
+
+    @Test
+    @DisplayName("Find category ids of the given books with one query.")
+    void findCategoryIdsByBookIdIn_ValidIds_ReturnsCategoryIds() {
+        // Given
+        List<BookCategoryIdDto> expectedCategoryIds = createTestBookDtoList(
+                EXISTING_BOOK_ID, EXPECTED_BOOKS_SIZE).stream()
+                .flatMap(bookDto -> createTestBookCategoryIdDtoList(bookDto).stream())
+                .toList();
+        List<Long> ids = expectedCategoryIds.stream().map(BookCategoryIdDto::bookId).toList();
+
+        // When
+        List<BookCategoryIdDto> actualCategoryIds = bookRepository.findCategoryIdsByBookIdIn(ids);
+
+        // Then
+        assertThat(actualCategoryIds).containsExactlyInAnyOrderElementsOf(expectedCategoryIds);
+    }
+
+    @Test
+    @DisplayName("Paging over a fetched collection fails instead of paginating in memory.")
+    void pagingOverCollectionFetch_InMemoryPagination_ThrowsException() {
+        // Given
+        TypedQuery<Book> query = entityManager.getEntityManager().createQuery(
+                "SELECT b FROM Book b LEFT JOIN FETCH b.categories", Book.class);
+
+        // When & Then
+        assertThatThrownBy(() -> query.setMaxResults(1).getResultList())
+                .hasMessageContaining("in-memory pagination");
+    }
+
+    @Test
+    @DisplayName("Saved books take their ids from a pooled range of the id generator table.")
+    void saveAll_NewBooks_AssignsIdsFromPooledRange() {
+        // Given
+        List<Book> books = List.of(createTestBook(NEW_BOOK_ID), createTestBook(NEW_BOOK_ID + 1));
+        books.forEach(book -> {
+            book.setId(null);
+            book.setCategories(new HashSet<>());
+        });
+
+        // When
+        List<Book> savedBooks = bookRepository.saveAll(books);
+        bookRepository.flush();
+        Long nextPoolStart = (Long) entityManager.getEntityManager().createNativeQuery(
+                        "SELECT next_val FROM id_generators WHERE sequence_name = 'books'",
+                        Long.class)
+                .getSingleResult();
+
+        // Then
+        assertThat(savedBooks.get(1).getId()).isGreaterThan(savedBooks.get(0).getId());
+        assertThat(nextPoolStart).isGreaterThan(savedBooks.get(1).getId());
+    }
 }
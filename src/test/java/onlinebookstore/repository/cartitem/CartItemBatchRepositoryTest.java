@@ -0,0 +1,140 @@
+package onlinebookstore.repository.cartitem;
+
+import static onlinebookstore.dto.cartitem.CartItemOperationDto.Type.ADD;
+import static onlinebookstore.dto.cartitem.CartItemOperationDto.Type.REMOVE;
+import static onlinebookstore.dto.cartitem.CartItemOperationDto.Type.UPDATE;
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_CART_ITEM_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_CART_ITEM_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_SHOPPING_CART_ID;
+import static onlinebookstore.util.TestDataUtil.EXPECTED_CART_ITEMS_SIZE;
+import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_CART_ITEM_ID;
+import static onlinebookstore.util.TestDataUtil.UPDATED_QUANTITY;
+import static onlinebookstore.util.TestDataUtil.createTestCartItemDto;
+import static onlinebookstore.util.TestDataUtil.createTestCartItemOperationDto;
+import static onlinebookstore.util.TestDataUtil.createTestCartTotalsDto;
+import static onlinebookstore.util.assertions.TestAssertionsUtil.assertCartTotalsEqual;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import onlinebookstore.dto.cartitem.CartItemDto;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
+import onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@Import(CartItemBatchRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {
+        "classpath:database/users/add-test-users-to-users-table.sql",
+        "classpath:database/carts/add-test-shoppingcart-to-shoppingcarts-table.sql",
+        "classpath:database/books/add-test-books-to-books-table.sql",
+        "classpath:database/carts/add-test-cartitems-to-cartitems-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = {
+        "classpath:database/carts/remove-test-cartitems-from-cartitems-table.sql",
+        "classpath:database/books/remove-test-books-from-books-table.sql",
+        "classpath:database/carts/remove-test-shoppingcart-from-shoppingcarts-table.sql",
+        "classpath:database/users/remove-test-users-from-users-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+public class CartItemBatchRepositoryTest {
+    private static final int ADDED_QUANTITY = 5;
+
+    @Autowired
+    private CartItemBatchRepository cartItemBatchRepository;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Test
+    @DisplayName("Upsert a batch of books, adding new cart items and incrementing existing ones.")
+    void upsertQuantities_NewAndExistingBooks_UpsertsCartItems() {
+        // Given
+        int expectedQuantity = Math.toIntExact(EXISTING_CART_ITEM_ID) + ADDED_QUANTITY;
+
+        // When
+        cartItemBatchRepository.upsertQuantities(EXISTING_SHOPPING_CART_ID, List.of(
+                createTestCartItemOperationDto(ADD, EXISTING_BOOK_ID, ADDED_QUANTITY),
+                createTestCartItemOperationDto(ADD, ALTERNATIVE_BOOK_ID, ADDED_QUANTITY)));
+        List<CartItemDto> actualCartItemDtos = cartItemRepository
+                .findAllDtosByShoppingCartId(EXISTING_SHOPPING_CART_ID);
+
+        // Then
+        assertThat(actualCartItemDtos).hasSize(EXPECTED_CART_ITEMS_SIZE + 1);
+        assertThat(actualCartItemDtos)
+                .filteredOn(cartItemDto -> cartItemDto.getBookId().equals(EXISTING_BOOK_ID))
+                .singleElement()
+                .extracting(CartItemDto::getQuantity)
+                .isEqualTo(expectedQuantity);
+        assertThat(actualCartItemDtos)
+                .filteredOn(cartItemDto -> cartItemDto.getBookId().equals(ALTERNATIVE_BOOK_ID))
+                .singleElement()
+                .extracting(CartItemDto::getQuantity)
+                .isEqualTo(ADDED_QUANTITY);
+    }
+
+    @Test
+    @DisplayName("Update a batch of cart items and report missing ones with a zero count.")
+    void updateQuantities_ExistingAndMissingCartItems_ReturnsCounts() {
+        // When
+        int[] actualCounts = cartItemBatchRepository.updateQuantities(EXISTING_SHOPPING_CART_ID,
+                List.of(createTestCartItemOperationDto(
+                                UPDATE, EXISTING_CART_ITEM_ID, UPDATED_QUANTITY),
+                        createTestCartItemOperationDto(
+                                UPDATE, NOT_EXISTING_CART_ITEM_ID, UPDATED_QUANTITY)));
+
+        // Then
+        assertThat(actualCounts).containsExactly(1, 0);
+        assertThat(cartItemRepository.findDtoByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, EXISTING_SHOPPING_CART_ID))
+                .get()
+                .extracting(CartItemDto::getQuantity)
+                .isEqualTo(UPDATED_QUANTITY);
+    }
+
+    @Test
+    @DisplayName("Delete a batch of cart items and report missing ones with a zero count.")
+    void deleteAll_ExistingAndMissingCartItems_ReturnsCounts() {
+        // When
+        int[] actualCounts = cartItemBatchRepository.deleteAll(EXISTING_SHOPPING_CART_ID,
+                List.of(createTestCartItemOperationDto(REMOVE, ALTERNATIVE_CART_ITEM_ID, null),
+                        createTestCartItemOperationDto(REMOVE, NOT_EXISTING_CART_ITEM_ID, null)));
+
+        // Then
+        assertThat(actualCounts).containsExactly(1, 0);
+        assertThat(cartItemRepository.findAllDtosByShoppingCartId(EXISTING_SHOPPING_CART_ID))
+                .extracting(CartItemDto::getId)
+                .containsExactly(EXISTING_CART_ITEM_ID);
+    }
+
+    @Test
+    @DisplayName("Apply the quantity changes of a batch to the stored totals of the cart.")
+    void updateQuantities_ExistingCartItem_UpdatesTotals() {
+        // Given
+        CartItemDto updatedCartItemDto = createTestCartItemDto(EXISTING_CART_ITEM_ID,
+                EXISTING_BOOK_ID);
+        updatedCartItemDto.setQuantity(UPDATED_QUANTITY);
+        CartTotalsDto expectedTotals = createTestCartTotalsDto(Set.of(updatedCartItemDto,
+                createTestCartItemDto(ALTERNATIVE_CART_ITEM_ID, ALTERNATIVE_CART_ITEM_ID)));
+
+        // When
+        cartItemBatchRepository.updateQuantities(EXISTING_SHOPPING_CART_ID, List.of(
+                createTestCartItemOperationDto(UPDATE, EXISTING_CART_ITEM_ID, UPDATED_QUANTITY),
+                createTestCartItemOperationDto(UPDATE, NOT_EXISTING_CART_ITEM_ID, 1)));
+
+        // Then
+        assertCartTotalsEqual(shoppingCartRepository.findTotalsById(EXISTING_SHOPPING_CART_ID)
+                .orElseThrow(), expectedTotals);
+    }
+}
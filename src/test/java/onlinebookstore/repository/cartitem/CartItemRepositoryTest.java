@@ -0,0 +1,129 @@
+package onlinebookstore.repository.cartitem;
+
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_CART_ITEM_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_SHOPPING_CART_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXPECTED_CART_ITEMS_SIZE;
+import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_USER_ID;
+import static onlinebookstore.util.TestDataUtil.createTestShoppingCartDto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import onlinebookstore.dto.cartitem.CartItemDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {
+        "classpath:database/users/add-test-users-to-users-table.sql",
+        "classpath:database/carts/add-test-shoppingcart-to-shoppingcarts-table.sql",
+        "classpath:database/books/add-test-books-to-books-table.sql",
+        "classpath:database/carts/add-test-cartitems-to-cartitems-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = {
+        "classpath:database/carts/remove-test-cartitems-from-cartitems-table.sql",
+        "classpath:database/books/remove-test-books-from-books-table.sql",
+        "classpath:database/carts/remove-test-shoppingcart-from-shoppingcarts-table.sql",
+        "classpath:database/users/remove-test-users-from-users-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+public class CartItemRepositoryTest {
+    private static final int ADDED_QUANTITY = 5;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Test
+    @DisplayName("Find the cart items of a shopping cart as DTOs.")
+    void findAllDtosByShoppingCartId_ValidShoppingCart_ReturnsCartItemDtos() {
+        // Given
+        List<CartItemDto> expectedCartItemDtos = List.copyOf(
+                createTestShoppingCartDto(EXISTING_USER_ID).getCartItems());
+
+        // When
+        List<CartItemDto> actualCartItemDtos = cartItemRepository
+                .findAllDtosByShoppingCartId(EXISTING_SHOPPING_CART_ID);
+
+        // Then
+        assertThat(actualCartItemDtos).containsExactlyInAnyOrderElementsOf(expectedCartItemDtos);
+    }
+
+    @Test
+    @DisplayName("Upsert adds the quantity to the cart item of a book already in the cart.")
+    void upsertQuantity_BookAlreadyInCart_IncrementsQuantity() {
+        // Given
+        int expectedQuantity = Math.toIntExact(EXISTING_CART_ITEM_ID) + ADDED_QUANTITY;
+
+        // When
+        cartItemRepository.upsertQuantity(EXISTING_SHOPPING_CART_ID, EXISTING_BOOK_ID,
+                ADDED_QUANTITY);
+        List<CartItemDto> actualCartItemDtos = cartItemRepository
+                .findAllDtosByShoppingCartId(EXISTING_SHOPPING_CART_ID);
+
+        // Then
+        assertThat(actualCartItemDtos).hasSize(EXPECTED_CART_ITEMS_SIZE);
+        assertThat(actualCartItemDtos)
+                .filteredOn(cartItemDto -> cartItemDto.getId().equals(EXISTING_CART_ITEM_ID))
+                .singleElement()
+                .extracting(CartItemDto::getQuantity)
+                .isEqualTo(expectedQuantity);
+    }
+
+    @Test
+    @DisplayName("Upsert inserts a cart item for a book that isn't in the cart yet.")
+    void upsertQuantity_NewBook_InsertsCartItem() {
+        // When
+        cartItemRepository.upsertQuantity(EXISTING_SHOPPING_CART_ID, ALTERNATIVE_BOOK_ID,
+                ADDED_QUANTITY);
+        List<CartItemDto> actualCartItemDtos = cartItemRepository
+                .findAllDtosByShoppingCartId(EXISTING_SHOPPING_CART_ID);
+
+        // Then
+        assertThat(actualCartItemDtos).hasSize(EXPECTED_CART_ITEMS_SIZE + 1);
+        assertThat(actualCartItemDtos)
+                .filteredOn(cartItemDto -> cartItemDto.getBookId().equals(ALTERNATIVE_BOOK_ID))
+                .singleElement()
+                .extracting(CartItemDto::getQuantity)
+                .isEqualTo(ADDED_QUANTITY);
+    }
+
+    @Test
+    @DisplayName("Update and delete touch a cart item only within its own shopping cart.")
+    void updateAndDelete_OtherShoppingCart_AffectsNoRows() {
+        // When
+        int updatedRows = cartItemRepository.updateQuantityByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, NOT_EXISTING_USER_ID, ADDED_QUANTITY);
+        int deletedRows = cartItemRepository.deleteByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, NOT_EXISTING_USER_ID);
+
+        // Then
+        assertThat(updatedRows).isZero();
+        assertThat(deletedRows).isZero();
+        assertThat(cartItemRepository.findDtoByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, EXISTING_SHOPPING_CART_ID)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Update sets the quantity of a cart item in the shopping cart.")
+    void updateQuantityByIdAndShoppingCartId_ValidCartItem_UpdatesQuantity() {
+        // When
+        int updatedRows = cartItemRepository.updateQuantityByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, EXISTING_SHOPPING_CART_ID, ADDED_QUANTITY);
+
+        // Then
+        assertThat(updatedRows).isEqualTo(1);
+        assertThat(cartItemRepository.findDtoByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, EXISTING_SHOPPING_CART_ID))
+                .get()
+                .extracting(CartItemDto::getQuantity)
+                .isEqualTo(ADDED_QUANTITY);
+    }
+}
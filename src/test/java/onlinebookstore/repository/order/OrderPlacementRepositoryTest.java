@@ -0,0 +1,123 @@
+package onlinebookstore.repository.order;
+
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_CART_ITEM_ID;
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_CART_ITEM_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_SHOPPING_CART_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXPECTED_CART_ITEMS_SIZE;
+import static onlinebookstore.util.TestDataUtil.ORDER_TEST_DATA_MAP;
+import static onlinebookstore.util.TestDataUtil.createTestCartItemDto;
+import static onlinebookstore.util.TestDataUtil.createTestCartTotalsDto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import onlinebookstore.dto.cartitem.CartItemDto;
+import onlinebookstore.model.Order;
+import onlinebookstore.model.OrderItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@Import(OrderPlacementRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {
+        "classpath:database/users/add-test-users-to-users-table.sql",
+        "classpath:database/carts/add-test-shoppingcart-to-shoppingcarts-table.sql",
+        "classpath:database/books/add-test-books-to-books-table.sql",
+        "classpath:database/carts/add-test-cartitems-to-cartitems-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = {
+        "classpath:database/carts/remove-test-cartitems-from-cartitems-table.sql",
+        "classpath:database/orderitems/clear-all-order-items.sql",
+        "classpath:database/orders/clear-all-orders.sql",
+        "classpath:database/books/remove-test-books-from-books-table.sql",
+        "classpath:database/carts/remove-test-shoppingcart-from-shoppingcarts-table.sql",
+        "classpath:database/users/remove-test-users-from-users-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+public class OrderPlacementRepositoryTest {
+    @Autowired
+    private OrderPlacementRepository orderPlacementRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Place an order from the shopping cart with its total and items.")
+    void insertOrderFromShoppingCart_ShoppingCartWithItems_InsertsOrderAndItems() {
+        // Given
+        String shippingAddress = ORDER_TEST_DATA_MAP.get("shippingAddress");
+
+        // When
+        Optional<Long> actualOrderId = orderPlacementRepository.insertOrderFromShoppingCart(
+                EXISTING_SHOPPING_CART_ID, shippingAddress, LocalDateTime.now());
+        int actualItems = orderPlacementRepository.insertOrderItemsFromShoppingCart(
+                actualOrderId.orElseThrow(), EXISTING_SHOPPING_CART_ID);
+
+        // Then
+        assertThat(actualItems).isEqualTo(EXPECTED_CART_ITEMS_SIZE);
+        List<Order> actualOrders = orderRepository.findAllByIdIn(List.of(actualOrderId.get()));
+        assertThat(actualOrders).hasSize(1);
+        Order actualOrder = actualOrders.get(0);
+        assertThat(actualOrder.getUser().getId()).isEqualTo(EXISTING_USER_ID);
+        assertThat(actualOrder.getStatus()).isEqualTo(Order.Status.PENDING);
+        assertThat(actualOrder.getShippingAddress()).isEqualTo(shippingAddress);
+        assertThat(actualOrder.getTotal())
+                .isEqualByComparingTo(createTestCartTotalsDto().totalPrice());
+        assertThat(actualOrder.getOrderItems())
+                .extracting(OrderItem::getQuantity)
+                .containsExactlyInAnyOrder(Math.toIntExact(EXISTING_CART_ITEM_ID),
+                        Math.toIntExact(ALTERNATIVE_CART_ITEM_ID));
+    }
+
+    @Test
+    @DisplayName("Place an order without the cart items of deleted books.")
+    void insertOrderFromShoppingCart_BookDeleted_SkipsDeletedBook() {
+        // Given
+        jdbcTemplate.update("UPDATE books SET is_deleted = true WHERE id = ?", EXISTING_BOOK_ID);
+        CartItemDto remainingCartItem = createTestCartItemDto(ALTERNATIVE_CART_ITEM_ID,
+                ALTERNATIVE_CART_ITEM_ID);
+
+        // When
+        Optional<Long> actualOrderId = orderPlacementRepository.insertOrderFromShoppingCart(
+                EXISTING_SHOPPING_CART_ID, ORDER_TEST_DATA_MAP.get("shippingAddress"),
+                LocalDateTime.now());
+        int actualItems = orderPlacementRepository.insertOrderItemsFromShoppingCart(
+                actualOrderId.orElseThrow(), EXISTING_SHOPPING_CART_ID);
+
+        // Then
+        assertThat(actualItems).isEqualTo(1);
+        Order actualOrder = orderRepository.findAllByIdIn(List.of(actualOrderId.get())).get(0);
+        assertThat(actualOrder.getTotal())
+                .isEqualByComparingTo(createTestCartTotalsDto(Set.of(remainingCartItem))
+                        .totalPrice());
+        assertThat(actualOrder.getOrderItems())
+                .extracting(OrderItem::getQuantity)
+                .containsExactly(remainingCartItem.getQuantity());
+    }
+
+    @Test
+    @DisplayName("Place no order for a user without cart items.")
+    void insertOrderFromShoppingCart_EmptyShoppingCart_ReturnsEmptyOptional() {
+        // When
+        Optional<Long> actualOrderId = orderPlacementRepository.insertOrderFromShoppingCart(
+                ALTERNATIVE_USER_ID, ORDER_TEST_DATA_MAP.get("shippingAddress"),
+                LocalDateTime.now());
+
+        // Then
+        assertThat(actualOrderId).isEmpty();
+    }
+}
@@ -14,6 +14,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.Collections;
 import java.util.List;
 import onlinebookstore.model.Order;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,35 +45,50 @@ public class OrderRepositoryTest {
     private OrderRepository orderRepository;
 
     @Test
-    @DisplayName("Find the order by user id with their associated orderItem and book entities.")
-    void findByUserId_ValidOrderByUserId_ReturnsOrder() {
+    @DisplayName("Find a page of order ids by user id.")
+    void findIdsByUserId_ValidOrderByUserId_ReturnsOrderIds() {
         // Given
-        List<Order> orders = Collections.singletonList(createTestOrder(EXISTING_ORDER_ID));
-        Page<Order> expectedOrdersPage = new PageImpl<>(orders, ORDER_PAGEABLE, orders.size());
+        List<Long> ids = Collections.singletonList(EXISTING_ORDER_ID);
+        Page<Long> expectedIdsPage = new PageImpl<>(ids, ORDER_PAGEABLE, ids.size());
 
         // When
-        Page<Order> actualOrdersPage = orderRepository.findByUserId(
+        Page<Long> actualIdsPage = orderRepository.findIdsByUserId(
                 EXISTING_USER_ID,
                 ORDER_PAGEABLE
         );
 
         // Then
-        assertThat(actualOrdersPage).isNotEmpty();
-        assertPageMetadataEquals(actualOrdersPage, expectedOrdersPage);
+        assertPageMetadataEquals(actualIdsPage, expectedIdsPage);
+        assertThat(actualIdsPage.getContent()).containsExactly(EXISTING_ORDER_ID);
+    }
+
+    @Test
+    @DisplayName("Find orders by ids with their associated orderItem and book entities.")
+    void findAllByIdIn_ValidIds_ReturnsOrdersWithItems() {
+        // Given
+        List<Order> expectedOrders = Collections.singletonList(
+                createTestOrder(EXISTING_ORDER_ID));
+
+        // When
+        List<Order> actualOrders = orderRepository.findAllByIdIn(List.of(EXISTING_ORDER_ID));
+
+        // Then
+        assertThat(actualOrders).hasSize(1);
+        assertThat(Hibernate.isInitialized(actualOrders.get(0).getOrderItems())).isTrue();
         assertCollectionsAreEqualIgnoringFields(
-                actualOrdersPage.getContent(),
-                expectedOrdersPage.getContent(),
+                actualOrders,
+                expectedOrders,
                 ORDER_IGNORING_FIELDS);
     }
 
     @Test
     @DisplayName("No finds order by user id.")
-    void findByUserId_NoExistingOrderByUserId_ReturnsEmptyOptional() {
+    void findIdsByUserId_NoExistingOrderByUserId_ReturnsEmptyPage() {
         // Given
-        Page<Order> expectedOrdersPage = Page.empty(ORDER_PAGEABLE);
+        Page<Long> expectedOrdersPage = Page.empty(ORDER_PAGEABLE);
 
         // When
-        Page<Order> actualOrderPage = orderRepository.findByUserId(
+        Page<Long> actualOrderPage = orderRepository.findIdsByUserId(
                 ALTERNATIVE_USER_ID,
                 ORDER_PAGEABLE
         );
@@ -84,12 +100,12 @@ public class OrderRepositoryTest {
 
     @Test
     @DisplayName("No finds order by not existing user id.")
-    void findByUserId_NotExistingUserId_ReturnsEmptyOptional() {
+    void findIdsByUserId_NotExistingUserId_ReturnsEmptyPage() {
         // Given
-        Page<Order> expectedOrdersPage = Page.empty(ORDER_PAGEABLE);
+        Page<Long> expectedOrdersPage = Page.empty(ORDER_PAGEABLE);
 
         // When
-        Page<Order> actualOrderPage = orderRepository.findByUserId(
+        Page<Long> actualOrderPage = orderRepository.findIdsByUserId(
                 NOT_EXISTING_USER_ID,
                 ORDER_PAGEABLE
         );
@@ -0,0 +1,104 @@
+package onlinebookstore.repository.order;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_ORDER_ID;
+import static onlinebookstore.util.TestDataUtil.createTestOrderStatusVersionDto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import onlinebookstore.dto.order.OrderStatusVersionDto;
+import onlinebookstore.model.Order;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@Import(OrderStatusRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {
+        "classpath:database/users/add-test-users-to-users-table.sql",
+        "classpath:database/orders/add-test-order-to-orders-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = {
+        "classpath:database/orders/clear-all-orders.sql",
+        "classpath:database/users/remove-test-users-from-users-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+public class OrderStatusRepositoryTest {
+    @Autowired
+    private OrderStatusRepository orderStatusRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    @DisplayName("Update the status of orders whose version matches and bump the version.")
+    void updateStatus_CurrentVersion_UpdatesOrder() {
+        // Given
+        OrderStatusVersionDto order =
+                createTestOrderStatusVersionDto(EXISTING_ORDER_ID, Order.Status.PENDING);
+
+        // When
+        int[] actualUpdated = orderStatusRepository.updateStatus(List.of(order),
+                Order.Status.PAID);
+
+        // Then
+        assertThat(actualUpdated).containsExactly(1);
+        assertThat(orderRepository.findStatusVersionsByIdIn(List.of(EXISTING_ORDER_ID)))
+                .containsExactly(new OrderStatusVersionDto(EXISTING_ORDER_ID,
+                        Order.Status.PAID, 1L));
+    }
+
+    @Test
+    @DisplayName("Skip orders whose version has changed since they were read.")
+    void updateStatus_StaleVersion_SkipsOrder() {
+        // Given
+        OrderStatusVersionDto staleOrder =
+                new OrderStatusVersionDto(EXISTING_ORDER_ID, Order.Status.PENDING, 5L);
+
+        // When
+        int[] actualUpdated = orderStatusRepository.updateStatus(List.of(staleOrder),
+                Order.Status.PAID);
+
+        // Then
+        assertThat(actualUpdated).containsExactly(0);
+        assertThat(orderRepository.findStatusVersionsByIdIn(List.of(EXISTING_ORDER_ID)))
+                .containsExactly(createTestOrderStatusVersionDto(EXISTING_ORDER_ID,
+                        Order.Status.PENDING));
+    }
+
+    @Test
+    @DisplayName("Skip orders another writer has already moved to the target status.")
+    void updateStatus_ConcurrentSameStatus_SkipsOrder() {
+        // Given
+        OrderStatusVersionDto order =
+                createTestOrderStatusVersionDto(EXISTING_ORDER_ID, Order.Status.PENDING);
+        orderStatusRepository.updateStatus(List.of(order), Order.Status.PAID);
+
+        // When
+        int[] actualUpdated = orderStatusRepository.updateStatus(List.of(order),
+                Order.Status.PAID);
+
+        // Then
+        assertThat(actualUpdated).containsExactly(0);
+        assertThat(orderRepository.findStatusVersionsByIdIn(List.of(EXISTING_ORDER_ID)))
+                .containsExactly(new OrderStatusVersionDto(EXISTING_ORDER_ID,
+                        Order.Status.PAID, 1L));
+    }
+
+    @Test
+    @DisplayName("Move a pending order to EXPIRED and bump the version.")
+    void expirePending_PendingOrder_ExpiresOrder() {
+        // When
+        boolean actualExpired = orderStatusRepository.expirePending(EXISTING_ORDER_ID);
+
+        // Then
+        assertThat(actualExpired).isTrue();
+        assertThat(orderRepository.findStatusVersionsByIdIn(List.of(EXISTING_ORDER_ID)))
+                .containsExactly(new OrderStatusVersionDto(EXISTING_ORDER_ID,
+                        Order.Status.EXPIRED, 1L));
+    }
+}
@@ -0,0 +1,151 @@
+package onlinebookstore.repository.outbox;
+
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import onlinebookstore.dto.outbox.OutboxEventDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import(OutboxEventRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class OutboxEventRepositoryTest {
+    private static final String EVENT_TYPE = "test.event";
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 1, 12, 0);
+    private static final LocalDateTime LEASE_UNTIL = NOW.plusMinutes(1);
+    private static final String USER_PARTITION = "user:" + EXISTING_USER_ID;
+    private static final String ALTERNATIVE_USER_PARTITION = "user:" + ALTERNATIVE_USER_ID;
+    private static final String BOOK_PARTITION = "book:" + EXISTING_USER_ID;
+    private static final String FIRST_DISPATCHER = "first-dispatcher";
+    private static final String SECOND_DISPATCHER = "second-dispatcher";
+    private static final String THIRD_DISPATCHER = "third-dispatcher";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    @DisplayName("Claim pending events in id order and skip events processed already.")
+    void claimDispatchable_PendingAndProcessedEvents_ReturnsPendingEvents() {
+        // Given
+        outboxEventRepository.insert(EVENT_TYPE, USER_PARTITION, "{\"n\":1}", NOW);
+        outboxEventRepository.insert(EVENT_TYPE, ALTERNATIVE_USER_PARTITION, "{\"n\":2}", NOW);
+        outboxEventRepository.insert(EVENT_TYPE, USER_PARTITION, "{\"n\":3}", NOW);
+        OutboxEventDto first = outboxEventRepository.claimDispatchable(FIRST_DISPATCHER,
+                NOW, LEASE_UNTIL, 1).get(0);
+        outboxEventRepository.markProcessed(List.of(first.id()), NOW);
+
+        // When
+        List<OutboxEventDto> actual = outboxEventRepository.claimDispatchable(
+                SECOND_DISPATCHER, NOW, LEASE_UNTIL, 10);
+
+        // Then
+        assertThat(first.payload()).isEqualTo("{\"n\":1}");
+        assertThat(actual).extracting(OutboxEventDto::payload)
+                .containsExactly("{\"n\":2}", "{\"n\":3}");
+    }
+
+    @Test
+    @DisplayName("Hold back later events of a partition while an earlier one waits for a retry.")
+    void claimDispatchable_EarlierEventWaitsForRetry_SkipsPartition() {
+        // Given
+        outboxEventRepository.insert(EVENT_TYPE, USER_PARTITION, "{\"n\":1}", NOW);
+        outboxEventRepository.insert(EVENT_TYPE, USER_PARTITION, "{\"n\":2}", NOW);
+        outboxEventRepository.insert(EVENT_TYPE, ALTERNATIVE_USER_PARTITION, "{\"n\":3}", NOW);
+        OutboxEventDto first = outboxEventRepository.claimDispatchable(FIRST_DISPATCHER,
+                NOW, LEASE_UNTIL, 1).get(0);
+        outboxEventRepository.scheduleRetry(first.id(), 1, "error", NOW.plusMinutes(1));
+
+        // When
+        List<OutboxEventDto> actual = outboxEventRepository.claimDispatchable(
+                SECOND_DISPATCHER, NOW, LEASE_UNTIL, 10);
+
+        // Then
+        assertThat(actual).extracting(OutboxEventDto::payload).containsExactly("{\"n\":3}");
+    }
+
+    @Test
+    @DisplayName("Hand claimed events and the later events of their partitions to no other claim.")
+    void claimDispatchable_EventsClaimedAlready_SkipsClaimedPartition() {
+        // Given
+        outboxEventRepository.insert(EVENT_TYPE, USER_PARTITION, "{\"n\":1}", NOW);
+        outboxEventRepository.insert(EVENT_TYPE, USER_PARTITION, "{\"n\":2}", NOW);
+        outboxEventRepository.insert(EVENT_TYPE, ALTERNATIVE_USER_PARTITION, "{\"n\":3}", NOW);
+        List<OutboxEventDto> firstClaim = outboxEventRepository.claimDispatchable(
+                FIRST_DISPATCHER, NOW, LEASE_UNTIL, 1);
+
+        // When
+        List<OutboxEventDto> secondClaim = outboxEventRepository.claimDispatchable(
+                SECOND_DISPATCHER, NOW, LEASE_UNTIL, 10);
+        List<OutboxEventDto> thirdClaim = outboxEventRepository.claimDispatchable(
+                THIRD_DISPATCHER, NOW, LEASE_UNTIL, 10);
+
+        // Then
+        assertThat(firstClaim).extracting(OutboxEventDto::payload).containsExactly("{\"n\":1}");
+        assertThat(secondClaim).extracting(OutboxEventDto::payload)
+                .containsExactly("{\"n\":3}");
+        assertThat(thirdClaim).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Claim events again once the lease of a stopped dispatcher expires.")
+    void claimDispatchable_LeaseExpired_ClaimsEventsAgain() {
+        // Given
+        outboxEventRepository.insert(EVENT_TYPE, USER_PARTITION, "{\"n\":1}", NOW);
+        outboxEventRepository.claimDispatchable(FIRST_DISPATCHER, NOW, LEASE_UNTIL, 10);
+
+        // When
+        List<OutboxEventDto> actual = outboxEventRepository.claimDispatchable(
+                SECOND_DISPATCHER, LEASE_UNTIL, LEASE_UNTIL.plusMinutes(1), 10);
+
+        // Then
+        assertThat(actual).extracting(OutboxEventDto::payload).containsExactly("{\"n\":1}");
+    }
+
+    @Test
+    @DisplayName("Keep events of different aggregates with the same id in separate partitions.")
+    void claimDispatchable_SameIdOfAnotherAggregate_DoesNotSkipPartition() {
+        // Given
+        outboxEventRepository.insert(EVENT_TYPE, USER_PARTITION, "{\"n\":1}", NOW);
+        outboxEventRepository.insert(EVENT_TYPE, BOOK_PARTITION, "{\"n\":2}", NOW);
+        OutboxEventDto first = outboxEventRepository.claimDispatchable(FIRST_DISPATCHER,
+                NOW, LEASE_UNTIL, 1).get(0);
+        outboxEventRepository.scheduleRetry(first.id(), 1, "error", NOW.plusMinutes(1));
+
+        // When
+        List<OutboxEventDto> actual = outboxEventRepository.claimDispatchable(
+                SECOND_DISPATCHER, NOW, LEASE_UNTIL, 10);
+
+        // Then
+        assertThat(actual).extracting(OutboxEventDto::partitionKey)
+                .containsExactly(BOOK_PARTITION);
+    }
+
+    @Test
+    @DisplayName("Hand released events to the next claim and ignore releases by other claims.")
+    void release_ClaimedEvents_ClaimsEventsAgain() {
+        // Given
+        outboxEventRepository.insert(EVENT_TYPE, USER_PARTITION, "{\"n\":1}", NOW);
+        outboxEventRepository.insert(EVENT_TYPE, ALTERNATIVE_USER_PARTITION, "{\"n\":2}", NOW);
+        List<Long> ids = outboxEventRepository.claimDispatchable(FIRST_DISPATCHER, NOW,
+                LEASE_UNTIL, 10).stream().map(OutboxEventDto::id).toList();
+
+        // When
+        int releasedByOtherClaim = outboxEventRepository.release(ids, SECOND_DISPATCHER, NOW);
+        int released = outboxEventRepository.release(ids.subList(1, 2), FIRST_DISPATCHER, NOW);
+        List<OutboxEventDto> actual = outboxEventRepository.claimDispatchable(
+                SECOND_DISPATCHER, NOW, LEASE_UNTIL, 10);
+
+        // Then
+        assertThat(releasedByOtherClaim).isZero();
+        assertThat(released).isEqualTo(1);
+        assertThat(actual).extracting(OutboxEventDto::payload).containsExactly("{\"n\":2}");
+    }
+}
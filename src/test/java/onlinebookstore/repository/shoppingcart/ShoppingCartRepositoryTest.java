@@ -1,15 +1,28 @@
 package onlinebookstore.repository.shoppingcart;
 
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_CART_ITEM_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXPECTED_CART_ITEMS_SIZE;
+import static onlinebookstore.util.TestDataUtil.NEW_CART_ITEM_ID;
+import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_CART_ITEM_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_USER_ID;
 import static onlinebookstore.util.TestDataUtil.SHOPPING_CART_IGNORING_FIELDS;
+import static onlinebookstore.util.TestDataUtil.UPDATED_QUANTITY;
+import static onlinebookstore.util.TestDataUtil.createTestCartItemDto;
+import static onlinebookstore.util.TestDataUtil.createTestCartTotalsDto;
 import static onlinebookstore.util.TestDataUtil.createTestShoppingCart;
 import static onlinebookstore.util.TestDataUtil.createTestShoppingCartDto;
+import static onlinebookstore.util.assertions.TestAssertionsUtil.assertCartTotalsEqual;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertObjectsAreEqualIgnoringFields;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import onlinebookstore.dto.cartitem.CartItemDto;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
 import onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import onlinebookstore.model.ShoppingCart;
 import org.junit.jupiter.api.DisplayName;
@@ -80,4 +93,99 @@ public class ShoppingCartRepositoryTest {
         // Then
         assertThat(actualCartOpt).isEmpty();
     }
+
+    @Test
+    @DisplayName("Upsert creates a shoppingCart for a user without one.")
+    void upsertByUserId_UserWithoutShoppingCart_CreatesShoppingCart() {
+        // When
+        int actualRows = shoppingCartRepository.upsertByUserId(ALTERNATIVE_USER_ID);
+
+        // Then
+        assertThat(actualRows).isEqualTo(1);
+        assertThat(shoppingCartRepository.existsById(ALTERNATIVE_USER_ID)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Upsert keeps the existing shoppingCart and its cart items.")
+    void upsertByUserId_ExistingShoppingCart_KeepsShoppingCart() {
+        // When
+        shoppingCartRepository.upsertByUserId(EXISTING_USER_ID);
+        Optional<ShoppingCart> actualCartOpt = shoppingCartRepository
+                .findByUserId(EXISTING_USER_ID);
+
+        // Then
+        assertThat(actualCartOpt).isNotEmpty();
+        assertThat(actualCartOpt.get().getCartItems()).hasSize(EXPECTED_CART_ITEMS_SIZE);
+    }
+
+    @Test
+    @DisplayName("Upsert creates no shoppingCart for an invalid userId.")
+    void upsertByUserId_InvalidUserId_AffectsNoRows() {
+        // When
+        int actualRows = shoppingCartRepository.upsertByUserId(NOT_EXISTING_USER_ID);
+
+        // Then
+        assertThat(actualRows).isZero();
+        assertThat(shoppingCartRepository.existsById(NOT_EXISTING_USER_ID)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Find the stored totals of a shoppingCart by its id.")
+    void findTotalsById_ValidShoppingCart_ReturnsTotals() {
+        // When
+        Optional<CartTotalsDto> actualTotalsOpt = shoppingCartRepository
+                .findTotalsById(EXISTING_USER_ID);
+
+        // Then
+        assertThat(actualTotalsOpt).isNotEmpty();
+        assertCartTotalsEqual(actualTotalsOpt.get(), createTestCartTotalsDto());
+    }
+
+    @Test
+    @DisplayName("Add the quantity and price of a book to the stored totals of a shoppingCart.")
+    void addToTotals_ExistingBook_AddsBookToTotals() {
+        // Given
+        Set<CartItemDto> cartItems = createTestShoppingCartDto(EXISTING_USER_ID).getCartItems();
+        cartItems.add(createTestCartItemDto(NEW_CART_ITEM_ID, ALTERNATIVE_BOOK_ID));
+
+        // When
+        int actualRows = shoppingCartRepository.addToTotals(EXISTING_USER_ID,
+                ALTERNATIVE_BOOK_ID, Math.toIntExact(NEW_CART_ITEM_ID));
+
+        // Then
+        assertThat(actualRows).isEqualTo(1);
+        assertCartTotalsEqual(shoppingCartRepository.findTotalsById(EXISTING_USER_ID)
+                .orElseThrow(), createTestCartTotalsDto(cartItems));
+    }
+
+    @Test
+    @DisplayName("Subtract a removed cart item from the stored totals of a shoppingCart.")
+    void changeTotals_CartItemRemoved_SubtractsCartItemFromTotals() {
+        // Given
+        Set<CartItemDto> remainingCartItems = createTestShoppingCartDto(EXISTING_USER_ID)
+                .getCartItems().stream()
+                .filter(cartItemDto -> !cartItemDto.getId().equals(EXISTING_CART_ITEM_ID))
+                .collect(Collectors.toSet());
+
+        // When
+        int actualRows = shoppingCartRepository.changeTotals(EXISTING_USER_ID,
+                EXISTING_CART_ITEM_ID, 0);
+
+        // Then
+        assertThat(actualRows).isEqualTo(1);
+        assertCartTotalsEqual(shoppingCartRepository.findTotalsById(EXISTING_USER_ID)
+                .orElseThrow(), createTestCartTotalsDto(remainingCartItems));
+    }
+
+    @Test
+    @DisplayName("Leave the stored totals unchanged for a cart item of another shoppingCart.")
+    void changeTotals_NotExistingCartItem_KeepsTotals() {
+        // When
+        shoppingCartRepository.changeTotals(EXISTING_USER_ID, NOT_EXISTING_CART_ITEM_ID,
+                UPDATED_QUANTITY);
+
+        // Then
+        assertCartTotalsEqual(shoppingCartRepository.findTotalsById(EXISTING_USER_ID)
+                .orElseThrow(), createTestCartTotalsDto());
+    }
 }
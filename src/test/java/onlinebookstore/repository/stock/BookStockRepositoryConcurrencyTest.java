@@ -0,0 +1,75 @@
+package onlinebookstore.repository.stock;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "classpath:database/books/add-test-books-to-books-table.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {
+        "classpath:database/stocks/remove-test-stocks-from-book_stocks-table.sql",
+        "classpath:database/books/remove-test-books-from-books-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class BookStockRepositoryConcurrencyTest {
+    private static final Long SECOND_BOOK_ID = EXISTING_BOOK_ID + 1;
+    private static final int STOCK = 50;
+    private static final int ATTEMPTS_PER_BOOK = STOCK * 4;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookStockRepository bookStockRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Concurrent reservations never sell more books than are in stock.")
+    void decrement_ConcurrentReservations_NeverOversells() throws Exception {
+        // Given
+        bookStockRepository.upsertQuantity(EXISTING_BOOK_ID, STOCK);
+        bookStockRepository.upsertQuantity(SECOND_BOOK_ID, STOCK);
+        List<Callable<Long>> reservations = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS_PER_BOOK; i++) {
+            reservations.add(() -> reserveOne(EXISTING_BOOK_ID));
+            reservations.add(() -> reserveOne(SECOND_BOOK_ID));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        List<Long> reservedBookIds = new ArrayList<>();
+        try {
+            for (Future<Long> future : executor.invokeAll(reservations)) {
+                if (future.get() != null) {
+                    reservedBookIds.add(future.get());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(reservedBookIds).filteredOn(EXISTING_BOOK_ID::equals).hasSize(STOCK);
+        assertThat(reservedBookIds).filteredOn(SECOND_BOOK_ID::equals).hasSize(STOCK);
+        assertThat(bookStockRepository.findQuantity(EXISTING_BOOK_ID)).contains(0);
+        assertThat(bookStockRepository.findQuantity(SECOND_BOOK_ID)).contains(0);
+    }
+
+    private Long reserveOne(Long bookId) {
+        Boolean reserved = transactionTemplate.execute(
+                status -> bookStockRepository.decrement(bookId, 1));
+        return Boolean.TRUE.equals(reserved) ? bookId : null;
+    }
+}
@@ -0,0 +1,225 @@
+package onlinebookstore.security;
+
+import static onlinebookstore.security.JwtAuthenticationFilter.BEARER_PREFIX;
+import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
+import static onlinebookstore.util.TestDataUtil.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import onlinebookstore.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest {
+    private static final String SECRET = "To-be-or-not-to-be:-that-is-the-question";
+    private static final long EXPIRATION = 3_000_000L;
+    private static final long MAX_SIZE = 100L;
+    private static final long CLOCK_STEP = 5_000L;
+    private static final String REVOKED_RESPONSE = "{\"error\": \"Token has been revoked.\"}";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+    private JwtUtil jwtUtil;
+    private TokenDenylist tokenDenylist;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        tokenDenylist = new TokenDenylist(EXPIRATION, MAX_SIZE);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(
+                jwtUtil,
+                userDetailsService,
+                new UserPrincipalCache(EXPIRATION, MAX_SIZE, new SimpleMeterRegistry()),
+                tokenDenylist
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Verify the stateless mode builds the principal from the uid and roles claims.")
+    public void doFilter_StatelessToken_BuildsPrincipalFromClaims() throws Exception {
+        // Given
+        setStatelessEnabled(true);
+        User expected = createTestUser(EXISTING_USER_ID);
+        String token = jwtUtil.generateToken(expected);
+
+        // When
+        MockHttpServletResponse response = doFilter(token);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(MockHttpServletResponse.SC_OK);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User actual = (User) authentication.getPrincipal();
+        assertThat(actual.getId()).isEqualTo(EXISTING_USER_ID);
+        assertThat(actual.getEmail()).isEqualTo(expected.getEmail());
+        assertThat(authentication.getAuthorities())
+                .map(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Verify the stateless mode loads the user for a token without the uid claim.")
+    public void doFilter_StatelessTokenWithoutUserId_LoadsUser() throws Exception {
+        // Given
+        setStatelessEnabled(true);
+        User expected = createTestUser(EXISTING_USER_ID);
+        when(userDetailsService.loadUserByUsername(expected.getEmail())).thenReturn(expected);
+        String token = Jwts.builder()
+                .subject(expected.getEmail())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        // When
+        doFilter(token);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isSameAs(expected);
+        verify(userDetailsService, times(1)).loadUserByUsername(expected.getEmail());
+    }
+
+    @Test
+    @DisplayName("Verify the stateful mode loads the user through the principal cache.")
+    public void doFilter_StatefulToken_LoadsUserThroughCache() throws Exception {
+        // Given
+        setStatelessEnabled(false);
+        User expected = createTestUser(EXISTING_USER_ID);
+        when(userDetailsService.loadUserByUsername(expected.getEmail())).thenReturn(expected);
+        String token = jwtUtil.generateToken(expected);
+
+        // When
+        doFilter(token);
+        doFilter(token);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isSameAs(expected);
+        verify(userDetailsService, times(1)).loadUserByUsername(expected.getEmail());
+    }
+
+    @Test
+    @DisplayName("Verify a denylisted token is rejected in the stateless mode.")
+    public void doFilter_StatelessRevokedToken_ReturnsUnauthorized() throws Exception {
+        // Given
+        setStatelessEnabled(true);
+        String token = jwtUtil.generateToken(createTestUser(EXISTING_USER_ID));
+        tokenDenylist.revokeToken(jwtUtil.getClaimsFromToken(token).getId());
+
+        // When
+        MockHttpServletResponse response = doFilter(token);
+
+        // Then
+        assertRevoked(response);
+    }
+
+    @Test
+    @DisplayName("Verify a denylisted token is rejected in the stateful mode.")
+    public void doFilter_StatefulRevokedToken_ReturnsUnauthorized() throws Exception {
+        // Given
+        setStatelessEnabled(false);
+        String token = jwtUtil.generateToken(createTestUser(EXISTING_USER_ID));
+        tokenDenylist.revokeToken(jwtUtil.getClaimsFromToken(token).getId());
+
+        // When
+        MockHttpServletResponse response = doFilter(token);
+
+        // Then
+        assertRevoked(response);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Verify tokens issued before a user changed are rejected in the stateless mode.")
+    public void doFilter_StatelessTokenOfChangedUser_ReturnsUnauthorized() throws Exception {
+        // Given
+        setStatelessEnabled(true);
+        User user = createTestUser(EXISTING_USER_ID);
+        String token = generateTokenIssuedBefore(user);
+        TokenDenylistListener tokenDenylistListener = new TokenDenylistListener(
+                new StaticListableBeanFactory(Map.of("tokenDenylist", tokenDenylist))
+                        .getBeanProvider(TokenDenylist.class));
+
+        // When
+        tokenDenylistListener.revokeTokens(user);
+
+        // Then
+        assertRevoked(doFilter(token));
+    }
+
+    @Test
+    @DisplayName("Verify a token issued right after the user was revoked is accepted.")
+    public void doFilter_StatelessTokenIssuedAfterRevocation_Authenticates() throws Exception {
+        // Given
+        setStatelessEnabled(true);
+        User user = createTestUser(EXISTING_USER_ID);
+        tokenDenylist.revokeUser(user.getId());
+        String token = jwtUtil.generateToken(user);
+
+        // When
+        MockHttpServletResponse response = doFilter(token);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(MockHttpServletResponse.SC_OK);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    private void setStatelessEnabled(boolean statelessEnabled) {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessEnabled", statelessEnabled);
+    }
+
+    private String generateTokenIssuedBefore(User user) {
+        String token = jwtUtil.generateToken(user);
+        return Jwts.builder()
+                .claims(jwtUtil.getClaimsFromToken(token))
+                .issuedAt(new Date(System.currentTimeMillis() - CLOCK_STEP))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private MockHttpServletResponse doFilter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtAuthenticationFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void assertRevoked(MockHttpServletResponse response) throws Exception {
+        assertThat(response.getStatus()).isEqualTo(MockHttpServletResponse.SC_UNAUTHORIZED);
+        assertThat(response.getContentAsString()).isEqualTo(REVOKED_RESPONSE);
+    }
+}
@@ -0,0 +1,97 @@
+package onlinebookstore.security;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import onlinebookstore.model.User;
+import onlinebookstore.repository.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TokenDenylist.class)
+@Sql(scripts = {
+        "classpath:database/users/add-test-role-to-roles-table.sql",
+        "classpath:database/users/add-test-users-to-users-table.sql",
+        "classpath:database/users/add-test-dependencies-to-users-roles-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = {
+        "classpath:database/users/remove-test-dependencies-from-users-roles-table.sql",
+        "classpath:database/users/remove-test-users-from-users-table.sql",
+        "classpath:database/users/remove-test-role-from-roles-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+public class TokenDenylistListenerTest {
+    private static final String CHANGED_SHIPPING_ADDRESS = "Changed shipping address";
+    private static final String CHANGED_PASSWORD = "Changed password";
+
+    @MockitoSpyBean
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Verify changing a user's password revokes the tokens issued to them.")
+    void revokeChangedCredentials_PasswordChanged_RevokesTokens() {
+        // Given
+        User user = userRepository.findById(EXISTING_USER_ID).orElseThrow();
+
+        // When
+        user.setPassword(CHANGED_PASSWORD);
+        userRepository.flush();
+
+        // Then
+        verify(tokenDenylist, times(1)).revokeUser(EXISTING_USER_ID);
+    }
+
+    @Test
+    @DisplayName("Verify changing a user's profile keeps the tokens issued to them.")
+    void revokeChangedCredentials_ProfileChanged_KeepsTokens() {
+        // Given
+        User user = userRepository.findById(EXISTING_USER_ID).orElseThrow();
+
+        // When
+        user.setShippingAddress(CHANGED_SHIPPING_ADDRESS);
+        userRepository.flush();
+
+        // Then
+        verify(tokenDenylist, never()).revokeUser(any());
+    }
+
+    @Test
+    @DisplayName("Verify deleting a user revokes the tokens issued to them.")
+    void revokeTokens_UserDeleted_RevokesTokens() {
+        // Given
+        User user = userRepository.findById(EXISTING_USER_ID).orElseThrow();
+
+        // When
+        userRepository.delete(user);
+        userRepository.flush();
+
+        // Then
+        verify(tokenDenylist, times(1)).revokeUser(EXISTING_USER_ID);
+    }
+
+    @Test
+    @DisplayName("Verify reading a user doesn't revoke the tokens issued to them.")
+    void revokeTokens_UserUnchanged_KeepsTokens() {
+        // When
+        userRepository.findById(EXISTING_USER_ID).orElseThrow();
+        userRepository.flush();
+
+        // Then
+        verify(tokenDenylist, never()).revokeUser(any());
+    }
+}
@@ -0,0 +1,107 @@
+package onlinebookstore.security;
+
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TokenDenylistTest {
+    private static final long EXPIRATION = 3_000_000L;
+    private static final long MAX_SIZE = 100L;
+    private static final Duration CLOCK_STEP = Duration.ofSeconds(5);
+
+    private TokenDenylist tokenDenylist;
+
+    @BeforeEach
+    void setUp() {
+        tokenDenylist = new TokenDenylist(EXPIRATION, MAX_SIZE);
+    }
+
+    @Test
+    @DisplayName("Verify isRevoked() rejects a token revoked by its id.")
+    public void isRevoked_RevokedTokenId_ReturnsTrue() {
+        // Given
+        Claims claims = createClaims(EXISTING_USER_ID, Instant.now());
+
+        // When
+        tokenDenylist.revokeToken(claims.getId());
+
+        // Then
+        assertThat(tokenDenylist.isRevoked(claims)).isTrue();
+        assertThat(tokenDenylist.isRevoked(createClaims(EXISTING_USER_ID, Instant.now())))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("Verify isRevoked() rejects tokens issued to a user before they were revoked.")
+    public void isRevoked_TokenIssuedBeforeUserRevoked_ReturnsTrue() {
+        // Given
+        Claims claims = createClaims(EXISTING_USER_ID, Instant.now().minus(CLOCK_STEP));
+
+        // When
+        tokenDenylist.revokeUser(EXISTING_USER_ID);
+
+        // Then
+        assertThat(tokenDenylist.isRevoked(claims)).isTrue();
+        assertThat(tokenDenylist.isRevoked(
+                createClaims(ALTERNATIVE_USER_ID, Instant.now().minus(CLOCK_STEP)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Verify isRevoked() accepts tokens issued to a user after they were revoked.")
+    public void isRevoked_TokenIssuedAfterUserRevoked_ReturnsFalse() {
+        // Given
+        tokenDenylist.revokeUser(EXISTING_USER_ID);
+
+        // When
+        boolean revoked = tokenDenylist.isRevoked(
+                createClaims(EXISTING_USER_ID, Instant.now().plus(CLOCK_STEP)));
+
+        // Then
+        assertThat(revoked).isFalse();
+    }
+
+    @Test
+    @DisplayName("Verify isRevoked() accepts tokens issued in the same second as the revocation.")
+    public void isRevoked_TokenIssuedInRevocationSecond_ReturnsFalse() {
+        // Given
+        tokenDenylist.revokeUser(EXISTING_USER_ID);
+
+        // When
+        boolean revoked = tokenDenylist.isRevoked(createClaims(EXISTING_USER_ID, Instant.now()));
+
+        // Then
+        assertThat(revoked).isFalse();
+    }
+
+    @Test
+    @DisplayName("Verify isRevoked() ignores user revocation for tokens without a user id.")
+    public void isRevoked_TokenWithoutUserId_ReturnsFalse() {
+        // Given
+        tokenDenylist.revokeUser(EXISTING_USER_ID);
+
+        // When
+        boolean revoked = tokenDenylist.isRevoked(
+                createClaims(null, Instant.now().minus(CLOCK_STEP)));
+
+        // Then
+        assertThat(revoked).isFalse();
+    }
+
+    private static Claims createClaims(Long userId, Instant issuedAt) {
+        return Jwts.claims()
+                .id(UUID.randomUUID().toString())
+                .add(JwtUtil.USER_ID_CLAIM, userId)
+                .issuedAt(Date.from(issuedAt))
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package onlinebookstore.security;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
+import static onlinebookstore.util.TestDataUtil.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import onlinebookstore.exception.EntityNotFoundException;
+import onlinebookstore.model.User;
+import onlinebookstore.repository.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserPrincipalCache.class, CustomUserDetailsService.class, SimpleMeterRegistry.class})
+@Sql(scripts = {
+        "classpath:database/users/add-test-role-to-roles-table.sql",
+        "classpath:database/users/add-test-users-to-users-table.sql",
+        "classpath:database/users/add-test-dependencies-to-users-roles-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = {
+        "classpath:database/users/remove-test-dependencies-from-users-roles-table.sql",
+        "classpath:database/users/remove-test-users-from-users-table.sql",
+        "classpath:database/users/remove-test-role-from-roles-table.sql"
+},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+public class UserPrincipalCacheListenerTest {
+    private static final String CHANGED_EMAIL = "changed@example.com";
+    private static final String CHANGED_SHIPPING_ADDRESS = "Changed shipping address";
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final String email = createTestUser(EXISTING_USER_ID).getEmail();
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userPrincipalCache.evictAll();
+    }
+
+    @Test
+    @DisplayName("Verify the user is read from the database only once through the cache.")
+    void get_RepeatedLookup_LoadsUserOnce() {
+        // Given
+        UserDetails expected = getPrincipal(email);
+
+        // When
+        UserDetails actual = getPrincipal(email);
+
+        // Then
+        assertThat(actual).isSameAs(expected);
+        assertThat(actual.getUsername()).isEqualTo(email);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify updating a user evicts their cached principal.")
+    void evictPrincipal_UserUpdated_EvictsPrincipal() {
+        // Given
+        getPrincipal(email);
+        User user = userRepository.findById(EXISTING_USER_ID).orElseThrow();
+
+        // When
+        user.setShippingAddress(CHANGED_SHIPPING_ADDRESS);
+        userRepository.flush();
+
+        // Then
+        getPrincipal(email);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Verify changing a user's email evicts the principal cached under the old one.")
+    void evictPrincipal_EmailChanged_EvictsPreviousEmail() {
+        // Given
+        getPrincipal(email);
+        User user = userRepository.findById(EXISTING_USER_ID).orElseThrow();
+
+        // When
+        user.setEmail(CHANGED_EMAIL);
+        userRepository.flush();
+
+        // Then
+        assertThatThrownBy(() -> getPrincipal(email))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Can't find user by email: " + email);
+        assertThat(getPrincipal(CHANGED_EMAIL).getUsername()).isEqualTo(CHANGED_EMAIL);
+    }
+
+    @Test
+    @DisplayName("Verify deleting a user evicts their cached principal.")
+    void evictPrincipal_UserDeleted_EvictsPrincipal() {
+        // Given
+        getPrincipal(email);
+        User user = userRepository.findById(EXISTING_USER_ID).orElseThrow();
+
+        // When
+        userRepository.delete(user);
+        userRepository.flush();
+
+        // Then
+        assertThatThrownBy(() -> getPrincipal(email))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Can't find user by email: " + email);
+    }
+
+    private UserDetails getPrincipal(String username) {
+        return userPrincipalCache.get(username, name -> {
+            loads.incrementAndGet();
+            return customUserDetailsService.loadUserByUsername(name);
+        });
+    }
+}
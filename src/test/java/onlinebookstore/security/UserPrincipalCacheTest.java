@@ -0,0 +1,114 @@
+package onlinebookstore.security;
+
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
+import static onlinebookstore.util.TestDataUtil.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import onlinebookstore.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public class UserPrincipalCacheTest {
+    private static final long EXPIRATION = 3_000_000L;
+    private static final long SHORT_EXPIRATION = 50L;
+    private static final long MAX_SIZE = 100L;
+    private static final String CHANGED_EMAIL = "changed@example.com";
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Verify get() loads the principal on a cache miss.")
+    public void get_Miss_LoadsPrincipal() {
+        // Given
+        UserPrincipalCache userPrincipalCache = createUserPrincipalCache(EXPIRATION);
+
+        // When
+        UserDetails actual = getPrincipal(userPrincipalCache, EXISTING_USER_ID);
+
+        // Then
+        assertThat(actual).isEqualTo(createTestUser(EXISTING_USER_ID));
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify get() returns the cached principal without loading it again.")
+    public void get_Hit_ReturnsCachedPrincipal() {
+        // Given
+        UserPrincipalCache userPrincipalCache = createUserPrincipalCache(EXPIRATION);
+        UserDetails expected = getPrincipal(userPrincipalCache, EXISTING_USER_ID);
+
+        // When
+        UserDetails actual = getPrincipal(userPrincipalCache, EXISTING_USER_ID);
+
+        // Then
+        assertThat(actual).isSameAs(expected);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify get() loads the principal again once it has expired.")
+    public void get_AfterExpiration_LoadsPrincipalAgain() throws InterruptedException {
+        // Given
+        UserPrincipalCache userPrincipalCache = createUserPrincipalCache(SHORT_EXPIRATION);
+        UserDetails expired = getPrincipal(userPrincipalCache, EXISTING_USER_ID);
+        Thread.sleep(SHORT_EXPIRATION * 2);
+
+        // When
+        UserDetails actual = getPrincipal(userPrincipalCache, EXISTING_USER_ID);
+
+        // Then
+        assertThat(actual).isNotSameAs(expired);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Verify evict() drops the principal cached under the user's previous email.")
+    public void evict_EmailChanged_EvictsPreviousEmail() {
+        // Given
+        UserPrincipalCache userPrincipalCache = createUserPrincipalCache(EXPIRATION);
+        UserDetails evicted = getPrincipal(userPrincipalCache, EXISTING_USER_ID);
+        UserDetails kept = getPrincipal(userPrincipalCache, ALTERNATIVE_USER_ID);
+
+        // When
+        userPrincipalCache.evict(EXISTING_USER_ID, CHANGED_EMAIL);
+
+        // Then
+        assertThat(getPrincipal(userPrincipalCache, EXISTING_USER_ID)).isNotSameAs(evicted);
+        assertThat(getPrincipal(userPrincipalCache, ALTERNATIVE_USER_ID)).isSameAs(kept);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Verify evict() drops a principal loaded again after it has expired.")
+    public void evict_PrincipalReloadedAfterExpiration_EvictsPrincipal()
+            throws InterruptedException {
+        // Given
+        UserPrincipalCache userPrincipalCache = createUserPrincipalCache(SHORT_EXPIRATION);
+        getPrincipal(userPrincipalCache, EXISTING_USER_ID);
+        Thread.sleep(SHORT_EXPIRATION * 2);
+        UserDetails evicted = getPrincipal(userPrincipalCache, EXISTING_USER_ID);
+
+        // When
+        userPrincipalCache.evict(EXISTING_USER_ID, CHANGED_EMAIL);
+
+        // Then
+        assertThat(getPrincipal(userPrincipalCache, EXISTING_USER_ID)).isNotSameAs(evicted);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    private UserPrincipalCache createUserPrincipalCache(long expiration) {
+        return new UserPrincipalCache(expiration, MAX_SIZE, new SimpleMeterRegistry());
+    }
+
+    private UserDetails getPrincipal(UserPrincipalCache userPrincipalCache, Long userId) {
+        User user = createTestUser(userId);
+        return userPrincipalCache.get(user.getEmail(), email -> {
+            loads.incrementAndGet();
+            return user;
+        });
+    }
+}
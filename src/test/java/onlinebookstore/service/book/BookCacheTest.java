@@ -0,0 +1,100 @@
+package onlinebookstore.service.book;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.createTestBookDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import onlinebookstore.dto.book.BookDto;
+import onlinebookstore.exception.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class BookCacheTest {
+    private static final long MAX_SIZE = 100;
+
+    private MeterRegistry meterRegistry;
+    private BookCache bookCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookCache = new BookCache(MAX_SIZE, Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Verify get() loads a book once and records hits and misses.")
+    public void get_RepeatedCalls_LoadsOnceAndRecordsMetrics() {
+        // Given
+        BookDto expectedBookDto = createTestBookDto(EXISTING_BOOK_ID);
+
+        // When
+        bookCache.get(EXISTING_BOOK_ID, id -> expectedBookDto);
+        BookDto actualBookDto = bookCache.get(EXISTING_BOOK_ID, id -> {
+            throw new IllegalStateException("The book must be served from the cache.");
+        });
+
+        // Then
+        assertThat(actualBookDto).isSameAs(expectedBookDto);
+        assertThat(bookCache.containsIsbn(expectedBookDto.getIsbn())).isTrue();
+        assertThat(countGets("hit")).isEqualTo(1);
+        assertThat(countGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify get() doesn't cache a book that can't be found.")
+    public void get_LoaderThrows_DoesNotCacheBook() {
+        // Given
+        BookDto expectedBookDto = createTestBookDto(EXISTING_BOOK_ID);
+
+        // When
+        assertThatThrownBy(() -> bookCache.get(EXISTING_BOOK_ID, id -> {
+            throw new EntityNotFoundException("Can`t find the book by id: " + id);
+        })).isInstanceOf(EntityNotFoundException.class);
+        BookDto actualBookDto = bookCache.get(EXISTING_BOOK_ID, id -> expectedBookDto);
+
+        // Then
+        assertThat(actualBookDto).isSameAs(expectedBookDto);
+    }
+
+    @Test
+    @DisplayName("Verify evict() drops a book again once the transaction completes.")
+    public void evict_ActiveTransaction_EvictsAfterCompletion() {
+        // Given
+        BookDto staleBookDto = createTestBookDto(EXISTING_BOOK_ID);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        bookCache.evict(EXISTING_BOOK_ID);
+        bookCache.get(EXISTING_BOOK_ID, id -> staleBookDto);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        BookDto actualBookDto = bookCache.get(EXISTING_BOOK_ID,
+                id -> createTestBookDto(EXISTING_BOOK_ID));
+
+        // Then
+        assertThat(actualBookDto).isNotSameAs(staleBookDto);
+    }
+
+    private double countGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", BookCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,109 @@
+package onlinebookstore.service.book;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.createTestBookDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import onlinebookstore.dto.book.BookDto;
+import onlinebookstore.repository.book.BookExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+
+@ExtendWith(MockitoExtension.class)
+public class BookExportServiceTest {
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    @Mock
+    private BookExportRepository bookExportRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BookExportServiceImpl bookExportService;
+
+    @BeforeEach
+    void setUp() {
+        bookExportService = new BookExportServiceImpl(bookExportRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Verify exportBooks() writes a CSV header and escapes the values.")
+    public void exportBooks_Csv_WritesEscapedRows() {
+        // Given
+        BookDto bookDto = createTestBookDto(EXISTING_BOOK_ID);
+        bookDto.setTitle("Title, \"quoted\"");
+        bookDto.setDescription(null);
+        mockExport(bookDto);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        bookExportService.exportBooks(output, TEXT_CSV);
+
+        // Then
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(String.join(",",
+                "id", "title", "author", "isbn", "price", "description", "coverImage",
+                "categoryIds") + "\n" + String.join(",",
+                String.valueOf(EXISTING_BOOK_ID),
+                "\"Title, \"\"quoted\"\"\"",
+                bookDto.getAuthor(),
+                bookDto.getIsbn(),
+                bookDto.getPrice().toPlainString(),
+                "",
+                bookDto.getCoverImage(),
+                "101") + "\n");
+    }
+
+    @Test
+    @DisplayName("Verify exportBooks() writes one JSON document per line.")
+    public void exportBooks_Ndjson_WritesOneBookPerLine() throws Exception {
+        // Given
+        List<BookDto> expectedBookDtos = List.of(createTestBookDto(EXISTING_BOOK_ID),
+                createTestBookDto(EXISTING_BOOK_ID + 1));
+        mockExport(expectedBookDtos.toArray(BookDto[]::new));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        bookExportService.exportBooks(output, MediaType.APPLICATION_NDJSON);
+
+        // Then
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(expectedBookDtos.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(objectMapper.readValue(lines.get(i), BookDto.class))
+                    .isEqualTo(expectedBookDtos.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Verify exportBooks() throws an exception for an unsupported content type.")
+    public void exportBooks_UnsupportedContentType_ThrowsException() {
+        // When & Then
+        assertThatThrownBy(() -> bookExportService.exportBooks(
+                new ByteArrayOutputStream(), MediaType.APPLICATION_XML))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Can't export books as content type: application/xml");
+        verifyNoInteractions(bookExportRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockExport(BookDto... bookDtos) {
+        doAnswer(invocation -> {
+            Consumer<BookDto> consumer = invocation.getArgument(0, Consumer.class);
+            for (BookDto bookDto : bookDtos) {
+                consumer.accept(bookDto);
+            }
+            return null;
+        }).when(bookExportRepository).forEach(any());
+    }
+}
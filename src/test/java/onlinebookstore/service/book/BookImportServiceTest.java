@@ -0,0 +1,218 @@
+package onlinebookstore.service.book;
+
+import static onlinebookstore.util.TestDataUtil.BOOK_CSV_HEADER;
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_CATEGORY_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_ISBN;
+import static onlinebookstore.util.TestDataUtil.NEW_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.createTestBook;
+import static onlinebookstore.util.TestDataUtil.createTestBookCsvRow;
+import static onlinebookstore.util.TestDataUtil.createTestBookDto;
+import static onlinebookstore.util.TestDataUtil.createTestBookRequestDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import onlinebookstore.dto.book.BookDto;
+import onlinebookstore.dto.book.BookImportErrorDto;
+import onlinebookstore.dto.book.BookImportResultDto;
+import onlinebookstore.dto.book.CreateBookRequestDto;
+import onlinebookstore.repository.book.BookRepository;
+import onlinebookstore.service.category.CategoryCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+
+@ExtendWith(MockitoExtension.class)
+public class BookImportServiceTest {
+    private static final int BATCH_SIZE = 2;
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    private static final ValidatorFactory VALIDATOR_FACTORY =
+            Validation.buildDefaultValidatorFactory();
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookImportWriter bookImportWriter;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private BookCache bookCache;
+    @Mock
+    private CategoryCache categoryCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BookImportServiceImpl bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        bookImportService = new BookImportServiceImpl(bookRepository, bookImportWriter,
+                bookSearchIndex, bookCache, categoryCache, VALIDATOR_FACTORY.getValidator(),
+                objectMapper, BATCH_SIZE);
+    }
+
+    @AfterAll
+    static void afterAll() {
+        VALIDATOR_FACTORY.close();
+    }
+
+    @Test
+    @DisplayName("Verify importBooks() writes valid CSV rows and reports rejected ones.")
+    public void importBooks_CsvWithInvalidRows_ImportsValidRowsAndReportsErrors() {
+        // Given
+        BookDto newBookDto = createTestBookDto(NEW_BOOK_ID);
+        String csv = String.join("\n",
+                BOOK_CSV_HEADER,
+                createTestBookCsvRow(newBookDto),
+                createTestBookCsvRow(createTestBookDto(EXISTING_BOOK_ID)),
+                createTestBookCsvRow(newBookDto),
+                "IT,Test Author,1000000000106,free,,,101",
+                "Test Book,Test Author,1000000000107,10");
+        when(bookRepository.findAllIsbnsIncludingDeleted()).thenReturn(List.of(EXISTING_ISBN));
+        when(categoryCache.contains(EXISTING_CATEGORY_ID)).thenReturn(true);
+        when(bookImportWriter.write(anyList())).thenReturn(List.of(createTestBook(NEW_BOOK_ID)));
+
+        // When
+        BookImportResultDto actual = bookImportService.importBooks(toStream(csv), TEXT_CSV);
+
+        // Then
+        assertThat(actual.imported()).isEqualTo(1);
+        assertThat(actual.rejected()).isEqualTo(4);
+        assertThat(actual.errors()).containsExactly(
+                new BookImportErrorDto(3, EXISTING_ISBN,
+                        List.of("Can't save a book with this ISBN: " + EXISTING_ISBN)),
+                new BookImportErrorDto(4, newBookDto.getIsbn(),
+                        List.of("Can't save a book with this ISBN: " + newBookDto.getIsbn())),
+                new BookImportErrorDto(5, "1000000000106", List.of("Invalid price: free")),
+                new BookImportErrorDto(6, "1000000000107",
+                        List.of("Expected 7 values but found 4."))
+        );
+        verify(bookImportWriter, times(1)).write(List.of(createTestBookRequestDto(newBookDto)));
+        verify(bookSearchIndex, times(1)).index(createTestBook(NEW_BOOK_ID));
+        verify(bookCache, times(1)).putIsbn(newBookDto.getIsbn(), NEW_BOOK_ID);
+    }
+
+    @Test
+    @DisplayName("Verify importBooks() writes NDJSON rows in batches of the configured size.")
+    public void importBooks_NdjsonRows_WritesInBatches() throws Exception {
+        // Given
+        List<CreateBookRequestDto> requestDtos = List.of(
+                createTestBookRequestDto(createTestBookDto(NEW_BOOK_ID)),
+                createTestBookRequestDto(createTestBookDto(NEW_BOOK_ID + 1)),
+                createTestBookRequestDto(createTestBookDto(NEW_BOOK_ID + 2)));
+        String ndjson = String.join("\n",
+                objectMapper.writeValueAsString(requestDtos.get(0)),
+                "{\"title\": ",
+                objectMapper.writeValueAsString(requestDtos.get(1)),
+                "",
+                objectMapper.writeValueAsString(requestDtos.get(2)));
+        when(bookRepository.findAllIsbnsIncludingDeleted()).thenReturn(List.of());
+        when(categoryCache.contains(EXISTING_CATEGORY_ID)).thenReturn(true);
+        when(bookImportWriter.write(anyList())).thenReturn(List.of());
+
+        // When
+        BookImportResultDto actual = bookImportService.importBooks(
+                toStream(ndjson), MediaType.APPLICATION_NDJSON);
+
+        // Then
+        assertThat(actual.imported()).isEqualTo(3);
+        assertThat(actual.errors()).singleElement().satisfies(error -> {
+            assertThat(error.row()).isEqualTo(2);
+            assertThat(error.errors()).singleElement().asString().startsWith("Invalid JSON: ");
+        });
+        verify(bookImportWriter, times(1)).write(requestDtos.subList(0, 2));
+        verify(bookImportWriter, times(1)).write(requestDtos.subList(2, 3));
+    }
+
+    @Test
+    @DisplayName("Verify importBooks() reports NDJSON lines that don't hold a JSON object.")
+    public void importBooks_NdjsonNonObjectRows_ReportsErrors() throws Exception {
+        // Given
+        CreateBookRequestDto requestDto = createTestBookRequestDto(createTestBookDto(NEW_BOOK_ID));
+        String ndjson = String.join("\n",
+                "null",
+                "[]",
+                "\"book\"",
+                objectMapper.writeValueAsString(requestDto));
+        when(bookRepository.findAllIsbnsIncludingDeleted()).thenReturn(List.of());
+        when(categoryCache.contains(EXISTING_CATEGORY_ID)).thenReturn(true);
+        when(bookImportWriter.write(anyList())).thenReturn(List.of());
+
+        // When
+        BookImportResultDto actual = bookImportService.importBooks(
+                toStream(ndjson), MediaType.APPLICATION_NDJSON);
+
+        // Then
+        assertThat(actual.imported()).isEqualTo(1);
+        assertThat(actual.errors()).containsExactly(
+                new BookImportErrorDto(1, null, List.of("Invalid JSON: expected an object")),
+                new BookImportErrorDto(2, null, List.of("Invalid JSON: expected an object")),
+                new BookImportErrorDto(3, null, List.of("Invalid JSON: expected an object")));
+        verify(bookImportWriter, times(1)).write(List.of(requestDto));
+    }
+
+    @Test
+    @DisplayName("Verify importBooks() retries a failed batch row by row.")
+    public void importBooks_BatchViolatesConstraint_WritesRowsOneByOne() {
+        // Given
+        CreateBookRequestDto firstRequestDto =
+                createTestBookRequestDto(createTestBookDto(NEW_BOOK_ID));
+        CreateBookRequestDto secondRequestDto =
+                createTestBookRequestDto(createTestBookDto(NEW_BOOK_ID + 1));
+        String csv = String.join("\n",
+                BOOK_CSV_HEADER,
+                createTestBookCsvRow(createTestBookDto(NEW_BOOK_ID)),
+                createTestBookCsvRow(createTestBookDto(NEW_BOOK_ID + 1)));
+        when(bookRepository.findAllIsbnsIncludingDeleted()).thenReturn(List.of());
+        when(categoryCache.contains(EXISTING_CATEGORY_ID)).thenReturn(true);
+        when(bookImportWriter.write(List.of(firstRequestDto, secondRequestDto)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(bookImportWriter.write(List.of(firstRequestDto)))
+                .thenReturn(List.of(createTestBook(NEW_BOOK_ID)));
+        when(bookImportWriter.write(List.of(secondRequestDto)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // When
+        BookImportResultDto actual = bookImportService.importBooks(toStream(csv), TEXT_CSV);
+
+        // Then
+        assertThat(actual.imported()).isEqualTo(1);
+        assertThat(actual.errors()).containsExactly(new BookImportErrorDto(3,
+                secondRequestDto.isbn(),
+                List.of("Can't save a book with this ISBN: " + secondRequestDto.isbn())));
+    }
+
+    @Test
+    @DisplayName("Verify importBooks() rejects a CSV body without a required column.")
+    public void importBooks_CsvWithoutRequiredColumn_ThrowsException() {
+        // Given
+        String csv = "title,author,isbn,price\nTest Book,Test Author,1000000000105,10";
+        when(bookRepository.findAllIsbnsIncludingDeleted()).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> bookImportService.importBooks(toStream(csv), TEXT_CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing CSV column: categoryIds");
+        verify(bookImportWriter, never()).write(anyList());
+    }
+
+    private static InputStream toStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,330 @@
+package onlinebookstore.service.book;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.NEW_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.createTestBook;
+import static onlinebookstore.util.TestDataUtil.createTestBookSearchDocument;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import onlinebookstore.dto.book.BookSearchDocument;
+import onlinebookstore.dto.book.BookSearchParametersDto;
+import onlinebookstore.model.Book;
+import onlinebookstore.repository.book.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSearchIndexTest {
+    private static final Long SECOND_BOOK_ID = EXISTING_BOOK_ID + 1;
+    private static final Pageable PAGEABLE = PageRequest.of(0, 10);
+    private static final int MANY_BOOKS = 10_000;
+    private static final int MANY_CHANGES = 1_000;
+
+    @Mock
+    private BookRepository bookRepository;
+    private MeterRegistry meterRegistry;
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookSearchIndex = new BookSearchIndex(bookRepository, meterRegistry);
+        when(bookRepository.findSearchDocumentsAfterId(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(
+                        createTestBookSearchDocument(
+                                EXISTING_BOOK_ID, "Clean Code", "Robert Martin"),
+                        createTestBookSearchDocument(
+                                SECOND_BOOK_ID, "Clean Architecture", "Robert Martin")
+                ));
+        bookSearchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Verify search() finds books by a case-insensitive title fragment.")
+    public void search_TitleFragment_ReturnsMatchingIds() {
+        // When
+        List<Long> actualIds = search(createParams("CLEAN", null, null));
+
+        // Then
+        assertThat(actualIds).containsExactly(EXISTING_BOOK_ID, SECOND_BOOK_ID);
+        verify(bookRepository, times(1)).findSearchDocumentsAfterId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Verify search() combines all given parameters.")
+    public void search_AllParams_ReturnsMatchingIds() {
+        // Given
+        BookSearchParametersDto params = new BookSearchParametersDto(
+                "arch",
+                "martin",
+                String.valueOf(SECOND_BOOK_ID),
+                List.of(BigDecimal.ONE, new BigDecimal(SECOND_BOOK_ID))
+        );
+
+        // When
+        List<Long> actualIds = search(params);
+
+        // Then
+        assertThat(actualIds).containsExactly(SECOND_BOOK_ID);
+    }
+
+    @Test
+    @DisplayName("Verify canSearch() leaves queries with only short fragments to the database.")
+    public void canSearch_OnlyShortFragments_ReturnsFalse() {
+        // When & Then
+        assertThat(bookSearchIndex.canSearch(createParams("ar", "ro", null))).isFalse();
+        assertThat(bookSearchIndex.canSearch(createParams("ar", "martin", null))).isTrue();
+        assertThat(bookSearchIndex.canSearch(createParams(null, null, null))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Verify search() filters by short fragments next to an indexed fragment.")
+    public void search_ShortAndLongFragments_ReturnsMatchingIds() {
+        // When
+        List<Long> actualIds = search(createParams("ar", "martin", null));
+
+        // Then
+        assertThat(actualIds).containsExactly(SECOND_BOOK_ID);
+    }
+
+    @Test
+    @DisplayName("Verify search() sorts and slices the matches by the given pageable.")
+    public void search_SortedPageable_ReturnsRequestedPage() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("title"));
+
+        // When
+        Page<Long> actualPage = bookSearchIndex.search(
+                createParams("clean", null, null), pageable);
+
+        // Then
+        assertThat(actualPage.getContent()).containsExactly(SECOND_BOOK_ID);
+        assertThat(actualPage.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Verify search() walks the posting lists backwards for a descending id sort.")
+    public void search_IdDescendingPageable_ReturnsRequestedPage() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("id").descending());
+
+        // When
+        Page<Long> actualPage = bookSearchIndex.search(
+                createParams(null, "robert", null), pageable);
+
+        // Then
+        assertThat(actualPage.getContent()).containsExactly(SECOND_BOOK_ID);
+        assertThat(actualPage.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Verify search() throws an exception for an unsupported sort property.")
+    public void search_UnsupportedSortProperty_ThrowsException() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("description"));
+
+        // When & Then
+        assertThatThrownBy(() -> bookSearchIndex.search(createParams("clean", null, null),
+                pageable))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Can't sort books by property: description");
+    }
+
+    @Test
+    @DisplayName("Verify searchAfter() returns ids after the given id.")
+    public void searchAfter_GivenId_ReturnsFollowingIds() {
+        // When
+        List<Long> actualIds = bookSearchIndex.searchAfter(
+                createParams(null, "robert", null), EXISTING_BOOK_ID, 10);
+
+        // Then
+        assertThat(actualIds).containsExactly(SECOND_BOOK_ID);
+    }
+
+    @Test
+    @DisplayName("Verify searchAfter() stops visiting documents once the slice is full.")
+    public void searchAfter_ManyMatches_VisitsOnlyReturnedDocuments() {
+        // Given
+        List<BookSearchDocument> documents = LongStream.rangeClosed(1, MANY_BOOKS)
+                .mapToObj(id -> createTestBookSearchDocument(id, "Clean Code", "Robert Martin"))
+                .toList();
+        when(bookRepository.findSearchDocumentsAfterId(anyLong(), any(Pageable.class)))
+                .thenReturn(documents);
+        bookSearchIndex.rebuild();
+
+        // When
+        List<Long> actualIds = bookSearchIndex.searchAfter(
+                createParams("code", "martin", null), EXISTING_BOOK_ID, 2);
+
+        // Then
+        assertThat(actualIds).containsExactly(EXISTING_BOOK_ID + 1, EXISTING_BOOK_ID + 2);
+        assertThat(meterRegistry.get(BookSearchIndex.VISITED_DOCUMENTS).summary()
+                .totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Verify top() keeps a bounded heap instead of sorting every element.")
+    public void top_ManyElements_ComparesFarFewerTimesThanSort() {
+        // Given
+        List<Long> elements = new ArrayList<>(LongStream.rangeClosed(1, MANY_BOOKS)
+                .boxed()
+                .toList());
+        Collections.shuffle(elements, new Random(MANY_BOOKS));
+        AtomicLong comparisons = new AtomicLong();
+        Comparator<Long> comparator = (first, second) -> {
+            comparisons.incrementAndGet();
+            return Long.compare(first, second);
+        };
+
+        // When
+        List<Long> actual = BookSearchIndex.top(elements.stream(), comparator, 10);
+
+        // Then
+        assertThat(actual).containsExactlyElementsOf(
+                LongStream.rangeClosed(1, 10).boxed().toList());
+        assertThat(comparisons.get()).isLessThan(2L * MANY_BOOKS);
+    }
+
+    @Test
+    @DisplayName("Verify search() returns an empty list when nothing matches.")
+    public void search_NoMatches_ReturnsEmptyList() {
+        // When
+        List<Long> actualIds = search(createParams(null, "tolkien", null));
+
+        // Then
+        assertThat(actualIds).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Verify index() replaces the indexed fields of an existing book.")
+    public void index_UpdatedBook_ReindexesBook() {
+        // Given
+        Book book = createTestBook(EXISTING_BOOK_ID);
+
+        // When
+        bookSearchIndex.index(book);
+
+        // Then
+        assertThat(search(createParams("clean code", null, null))).isEmpty();
+        assertThat(search(createParams(book.getTitle(), null, null)))
+                .containsExactly(EXISTING_BOOK_ID);
+    }
+
+    @Test
+    @DisplayName("Verify index() adds a new book and remove() drops it.")
+    public void indexAndRemove_NewBook_UpdatesIndex() {
+        // Given
+        Book book = createTestBook(NEW_BOOK_ID);
+        BookSearchParametersDto params = createParams(null, book.getAuthor(), null);
+
+        // When
+        bookSearchIndex.index(book);
+        List<Long> idsAfterIndex = search(params);
+        bookSearchIndex.remove(NEW_BOOK_ID);
+        List<Long> idsAfterRemove = search(params);
+
+        // Then
+        assertThat(idsAfterIndex).containsExactly(NEW_BOOK_ID);
+        assertThat(idsAfterRemove).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Verify index() inside a transaction takes effect only after commit.")
+    public void index_InsideTransaction_AppliesAfterCommit() {
+        // Given
+        Book book = createTestBook(NEW_BOOK_ID);
+        BookSearchParametersDto params = createParams(null, book.getAuthor(), null);
+        TransactionSynchronizationManager.initSynchronization();
+        List<Long> idsBeforeCommit;
+        try {
+            // When
+            bookSearchIndex.index(book);
+            idsBeforeCommit = search(params);
+            TransactionSynchronizationUtils.invokeAfterCommit(
+                    TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(idsBeforeCommit).isEmpty();
+        assertThat(search(params)).containsExactly(NEW_BOOK_ID);
+    }
+
+    @Test
+    @DisplayName("Verify index() and remove() keep results consistent across compactions.")
+    public void indexAndRemove_ManyBooks_KeepsIndexConsistent() {
+        // Given
+        List<Long> expectedIds = new ArrayList<>();
+        for (long id = NEW_BOOK_ID; id < NEW_BOOK_ID + MANY_CHANGES; id++) {
+            Book book = createTestBook(id);
+            book.setTitle("Clean Book " + id);
+            bookSearchIndex.index(book);
+            if (id % 2 == 0) {
+                bookSearchIndex.remove(id);
+            } else {
+                expectedIds.add(id);
+            }
+        }
+        bookSearchIndex.remove(EXISTING_BOOK_ID);
+        expectedIds.add(SECOND_BOOK_ID);
+        expectedIds.sort(Comparator.reverseOrder());
+
+        // When
+        List<Long> actualIds = bookSearchIndex.search(createParams("clean", null, null),
+                PageRequest.of(0, MANY_CHANGES, Sort.by(Sort.Direction.DESC, "id")))
+                .getContent();
+
+        // Then
+        assertThat(actualIds).isEqualTo(expectedIds);
+    }
+
+    @Test
+    @DisplayName("Verify search() throws an exception before the index is built.")
+    public void search_IndexNotBuilt_ThrowsException() {
+        // Given
+        BookSearchIndex notBuiltIndex = new BookSearchIndex(bookRepository, meterRegistry);
+
+        // When & Then
+        assertThat(notBuiltIndex.isReady()).isFalse();
+        assertThatThrownBy(() -> notBuiltIndex.search(
+                createParams("clean", null, null), PAGEABLE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Book search index is not built yet.");
+    }
+
+    private List<Long> search(BookSearchParametersDto params) {
+        return bookSearchIndex.search(params, PAGEABLE).getContent();
+    }
+
+    private static BookSearchParametersDto createParams(String title, String author,
+                                                        String isbn) {
+        return new BookSearchParametersDto(title, author, isbn, null);
+    }
+}
@@ -5,7 +5,6 @@ import static onlinebookstore.util.TestDataUtil.BOOK_DTO_IGNORING_FIELDS;
 import static onlinebookstore.util.TestDataUtil.BOOK_PAGEABLE;
 import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_CATEGORY_ID;
-import static onlinebookstore.util.TestDataUtil.EXPECTED_CATEGORIES_SIZE;
 import static onlinebookstore.util.TestDataUtil.NEW_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_CATEGORY_ID;
@@ -14,11 +13,12 @@ import static onlinebookstore.util.TestDataUtil.createTestBook;
 import static onlinebookstore.util.TestDataUtil.createTestBookDto;
 import static onlinebookstore.util.TestDataUtil.createTestBookDtoWithoutCategoryId;
 import static onlinebookstore.util.TestDataUtil.createTestBookRequestDto;
-import static onlinebookstore.util.TestDataUtil.createTestCategorySet;
+import static onlinebookstore.util.TestDataUtil.createTestBookSearchParametersDto;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertObjectsAreEqualIgnoringFields;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertPageMetadataEquals;
-import static onlinebookstore.util.service.ServiceTestUtil.mockCategoriesCash;
+import static onlinebookstore.util.service.book.BookMockUtil.mockBookDtoLoading;
 import static onlinebookstore.util.service.book.BookMockUtil.mockBookMapperUpdateBookEntity;
+import static onlinebookstore.util.service.book.BookMockUtil.verifyBookDtoLoading;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,7 +30,9 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -38,23 +40,30 @@ import java.util.Optional;
 import java.util.Set;
 import onlinebookstore.dto.book.BookDto;
 import onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import onlinebookstore.dto.book.BookPriceChangedEventDto;
 import onlinebookstore.dto.book.BookSearchParametersDto;
 import onlinebookstore.dto.book.CreateBookRequestDto;
+import onlinebookstore.dto.pagination.CursorPageDto;
+import onlinebookstore.dto.pagination.CursorRequestDto;
 import onlinebookstore.exception.DataProcessingException;
 import onlinebookstore.exception.EntityNotFoundException;
 import onlinebookstore.mapper.BookMapper;
 import onlinebookstore.model.Book;
 import onlinebookstore.model.CartItem;
-import onlinebookstore.model.Category;
 import onlinebookstore.repository.SpecificationBuilder;
 import onlinebookstore.repository.book.BookRepository;
 import onlinebookstore.repository.cartitem.CartItemRepository;
-import org.junit.jupiter.api.BeforeAll;
+import onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import onlinebookstore.service.category.CategoryCache;
+import onlinebookstore.service.outbox.OutboxPublisher;
+import onlinebookstore.service.pagination.CursorCodec;
+import onlinebookstore.service.pagination.KeysetPaginator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -62,6 +71,8 @@ import org.springframework.data.jpa.domain.Specification;
 
 @ExtendWith(MockitoExtension.class)
 public class BookServiceTest {
+    private static final long BOOK_CACHE_MAX_SIZE = 100;
+
     @Mock
     private BookRepository bookRepository;
     @Mock
@@ -72,18 +83,24 @@ public class BookServiceTest {
     private Specification<Book> bookSpecification;
     @Mock
     private CartItemRepository cartItemRepository;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private CursorCodec cursorCodec;
+    @Mock
+    private KeysetPaginator keysetPaginator;
+    @Mock
+    private CategoryCache categoryCache;
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+    @Mock
+    private OutboxPublisher outboxPublisher;
+    @Spy
+    private BookCache bookCache = new BookCache(
+            BOOK_CACHE_MAX_SIZE, Duration.ofMinutes(10), new SimpleMeterRegistry());
     @InjectMocks
     private BookServiceImpl bookService;
 
-    @BeforeAll
-    static void beforeAll() throws Exception {
-        Set<Category> categories = createTestCategorySet(
-                EXISTING_CATEGORY_ID,
-                EXPECTED_CATEGORIES_SIZE
-        );
-        mockCategoriesCash(categories);
-    }
-
     @Test
     @DisplayName("Verify save() method works")
     public void save_ValidCreateBookRequestDto_ReturnsBookDto() {
@@ -108,7 +125,27 @@ public class BookServiceTest {
         verify(bookRepository, times(1)).save(book);
         verify(bookMapper, times(1)).toBookDto(book);
         verify(bookMapper, times(1)).toBookEntity(bookRequestDto);
-        verifyNoMoreInteractions(bookRepository, bookMapper);
+        verify(bookSearchIndex, times(1)).index(book);
+        verifyNoMoreInteractions(bookRepository, bookMapper, bookSearchIndex);
+        assertThat(bookCache.containsIsbn(bookRequestDto.isbn())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Verify that a cached ISBN is rejected without querying the database.")
+    public void save_IsbnCached_ThrowsException() {
+        // Given
+        BookDto expectedBookDto = createTestBookDto(EXISTING_BOOK_ID);
+        CreateBookRequestDto bookRequestDto = createTestBookRequestDto(expectedBookDto);
+        String existingIsbn = bookRequestDto.isbn();
+        bookCache.putIsbn(existingIsbn, EXISTING_BOOK_ID);
+
+        // When
+        assertThatThrownBy(() -> bookService.save(bookRequestDto))
+                .isInstanceOf(DataProcessingException.class)
+                .hasMessage("Can't save a book with this ISBN: " + existingIsbn);
+
+        // Then
+        verifyNoInteractions(bookRepository, bookMapper);
     }
 
     @Test
@@ -167,7 +204,12 @@ public class BookServiceTest {
         verify(bookMapper, times(1)).updateBookEntity(bookRequestDto, book);
         verify(bookRepository, times(1)).save(book);
         verify(bookMapper, times(1)).toBookDto(book);
-        verifyNoMoreInteractions(bookRepository, bookMapper);
+        verify(bookSearchIndex, times(1)).index(book);
+        verify(bookCache, times(1)).evict(EXISTING_BOOK_ID);
+        verify(outboxPublisher, times(1)).publish(BookPriceChangedEventDto.TYPE,
+                BookPriceChangedEventDto.AGGREGATE, EXISTING_BOOK_ID,
+                new BookPriceChangedEventDto(EXISTING_BOOK_ID, expectedBookDto.getPrice()));
+        verifyNoMoreInteractions(bookRepository, bookMapper, bookSearchIndex);
     }
 
     @Test
@@ -222,11 +264,10 @@ public class BookServiceTest {
     public void findAll_ValidPageable_ReturnsAllBooks() {
         // Given
         BookDto expectedBookDto = createTestBookDto(EXISTING_BOOK_ID);
-        Book book = createTestBook(expectedBookDto);
-        List<Book> expectedBooks = Collections.singletonList(book);
-        Page<Book> bookPage = new PageImpl<>(expectedBooks, BOOK_PAGEABLE, expectedBooks.size());
-        when(bookRepository.findAll(BOOK_PAGEABLE)).thenReturn(bookPage);
-        when(bookMapper.toBookDto(book)).thenReturn(expectedBookDto);
+        List<Long> ids = Collections.singletonList(EXISTING_BOOK_ID);
+        Page<Long> idsPage = new PageImpl<>(ids, BOOK_PAGEABLE, ids.size());
+        when(bookRepository.findAllIds(BOOK_PAGEABLE)).thenReturn(idsPage);
+        mockBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
 
         // When
         Page<BookDto> actualBookDtoPage = bookService.findAll(BOOK_PAGEABLE);
@@ -239,9 +280,9 @@ public class BookServiceTest {
                 expectedBookDto,
                 BOOK_DTO_IGNORING_FIELDS
         );
-        assertPageMetadataEquals(actualBookDtoPage, bookPage);
-        verify(bookRepository, times(1)).findAll(BOOK_PAGEABLE);
-        verify(bookMapper, times(1)).toBookDto(book);
+        assertPageMetadataEquals(actualBookDtoPage, idsPage);
+        verify(bookRepository, times(1)).findAllIds(BOOK_PAGEABLE);
+        verifyBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
         verifyNoMoreInteractions(bookRepository, bookMapper);
     }
 
@@ -249,51 +290,120 @@ public class BookServiceTest {
     @DisplayName("Verify findAll() returns empty page when no book exists.")
     public void findAll_NoBooks_ReturnsEmptyPage() {
         // Given
-        Page<Book> bookPage = Page.empty(BOOK_PAGEABLE);
-        when(bookRepository.findAll(BOOK_PAGEABLE)).thenReturn(bookPage);
+        Page<Long> idsPage = Page.empty(BOOK_PAGEABLE);
+        when(bookRepository.findAllIds(BOOK_PAGEABLE)).thenReturn(idsPage);
 
         // When
         Page<BookDto> actualBookDtoPage = bookService.findAll(BOOK_PAGEABLE);
 
         // Then
         assertThat(actualBookDtoPage).isEmpty();
-        assertPageMetadataEquals(actualBookDtoPage, bookPage);
-        verify(bookRepository, times(1)).findAll(BOOK_PAGEABLE);
+        assertPageMetadataEquals(actualBookDtoPage, idsPage);
+        verify(bookRepository, times(1)).findAllIds(BOOK_PAGEABLE);
         verifyNoMoreInteractions(bookRepository);
     }
 
     @Test
-    @DisplayName("Verify search() method works.")
-    public void search_ValidSpecification_ReturnsSpecificationBooks() {
+    @DisplayName("Verify search() falls back to specification when the index can't serve it.")
+    public void search_IndexCannotSearch_ReturnsSpecificationBooks() {
         // Given
         BookDto expectedBookDto = createTestBookDto(EXISTING_BOOK_ID);
-        BookSearchParametersDto params = new BookSearchParametersDto(
-                expectedBookDto.getTitle(),
-                expectedBookDto.getAuthor(),
-                expectedBookDto.getIsbn(),
-                List.of(expectedBookDto.getPrice().subtract(BigDecimal.TWO),
-                        expectedBookDto.getPrice().add(BigDecimal.TWO))
-        );
+        BookSearchParametersDto params = createTestBookSearchParametersDto(expectedBookDto);
         Book book = createTestBook(expectedBookDto);
         List<Book> books = Collections.singletonList(book);
+        when(bookSearchIndex.canSearch(params)).thenReturn(false);
         when(specificationBuilder.build(params)).thenReturn(bookSpecification);
-        when(bookRepository.findAll(bookSpecification)).thenReturn(books);
-        when(bookMapper.toBookDto(book)).thenReturn(expectedBookDto);
+        when(bookRepository.findAll(bookSpecification, BOOK_PAGEABLE))
+                .thenReturn(new PageImpl<>(books, BOOK_PAGEABLE, books.size()));
+        mockBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
 
         // When
-        List<BookDto> actualBookDtos = bookService.search(params);
+        Page<BookDto> actualBookDtoPage = bookService.search(params, BOOK_PAGEABLE);
 
         // Then
-        assertThat(actualBookDtos).hasSize(1).containsExactly(expectedBookDto);
+        assertThat(actualBookDtoPage.getContent()).containsExactly(expectedBookDto);
+        assertThat(actualBookDtoPage.getTotalElements()).isEqualTo(books.size());
+        verify(specificationBuilder, times(1)).build(params);
+        verify(bookRepository, times(1)).findAll(bookSpecification, BOOK_PAGEABLE);
+        verifyBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
+        verifyNoMoreInteractions(bookRepository, bookMapper, specificationBuilder);
+    }
+
+    @Test
+    @DisplayName("Verify search() method loads only the page of books found by the index.")
+    public void search_IndexReady_ReturnsIndexedBooksPage() {
+        // Given
+        BookDto expectedBookDto = createTestBookDto(EXISTING_BOOK_ID);
+        BookSearchParametersDto params = createTestBookSearchParametersDto(expectedBookDto);
+        long totalMatches = 11L;
+        when(bookSearchIndex.canSearch(params)).thenReturn(true);
+        when(bookSearchIndex.search(params, BOOK_PAGEABLE))
+                .thenReturn(new PageImpl<>(List.of(EXISTING_BOOK_ID), BOOK_PAGEABLE, totalMatches));
+        mockBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
+
+        // When
+        Page<BookDto> actualBookDtoPage = bookService.search(params, BOOK_PAGEABLE);
+
+        // Then
+        assertThat(actualBookDtoPage.getContent()).containsExactly(expectedBookDto);
+        assertThat(actualBookDtoPage.getTotalElements()).isEqualTo(totalMatches);
         assertObjectsAreEqualIgnoringFields(
-                actualBookDtos.get(0),
+                actualBookDtoPage.getContent().get(0),
                 expectedBookDto,
                 BOOK_DTO_IGNORING_FIELDS
         );
-        verify(specificationBuilder, times(1)).build(params);
-        verify(bookRepository, times(1)).findAll(bookSpecification);
-        verify(bookMapper, times(1)).toBookDto(book);
-        verifyNoMoreInteractions(bookRepository, bookMapper, specificationBuilder);
+        verify(bookSearchIndex, times(1)).search(params, BOOK_PAGEABLE);
+        verifyBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
+        verifyNoInteractions(specificationBuilder);
+        verifyNoMoreInteractions(bookRepository, bookMapper);
+    }
+
+    @Test
+    @DisplayName("Verify search() method returns a cursor to the next slice of books.")
+    public void search_CursorRequest_ReturnsSliceWithNextCursor() {
+        // Given
+        BookDto expectedBookDto = createTestBookDto(EXISTING_BOOK_ID);
+        BookSearchParametersDto params = createTestBookSearchParametersDto(expectedBookDto);
+        String cursor = "cursor";
+        String nextCursor = "next-cursor";
+        Long afterId = EXISTING_BOOK_ID - 1;
+        int size = 1;
+        when(cursorCodec.decode(cursor, 1)).thenReturn(List.of(String.valueOf(afterId)));
+        when(bookSearchIndex.canSearch(params)).thenReturn(true);
+        when(bookSearchIndex.searchAfter(params, afterId, size + 1))
+                .thenReturn(List.of(EXISTING_BOOK_ID, EXISTING_BOOK_ID + 1));
+        when(cursorCodec.encode(EXISTING_BOOK_ID)).thenReturn(nextCursor);
+        mockBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
+
+        // When
+        CursorPageDto<BookDto> actualSlice = bookService.search(
+                params, new CursorRequestDto(cursor, size, null, null));
+
+        // Then
+        assertThat(actualSlice.content()).containsExactly(expectedBookDto);
+        assertThat(actualSlice.hasNext()).isTrue();
+        assertThat(actualSlice.nextCursor()).isEqualTo(nextCursor);
+        assertThat(actualSlice.totalElements()).isNull();
+        verify(bookSearchIndex, times(1)).searchAfter(params, afterId, size + 1);
+        verifyBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
+        verifyNoInteractions(specificationBuilder);
+        verifyNoMoreInteractions(bookRepository, bookMapper);
+    }
+
+    @Test
+    @DisplayName("Verify search() method throws an exception when the cursor is invalid.")
+    public void search_InvalidCursor_ThrowsException() {
+        // Given
+        BookSearchParametersDto params = new BookSearchParametersDto(null, null, null, null);
+        String cursor = "cursor";
+        CursorRequestDto cursorRequest = new CursorRequestDto(cursor, null, null, null);
+        when(cursorCodec.decode(cursor, 1)).thenReturn(List.of("not-a-number"));
+
+        // When & Then
+        assertThatThrownBy(() -> bookService.search(params, cursorRequest))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor key: not-a-number");
+        verifyNoInteractions(bookRepository, bookSearchIndex);
     }
 
     @Test
@@ -301,9 +411,7 @@ public class BookServiceTest {
     public void findById_ValidId_ReturnsBook() {
         // Given
         BookDto expectedBookDto = createTestBookDto(EXISTING_BOOK_ID);
-        Book book = createTestBook(expectedBookDto);
-        when(bookRepository.findById(EXISTING_BOOK_ID)).thenReturn(Optional.of(book));
-        when(bookMapper.toBookDto(book)).thenReturn(expectedBookDto);
+        mockBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
 
         // When
         BookDto actualBookDto = bookService.findById(EXISTING_BOOK_ID);
@@ -315,8 +423,25 @@ public class BookServiceTest {
                 expectedBookDto,
                 BOOK_DTO_IGNORING_FIELDS
         );
-        verify(bookRepository, times(1)).findById(EXISTING_BOOK_ID);
-        verify(bookMapper, times(1)).toBookDto(book);
+        verifyBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
+        verifyNoMoreInteractions(bookRepository, bookMapper);
+    }
+
+    @Test
+    @DisplayName("Verify findById() loads a book from the database only once.")
+    public void findById_RepeatedCalls_ServesBookFromCache() {
+        // Given
+        BookDto expectedBookDto = createTestBookDto(EXISTING_BOOK_ID);
+        mockBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
+
+        // When
+        BookDto firstBookDto = bookService.findById(EXISTING_BOOK_ID);
+        BookDto secondBookDto = bookService.findById(EXISTING_BOOK_ID);
+
+        // Then
+        assertThat(secondBookDto).isSameAs(firstBookDto);
+        assertThat(bookCache.containsIsbn(expectedBookDto.getIsbn())).isTrue();
+        verifyBookDtoLoading(bookRepository, bookMapper, expectedBookDto);
         verifyNoMoreInteractions(bookRepository, bookMapper);
     }
 
@@ -324,7 +449,8 @@ public class BookServiceTest {
     @DisplayName("Verify that an exception is throw when book doesn't exists.")
     public void findById_BookIdNotExist_ThrowsException() {
         // Given
-        when(bookRepository.findById(NOT_EXISTING_BOOK_ID)).thenReturn(Optional.empty());
+        when(bookRepository.findAllViewsByIdIn(List.of(NOT_EXISTING_BOOK_ID)))
+                .thenReturn(List.of());
 
         // When
         assertThatThrownBy(() -> bookService.findById(NOT_EXISTING_BOOK_ID))
@@ -332,8 +458,10 @@ public class BookServiceTest {
                 .hasMessage("Can`t find the book by id: " + NOT_EXISTING_BOOK_ID);
 
         // Then
-        verify(bookRepository, times(1)).findById(NOT_EXISTING_BOOK_ID);
+        verify(bookRepository, times(1)).findAllViewsByIdIn(List.of(NOT_EXISTING_BOOK_ID));
+        verify(bookRepository, times(1)).findCategoryIdsByBookIdIn(List.of(NOT_EXISTING_BOOK_ID));
         verifyNoMoreInteractions(bookRepository);
+        verifyNoInteractions(bookMapper);
     }
 
     @Test
@@ -352,7 +480,10 @@ public class BookServiceTest {
         verify(cartItemRepository, times(1)).findByBookId(EXISTING_BOOK_ID);
         verify(cartItemRepository, times(1)).delete(cartItem);
         verify(bookRepository, times(1)).deleteById(EXISTING_BOOK_ID);
-        verifyNoMoreInteractions(bookRepository, cartItemRepository);
+        verify(shoppingCartRepository, times(1)).refreshTotalsByBookId(EXISTING_BOOK_ID);
+        verify(bookSearchIndex, times(1)).remove(EXISTING_BOOK_ID);
+        verify(bookCache, times(1)).evict(EXISTING_BOOK_ID);
+        verifyNoMoreInteractions(bookRepository, cartItemRepository, bookSearchIndex);
     }
 
     @Test
@@ -369,7 +500,10 @@ public class BookServiceTest {
         verify(bookRepository, times(1)).existsById(EXISTING_BOOK_ID);
         verify(cartItemRepository, times(1)).findByBookId(EXISTING_BOOK_ID);
         verify(bookRepository, times(1)).deleteById(EXISTING_BOOK_ID);
-        verifyNoMoreInteractions(bookRepository, cartItemRepository);
+        verify(shoppingCartRepository, times(1)).refreshTotalsByBookId(EXISTING_BOOK_ID);
+        verify(bookSearchIndex, times(1)).remove(EXISTING_BOOK_ID);
+        verify(bookCache, times(1)).evict(EXISTING_BOOK_ID);
+        verifyNoMoreInteractions(bookRepository, cartItemRepository, bookSearchIndex);
     }
 
     @Test
@@ -394,13 +528,13 @@ public class BookServiceTest {
     public void getByCategoryId_ValidCategoryId_ReturnsBook() {
         // Given
         BookDto bookDto = createTestBookDto(EXISTING_BOOK_ID);
-        Book book = createTestBook(bookDto);
-        List<Book> books = Collections.singletonList(book);
-        Page<Book> bookPage = new PageImpl<>(books, BOOK_PAGEABLE, books.size());
         BookDtoWithoutCategoryIds expectedBookDto = createTestBookDtoWithoutCategoryId(bookDto);
+        List<BookDtoWithoutCategoryIds> books = Collections.singletonList(expectedBookDto);
+        Page<BookDtoWithoutCategoryIds> bookPage = new PageImpl<>(
+                books, BOOK_PAGEABLE, books.size());
+        when(categoryCache.contains(EXISTING_CATEGORY_ID)).thenReturn(true);
         when(bookRepository.findAllByCategoryId(EXISTING_CATEGORY_ID, BOOK_PAGEABLE))
                 .thenReturn(bookPage);
-        when(bookMapper.toBookDtoWithoutCategoryIds(book)).thenReturn(expectedBookDto);
 
         // When
         Page<BookDtoWithoutCategoryIds> actualBookDtoPage = bookService
@@ -411,15 +545,16 @@ public class BookServiceTest {
         assertThat(actualBookDtoPage).hasSize(1).containsExactly(expectedBookDto);
         assertPageMetadataEquals(actualBookDtoPage, bookPage);
         verify(bookRepository, times(1)).findAllByCategoryId(EXISTING_CATEGORY_ID, BOOK_PAGEABLE);
-        verify(bookMapper, times(1)).toBookDtoWithoutCategoryIds(book);
-        verifyNoMoreInteractions(bookRepository, bookMapper);
+        verifyNoMoreInteractions(bookRepository);
+        verifyNoInteractions(bookMapper);
     }
 
     @Test
     @DisplayName("Verify getByCategoryId() returns empty when no books found.")
     public void getByCategoryId_BookNotExistByCategoryId_ReturnsEmptyPage() {
         // Given
-        Page<Book> bookPage = Page.empty(BOOK_PAGEABLE);
+        Page<BookDtoWithoutCategoryIds> bookPage = Page.empty(BOOK_PAGEABLE);
+        when(categoryCache.contains(ALTERNATIVE_CATEGORY_ID)).thenReturn(true);
         when(bookRepository.findAllByCategoryId(ALTERNATIVE_CATEGORY_ID, BOOK_PAGEABLE))
                 .thenReturn(bookPage);
 
@@ -449,4 +584,49 @@ public class BookServiceTest {
         // Then
         verifyNoInteractions(bookRepository, bookMapper);
     }
+
+    @Test
+    @DisplayName("Verify that an exception is throw when category id doesn't exist for a cursor.")
+    public void getByCategoryId_CursorAndCategoryIdNotExist_ThrowsException() {
+        // Given
+        CursorRequestDto cursorRequest = new CursorRequestDto(null, null, null, null);
+
+        // When
+        assertThatThrownBy(() -> bookService.getByCategoryId(
+                NOT_EXISTING_CATEGORY_ID,
+                cursorRequest
+        ))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Can't get books with category ID: " + NOT_EXISTING_CATEGORY_ID);
+
+        // Then
+        verifyNoInteractions(bookRepository, bookMapper, keysetPaginator);
+    }
+
+    @Test
+    @DisplayName("Verify findExistingIds() resolves the given ids with one query.")
+    public void findExistingIds_ExistingAndNotExistingIds_ReturnsExistingIds() {
+        // Given
+        Set<Long> ids = Set.of(EXISTING_BOOK_ID, NOT_EXISTING_BOOK_ID);
+        when(bookRepository.findIdsByIdIn(ids)).thenReturn(Set.of(EXISTING_BOOK_ID));
+
+        // When
+        Set<Long> actualIds = bookService.findExistingIds(ids);
+
+        // Then
+        assertThat(actualIds).containsExactly(EXISTING_BOOK_ID);
+        verify(bookRepository, times(1)).findIdsByIdIn(ids);
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Verify findExistingIds() doesn't query the repository for no ids.")
+    public void findExistingIds_EmptyIds_ReturnsEmptySet() {
+        // When
+        Set<Long> actualIds = bookService.findExistingIds(Set.of());
+
+        // Then
+        assertThat(actualIds).isEmpty();
+        verifyNoInteractions(bookRepository);
+    }
 }
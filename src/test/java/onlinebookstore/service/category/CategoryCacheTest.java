@@ -0,0 +1,209 @@
+package onlinebookstore.service.category;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_CATEGORY_ID;
+import static onlinebookstore.util.TestDataUtil.EXPECTED_CATEGORIES_SIZE;
+import static onlinebookstore.util.TestDataUtil.NEW_CATEGORY_ID;
+import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_CATEGORY_ID;
+import static onlinebookstore.util.TestDataUtil.createTestCategory;
+import static onlinebookstore.util.TestDataUtil.createTestCategorySet;
+import static onlinebookstore.util.assertions.CategoryAssertionsUtil.assertAddingCategoriesCash;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import onlinebookstore.dto.category.CategoriesVersionDto;
+import onlinebookstore.model.Category;
+import onlinebookstore.repository.category.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryCacheTest {
+    @Mock
+    private CategoryRepository categoryRepository;
+    private MeterRegistry meterRegistry;
+    private CategoryCache categoryCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        categoryCache = new CategoryCache(categoryRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Verify refresh() loads all categories from the repository.")
+    public void refresh_ValidCategories_FillsCache() {
+        // Given
+        Category category = createTestCategory(EXISTING_CATEGORY_ID);
+        when(categoryRepository.findAll()).thenReturn(List.of(category));
+
+        // When
+        categoryCache.refresh();
+
+        // Then
+        assertAddingCategoriesCash(categoryCache, category, 1);
+        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, times(1)).findLastModified();
+        verifyNoMoreInteractions(categoryRepository);
+    }
+
+    @Test
+    @DisplayName("Verify refresh() replaces the cached categories with the repository state.")
+    public void refresh_CategoryDeletedElsewhere_DropsCategory() {
+        // Given
+        categoryCache.put(createTestCategory(NEW_CATEGORY_ID));
+        List<Category> categories = new ArrayList<>(
+                createTestCategorySet(EXISTING_CATEGORY_ID, EXPECTED_CATEGORIES_SIZE));
+        when(categoryRepository.findAll()).thenReturn(categories);
+
+        // When
+        categoryCache.refresh();
+
+        // Then
+        assertThat(categoryCache.size()).isEqualTo(EXPECTED_CATEGORIES_SIZE);
+        assertThat(categoryCache.contains(NEW_CATEGORY_ID)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Verify put() and evict() update the cache.")
+    public void putAndEvict_Category_UpdatesCache() {
+        // Given
+        Category category = createTestCategory(NEW_CATEGORY_ID);
+
+        // When
+        categoryCache.put(category);
+        boolean containsAfterPut = categoryCache.contains(NEW_CATEGORY_ID);
+        categoryCache.evict(NEW_CATEGORY_ID);
+
+        // Then
+        assertThat(containsAfterPut).isTrue();
+        assertThat(categoryCache.contains(NEW_CATEGORY_ID)).isFalse();
+        assertThat(categoryCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Verify get() hands out copies that don't change the cached category.")
+    public void get_ModifiedCopy_KeepsCachedCategory() {
+        // Given
+        Category category = createTestCategory(EXISTING_CATEGORY_ID);
+        final String expectedName = category.getName();
+        categoryCache.put(category);
+        category.setName("changed after put");
+
+        // When
+        Category copy = categoryCache.get(EXISTING_CATEGORY_ID).orElseThrow();
+        copy.setName("changed after get");
+
+        // Then
+        assertThat(copy).isNotSameAs(category);
+        assertThat(categoryCache.get(EXISTING_CATEGORY_ID).orElseThrow().getName())
+                .isEqualTo(expectedName);
+    }
+
+    @Test
+    @DisplayName("Verify lookups are recorded as cache hits and misses.")
+    public void get_HitAndMiss_RecordsMetrics() {
+        // Given
+        categoryCache.put(createTestCategory(EXISTING_CATEGORY_ID));
+
+        // When
+        categoryCache.contains(EXISTING_CATEGORY_ID);
+        categoryCache.get(NOT_EXISTING_CATEGORY_ID);
+
+        // Then
+        assertThat(countGets("hit")).isEqualTo(1);
+        assertThat(countGets("miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify findAll() sorts and slices the cached categories.")
+    public void findAll_SortedPageable_ReturnsRequestedPage() {
+        // Given
+        when(categoryRepository.findAll()).thenReturn(new ArrayList<>(
+                createTestCategorySet(EXISTING_CATEGORY_ID, EXPECTED_CATEGORIES_SIZE)));
+        categoryCache.refresh();
+        Pageable pageable = PageRequest.of(1, 1, Sort.by("name").descending());
+
+        // When
+        Page<Category> actualPage = categoryCache.findAll(pageable);
+
+        // Then
+        assertThat(actualPage.getTotalElements()).isEqualTo(EXPECTED_CATEGORIES_SIZE);
+        assertThat(actualPage.getContent()).extracting(Category::getId)
+                .containsExactly(EXISTING_CATEGORY_ID + EXPECTED_CATEGORIES_SIZE - 2);
+    }
+
+    @Test
+    @DisplayName("Verify findAll() throws an exception for an unsupported sort property.")
+    public void findAll_UnsupportedSortProperty_ThrowsException() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("isDeleted"));
+
+        // When & Then
+        assertThatThrownBy(() -> categoryCache.findAll(pageable))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Can't sort categories by property: isDeleted");
+    }
+
+    @Test
+    @DisplayName("Verify the version changes only when the cached categories change.")
+    public void version_RefreshWithoutChanges_KeepsVersion() {
+        // Given
+        when(categoryRepository.findAll())
+                .thenReturn(List.of(createTestCategory(EXISTING_CATEGORY_ID)));
+        categoryCache.refresh();
+        CategoriesVersionDto initialVersion = categoryCache.version();
+
+        // When
+        categoryCache.refresh();
+        CategoriesVersionDto versionAfterRefresh = categoryCache.version();
+        categoryCache.put(createTestCategory(NEW_CATEGORY_ID));
+
+        // Then
+        assertThat(versionAfterRefresh).isEqualTo(initialVersion);
+        assertThat(categoryCache.version().tag()).isNotEqualTo(initialVersion.tag());
+    }
+
+    @Test
+    @DisplayName("Verify caches holding the same categories report the same version.")
+    public void version_SameCategoriesInAnotherCache_ReturnsSameVersion() {
+        // Given
+        LocalDateTime lastModified = LocalDateTime.of(2025, 5, 1, 12, 0, 30, 500_000_000);
+        when(categoryRepository.findAll())
+                .thenReturn(List.of(createTestCategory(EXISTING_CATEGORY_ID)));
+        when(categoryRepository.findLastModified()).thenReturn(Optional.of(lastModified));
+        CategoryCache anotherCache = new CategoryCache(categoryRepository, meterRegistry);
+
+        // When
+        categoryCache.refresh();
+        anotherCache.refresh();
+
+        // Then
+        assertThat(anotherCache.version()).isEqualTo(categoryCache.version());
+        assertThat(categoryCache.version().lastModified()).isEqualTo(lastModified
+                .withNano(0).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private double countGets(String result) {
+        return meterRegistry.get("cache.gets").tag("result", result).counter().count();
+    }
+}
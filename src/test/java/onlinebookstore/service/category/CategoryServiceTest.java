@@ -3,17 +3,13 @@ package onlinebookstore.service.category;
 import static onlinebookstore.util.TestDataUtil.CATEGORY_IGNORING_FIELD;
 import static onlinebookstore.util.TestDataUtil.CATEGORY_PAGEABLE;
 import static onlinebookstore.util.TestDataUtil.EXISTING_CATEGORY_ID;
-import static onlinebookstore.util.TestDataUtil.EXPECTED_CATEGORIES_SIZE;
 import static onlinebookstore.util.TestDataUtil.NEW_CATEGORY_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_CATEGORY_ID;
 import static onlinebookstore.util.TestDataUtil.createTestCategory;
 import static onlinebookstore.util.TestDataUtil.createTestCategoryDto;
 import static onlinebookstore.util.TestDataUtil.createTestCategoryRequestDto;
-import static onlinebookstore.util.TestDataUtil.createTestCategorySet;
-import static onlinebookstore.util.assertions.CategoryAssertionsUtil.assertAddingCategoriesCash;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertObjectsAreEqualIgnoringFields;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertPageMetadataEquals;
-import static onlinebookstore.util.service.ServiceTestUtil.mockCategoriesCash;
 import static onlinebookstore.util.service.category.CategoryMockUtil.mockCategoryMapperUpdateBookEntity;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -25,10 +21,10 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import onlinebookstore.dto.category.CategoriesVersionDto;
 import onlinebookstore.dto.category.CategoryDto;
 import onlinebookstore.dto.category.CreateCategoryRequestDto;
 import onlinebookstore.exception.DataProcessingException;
@@ -36,8 +32,7 @@ import onlinebookstore.exception.EntityNotFoundException;
 import onlinebookstore.mapper.CategoryMapper;
 import onlinebookstore.model.Category;
 import onlinebookstore.repository.category.CategoryRepository;
-import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.BeforeEach;
+import onlinebookstore.service.book.BookCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,59 +44,16 @@ import org.springframework.data.domain.PageImpl;
 
 @ExtendWith(MockitoExtension.class)
 public class CategoryServiceTest {
-    private static Set<Category> testCategories;
     @Mock
     private CategoryRepository categoryRepository;
     @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private CategoryCache categoryCache;
+    @Mock
+    private BookCache bookCache;
     @InjectMocks
     private CategoryServiceImpl categoryService;
-    private Map<Long, Category> categoriesCash;
-
-    @BeforeAll
-    static void beforeAll() {
-        testCategories = createTestCategorySet(EXISTING_CATEGORY_ID, EXPECTED_CATEGORIES_SIZE);
-    }
-
-    @BeforeEach
-    void setUp() throws Exception {
-        categoriesCash = mockCategoriesCash(testCategories);
-    }
-
-    @Test
-    @DisplayName("Verify initializeCategoriesCash() method works.")
-    public void initializeCategoriesCash_ValidCategories_AddToCategoriesCash() {
-        // Given
-        final int expectedCategoriesCashSize = 1;
-        Category categoryForInitialize = createTestCategory(EXISTING_CATEGORY_ID);
-        categoriesCash.clear();
-        assertThat(categoriesCash).isEmpty();
-        when(categoryRepository.findAll()).thenReturn(List.of(categoryForInitialize));
-
-        // When
-        categoryService.initializeCategoriesCash();
-
-        // Then
-        assertAddingCategoriesCash(categoryForInitialize, expectedCategoriesCashSize);
-        verify(categoryRepository, times(1)).findAll();
-        verifyNoMoreInteractions(categoryRepository);
-    }
-
-    @Test
-    @DisplayName("Verify initializeCategoriesCash() method when a categories List is empty.")
-    public void initializeCategoriesCash_NoCategories_EmptyList() {
-        // Given
-        categoriesCash.clear();
-        when(categoryRepository.findAll()).thenReturn(List.of());
-
-        // When
-        categoryService.initializeCategoriesCash();
-
-        // Then
-        assertThat(categoriesCash).isEmpty();
-        verify(categoryRepository, times(1)).findAll();
-        verifyNoMoreInteractions(categoryRepository);
-    }
 
     @Test
     @DisplayName("Verify findAll() method works.")
@@ -115,7 +67,7 @@ public class CategoryServiceTest {
                 CATEGORY_PAGEABLE,
                 categories.size()
         );
-        when(categoryRepository.findAll(CATEGORY_PAGEABLE)).thenReturn(categoryPage);
+        when(categoryCache.findAll(CATEGORY_PAGEABLE)).thenReturn(categoryPage);
         when(categoryMapper.toCategoryDto(category)).thenReturn(expectedCategoryDto);
 
         // When
@@ -130,9 +82,10 @@ public class CategoryServiceTest {
                 CATEGORY_IGNORING_FIELD
         );
         assertPageMetadataEquals(actualCategoryDtoPage, categoryPage);
-        verify(categoryRepository, times(1)).findAll(CATEGORY_PAGEABLE);
+        verify(categoryCache, times(1)).findAll(CATEGORY_PAGEABLE);
         verify(categoryMapper, times(1)).toCategoryDto(category);
-        verifyNoMoreInteractions(categoryRepository, categoryMapper);
+        verifyNoMoreInteractions(categoryCache, categoryMapper);
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
@@ -140,7 +93,7 @@ public class CategoryServiceTest {
     public void findAll_NoCategories_ReturnsEmptyPage() {
         // Given
         Page<Category> categoryPage = Page.empty(CATEGORY_PAGEABLE);
-        when(categoryRepository.findAll(CATEGORY_PAGEABLE)).thenReturn(categoryPage);
+        when(categoryCache.findAll(CATEGORY_PAGEABLE)).thenReturn(categoryPage);
 
         // When
         Page<CategoryDto> actualCategoryDtoPage = categoryService.findAll(CATEGORY_PAGEABLE);
@@ -148,8 +101,9 @@ public class CategoryServiceTest {
         // Then
         assertThat(actualCategoryDtoPage).isEmpty();
         assertPageMetadataEquals(actualCategoryDtoPage, categoryPage);
-        verify(categoryRepository, times(1)).findAll(CATEGORY_PAGEABLE);
-        verifyNoMoreInteractions(categoryRepository);
+        verify(categoryCache, times(1)).findAll(CATEGORY_PAGEABLE);
+        verifyNoMoreInteractions(categoryCache);
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
@@ -158,7 +112,7 @@ public class CategoryServiceTest {
         // Given
         CategoryDto expectedCategoryDto = createTestCategoryDto(EXISTING_CATEGORY_ID);
         Category category = createTestCategory(expectedCategoryDto);
-        when(categoryRepository.findById(EXISTING_CATEGORY_ID)).thenReturn(Optional.of(category));
+        when(categoryCache.get(EXISTING_CATEGORY_ID)).thenReturn(Optional.of(category));
         when(categoryMapper.toCategoryDto(category)).thenReturn(expectedCategoryDto);
 
         // When
@@ -170,16 +124,17 @@ public class CategoryServiceTest {
                 expectedCategoryDto,
                 CATEGORY_IGNORING_FIELD
         );
-        verify(categoryRepository, times(1)).findById(EXISTING_CATEGORY_ID);
+        verify(categoryCache, times(1)).get(EXISTING_CATEGORY_ID);
         verify(categoryMapper, times(1)).toCategoryDto(category);
-        verifyNoMoreInteractions(categoryRepository, categoryMapper);
+        verifyNoMoreInteractions(categoryCache, categoryMapper);
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
     @DisplayName("Verify that an exception is throw when category doesn't exist.")
     public void getById_CategoryNotExist_ThrowsException() {
         // Given
-        when(categoryRepository.findById(NOT_EXISTING_CATEGORY_ID)).thenReturn(Optional.empty());
+        when(categoryCache.get(NOT_EXISTING_CATEGORY_ID)).thenReturn(Optional.empty());
 
         // When
         assertThatThrownBy(() -> categoryService.getById(NOT_EXISTING_CATEGORY_ID))
@@ -187,15 +142,31 @@ public class CategoryServiceTest {
                 .hasMessage("Can't find the category by id: " + NOT_EXISTING_CATEGORY_ID);
 
         // Then
-        verify(categoryRepository, times(1)).findById(NOT_EXISTING_CATEGORY_ID);
-        verifyNoMoreInteractions(categoryRepository);
+        verify(categoryCache, times(1)).get(NOT_EXISTING_CATEGORY_ID);
+        verifyNoMoreInteractions(categoryCache);
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    @DisplayName("Verify getVersion() returns the version of the cached categories.")
+    public void getVersion_CachedCategories_ReturnsCacheVersion() {
+        // Given
+        CategoriesVersionDto expectedVersion = new CategoriesVersionDto("1-0", Instant.EPOCH);
+        when(categoryCache.version()).thenReturn(expectedVersion);
+
+        // When
+        CategoriesVersionDto actualVersion = categoryService.getVersion();
+
+        // Then
+        assertThat(actualVersion).isEqualTo(expectedVersion);
+        verify(categoryCache, times(1)).version();
+        verifyNoInteractions(categoryRepository, categoryMapper);
     }
 
     @Test
     @DisplayName("Verify save() method works.")
     public void save_ValidCreateCategoryRequestDto_ReturnsCategoryDto() {
         // Given
-        final int expectedCategoriesCashSize = categoriesCash.size() + 1;
         CategoryDto expectedCategoryDto = createTestCategoryDto(NEW_CATEGORY_ID);
         String categoryName = expectedCategoryDto.name();
         Category category = createTestCategory(expectedCategoryDto);
@@ -215,19 +186,18 @@ public class CategoryServiceTest {
                 expectedCategoryDto,
                 CATEGORY_IGNORING_FIELD
         );
-        assertAddingCategoriesCash(category, expectedCategoriesCashSize);
         verify(categoryRepository, times(1)).existsByNameIgnoreCase(categoryName);
         verify(categoryMapper, times(1)).toCategoryEntity(categoryRequestDto);
         verify(categoryRepository, times(1)).save(category);
+        verify(categoryCache, times(1)).put(category);
         verify(categoryMapper, times(1)).toCategoryDto(category);
-        verifyNoMoreInteractions(categoryRepository, categoryMapper);
+        verifyNoMoreInteractions(categoryRepository, categoryMapper, categoryCache);
     }
 
     @Test
     @DisplayName("Verify that an exception is throw when a category already exist.")
     public void save_CategoryAlreadyExist_ThrowsException() {
         // Given
-        int expectedCategoriesCashSize = categoriesCash.size();
         CategoryDto expectedCategoryDto = createTestCategoryDto(EXISTING_CATEGORY_ID);
         String categoryName = expectedCategoryDto.name();
         CreateCategoryRequestDto categoryRequestDto =
@@ -240,18 +210,16 @@ public class CategoryServiceTest {
                 .hasMessage("Can't save category with name: " + categoryName);
 
         // Then
-        assertThat(categoriesCash).hasSize(expectedCategoriesCashSize);
         verify(categoryRepository, times(1)).existsByNameIgnoreCase(categoryName);
         verify(categoryRepository, never()).save(any(Category.class));
         verifyNoMoreInteractions(categoryRepository);
-        verifyNoInteractions(categoryMapper);
+        verifyNoInteractions(categoryMapper, categoryCache);
     }
 
     @Test
     @DisplayName("Verify update() method works.")
     public void update_ValidIdAndCategoryRequestDto_ReturnsCategoryDto() {
         // Given
-        final int expectedCategoriesCashSize = categoriesCash.size();
         String dataBeforeUpdate = "before update";
         CategoryDto expectedCategoryDto = createTestCategoryDto(EXISTING_CATEGORY_ID);
         Category category = createTestCategory(expectedCategoryDto);
@@ -276,20 +244,19 @@ public class CategoryServiceTest {
                 expectedCategoryDto,
                 CATEGORY_IGNORING_FIELD
         );
-        assertAddingCategoriesCash(category, expectedCategoriesCashSize);
         verify(categoryRepository, times(1)).findById(EXISTING_CATEGORY_ID);
         verify(categoryMapper, times(1))
                 .updateCategoryEntity(category, categoryRequestDto);
         verify(categoryRepository, times(1)).save(category);
+        verify(categoryCache, times(1)).put(category);
         verify(categoryMapper, times(1)).toCategoryDto(category);
-        verifyNoMoreInteractions(categoryRepository, categoryMapper);
+        verifyNoMoreInteractions(categoryRepository, categoryMapper, categoryCache);
     }
 
     @Test
     @DisplayName("Verify that an exception is throw when a category doesn't exist.")
     public void update_CategoryNotExist_ThrowsException() {
         // Given
-        int expectedCategoriesCashSize = categoriesCash.size();
         CategoryDto expectedCategoryDto = createTestCategoryDto(NOT_EXISTING_CATEGORY_ID);
         CreateCategoryRequestDto categoryRequestDto =
                 createTestCategoryRequestDto(expectedCategoryDto);
@@ -304,37 +271,33 @@ public class CategoryServiceTest {
                 .hasMessage("Can't find the category by id: " + NOT_EXISTING_CATEGORY_ID);
 
         // Then
-        assertThat(categoriesCash).hasSize(expectedCategoriesCashSize);
-        assertThat(categoriesCash).doesNotContainKey(NOT_EXISTING_CATEGORY_ID);
         verify(categoryRepository, never()).save(any(Category.class));
         verify(categoryRepository, times(1)).findById(NOT_EXISTING_CATEGORY_ID);
         verifyNoMoreInteractions(categoryRepository);
-        verifyNoInteractions(categoryMapper);
+        verifyNoInteractions(categoryMapper, categoryCache);
     }
 
     @Test
     @DisplayName("Verify deleteById() method works.")
     public void deleteById_ValidCategoryID_SafeDelete() {
         // Given
-        final int expectedCategoriesCashSize = categoriesCash.size() - 1;
         when(categoryRepository.existsById(EXISTING_CATEGORY_ID)).thenReturn(true);
 
         // When
         categoryService.deleteById(EXISTING_CATEGORY_ID);
 
         // Then
-        assertThat(categoriesCash).hasSize(expectedCategoriesCashSize);
-        assertThat(categoriesCash).doesNotContainKey(EXISTING_CATEGORY_ID);
         verify(categoryRepository, times(1)).existsById(EXISTING_CATEGORY_ID);
         verify(categoryRepository, times(1)).deleteById(EXISTING_CATEGORY_ID);
-        verifyNoMoreInteractions(categoryRepository);
+        verify(categoryCache, times(1)).evict(EXISTING_CATEGORY_ID);
+        verify(bookCache, times(1)).evictAll();
+        verifyNoMoreInteractions(categoryRepository, categoryCache, bookCache);
     }
 
     @Test
     @DisplayName("Verify that an exception is throw when a category doesn't exist.")
     public void deleteById_CategoryNotExist_ThrowsException() {
         // Given
-        int expectedCategoriesCashSize = categoriesCash.size();
         when(categoryRepository.existsById(NOT_EXISTING_CATEGORY_ID)).thenReturn(false);
 
         // When
@@ -343,10 +306,9 @@ public class CategoryServiceTest {
                 .hasMessage("Can't delete a category with id: " + NOT_EXISTING_CATEGORY_ID);
 
         // Then
-        assertThat(categoriesCash).hasSize(expectedCategoriesCashSize);
-        assertThat(categoriesCash).doesNotContainKey(NOT_EXISTING_CATEGORY_ID);
         verify(categoryRepository, times(1)).existsById(NOT_EXISTING_CATEGORY_ID);
         verify(categoryRepository, never()).deleteById(NOT_EXISTING_CATEGORY_ID);
         verifyNoMoreInteractions(categoryRepository);
+        verifyNoInteractions(categoryCache, bookCache);
     }
 }
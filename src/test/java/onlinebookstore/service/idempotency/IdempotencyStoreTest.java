@@ -0,0 +1,155 @@
+package onlinebookstore.service.idempotency;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_CART_ITEM_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
+import static onlinebookstore.util.TestDataUtil.IDEMPOTENCY_KEY;
+import static onlinebookstore.util.TestDataUtil.NEW_CART_ITEM_ID;
+import static onlinebookstore.util.TestDataUtil.createTestCartItemRequestDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import onlinebookstore.dto.cartitem.CartItemRequestDto;
+import onlinebookstore.exception.IdempotencyKeyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class IdempotencyStoreTest {
+    private static final String SCOPE = "cart";
+    private static final Long CART_VERSION = 0L;
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(100, Duration.ofHours(1),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Verify execute() replays the stored response for a repeated key.")
+    public void execute_RepeatedKey_ReturnsStoredResponse() {
+        // Given
+        CartItemRequestDto requestDto = createTestCartItemRequestDto(EXISTING_CART_ITEM_ID);
+        Integer expected = execute(requestDto);
+
+        // When
+        Integer actual = execute(createTestCartItemRequestDto(EXISTING_CART_ITEM_ID));
+
+        // Then
+        assertThat(actual).isEqualTo(expected);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify execute() runs the action every time when no key is given.")
+    public void execute_NullKey_RunsActionEveryTime() {
+        // Given
+        CartItemRequestDto requestDto = createTestCartItemRequestDto(EXISTING_CART_ITEM_ID);
+
+        // When
+        idempotencyStore.execute(EXISTING_USER_ID, SCOPE, null, requestDto,
+                executions::incrementAndGet);
+        idempotencyStore.execute(EXISTING_USER_ID, SCOPE, null, requestDto,
+                executions::incrementAndGet);
+
+        // Then
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Verify execute() rejects a key reused for a different request.")
+    public void execute_KeyReusedForDifferentRequest_ThrowsException() {
+        // Given
+        execute(createTestCartItemRequestDto(EXISTING_CART_ITEM_ID));
+        CartItemRequestDto otherRequestDto = createTestCartItemRequestDto(NEW_CART_ITEM_ID);
+
+        // When & Then
+        assertThatThrownBy(() -> execute(otherRequestDto))
+                .isInstanceOf(IdempotencyKeyException.class)
+                .hasMessage("Idempotency key was already used for a different request: "
+                        + IDEMPOTENCY_KEY);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify execute() rejects a key reused with a different precondition.")
+    public void execute_KeyReusedWithDifferentPrecondition_ThrowsException() {
+        // Given
+        CartItemRequestDto requestDto = createTestCartItemRequestDto(EXISTING_CART_ITEM_ID);
+        idempotencyStore.execute(EXISTING_USER_ID, SCOPE, IDEMPOTENCY_KEY, requestDto,
+                CART_VERSION, executions::incrementAndGet);
+
+        // When & Then
+        assertThatThrownBy(() -> idempotencyStore.execute(EXISTING_USER_ID, SCOPE,
+                IDEMPOTENCY_KEY, requestDto, CART_VERSION + 1, executions::incrementAndGet))
+                .isInstanceOf(IdempotencyKeyException.class)
+                .hasMessage("Idempotency key was already used with a different precondition: "
+                        + IDEMPOTENCY_KEY);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify execute() releases the key when the action fails.")
+    public void execute_ActionFails_AllowsRetry() {
+        // Given
+        CartItemRequestDto requestDto = createTestCartItemRequestDto(EXISTING_CART_ITEM_ID);
+        assertThatThrownBy(() -> idempotencyStore.execute(EXISTING_USER_ID, SCOPE,
+                IDEMPOTENCY_KEY, requestDto, () -> {
+                    throw new IllegalStateException("Failure");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        // When
+        Integer actual = execute(requestDto);
+
+        // Then
+        assertThat(actual).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify a concurrent duplicate waits for the first execution.")
+    public void execute_ConcurrentDuplicate_WaitsForFirstExecution() throws Exception {
+        // Given
+        CartItemRequestDto requestDto = createTestCartItemRequestDto(EXISTING_CART_ITEM_ID);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute(EXISTING_USER_ID, SCOPE, IDEMPOTENCY_KEY, requestDto,
+                        () -> {
+                            started.countDown();
+                            await(release);
+                            return executions.incrementAndGet();
+                        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<Integer> duplicate = CompletableFuture.supplyAsync(() ->
+                execute(requestDto));
+        release.countDown();
+
+        // Then
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    private Integer execute(CartItemRequestDto requestDto) {
+        return idempotencyStore.execute(EXISTING_USER_ID, SCOPE, IDEMPOTENCY_KEY, requestDto,
+                executions::incrementAndGet);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package onlinebookstore.service.order;
 
 import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_CART_VERSION;
 import static onlinebookstore.util.TestDataUtil.EXISTING_ORDER_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_ORDER_ID;
@@ -11,13 +13,16 @@ import static onlinebookstore.util.TestDataUtil.ORDER_TEST_DATA_MAP;
 import static onlinebookstore.util.TestDataUtil.createTestOrder;
 import static onlinebookstore.util.TestDataUtil.createTestOrderDto;
 import static onlinebookstore.util.TestDataUtil.createTestOrderRequestDto;
-import static onlinebookstore.util.TestDataUtil.createTestShoppingCart;
 import static onlinebookstore.util.TestDataUtil.createTestUpdateOrderDto;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertObjectsAreEqualIgnoringFields;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertPageMetadataEquals;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,27 +30,32 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import onlinebookstore.dto.order.OrderDto;
+import onlinebookstore.dto.order.OrderPlacedEventDto;
 import onlinebookstore.dto.order.OrderRequestDto;
 import onlinebookstore.dto.order.UpdateOrderDto;
 import onlinebookstore.exception.EntityNotFoundException;
 import onlinebookstore.exception.OrderProcessingException;
 import onlinebookstore.mapper.OrderMapper;
 import onlinebookstore.model.Order;
-import onlinebookstore.model.ShoppingCart;
+import onlinebookstore.repository.cartitem.CartItemRepository;
+import onlinebookstore.repository.order.OrderPlacementRepository;
 import onlinebookstore.repository.order.OrderRepository;
 import onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
-import onlinebookstore.service.shoppingcart.ShoppingCartServiceImpl;
+import onlinebookstore.service.outbox.OutboxPublisher;
+import onlinebookstore.service.stock.StockService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
@@ -54,11 +64,17 @@ public class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
     @Mock
-    private ShoppingCartServiceImpl shoppingCartService;
-    @Mock
     private OrderMapper orderMapper;
     @Mock
+    private OrderPlacementRepository orderPlacementRepository;
+    @Mock
+    private CartItemRepository cartItemRepository;
+    @Mock
     private ShoppingCartRepository shoppingCartRepository;
+    @Mock
+    private OutboxPublisher outboxPublisher;
+    @Mock
+    private StockService stockService;
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -66,14 +82,19 @@ public class OrderServiceTest {
     @DisplayName("Verify createOrder() method works.")
     public void createOrder_ValidUserIdAndOrderRequestDto_ReturnsOrderDto() {
         //Given
-        ShoppingCart shoppingCart = createTestShoppingCart(EXISTING_USER_ID);
         OrderDto expectedOrderDto = createTestOrderDto(EXISTING_ORDER_ID);
         Order order = createTestOrder(expectedOrderDto);
         OrderRequestDto orderRequestDto = createTestOrderRequestDto(order);
-        when(shoppingCartService.findShoppingCartByUserId(EXISTING_USER_ID))
-                .thenReturn(shoppingCart);
-        when(orderMapper.toOrderEntity(shoppingCart)).thenReturn(order);
-        when(orderMapper.toOrderDto(any(Order.class))).thenReturn(expectedOrderDto);
+        List<Long> ids = List.of(EXISTING_ORDER_ID);
+        when(shoppingCartRepository.findVersionById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(EXISTING_CART_VERSION));
+        when(orderPlacementRepository.insertOrderFromShoppingCart(eq(EXISTING_USER_ID),
+                eq(orderRequestDto.shippingAddress()), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(EXISTING_ORDER_ID));
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION))
+                .thenReturn(1);
+        when(orderRepository.findAllByIdIn(ids)).thenReturn(List.of(order));
+        when(orderMapper.toOrderDto(order)).thenReturn(expectedOrderDto);
 
         //When
         OrderDto actualOrderDto = orderService.createOrder(EXISTING_USER_ID, orderRequestDto);
@@ -84,26 +105,41 @@ public class OrderServiceTest {
                 expectedOrderDto,
                 ORDER_DTO_IGNORING_FIELDS
         );
-        assertThat(shoppingCart.getCartItems()).isEmpty();
-        verify(shoppingCartService, times(1)).findShoppingCartByUserId(EXISTING_USER_ID);
-        verify(orderMapper, times(1)).toOrderEntity(shoppingCart);
-        verify(orderRepository, times(1)).save(any(Order.class));
-        verify(shoppingCartRepository, times(1)).save(any(ShoppingCart.class));
-        verify(orderMapper, times(1)).toOrderDto(any(Order.class));
-        verifyNoMoreInteractions(shoppingCartService, orderRepository);
-        verifyNoMoreInteractions(orderMapper, shoppingCartRepository);
+        InOrder inOrder = inOrder(shoppingCartRepository, orderPlacementRepository,
+                stockService, cartItemRepository);
+        inOrder.verify(shoppingCartRepository, times(1))
+                .incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION);
+        inOrder.verify(orderPlacementRepository, times(1)).insertOrderFromShoppingCart(
+                eq(EXISTING_USER_ID), eq(orderRequestDto.shippingAddress()),
+                any(LocalDateTime.class));
+        inOrder.verify(orderPlacementRepository, times(1))
+                .insertOrderItemsFromShoppingCart(EXISTING_ORDER_ID, EXISTING_USER_ID);
+        inOrder.verify(stockService, times(1)).reserve(EXISTING_ORDER_ID);
+        inOrder.verify(cartItemRepository, times(1)).deleteAllByShoppingCartId(EXISTING_USER_ID);
+        inOrder.verify(shoppingCartRepository, times(1)).clearTotals(EXISTING_USER_ID);
+        verify(orderRepository, times(1)).findAllByIdIn(ids);
+        verify(orderMapper, times(1)).toOrderDto(order);
+        verify(outboxPublisher, times(1)).publish(eq(OrderPlacedEventDto.TYPE),
+                eq(OrderPlacedEventDto.AGGREGATE), eq(EXISTING_USER_ID),
+                argThat(event -> event instanceof OrderPlacedEventDto
+                        && ((OrderPlacedEventDto) event).orderId().equals(EXISTING_ORDER_ID)));
+        verifyNoMoreInteractions(orderPlacementRepository, cartItemRepository);
+        verifyNoMoreInteractions(orderRepository, orderMapper);
     }
 
     @Test
     @DisplayName("Verify that an exception is throw when a shopping cart is empty.")
     public void createOrder_ValidUserIdAndShoppingCartEmpty_ThrowsException() {
         //Given
-        ShoppingCart shoppingCart = new ShoppingCart();
-        shoppingCart.setCartItems(new HashSet<>());
         OrderRequestDto orderRequestDto = new OrderRequestDto(
                 ORDER_TEST_DATA_MAP.get("shippingAddress"));
-        when(shoppingCartService.findShoppingCartByUserId(EXISTING_USER_ID))
-                .thenReturn(shoppingCart);
+        when(shoppingCartRepository.findVersionById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(EXISTING_CART_VERSION));
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION))
+                .thenReturn(1);
+        when(orderPlacementRepository.insertOrderFromShoppingCart(eq(EXISTING_USER_ID),
+                eq(orderRequestDto.shippingAddress()), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
 
         //When
         assertThatThrownBy(() -> orderService.createOrder(EXISTING_USER_ID, orderRequestDto))
@@ -111,34 +147,76 @@ public class OrderServiceTest {
                 .hasMessage("Shopping cart is empty for user: " + EXISTING_USER_ID);
 
         //Then
-        verify(shoppingCartService, times(1)).findShoppingCartByUserId(EXISTING_USER_ID);
-        verify(orderRepository, never()).save(any(Order.class));
-        verify(shoppingCartRepository, never()).save(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartService);
-        verifyNoInteractions(orderRepository, orderMapper, shoppingCartRepository);
+        verify(orderPlacementRepository, never())
+                .insertOrderItemsFromShoppingCart(any(), any());
+        verifyNoInteractions(orderRepository, orderMapper, cartItemRepository, outboxPublisher,
+                stockService);
+    }
+
+    @Test
+    @DisplayName("Verify that an exception is thrown when books are out of stock.")
+    public void createOrder_BooksOutOfStock_ThrowsException() {
+        //Given
+        OrderRequestDto orderRequestDto = new OrderRequestDto(
+                ORDER_TEST_DATA_MAP.get("shippingAddress"));
+        when(shoppingCartRepository.findVersionById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(EXISTING_CART_VERSION));
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION))
+                .thenReturn(1);
+        when(orderPlacementRepository.insertOrderFromShoppingCart(eq(EXISTING_USER_ID),
+                eq(orderRequestDto.shippingAddress()), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(EXISTING_ORDER_ID));
+        doThrow(new OrderProcessingException("Not enough stock for book with id: "
+                + EXISTING_BOOK_ID)).when(stockService).reserve(EXISTING_ORDER_ID);
+
+        //When
+        assertThatThrownBy(() -> orderService.createOrder(EXISTING_USER_ID, orderRequestDto))
+                .isInstanceOf(OrderProcessingException.class)
+                .hasMessage("Not enough stock for book with id: " + EXISTING_BOOK_ID);
+
+        //Then
+        verifyNoInteractions(cartItemRepository, outboxPublisher);
     }
 
     @Test
-    @DisplayName("Verify that an exception is throw when a user id doesn't exists.")
+    @DisplayName("Verify that an exception is throw when a user has no shopping cart.")
     public void createOrder_InvalidUserId_ThrowsException() {
         //Given
         OrderRequestDto orderRequestDto = new OrderRequestDto(
                 ORDER_TEST_DATA_MAP.get("shippingAddress"));
-        when(shoppingCartService.findShoppingCartByUserId(NOT_EXISTING_USER_ID))
-                .thenThrow(new EntityNotFoundException("User with id " + NOT_EXISTING_USER_ID
-                        + " not found"));
+        when(shoppingCartRepository.findVersionById(NOT_EXISTING_USER_ID))
+                .thenReturn(Optional.empty());
 
         //When
         assertThatThrownBy(() -> orderService.createOrder(NOT_EXISTING_USER_ID, orderRequestDto))
-                .isInstanceOf(EntityNotFoundException.class)
-                .hasMessage("User with id " + NOT_EXISTING_USER_ID + " not found");
+                .isInstanceOf(OrderProcessingException.class)
+                .hasMessage("Shopping cart is empty for user: " + NOT_EXISTING_USER_ID);
 
         //Then
-        verify(shoppingCartService, times(1)).findShoppingCartByUserId(NOT_EXISTING_USER_ID);
-        verify(orderRepository, never()).save(any(Order.class));
-        verify(shoppingCartRepository, never()).save(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartService);
-        verifyNoInteractions(orderRepository, orderMapper, shoppingCartRepository);
+        verifyNoInteractions(orderPlacementRepository, orderRepository, orderMapper,
+                cartItemRepository);
+    }
+
+    @Test
+    @DisplayName("Verify that an exception is thrown when the cart changes during placement.")
+    public void createOrder_ShoppingCartChangedConcurrently_ThrowsException() {
+        //Given
+        OrderRequestDto orderRequestDto = new OrderRequestDto(
+                ORDER_TEST_DATA_MAP.get("shippingAddress"));
+        when(shoppingCartRepository.findVersionById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(EXISTING_CART_VERSION));
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION))
+                .thenReturn(0);
+
+        //When
+        assertThatThrownBy(() -> orderService.createOrder(EXISTING_USER_ID, orderRequestDto))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessage("Shopping cart was changed while placing an order for user: "
+                        + EXISTING_USER_ID);
+
+        //Then
+        verifyNoInteractions(orderPlacementRepository, cartItemRepository, stockService,
+                orderRepository, orderMapper, outboxPublisher);
     }
 
     @Test
@@ -147,13 +225,14 @@ public class OrderServiceTest {
         //Given
         OrderDto expectedOrderDto = createTestOrderDto(EXISTING_ORDER_ID);
         Order order = createTestOrder(expectedOrderDto);
-        List<Order> orders = Collections.singletonList(order);
-        Page<Order> orderPage = new PageImpl<>(
-                orders,
+        List<Long> ids = Collections.singletonList(EXISTING_ORDER_ID);
+        Page<Long> idsPage = new PageImpl<>(
+                ids,
                 ORDER_PAGEABLE,
-                orders.size()
+                ids.size()
         );
-        when(orderRepository.findByUserId(EXISTING_USER_ID, ORDER_PAGEABLE)).thenReturn(orderPage);
+        when(orderRepository.findIdsByUserId(EXISTING_USER_ID, ORDER_PAGEABLE)).thenReturn(idsPage);
+        when(orderRepository.findAllByIdIn(ids)).thenReturn(List.of(order));
         when(orderMapper.toOrderDto(order)).thenReturn(expectedOrderDto);
 
         //When
@@ -169,7 +248,9 @@ public class OrderServiceTest {
                 expectedOrderDto,
                 ORDER_DTO_IGNORING_FIELDS
         );
-        verify(orderRepository, times(1)).findByUserId(EXISTING_USER_ID, ORDER_PAGEABLE);
+        assertPageMetadataEquals(actualOrderDtoPage, idsPage);
+        verify(orderRepository, times(1)).findIdsByUserId(EXISTING_USER_ID, ORDER_PAGEABLE);
+        verify(orderRepository, times(1)).findAllByIdIn(ids);
         verify(orderMapper, times(1)).toOrderDto(order);
         verifyNoMoreInteractions(orderMapper, orderRepository);
     }
@@ -178,9 +259,9 @@ public class OrderServiceTest {
     @DisplayName("Verify getOrders() returns empty page when no orders exists.")
     public void getOrders_ValidUserIdAndNoOrders_ReturnsEmptyPage() {
         // Given
-        Page<Order> orderPage = Page.empty(ORDER_PAGEABLE);
-        when(orderRepository.findByUserId(ALTERNATIVE_USER_ID, ORDER_PAGEABLE))
-                .thenReturn(orderPage);
+        Page<Long> idsPage = Page.empty(ORDER_PAGEABLE);
+        when(orderRepository.findIdsByUserId(ALTERNATIVE_USER_ID, ORDER_PAGEABLE))
+                .thenReturn(idsPage);
 
         //When
         Page<OrderDto> actualOrderDtoPage = orderService.getOrders(
@@ -188,8 +269,8 @@ public class OrderServiceTest {
 
         //Then
         assertThat(actualOrderDtoPage.getContent()).isEmpty();
-        assertPageMetadataEquals(actualOrderDtoPage, orderPage);
-        verify(orderRepository, times(1)).findByUserId(ALTERNATIVE_USER_ID, ORDER_PAGEABLE);
+        assertPageMetadataEquals(actualOrderDtoPage, idsPage);
+        verify(orderRepository, times(1)).findIdsByUserId(ALTERNATIVE_USER_ID, ORDER_PAGEABLE);
         verifyNoMoreInteractions(orderRepository);
         verifyNoInteractions(orderMapper);
     }
@@ -198,9 +279,9 @@ public class OrderServiceTest {
     @DisplayName("Verify getOrders() returns empty page when a user doesn't exists.")
     public void getOrders_InvalidUserId_ReturnsEmptyPage() {
         // Given
-        Page<Order> orderPage = Page.empty(ORDER_PAGEABLE);
-        when(orderRepository.findByUserId(NOT_EXISTING_USER_ID, ORDER_PAGEABLE))
-                .thenReturn(orderPage);
+        Page<Long> idsPage = Page.empty(ORDER_PAGEABLE);
+        when(orderRepository.findIdsByUserId(NOT_EXISTING_USER_ID, ORDER_PAGEABLE))
+                .thenReturn(idsPage);
 
         //When
         Page<OrderDto> actualOrderDtoPage = orderService.getOrders(
@@ -208,8 +289,8 @@ public class OrderServiceTest {
 
         //Then
         assertThat(actualOrderDtoPage.getContent()).isEmpty();
-        assertPageMetadataEquals(actualOrderDtoPage, orderPage);
-        verify(orderRepository, times(1)).findByUserId(NOT_EXISTING_USER_ID, ORDER_PAGEABLE);
+        assertPageMetadataEquals(actualOrderDtoPage, idsPage);
+        verify(orderRepository, times(1)).findIdsByUserId(NOT_EXISTING_USER_ID, ORDER_PAGEABLE);
         verifyNoMoreInteractions(orderRepository);
         verifyNoInteractions(orderMapper);
     }
@@ -242,6 +323,25 @@ public class OrderServiceTest {
         verifyNoMoreInteractions(orderMapper, orderRepository);
     }
 
+    @Test
+    @DisplayName("Verify that an exception is thrown when a status transition is not allowed.")
+    public void changeStatusOrder_SkippedStatus_ThrowsException() {
+        //Given
+        Order order = createTestOrder(EXISTING_ORDER_ID);
+        UpdateOrderDto updateOrderDto = new UpdateOrderDto(Order.Status.DELIVERED.toString());
+        when(orderRepository.findById(EXISTING_ORDER_ID)).thenReturn(Optional.of(order));
+
+        //When
+        assertThatThrownBy(() -> orderService.changeStatusOrder(EXISTING_ORDER_ID, updateOrderDto))
+                .isInstanceOf(OrderProcessingException.class)
+                .hasMessage("Can't change order status from PENDING to DELIVERED");
+
+        //Then
+        assertThat(order.getStatus()).isEqualTo(Order.Status.PENDING);
+        verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(orderMapper);
+    }
+
     @Test
     @DisplayName("Verify that an exception is throw when an order id doesn't exists.")
     public void changeStatusOrder_InvalidOrderId_ThrowsException() {
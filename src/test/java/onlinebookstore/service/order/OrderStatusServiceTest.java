@@ -0,0 +1,139 @@
+package onlinebookstore.service.order;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_ORDER_ID;
+import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_ORDER_ID;
+import static onlinebookstore.util.TestDataUtil.createTestOrderStatusVersionDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import onlinebookstore.dto.order.OrderStatusBatchRequestDto;
+import onlinebookstore.dto.order.OrderStatusBatchResultDto;
+import onlinebookstore.dto.order.OrderStatusResultDto;
+import onlinebookstore.dto.order.OrderStatusVersionDto;
+import onlinebookstore.model.Order;
+import onlinebookstore.repository.order.OrderRepository;
+import onlinebookstore.repository.order.OrderStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderStatusServiceTest {
+    private static final int CHUNK_SIZE = 2;
+    private static final Long PAID_ORDER_ID = EXISTING_ORDER_ID + 1;
+    private static final Long OTHER_PENDING_ORDER_ID = EXISTING_ORDER_ID + 2;
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderStatusRepository orderStatusRepository;
+    private OrderStatusServiceImpl orderStatusService;
+
+    @BeforeEach
+    void setUp() {
+        orderStatusService = new OrderStatusServiceImpl(orderRepository, orderStatusRepository,
+                CHUNK_SIZE);
+    }
+
+    @Test
+    @DisplayName("Verify changeStatusOrders() updates orders in chunks and reports outcomes.")
+    public void changeStatusOrders_MixedOrders_ReturnsOutcomePerOrder() {
+        // Given
+        OrderStatusVersionDto pendingOrder =
+                createTestOrderStatusVersionDto(EXISTING_ORDER_ID, Order.Status.PENDING);
+        OrderStatusVersionDto paidOrder =
+                createTestOrderStatusVersionDto(PAID_ORDER_ID, Order.Status.PAID);
+        OrderStatusBatchRequestDto requestDto = new OrderStatusBatchRequestDto("paid", List.of(
+                EXISTING_ORDER_ID, PAID_ORDER_ID, EXISTING_ORDER_ID, NOT_EXISTING_ORDER_ID));
+        when(orderRepository.findStatusVersionsByIdIn(List.of(EXISTING_ORDER_ID, PAID_ORDER_ID)))
+                .thenReturn(List.of(pendingOrder, paidOrder));
+        when(orderRepository.findStatusVersionsByIdIn(List.of(NOT_EXISTING_ORDER_ID)))
+                .thenReturn(List.of());
+        when(orderStatusRepository.updateStatus(List.of(pendingOrder), Order.Status.PAID))
+                .thenReturn(new int[] {1});
+
+        // When
+        OrderStatusBatchResultDto actual = orderStatusService.changeStatusOrders(requestDto);
+
+        // Then
+        assertThat(actual.applied()).isEqualTo(1);
+        assertThat(actual.rejected()).isEqualTo(2);
+        assertThat(actual.results()).containsExactly(
+                new OrderStatusResultDto(EXISTING_ORDER_ID,
+                        OrderStatusResultDto.Outcome.APPLIED, null),
+                new OrderStatusResultDto(PAID_ORDER_ID,
+                        OrderStatusResultDto.Outcome.INVALID_TRANSITION,
+                        "Can't change order status from PAID to PAID"),
+                new OrderStatusResultDto(NOT_EXISTING_ORDER_ID,
+                        OrderStatusResultDto.Outcome.NOT_FOUND,
+                        "Can't find order with id: " + NOT_EXISTING_ORDER_ID));
+        verify(orderStatusRepository, times(1)).updateStatus(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Verify changeStatusOrders() reports orders changed concurrently as conflicts.")
+    public void changeStatusOrders_StaleVersion_ReturnsConflict() {
+        // Given
+        OrderStatusVersionDto firstOrder =
+                createTestOrderStatusVersionDto(EXISTING_ORDER_ID, Order.Status.PENDING);
+        OrderStatusVersionDto secondOrder =
+                createTestOrderStatusVersionDto(OTHER_PENDING_ORDER_ID, Order.Status.PENDING);
+        List<Long> orderIds = List.of(EXISTING_ORDER_ID, OTHER_PENDING_ORDER_ID);
+        when(orderRepository.findStatusVersionsByIdIn(orderIds))
+                .thenReturn(List.of(firstOrder, secondOrder));
+        when(orderStatusRepository.updateStatus(List.of(firstOrder, secondOrder),
+                Order.Status.PAID)).thenReturn(new int[] {1, 0});
+
+        // When
+        OrderStatusBatchResultDto actual = orderStatusService.changeStatusOrders(
+                new OrderStatusBatchRequestDto("PAID", orderIds));
+
+        // Then
+        assertThat(actual.results()).extracting(OrderStatusResultDto::outcome).containsExactly(
+                OrderStatusResultDto.Outcome.APPLIED, OrderStatusResultDto.Outcome.CONFLICT);
+        verify(orderRepository, times(1)).findStatusVersionsByIdIn(orderIds);
+    }
+
+    @Test
+    @DisplayName("Verify changeStatusOrders() skips the update when no order can transition.")
+    public void changeStatusOrders_SkippedStatus_DoesNotUpdate() {
+        // Given
+        when(orderRepository.findStatusVersionsByIdIn(List.of(EXISTING_ORDER_ID))).thenReturn(
+                List.of(createTestOrderStatusVersionDto(EXISTING_ORDER_ID, Order.Status.PENDING)));
+
+        // When
+        OrderStatusBatchResultDto actual = orderStatusService.changeStatusOrders(
+                new OrderStatusBatchRequestDto("DELIVERED", List.of(EXISTING_ORDER_ID)));
+
+        // Then
+        assertThat(actual.results()).singleElement()
+                .extracting(OrderStatusResultDto::message)
+                .isEqualTo("Can't change order status from PENDING to DELIVERED");
+        verify(orderStatusRepository, never()).updateStatus(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Verify changeStatusOrders() throws an exception for an unknown status.")
+    public void changeStatusOrders_InvalidStatus_ThrowsException() {
+        // Given
+        OrderStatusBatchRequestDto requestDto =
+                new OrderStatusBatchRequestDto("INVALID", List.of(EXISTING_ORDER_ID));
+
+        // When & Then
+        assertThatThrownBy(() -> orderStatusService.changeStatusOrders(requestDto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid order status: INVALID");
+        verifyNoInteractions(orderRepository, orderStatusRepository);
+    }
+}
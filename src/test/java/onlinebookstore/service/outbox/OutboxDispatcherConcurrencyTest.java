@@ -0,0 +1,104 @@
+package onlinebookstore.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import onlinebookstore.dto.outbox.OutboxEventDto;
+import onlinebookstore.repository.outbox.OutboxEventRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "classpath:database/outbox/clear-all-outbox-events.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OutboxDispatcherConcurrencyTest {
+    private static final String EVENT_TYPE = "test.concurrent-event";
+    private static final int PARTITIONS = 5;
+    private static final int EVENTS_PER_PARTITION = 40;
+    private static final int BATCH_SIZE = 7;
+    private static final int DISPATCHERS = 2;
+    private static final Duration DEADLINE = Duration.ofSeconds(30);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Two dispatchers hand every event over once and keep the partition order.")
+    void dispatchBatch_TwoConcurrentDispatchers_DispatchEveryEventOnceInOrder()
+            throws Exception {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.now().minusSeconds(1);
+        for (int i = 0; i < EVENTS_PER_PARTITION; i++) {
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                outboxEventRepository.insert(EVENT_TYPE, "user:" + partition, "{}", createdAt);
+            }
+        }
+        List<OutboxEventDto> consumed = Collections.synchronizedList(new ArrayList<>());
+        OutboxEventConsumer consumer = new OutboxEventConsumer() {
+            @Override
+            public String eventType() {
+                return EVENT_TYPE;
+            }
+
+            @Override
+            public void accept(OutboxEventDto event) {
+                consumed.add(event);
+            }
+        };
+        List<Callable<Void>> dispatchers = new ArrayList<>();
+        for (int i = 0; i < DISPATCHERS; i++) {
+            OutboxDispatcher dispatcher = new OutboxDispatcher(outboxEventRepository,
+                    List.of(consumer), BATCH_SIZE, 3, Duration.ofSeconds(5),
+                    Duration.ofMinutes(1), Duration.ofDays(7));
+            dispatchers.add(() -> dispatchUntilDone(dispatcher));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(DISPATCHERS);
+
+        // When
+        try {
+            for (Future<Void> future : executor.invokeAll(dispatchers)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(countPending()).isZero();
+        assertThat(consumed).extracting(OutboxEventDto::id).doesNotHaveDuplicates();
+        Map<String, List<Long>> idsByPartition = consumed.stream()
+                .collect(Collectors.groupingBy(OutboxEventDto::partitionKey,
+                        Collectors.mapping(OutboxEventDto::id, Collectors.toList())));
+        idsByPartition.values().forEach(ids -> assertThat(ids).isSorted());
+    }
+
+    private Void dispatchUntilDone(OutboxDispatcher dispatcher) {
+        LocalDateTime deadline = LocalDateTime.now().plus(DEADLINE);
+        while (countPending() > 0 && LocalDateTime.now().isBefore(deadline)) {
+            dispatcher.dispatchBatch(LocalDateTime.now());
+        }
+        return null;
+    }
+
+    private int countPending() {
+        Integer pending = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events "
+                + "WHERE event_type = ? AND status = 'PENDING'", Integer.class, EVENT_TYPE);
+        return pending == null ? 0 : pending;
+    }
+}
@@ -0,0 +1,127 @@
+package onlinebookstore.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import onlinebookstore.dto.outbox.OutboxEventDto;
+import onlinebookstore.repository.outbox.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxDispatcherTest {
+    private static final String EVENT_TYPE = "test.event";
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 1, 12, 0);
+    private static final String FIRST_PARTITION = "user:101";
+    private static final String SECOND_PARTITION = "user:102";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OutboxEventConsumer outboxEventConsumer;
+    private OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        when(outboxEventConsumer.eventType()).thenReturn(EVENT_TYPE);
+        outboxDispatcher = new OutboxDispatcher(outboxEventRepository,
+                List.of(outboxEventConsumer), BATCH_SIZE, MAX_ATTEMPTS, RETRY_BACKOFF, LEASE,
+                Duration.ofDays(7));
+    }
+
+    @Test
+    @DisplayName("Verify dispatchBatch() hands events to consumers and marks them processed.")
+    public void dispatchBatch_ConsumersSucceed_MarksEventsProcessed() {
+        // Given
+        OutboxEventDto firstEvent = createEvent(1L, FIRST_PARTITION, 0);
+        OutboxEventDto secondEvent = createEvent(2L, SECOND_PARTITION, 0);
+        OutboxEventDto otherTypeEvent = new OutboxEventDto(3L, "other.event",
+                FIRST_PARTITION, "{}", 0);
+        when(outboxEventRepository.claimDispatchable(anyString(), eq(NOW), eq(NOW.plus(LEASE)),
+                eq(BATCH_SIZE)))
+                .thenReturn(List.of(firstEvent, secondEvent, otherTypeEvent));
+
+        // When
+        int actual = outboxDispatcher.dispatchBatch(NOW);
+
+        // Then
+        assertThat(actual).isEqualTo(3);
+        verify(outboxEventConsumer, times(1)).accept(firstEvent);
+        verify(outboxEventConsumer, times(1)).accept(secondEvent);
+        verify(outboxEventConsumer, never()).accept(otherTypeEvent);
+        verify(outboxEventRepository, times(1)).markProcessed(List.of(1L, 2L, 3L), NOW);
+    }
+
+    @Test
+    @DisplayName("Verify a failed event holds back later events of the same partition only.")
+    public void dispatchBatch_ConsumerFails_SchedulesRetryAndKeepsPartitionOrder() {
+        // Given
+        OutboxEventDto failingEvent = createEvent(1L, FIRST_PARTITION, 1);
+        OutboxEventDto laterEvent = createEvent(2L, FIRST_PARTITION, 0);
+        OutboxEventDto otherPartitionEvent = createEvent(3L, SECOND_PARTITION, 0);
+        when(outboxEventRepository.claimDispatchable(anyString(), eq(NOW), eq(NOW.plus(LEASE)),
+                eq(BATCH_SIZE)))
+                .thenReturn(List.of(failingEvent, laterEvent, otherPartitionEvent));
+        doThrow(new IllegalStateException("Consumer is down"))
+                .when(outboxEventConsumer).accept(failingEvent);
+
+        // When
+        int actual = outboxDispatcher.dispatchBatch(NOW);
+
+        // Then
+        assertThat(actual).isEqualTo(1);
+        verify(outboxEventConsumer, never()).accept(laterEvent);
+        verify(outboxEventRepository, times(1)).scheduleRetry(1L, 2,
+                "java.lang.IllegalStateException: Consumer is down",
+                NOW.plus(RETRY_BACKOFF.multipliedBy(2)));
+        verify(outboxEventRepository, times(1)).markProcessed(List.of(3L), NOW);
+        ArgumentCaptor<String> claimedBy = ArgumentCaptor.forClass(String.class);
+        verify(outboxEventRepository, times(1)).claimDispatchable(claimedBy.capture(), eq(NOW),
+                eq(NOW.plus(LEASE)), eq(BATCH_SIZE));
+        verify(outboxEventRepository, times(1)).release(List.of(2L), claimedBy.getValue(), NOW);
+    }
+
+    @Test
+    @DisplayName("Verify an event is marked failed once it runs out of attempts.")
+    public void dispatchBatch_LastAttemptFails_MarksEventFailed() {
+        // Given
+        OutboxEventDto failingEvent = createEvent(1L, FIRST_PARTITION, MAX_ATTEMPTS - 1);
+        when(outboxEventRepository.claimDispatchable(anyString(), eq(NOW), eq(NOW.plus(LEASE)),
+                eq(BATCH_SIZE)))
+                .thenReturn(List.of(failingEvent));
+        doThrow(new IllegalStateException("Consumer is down"))
+                .when(outboxEventConsumer).accept(failingEvent);
+
+        // When
+        outboxDispatcher.dispatchBatch(NOW);
+
+        // Then
+        verify(outboxEventRepository, times(1)).markFailed(eq(1L), eq(MAX_ATTEMPTS),
+                anyString(), eq(NOW));
+        verify(outboxEventRepository, never()).scheduleRetry(eq(1L), anyInt(), anyString(),
+                eq(NOW));
+    }
+
+    private static OutboxEventDto createEvent(Long id, String partitionKey, int attempts) {
+        return new OutboxEventDto(id, EVENT_TYPE, partitionKey, "{}", attempts);
+    }
+}
@@ -0,0 +1,85 @@
+package onlinebookstore.service.retry;
+
+import static onlinebookstore.service.retry.ConflictRetryExecutor.CONFLICTS_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+public class ConflictRetryExecutorTest {
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String OPERATION = "cart.add-item";
+
+    private final AtomicInteger attempts = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+    private ConflictRetryExecutor conflictRetryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        conflictRetryExecutor = new ConflictRetryExecutor(MAX_ATTEMPTS, Duration.ofMillis(1),
+                Duration.ofMillis(5), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Verify execute() retries a conflicting action until it succeeds.")
+    public void execute_ConflictThenSuccess_ReturnsResult() {
+        // When
+        String actual = conflictRetryExecutor.execute(OPERATION, () -> {
+            if (attempts.incrementAndGet() < MAX_ATTEMPTS) {
+                throw new OptimisticLockingFailureException("Conflict");
+            }
+            return "done";
+        });
+
+        // Then
+        assertThat(actual).isEqualTo("done");
+        assertThat(attempts.get()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(countConflicts("retried")).isEqualTo(MAX_ATTEMPTS - 1);
+        assertThat(meterRegistry.find(CONFLICTS_METRIC).tag("outcome", "exhausted").counter())
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("Verify execute() rethrows the conflict once the attempts are exhausted.")
+    public void execute_PersistentConflict_ThrowsException() {
+        // When & Then
+        assertThatThrownBy(() -> conflictRetryExecutor.execute(OPERATION, () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("Conflict");
+        }))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessage("Conflict");
+        assertThat(attempts.get()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(countConflicts("retried")).isEqualTo(MAX_ATTEMPTS - 1);
+        assertThat(countConflicts("exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify execute() doesn't retry exceptions other than conflicts.")
+    public void execute_OtherException_ThrowsWithoutRetry() {
+        // When & Then
+        assertThatThrownBy(() -> conflictRetryExecutor.execute(OPERATION, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Invalid");
+        }))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(meterRegistry.find(CONFLICTS_METRIC).counter()).isNull();
+    }
+
+    private double countConflicts(String outcome) {
+        return meterRegistry.get(CONFLICTS_METRIC)
+                .tag("operation", OPERATION)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+}
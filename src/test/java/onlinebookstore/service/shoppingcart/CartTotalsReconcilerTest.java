@@ -0,0 +1,65 @@
+package onlinebookstore.service.shoppingcart;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import onlinebookstore.dto.book.BookPriceChangedEventDto;
+import onlinebookstore.dto.outbox.OutboxEventDto;
+import onlinebookstore.exception.DataProcessingException;
+import onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CartTotalsReconcilerTest {
+    private static final Long EVENT_ID = 1L;
+    private static final String BOOK_PARTITION = "book:" + EXISTING_BOOK_ID;
+
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CartTotalsReconciler cartTotalsReconciler;
+
+    @BeforeEach
+    void setUp() {
+        cartTotalsReconciler = new CartTotalsReconciler(shoppingCartRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Verify accept() refreshes the totals of carts holding the repriced book.")
+    public void accept_BookPriceChanged_RefreshesCartTotals() throws Exception {
+        // Given
+        String payload = objectMapper.writeValueAsString(
+                new BookPriceChangedEventDto(EXISTING_BOOK_ID, BigDecimal.TEN));
+
+        // When
+        cartTotalsReconciler.accept(new OutboxEventDto(EVENT_ID,
+                BookPriceChangedEventDto.TYPE, BOOK_PARTITION, payload, 0));
+
+        // Then
+        verify(shoppingCartRepository, times(1)).refreshTotalsByBookId(EXISTING_BOOK_ID);
+    }
+
+    @Test
+    @DisplayName("Verify accept() throws an exception for an unreadable payload.")
+    public void accept_InvalidPayload_ThrowsException() {
+        // Given
+        OutboxEventDto event = new OutboxEventDto(EVENT_ID, BookPriceChangedEventDto.TYPE,
+                BOOK_PARTITION, "{\"bookId\": ", 0);
+
+        // When & Then
+        assertThatThrownBy(() -> cartTotalsReconciler.accept(event))
+                .isInstanceOf(DataProcessingException.class)
+                .hasMessage("Can't read outbox event with id: " + EVENT_ID);
+        verifyNoInteractions(shoppingCartRepository);
+    }
+}
@@ -1,27 +1,31 @@
 package onlinebookstore.service.shoppingcart;
 
+import static onlinebookstore.dto.cartitem.CartItemOperationDto.Type.ADD;
+import static onlinebookstore.dto.cartitem.CartItemOperationDto.Type.REMOVE;
+import static onlinebookstore.dto.cartitem.CartItemOperationDto.Type.UPDATE;
 import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_USER_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.EXISTING_CART_ITEM_ID;
-import static onlinebookstore.util.TestDataUtil.EXISTING_SHOPPING_CART_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_CART_VERSION;
 import static onlinebookstore.util.TestDataUtil.EXISTING_USER_ID;
-import static onlinebookstore.util.TestDataUtil.EXPECTED_CART_ITEMS_SIZE;
 import static onlinebookstore.util.TestDataUtil.NEW_CART_ITEM_ID;
+import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_BOOK_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_CART_ITEM_ID;
 import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_USER_ID;
 import static onlinebookstore.util.TestDataUtil.SHOPPING_CART_DTO_IGNORING_FIELDS;
 import static onlinebookstore.util.TestDataUtil.UPDATED_QUANTITY;
-import static onlinebookstore.util.TestDataUtil.createTestCartItem;
 import static onlinebookstore.util.TestDataUtil.createTestCartItemDto;
+import static onlinebookstore.util.TestDataUtil.createTestCartItemOperationDto;
 import static onlinebookstore.util.TestDataUtil.createTestCartItemRequestDto;
+import static onlinebookstore.util.TestDataUtil.createTestCartTotalsDto;
 import static onlinebookstore.util.TestDataUtil.createTestShoppingCart;
 import static onlinebookstore.util.TestDataUtil.createTestShoppingCartDto;
 import static onlinebookstore.util.TestDataUtil.createTestUpdateCartItemDto;
-import static onlinebookstore.util.TestDataUtil.getTestCartItem;
+import static onlinebookstore.util.assertions.TestAssertionsUtil.assertCartTotalsEqual;
 import static onlinebookstore.util.assertions.TestAssertionsUtil.assertObjectsAreEqualIgnoringFields;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -29,21 +33,28 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import onlinebookstore.dto.cartitem.CartItemBatchRequestDto;
+import onlinebookstore.dto.cartitem.CartItemBatchResultDto;
+import onlinebookstore.dto.cartitem.CartItemChangeDto;
 import onlinebookstore.dto.cartitem.CartItemDto;
+import onlinebookstore.dto.cartitem.CartItemOperationDto;
+import onlinebookstore.dto.cartitem.CartItemOperationResultDto;
+import onlinebookstore.dto.cartitem.CartItemOperationResultDto.Status;
 import onlinebookstore.dto.cartitem.CartItemRequestDto;
 import onlinebookstore.dto.cartitem.UpdateCartItemDto;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
 import onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import onlinebookstore.exception.EntityNotFoundException;
-import onlinebookstore.mapper.CartItemMapper;
+import onlinebookstore.exception.PreconditionFailedException;
 import onlinebookstore.mapper.ShoppingCartMapper;
-import onlinebookstore.model.Book;
-import onlinebookstore.model.CartItem;
 import onlinebookstore.model.ShoppingCart;
-import onlinebookstore.model.User;
+import onlinebookstore.repository.cartitem.CartItemBatchRepository;
 import onlinebookstore.repository.cartitem.CartItemRepository;
 import onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
-import onlinebookstore.repository.user.UserRepository;
 import onlinebookstore.service.book.BookService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -59,13 +70,11 @@ public class ShoppingCartServiceTest {
     @Mock
     private ShoppingCartMapper shoppingCartMapper;
     @Mock
-    private UserRepository userRepository;
-    @Mock
-    private CartItemMapper cartItemMapper;
-    @Mock
     private BookService bookService;
     @Mock
     private CartItemRepository cartItemRepository;
+    @Mock
+    private CartItemBatchRepository cartItemBatchRepository;
     @InjectMocks
     private ShoppingCartServiceImpl shoppingCartService;
 
@@ -97,18 +106,16 @@ public class ShoppingCartServiceTest {
     }
 
     @Test
-    @DisplayName("Method should register new shopping cart if none exists and return it as DTO.")
+    @DisplayName("Method should create a shopping cart if none exists and return it as DTO.")
     public void getShoppingCart_ValidUserIdAndShoppingCartNotExists_ReturnsShoppingCart() {
         // Given
         ShoppingCartDto expectedShoppingCartDto = createTestShoppingCartDto(ALTERNATIVE_USER_ID);
         ShoppingCart shoppingCart = createTestShoppingCart(expectedShoppingCartDto);
-        User user = shoppingCart.getUser();
         when(shoppingCartRepository.findByUserId(ALTERNATIVE_USER_ID))
-                .thenReturn(Optional.empty());
-        when(userRepository.findById(ALTERNATIVE_USER_ID)).thenReturn(Optional.of(user));
-        when(shoppingCartRepository.save(any(ShoppingCart.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-        when(shoppingCartMapper.toShoppingCartDto(any(ShoppingCart.class)))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(shoppingCart));
+        when(shoppingCartRepository.upsertByUserId(ALTERNATIVE_USER_ID)).thenReturn(1);
+        when(shoppingCartMapper.toShoppingCartDto(shoppingCart))
                 .thenReturn(expectedShoppingCartDto);
 
         // When
@@ -122,11 +129,36 @@ public class ShoppingCartServiceTest {
                 expectedShoppingCartDto,
                 SHOPPING_CART_DTO_IGNORING_FIELDS
         );
-        verify(shoppingCartRepository, times(1)).findByUserId(ALTERNATIVE_USER_ID);
-        verify(userRepository, times(1)).findById(ALTERNATIVE_USER_ID);
-        verify(shoppingCartRepository, times(1)).save(any(ShoppingCart.class));
-        verify(shoppingCartMapper, times(1)).toShoppingCartDto(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, userRepository, shoppingCartMapper);
+        verify(shoppingCartRepository, times(2)).findByUserId(ALTERNATIVE_USER_ID);
+        verify(shoppingCartRepository, times(1)).upsertByUserId(ALTERNATIVE_USER_ID);
+        verify(shoppingCartMapper, times(1)).toShoppingCartDto(shoppingCart);
+        verifyNoMoreInteractions(shoppingCartRepository, shoppingCartMapper);
+    }
+
+    @Test
+    @DisplayName("Verify getShoppingCart() returns a cart created by a concurrent request.")
+    public void getShoppingCart_ShoppingCartCreatedConcurrently_ReturnsShoppingCart() {
+        // Given
+        ShoppingCartDto expectedShoppingCartDto = createTestShoppingCartDto(ALTERNATIVE_USER_ID);
+        ShoppingCart shoppingCart = createTestShoppingCart(expectedShoppingCartDto);
+        when(shoppingCartRepository.findByUserId(ALTERNATIVE_USER_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(shoppingCart));
+        when(shoppingCartRepository.upsertByUserId(ALTERNATIVE_USER_ID)).thenReturn(0);
+        when(shoppingCartRepository.existsById(ALTERNATIVE_USER_ID)).thenReturn(true);
+        when(shoppingCartMapper.toShoppingCartDto(shoppingCart))
+                .thenReturn(expectedShoppingCartDto);
+
+        // When
+        ShoppingCartDto actualShoppingCartDto = shoppingCartService
+                .getShoppingCart(ALTERNATIVE_USER_ID);
+
+        // Then
+        assertThat(actualShoppingCartDto).isEqualTo(expectedShoppingCartDto);
+        verify(shoppingCartRepository, times(2)).findByUserId(ALTERNATIVE_USER_ID);
+        verify(shoppingCartRepository, times(1)).upsertByUserId(ALTERNATIVE_USER_ID);
+        verify(shoppingCartRepository, times(1)).existsById(ALTERNATIVE_USER_ID);
+        verifyNoMoreInteractions(shoppingCartRepository);
     }
 
     @Test
@@ -135,7 +167,8 @@ public class ShoppingCartServiceTest {
         // Given
         when(shoppingCartRepository.findByUserId(NOT_EXISTING_USER_ID))
                 .thenReturn(Optional.empty());
-        when(userRepository.findById(NOT_EXISTING_USER_ID)).thenReturn(Optional.empty());
+        when(shoppingCartRepository.upsertByUserId(NOT_EXISTING_USER_ID)).thenReturn(0);
+        when(shoppingCartRepository.existsById(NOT_EXISTING_USER_ID)).thenReturn(false);
 
         //When
         assertThatThrownBy(() -> shoppingCartService.getShoppingCart(NOT_EXISTING_USER_ID))
@@ -144,9 +177,9 @@ public class ShoppingCartServiceTest {
 
         //Then
         verify(shoppingCartRepository, times(1)).findByUserId(NOT_EXISTING_USER_ID);
-        verify(userRepository, times(1)).findById(NOT_EXISTING_USER_ID);
-        verify(shoppingCartRepository, never()).save(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, userRepository);
+        verify(shoppingCartRepository, times(1)).upsertByUserId(NOT_EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).existsById(NOT_EXISTING_USER_ID);
+        verifyNoMoreInteractions(shoppingCartRepository);
         verifyNoInteractions(shoppingCartMapper);
     }
 
@@ -155,25 +188,28 @@ public class ShoppingCartServiceTest {
     public void addCartItem_ValidUserIdAndCartItemRequestDto_ReturnsShoppingCart() {
         //Given
         ShoppingCartDto expectedShoppingCartDto = createTestShoppingCartDto(EXISTING_USER_ID);
-        ShoppingCart shoppingCart = createTestShoppingCart(expectedShoppingCartDto);
-        CartItem existingCartItem = getTestCartItem(EXISTING_CART_ITEM_ID, shoppingCart);
-        int quantityBeforeUpdate = existingCartItem.getQuantity();
-        CartItemRequestDto cartItemRequestDto = createTestCartItemRequestDto(existingCartItem);
-        int expectedQuantity = quantityBeforeUpdate + cartItemRequestDto.getQuantity();
+        CartItemDto existingCartItemDto = createTestCartItemDto(EXISTING_CART_ITEM_ID,
+                EXISTING_CART_ITEM_ID);
+        CartItemRequestDto cartItemRequestDto = createTestCartItemRequestDto(existingCartItemDto);
+        final Long bookId = cartItemRequestDto.getBookId();
+        int expectedQuantity = existingCartItemDto.getQuantity() + cartItemRequestDto.getQuantity();
         expectedShoppingCartDto.getCartItems().stream()
                 .filter(cartItemDto -> cartItemDto.getId().equals(EXISTING_CART_ITEM_ID))
                 .forEach(cartItemDto -> cartItemDto.setQuantity(expectedQuantity));
-
-        when(shoppingCartRepository.findByUserId(EXISTING_USER_ID))
-                .thenReturn(Optional.of(shoppingCart));
-        when(shoppingCartRepository.save(any(ShoppingCart.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-        when(shoppingCartMapper.toShoppingCartDto(any(ShoppingCart.class)))
+        Set<CartItemDto> cartItemDtos = Set.copyOf(expectedShoppingCartDto.getCartItems());
+
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID)).thenReturn(1);
+        when(cartItemRepository.findAllDtosByShoppingCartId(EXISTING_USER_ID))
+                .thenReturn(List.copyOf(cartItemDtos));
+        CartTotalsDto totals = createTestCartTotalsDto(cartItemDtos);
+        when(shoppingCartRepository.findTotalsById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(totals));
+        when(shoppingCartMapper.toShoppingCartDto(EXISTING_USER_ID, cartItemDtos, totals))
                 .thenReturn(expectedShoppingCartDto);
 
         //When
         ShoppingCartDto actualShoppingCartDto = shoppingCartService
-                .addCartItem(EXISTING_USER_ID, cartItemRequestDto);
+                .addCartItem(EXISTING_USER_ID, null, cartItemRequestDto);
 
         //Then
         Optional<CartItemDto> actualCartItemDtoOpt = actualShoppingCartDto.getCartItems()
@@ -187,92 +223,79 @@ public class ShoppingCartServiceTest {
                 expectedShoppingCartDto,
                 SHOPPING_CART_DTO_IGNORING_FIELDS
         );
-        verify(shoppingCartRepository, times(1)).findByUserId(EXISTING_USER_ID);
-        verify(shoppingCartRepository, times(1)).save(any(ShoppingCart.class));
-        verify(shoppingCartMapper, times(1)).toShoppingCartDto(any(ShoppingCart.class));
+        verify(shoppingCartRepository, times(1)).incrementVersion(EXISTING_USER_ID);
+        verify(bookService, times(1)).findById(bookId);
+        verify(cartItemRepository, times(1)).upsertQuantity(EXISTING_USER_ID, bookId,
+                cartItemRequestDto.getQuantity());
+        verify(cartItemRepository, times(1)).findAllDtosByShoppingCartId(EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).addToTotals(EXISTING_USER_ID, bookId,
+                cartItemRequestDto.getQuantity());
+        verify(shoppingCartRepository, times(1)).findTotalsById(EXISTING_USER_ID);
+        verify(shoppingCartMapper, times(1))
+                .toShoppingCartDto(EXISTING_USER_ID, cartItemDtos, totals);
         verifyNoMoreInteractions(shoppingCartRepository, shoppingCartMapper);
-        verifyNoInteractions(cartItemMapper, bookService);
+        verifyNoMoreInteractions(cartItemRepository, bookService);
     }
 
     @Test
-    @DisplayName("Verify addCartItem() method works when the cartItem doesn't exists.")
-    public void addCartItem_ValidUserIdAndCartItemNotExists_ReturnsShoppingCart() {
+    @DisplayName("Verify addCartItem() creates a shopping cart when the user has none.")
+    public void addCartItem_ShoppingCartNotExists_CreatesShoppingCart() {
         //Given
-        ShoppingCartDto expectedShoppingCartDto = createTestShoppingCartDto(EXISTING_USER_ID);
-        int expectedSize = expectedShoppingCartDto.getCartItems().size() + 1;
-        ShoppingCart shoppingCart = createTestShoppingCart(expectedShoppingCartDto);
-        CartItemDto expectedCartItemDto = createTestCartItemDto(
-                NEW_CART_ITEM_ID,
-                ALTERNATIVE_BOOK_ID
-        );
-        CartItem newCartItem = createTestCartItem(expectedCartItemDto, shoppingCart);
-        CartItemRequestDto cartItemRequestDto = createTestCartItemRequestDto(newCartItem);
-        Book book = newCartItem.getBook();
-
-        when(shoppingCartRepository.findByUserId(EXISTING_USER_ID))
-                .thenReturn(Optional.of(shoppingCart));
-        when(cartItemMapper.toCartItemEntity(cartItemRequestDto)).thenReturn(newCartItem);
-        when(bookService.findBookById(ALTERNATIVE_BOOK_ID)).thenReturn(book);
-        when(shoppingCartRepository.save(any(ShoppingCart.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-        expectedShoppingCartDto.getCartItems().add(expectedCartItemDto);
-        when(shoppingCartMapper.toShoppingCartDto(any(ShoppingCart.class)))
-                .thenReturn(expectedShoppingCartDto);
+        ShoppingCartDto expectedShoppingCartDto = createTestShoppingCartDto(ALTERNATIVE_USER_ID);
+        CartItemDto newCartItemDto = createTestCartItemDto(NEW_CART_ITEM_ID, ALTERNATIVE_BOOK_ID);
+        final CartItemRequestDto cartItemRequestDto = createTestCartItemRequestDto(newCartItemDto);
+        expectedShoppingCartDto.setCartItems(Set.of(newCartItemDto));
+
+        when(shoppingCartRepository.incrementVersion(ALTERNATIVE_USER_ID)).thenReturn(0);
+        when(shoppingCartRepository.upsertByUserId(ALTERNATIVE_USER_ID)).thenReturn(1);
+        when(cartItemRepository.findAllDtosByShoppingCartId(ALTERNATIVE_USER_ID))
+                .thenReturn(List.of(newCartItemDto));
+        CartTotalsDto totals = createTestCartTotalsDto(Set.of(newCartItemDto));
+        when(shoppingCartRepository.findTotalsById(ALTERNATIVE_USER_ID))
+                .thenReturn(Optional.of(totals));
+        when(shoppingCartMapper.toShoppingCartDto(ALTERNATIVE_USER_ID, Set.of(newCartItemDto),
+                totals)).thenReturn(expectedShoppingCartDto);
 
         //When
         ShoppingCartDto actualShoppingCartDto = shoppingCartService
-                .addCartItem(EXISTING_USER_ID, cartItemRequestDto);
+                .addCartItem(ALTERNATIVE_USER_ID, null, cartItemRequestDto);
 
         //Then
-        assertThat(actualShoppingCartDto.getCartItems()).hasSize(expectedSize);
-        assertThat(actualShoppingCartDto.getCartItems())
-                .anyMatch(item -> item.getBookId().equals(ALTERNATIVE_BOOK_ID));
-        assertObjectsAreEqualIgnoringFields(
-                actualShoppingCartDto,
-                expectedShoppingCartDto,
-                SHOPPING_CART_DTO_IGNORING_FIELDS
-        );
-        verify(shoppingCartRepository, times(1)).findByUserId(EXISTING_USER_ID);
-        verify(cartItemMapper, times(1)).toCartItemEntity(cartItemRequestDto);
-        verify(bookService, times(1)).findBookById(ALTERNATIVE_BOOK_ID);
-        verify(shoppingCartRepository, times(1)).save(any(ShoppingCart.class));
-        verify(shoppingCartMapper, times(1)).toShoppingCartDto(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, shoppingCartMapper);
-        verifyNoMoreInteractions(cartItemMapper, bookService);
+        assertThat(actualShoppingCartDto.getCartItems()).containsExactly(newCartItemDto);
+        verify(shoppingCartRepository, times(1)).incrementVersion(ALTERNATIVE_USER_ID);
+        verify(shoppingCartRepository, times(1)).upsertByUserId(ALTERNATIVE_USER_ID);
+        verify(shoppingCartRepository, times(1)).addToTotals(ALTERNATIVE_USER_ID,
+                ALTERNATIVE_BOOK_ID, cartItemRequestDto.getQuantity());
+        verify(shoppingCartRepository, times(1)).findTotalsById(ALTERNATIVE_USER_ID);
+        verify(bookService, times(1)).findById(ALTERNATIVE_BOOK_ID);
+        verify(cartItemRepository, times(1)).upsertQuantity(ALTERNATIVE_USER_ID,
+                ALTERNATIVE_BOOK_ID, cartItemRequestDto.getQuantity());
+        verifyNoMoreInteractions(shoppingCartRepository, bookService);
     }
 
     @Test
-    @DisplayName("Verify an exception is throw when the cart item and the book id doesn't exists.")
-    public void addCartItem_CartItemAndBookIdNotExists_ThrowsException() {
+    @DisplayName("Verify an exception is throw when the book id doesn't exists.")
+    public void addCartItem_BookIdNotExists_ThrowsException() {
         //Given
-        ShoppingCartDto expectedShoppingCartDto = createTestShoppingCartDto(EXISTING_USER_ID);
-        ShoppingCart shoppingCart = createTestShoppingCart(expectedShoppingCartDto);
-        CartItem newCartItem = getTestCartItem(NEW_CART_ITEM_ID, shoppingCart);
-        CartItemRequestDto cartItemRequestDto = createTestCartItemRequestDto(newCartItem);
-        Long notExistingBookId = cartItemRequestDto.getBookId();
-
-        when(shoppingCartRepository.findByUserId(EXISTING_USER_ID))
-                .thenReturn(Optional.of(shoppingCart));
-        when(cartItemMapper.toCartItemEntity(cartItemRequestDto)).thenReturn(newCartItem);
-        when(bookService.findBookById(notExistingBookId)).thenThrow(new EntityNotFoundException(
-                "Can`t find the book by id: " + notExistingBookId
+        CartItemRequestDto cartItemRequestDto = createTestCartItemRequestDto(
+                createTestCartItemDto(NEW_CART_ITEM_ID, NOT_EXISTING_BOOK_ID));
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID)).thenReturn(1);
+        when(bookService.findById(NOT_EXISTING_BOOK_ID)).thenThrow(new EntityNotFoundException(
+                "Can`t find the book by id: " + NOT_EXISTING_BOOK_ID
         ));
 
         //When
         assertThatThrownBy(() ->
-                shoppingCartService.addCartItem(EXISTING_USER_ID, cartItemRequestDto)
+                shoppingCartService.addCartItem(EXISTING_USER_ID, null, cartItemRequestDto)
         )
                 .isInstanceOf(EntityNotFoundException.class)
-                .hasMessage("Can`t find the book by id: " + notExistingBookId);
+                .hasMessage("Can`t find the book by id: " + NOT_EXISTING_BOOK_ID);
 
         //Then
-        assertThat(shoppingCart.getCartItems()).hasSize(EXPECTED_CART_ITEMS_SIZE);
-        verify(shoppingCartRepository, times(1)).findByUserId(EXISTING_USER_ID);
-        verify(cartItemMapper, times(1)).toCartItemEntity(cartItemRequestDto);
-        verify(bookService, times(1)).findBookById(ALTERNATIVE_BOOK_ID);
-        verify(shoppingCartRepository, never()).save(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, cartItemMapper, bookService);
-        verifyNoInteractions(shoppingCartMapper);
+        verify(shoppingCartRepository, times(1)).incrementVersion(EXISTING_USER_ID);
+        verify(bookService, times(1)).findById(NOT_EXISTING_BOOK_ID);
+        verifyNoMoreInteractions(shoppingCartRepository, bookService);
+        verifyNoInteractions(cartItemRepository, shoppingCartMapper);
     }
 
     @Test
@@ -280,202 +303,323 @@ public class ShoppingCartServiceTest {
     public void addCartItem_UserIdNotExists_ThrowsException() {
         //Given
         CartItemRequestDto cartItemRequestDto = new CartItemRequestDto();
-        when(shoppingCartRepository.findByUserId(NOT_EXISTING_USER_ID))
-                .thenReturn(Optional.empty());
-        when(userRepository.findById(NOT_EXISTING_USER_ID)).thenThrow(new EntityNotFoundException(
-                "User with id " + NOT_EXISTING_USER_ID + " not found"
-        ));
+        when(shoppingCartRepository.incrementVersion(NOT_EXISTING_USER_ID)).thenReturn(0);
+        when(shoppingCartRepository.upsertByUserId(NOT_EXISTING_USER_ID)).thenReturn(0);
 
         //When
         assertThatThrownBy(() ->
-                shoppingCartService.addCartItem(NOT_EXISTING_USER_ID, cartItemRequestDto)
+                shoppingCartService.addCartItem(NOT_EXISTING_USER_ID, null, cartItemRequestDto)
         )
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("User with id " + NOT_EXISTING_USER_ID + " not found");
 
         //Then
-        verify(shoppingCartRepository, times(1)).findByUserId(NOT_EXISTING_USER_ID);
-        verify(userRepository, times(1)).findById(NOT_EXISTING_USER_ID);
-        verify(shoppingCartRepository, never()).save(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, userRepository);
-        verifyNoInteractions(cartItemMapper, bookService);
+        verify(shoppingCartRepository, times(1)).incrementVersion(NOT_EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).existsById(NOT_EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).upsertByUserId(NOT_EXISTING_USER_ID);
+        verifyNoMoreInteractions(shoppingCartRepository);
+        verifyNoInteractions(cartItemRepository, bookService);
     }
 
     @Test
-    @DisplayName("Verify updateCartItem() method works.")
-    public void updateCartItem_ValidUserIdAndCartItemId_ReturnsShoppingCart() {
+    @DisplayName("Verify updateCartItem() returns the changed cart item and the cart totals.")
+    public void updateCartItem_ValidUserIdAndCartItemId_ReturnsCartItemChange() {
         //Given
-        ShoppingCartDto expectedShoppingCartDto = createTestShoppingCartDto(EXISTING_USER_ID);
-        ShoppingCart shoppingCart = createTestShoppingCart(expectedShoppingCartDto);
-        CartItem cartItem = getTestCartItem(EXISTING_CART_ITEM_ID, shoppingCart);
-
+        CartItemDto expectedCartItemDto = createTestCartItemDto(EXISTING_CART_ITEM_ID,
+                EXISTING_CART_ITEM_ID);
+        expectedCartItemDto.setQuantity(UPDATED_QUANTITY);
         UpdateCartItemDto updateCartItemDto = createTestUpdateCartItemDto(UPDATED_QUANTITY);
-        expectedShoppingCartDto.getCartItems().stream()
-                .filter(item -> item.getId().equals(EXISTING_CART_ITEM_ID))
-                .forEach(item -> item.setQuantity(UPDATED_QUANTITY));
+        CartTotalsDto expectedTotals = createTestCartTotalsDto();
 
-        when(shoppingCartRepository.findByUserId(EXISTING_USER_ID))
-                .thenReturn(Optional.of(shoppingCart));
-        when(cartItemRepository.findByIdAndShoppingCartId(
-                EXISTING_CART_ITEM_ID, shoppingCart.getId()))
-                .thenReturn(Optional.of(cartItem));
-        when(shoppingCartRepository.save(any(ShoppingCart.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-        when(shoppingCartMapper.toShoppingCartDto(any(ShoppingCart.class)))
-                .thenReturn(expectedShoppingCartDto);
+        when(cartItemRepository.updateQuantityByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, EXISTING_USER_ID, UPDATED_QUANTITY)).thenReturn(1);
+        when(cartItemRepository.findDtoByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, EXISTING_USER_ID))
+                .thenReturn(Optional.of(expectedCartItemDto));
+        when(shoppingCartRepository.findTotalsById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(expectedTotals));
 
         //When
-        ShoppingCartDto actualShoppingCartDto = shoppingCartService
-                .updateCartItem(EXISTING_USER_ID, EXISTING_CART_ITEM_ID, updateCartItemDto);
+        CartItemChangeDto actualCartItemChangeDto = shoppingCartService
+                .updateCartItem(EXISTING_USER_ID, EXISTING_CART_ITEM_ID, null, updateCartItemDto);
 
         //Then
-        assertThat(actualShoppingCartDto.getCartItems().stream()
-                .filter(item -> item.getId().equals(EXISTING_CART_ITEM_ID))
-                .allMatch(item -> item.getQuantity() == updateCartItemDto.getQuantity()))
-                .isTrue();
-        assertObjectsAreEqualIgnoringFields(
-                expectedShoppingCartDto,
-                actualShoppingCartDto,
-                SHOPPING_CART_DTO_IGNORING_FIELDS);
-        verify(shoppingCartRepository, times(1)).findByUserId(EXISTING_USER_ID);
+        assertThat(actualCartItemChangeDto.cartItem()).isEqualTo(expectedCartItemDto);
+        assertThat(actualCartItemChangeDto.totals()).isEqualTo(expectedTotals);
+        verify(cartItemRepository, times(1)).updateQuantityByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, EXISTING_USER_ID, UPDATED_QUANTITY);
         verify(cartItemRepository, times(1))
-                .findByIdAndShoppingCartId(EXISTING_CART_ITEM_ID, shoppingCart.getId());
-        verify(shoppingCartRepository, times(1)).save(any(ShoppingCart.class));
-        verify(shoppingCartMapper, times(1)).toShoppingCartDto(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, cartItemRepository, shoppingCartMapper);
+                .findDtoByIdAndShoppingCartId(EXISTING_CART_ITEM_ID, EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).incrementVersion(EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).changeTotals(EXISTING_USER_ID,
+                EXISTING_CART_ITEM_ID, UPDATED_QUANTITY);
+        verify(shoppingCartRepository, times(1)).findTotalsById(EXISTING_USER_ID);
+        verifyNoMoreInteractions(cartItemRepository, shoppingCartRepository);
+        verifyNoInteractions(shoppingCartMapper);
     }
 
     @Test
     @DisplayName("Verify that an exception is throw when a cart item id doesn't exists.")
     public void updateCartItem_ValidUserIdAndCartItemIdNoExists_ThrowsException() {
         //Given
-        ShoppingCart shoppingCart = new ShoppingCart();
-        shoppingCart.setId(EXISTING_SHOPPING_CART_ID);
-        UpdateCartItemDto updateCartItemDto = new UpdateCartItemDto();
-
-        when(shoppingCartRepository.findByUserId(EXISTING_USER_ID))
-                .thenReturn(Optional.of(shoppingCart));
-        when(cartItemRepository
-                .findByIdAndShoppingCartId(NOT_EXISTING_CART_ITEM_ID, shoppingCart.getId()))
-                .thenThrow(new EntityNotFoundException("Can't find cart with id: "
-                        + NOT_EXISTING_CART_ITEM_ID));
+        UpdateCartItemDto updateCartItemDto = createTestUpdateCartItemDto(UPDATED_QUANTITY);
+        when(cartItemRepository.updateQuantityByIdAndShoppingCartId(
+                NOT_EXISTING_CART_ITEM_ID, EXISTING_USER_ID, UPDATED_QUANTITY)).thenReturn(0);
 
         //When
-        assertThatThrownBy(() -> shoppingCartService
-                .updateCartItem(EXISTING_USER_ID, NOT_EXISTING_CART_ITEM_ID, updateCartItemDto))
+        assertThatThrownBy(() -> shoppingCartService.updateCartItem(
+                EXISTING_USER_ID, NOT_EXISTING_CART_ITEM_ID, null, updateCartItemDto))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Can't find cart with id: " + NOT_EXISTING_CART_ITEM_ID);
 
         //Then
-        verify(shoppingCartRepository, times(1)).findByUserId(EXISTING_USER_ID);
-        verify(cartItemRepository, times(1))
-                .findByIdAndShoppingCartId(NOT_EXISTING_CART_ITEM_ID, shoppingCart.getId());
-        verify(shoppingCartRepository, never()).save(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, cartItemRepository);
+        verify(cartItemRepository, times(1)).updateQuantityByIdAndShoppingCartId(
+                NOT_EXISTING_CART_ITEM_ID, EXISTING_USER_ID, UPDATED_QUANTITY);
+        verify(shoppingCartRepository, times(1)).incrementVersion(EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).changeTotals(EXISTING_USER_ID,
+                NOT_EXISTING_CART_ITEM_ID, UPDATED_QUANTITY);
+        verifyNoMoreInteractions(cartItemRepository, shoppingCartRepository);
         verifyNoInteractions(shoppingCartMapper);
     }
 
     @Test
-    @DisplayName("Verify that an exception is throw when a user id doesn't exists.")
-    public void updateCartItem_InvalidUserId_ThrowsException() {
+    @DisplayName("Verify updateCartItem() changes the cart item when the cart version matches.")
+    public void updateCartItem_MatchingVersion_ReturnsCartItemChange() {
         //Given
-        UpdateCartItemDto updateCartItemDto = new UpdateCartItemDto();
-        when(shoppingCartRepository.findByUserId(NOT_EXISTING_USER_ID))
-                .thenReturn(Optional.empty());
-        when(userRepository.findById(NOT_EXISTING_USER_ID)).thenThrow(new EntityNotFoundException(
-                "User with id " + NOT_EXISTING_USER_ID + " not found"));
+        CartItemDto expectedCartItemDto = createTestCartItemDto(EXISTING_CART_ITEM_ID,
+                EXISTING_CART_ITEM_ID);
+        UpdateCartItemDto updateCartItemDto = createTestUpdateCartItemDto(UPDATED_QUANTITY);
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION))
+                .thenReturn(1);
+        when(cartItemRepository.updateQuantityByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, EXISTING_USER_ID, UPDATED_QUANTITY)).thenReturn(1);
+        when(cartItemRepository.findDtoByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, EXISTING_USER_ID))
+                .thenReturn(Optional.of(expectedCartItemDto));
+        when(shoppingCartRepository.findTotalsById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(createTestCartTotalsDto()));
+
+        //When
+        CartItemChangeDto actualCartItemChangeDto = shoppingCartService.updateCartItem(
+                EXISTING_USER_ID, EXISTING_CART_ITEM_ID, EXISTING_CART_VERSION,
+                updateCartItemDto);
+
+        //Then
+        assertThat(actualCartItemChangeDto.cartItem()).isEqualTo(expectedCartItemDto);
+        verify(shoppingCartRepository, times(1))
+                .incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION);
+        verify(shoppingCartRepository, never()).incrementVersion(EXISTING_USER_ID);
+    }
+
+    @Test
+    @DisplayName("Verify updateCartItem() rejects a change made against a stale cart version.")
+    public void updateCartItem_StaleVersion_ThrowsException() {
+        //Given
+        UpdateCartItemDto updateCartItemDto = createTestUpdateCartItemDto(UPDATED_QUANTITY);
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION))
+                .thenReturn(0);
 
         //When
         assertThatThrownBy(() -> shoppingCartService.updateCartItem(
-                NOT_EXISTING_USER_ID, EXISTING_CART_ITEM_ID, updateCartItemDto))
-                .isInstanceOf(EntityNotFoundException.class)
-                .hasMessage("User with id " + NOT_EXISTING_USER_ID + " not found");
+                EXISTING_USER_ID, EXISTING_CART_ITEM_ID, EXISTING_CART_VERSION,
+                updateCartItemDto))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage("Shopping cart of user " + EXISTING_USER_ID
+                        + " is no longer at version " + EXISTING_CART_VERSION);
 
         //Then
-        verify(shoppingCartRepository, times(1)).findByUserId(NOT_EXISTING_USER_ID);
-        verify(userRepository, times(1)).findById(NOT_EXISTING_USER_ID);
-        verify(shoppingCartRepository, never()).save(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, userRepository);
-        verifyNoInteractions(shoppingCartMapper, cartItemRepository);
+        verify(shoppingCartRepository, times(1))
+                .incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION);
+        verifyNoMoreInteractions(shoppingCartRepository);
+        verifyNoInteractions(cartItemRepository, shoppingCartMapper);
+    }
+
+    @Test
+    @DisplayName("Verify addCartItem() rejects a change made against a stale cart version.")
+    public void addCartItem_StaleVersion_ThrowsException() {
+        //Given
+        CartItemRequestDto cartItemRequestDto = createTestCartItemRequestDto(
+                createTestCartItemDto(NEW_CART_ITEM_ID, ALTERNATIVE_BOOK_ID));
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION))
+                .thenReturn(0);
+
+        //When
+        assertThatThrownBy(() -> shoppingCartService.addCartItem(
+                EXISTING_USER_ID, EXISTING_CART_VERSION, cartItemRequestDto))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        //Then
+        verify(shoppingCartRepository, times(1))
+                .incrementVersion(EXISTING_USER_ID, EXISTING_CART_VERSION);
+        verifyNoMoreInteractions(shoppingCartRepository);
+        verifyNoInteractions(cartItemRepository, bookService, shoppingCartMapper);
     }
 
     @Test
     @DisplayName("Verify deleteById() method works.")
-    public void deleteById_ValidUserIdAndCartItemId_Success() {
+    public void deleteById_ValidUserIdAndCartItemId_ReturnsCartTotals() {
         //Given
-        ShoppingCart shoppingCart = createTestShoppingCart(EXISTING_USER_ID);
-        final int expectedSize = shoppingCart.getCartItems().size() - 1;
-        final CartItem cartItemForDelete = getTestCartItem(EXISTING_CART_ITEM_ID, shoppingCart);
-        when(shoppingCartRepository.findByUserId(EXISTING_USER_ID))
-                .thenReturn(Optional.of(shoppingCart));
-        when(cartItemRepository
-                .findByIdAndShoppingCartId(EXISTING_CART_ITEM_ID, shoppingCart.getId())
-        )
-                .thenReturn(Optional.of(cartItemForDelete));
+        CartTotalsDto expectedTotals = createTestCartTotalsDto();
+        when(cartItemRepository.deleteByIdAndShoppingCartId(
+                EXISTING_CART_ITEM_ID, EXISTING_USER_ID)).thenReturn(1);
+        when(shoppingCartRepository.findTotalsById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(expectedTotals));
 
         //When
-        shoppingCartService.deleteById(EXISTING_USER_ID, EXISTING_CART_ITEM_ID);
+        CartTotalsDto actualTotals = shoppingCartService
+                .deleteById(EXISTING_USER_ID, EXISTING_CART_ITEM_ID, null);
 
         //Then
-        assertThat(shoppingCart.getCartItems()).hasSize(expectedSize);
-        assertThat(shoppingCart.getCartItems()).doesNotContain(cartItemForDelete);
-        verify(shoppingCartRepository, times(1)).findByUserId(EXISTING_USER_ID);
+        assertThat(actualTotals).isEqualTo(expectedTotals);
         verify(cartItemRepository, times(1))
-                .findByIdAndShoppingCartId(EXISTING_CART_ITEM_ID, shoppingCart.getId());
-        verify(shoppingCartRepository, times(1)).save(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, cartItemRepository);
+                .deleteByIdAndShoppingCartId(EXISTING_CART_ITEM_ID, EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).incrementVersion(EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).changeTotals(EXISTING_USER_ID,
+                EXISTING_CART_ITEM_ID, 0);
+        verify(shoppingCartRepository, times(1)).findTotalsById(EXISTING_USER_ID);
+        verifyNoMoreInteractions(cartItemRepository, shoppingCartRepository);
+        verifyNoInteractions(shoppingCartMapper);
     }
 
     @Test
     @DisplayName("Verify that an exception is throw when a cart item id doesn't exists.")
     public void deleteById_ValidUserIdAndCartItemIdNoExists_ThrowsException() {
         //Given
-        ShoppingCart shoppingCart = createTestShoppingCart(EXISTING_USER_ID);
-
-        when(shoppingCartRepository.findByUserId(EXISTING_USER_ID))
-                .thenReturn(Optional.of(shoppingCart));
-        when(cartItemRepository
-                .findByIdAndShoppingCartId(NOT_EXISTING_CART_ITEM_ID, shoppingCart.getId()))
-                .thenThrow(new EntityNotFoundException("Can't find cart with id: "
-                        + NOT_EXISTING_CART_ITEM_ID));
+        when(cartItemRepository.deleteByIdAndShoppingCartId(
+                NOT_EXISTING_CART_ITEM_ID, EXISTING_USER_ID)).thenReturn(0);
 
         //When
         assertThatThrownBy(() -> shoppingCartService
-                .deleteById(EXISTING_USER_ID, NOT_EXISTING_CART_ITEM_ID))
+                .deleteById(EXISTING_USER_ID, NOT_EXISTING_CART_ITEM_ID, null))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Can't find cart with id: " + NOT_EXISTING_CART_ITEM_ID);
 
         //Then
-        assertThat(shoppingCart.getCartItems()).hasSize(EXPECTED_CART_ITEMS_SIZE);
-        verify(shoppingCartRepository, times(1)).findByUserId(EXISTING_USER_ID);
         verify(cartItemRepository, times(1))
-                .findByIdAndShoppingCartId(NOT_EXISTING_CART_ITEM_ID, shoppingCart.getId());
-        verify(shoppingCartRepository, never()).save(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, cartItemRepository);
+                .deleteByIdAndShoppingCartId(NOT_EXISTING_CART_ITEM_ID, EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).incrementVersion(EXISTING_USER_ID);
+        verify(shoppingCartRepository, times(1)).changeTotals(EXISTING_USER_ID,
+                NOT_EXISTING_CART_ITEM_ID, 0);
+        verifyNoMoreInteractions(cartItemRepository, shoppingCartRepository);
         verifyNoInteractions(shoppingCartMapper);
     }
 
     @Test
-    @DisplayName("Verify that an exception is throw when a user id doesn't exists.")
-    public void deleteById_InvalidUserId_ThrowsException() {
-        //Given
-        when(shoppingCartRepository.findByUserId(NOT_EXISTING_USER_ID))
+    @DisplayName("Verify applyCartItemOperations() batches consecutive operations of one type.")
+    public void applyCartItemOperations_MixedOperations_ReturnsResultPerOperation() {
+        // Given
+        List<CartItemOperationDto> operations = List.of(
+                createTestCartItemOperationDto(ADD, ALTERNATIVE_BOOK_ID, 1),
+                createTestCartItemOperationDto(ADD, EXISTING_BOOK_ID, 1),
+                createTestCartItemOperationDto(UPDATE, EXISTING_CART_ITEM_ID, UPDATED_QUANTITY),
+                createTestCartItemOperationDto(REMOVE, NOT_EXISTING_CART_ITEM_ID, null)
+        );
+        CartTotalsDto expectedTotals = createTestCartTotalsDto();
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID)).thenReturn(1);
+        when(bookService.findExistingIds(Set.of(ALTERNATIVE_BOOK_ID, EXISTING_BOOK_ID)))
+                .thenReturn(Set.of(ALTERNATIVE_BOOK_ID, EXISTING_BOOK_ID));
+        when(cartItemBatchRepository.upsertQuantities(EXISTING_USER_ID, operations.subList(0, 2)))
+                .thenReturn(new int[] {1, 2});
+        when(cartItemBatchRepository.updateQuantities(EXISTING_USER_ID, operations.subList(2, 3)))
+                .thenReturn(new int[] {1});
+        when(cartItemBatchRepository.deleteAll(EXISTING_USER_ID, operations.subList(3, 4)))
+                .thenReturn(new int[] {0});
+        when(shoppingCartRepository.findTotalsById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(expectedTotals));
+
+        // When
+        CartItemBatchResultDto actualResult = shoppingCartService.applyCartItemOperations(
+                EXISTING_USER_ID, null, new CartItemBatchRequestDto(operations));
+
+        // Then
+        assertThat(actualResult.results())
+                .extracting(CartItemOperationResultDto::status)
+                .containsExactly(Status.APPLIED, Status.APPLIED, Status.APPLIED,
+                        Status.NOT_FOUND);
+        assertThat(actualResult.results().get(3).message())
+                .isEqualTo("Can't find cart item with id: " + NOT_EXISTING_CART_ITEM_ID);
+        assertThat(actualResult.totals()).isEqualTo(expectedTotals);
+        verifyNoInteractions(cartItemRepository);
+        verify(cartItemBatchRepository, times(1))
+                .upsertQuantities(EXISTING_USER_ID, operations.subList(0, 2));
+        verify(cartItemBatchRepository, times(1))
+                .updateQuantities(EXISTING_USER_ID, operations.subList(2, 3));
+        verify(cartItemBatchRepository, times(1))
+                .deleteAll(EXISTING_USER_ID, operations.subList(3, 4));
+        verifyNoMoreInteractions(cartItemBatchRepository, bookService);
+    }
+
+    @Test
+    @DisplayName("Verify applyCartItemOperations() splits a batch when a cart item repeats.")
+    public void applyCartItemOperations_RepeatedCartItem_SplitsBatch() {
+        // Given
+        List<CartItemOperationDto> operations = List.of(
+                createTestCartItemOperationDto(UPDATE, EXISTING_CART_ITEM_ID, UPDATED_QUANTITY),
+                createTestCartItemOperationDto(UPDATE, EXISTING_CART_ITEM_ID, 1)
+        );
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID)).thenReturn(1);
+        when(cartItemBatchRepository.updateQuantities(EXISTING_USER_ID, operations.subList(0, 1)))
+                .thenReturn(new int[] {1});
+        when(cartItemBatchRepository.updateQuantities(EXISTING_USER_ID, operations.subList(1, 2)))
+                .thenReturn(new int[] {1});
+        when(shoppingCartRepository.findTotalsById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(createTestCartTotalsDto()));
+
+        // When
+        CartItemBatchResultDto actualResult = shoppingCartService.applyCartItemOperations(
+                EXISTING_USER_ID, null, new CartItemBatchRequestDto(operations));
+
+        // Then
+        assertThat(actualResult.results())
+                .extracting(CartItemOperationResultDto::status)
+                .containsExactly(Status.APPLIED, Status.APPLIED);
+        verify(cartItemBatchRepository, times(1))
+                .updateQuantities(EXISTING_USER_ID, operations.subList(0, 1));
+        verify(cartItemBatchRepository, times(1))
+                .updateQuantities(EXISTING_USER_ID, operations.subList(1, 2));
+        verifyNoMoreInteractions(cartItemBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Verify getCartTotals() returns zero totals when the user has no cart.")
+    public void getCartTotals_ShoppingCartNotExists_ReturnsZeroTotals() {
+        // Given
+        when(shoppingCartRepository.findTotalsById(ALTERNATIVE_USER_ID))
                 .thenReturn(Optional.empty());
-        when(userRepository.findById(NOT_EXISTING_USER_ID)).thenThrow(new EntityNotFoundException(
-                "User with id " + NOT_EXISTING_USER_ID + " not found"));
 
-        //When
-        assertThatThrownBy(() -> shoppingCartService.deleteById(
-                NOT_EXISTING_USER_ID, EXISTING_CART_ITEM_ID
-        ))
-                .isInstanceOf(EntityNotFoundException.class)
-                .hasMessage("User with id " + NOT_EXISTING_USER_ID + " not found");
+        // When
+        CartTotalsDto actualTotals = shoppingCartService.getCartTotals(ALTERNATIVE_USER_ID);
 
-        //Then
-        verify(shoppingCartRepository, times(1)).findByUserId(NOT_EXISTING_USER_ID);
-        verify(userRepository, times(1)).findById(NOT_EXISTING_USER_ID);
-        verify(shoppingCartRepository, never()).save(any(ShoppingCart.class));
-        verifyNoMoreInteractions(shoppingCartRepository, userRepository);
-        verifyNoInteractions(shoppingCartMapper, cartItemRepository);
+        // Then
+        assertCartTotalsEqual(actualTotals, new CartTotalsDto(0L, BigDecimal.ZERO, 0L));
+        verifyNoInteractions(cartItemRepository);
+    }
+
+    @Test
+    @DisplayName("Verify applyCartItemOperations() skips unknown books and invalid operations.")
+    public void applyCartItemOperations_UnknownBookAndInvalidOperation_SkipsOperations() {
+        // Given
+        List<CartItemOperationDto> operations = List.of(
+                createTestCartItemOperationDto(ADD, NOT_EXISTING_BOOK_ID, 1),
+                createTestCartItemOperationDto(UPDATE, EXISTING_CART_ITEM_ID, null)
+        );
+        when(shoppingCartRepository.incrementVersion(EXISTING_USER_ID)).thenReturn(1);
+        when(bookService.findExistingIds(Set.of(NOT_EXISTING_BOOK_ID))).thenReturn(Set.of());
+        when(shoppingCartRepository.findTotalsById(EXISTING_USER_ID))
+                .thenReturn(Optional.of(createTestCartTotalsDto()));
+
+        // When
+        CartItemBatchResultDto actualResult = shoppingCartService.applyCartItemOperations(
+                EXISTING_USER_ID, null, new CartItemBatchRequestDto(operations));
+
+        // Then
+        assertThat(actualResult.results())
+                .extracting(CartItemOperationResultDto::status)
+                .containsExactly(Status.NOT_FOUND, Status.INVALID);
+        assertThat(actualResult.results())
+                .extracting(CartItemOperationResultDto::message)
+                .containsExactly("Can`t find the book by id: " + NOT_EXISTING_BOOK_ID,
+                        "Quantity is required to update a cart item.");
+        verifyNoInteractions(cartItemBatchRepository);
     }
 }
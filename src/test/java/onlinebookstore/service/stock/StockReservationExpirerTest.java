@@ -0,0 +1,66 @@
+package onlinebookstore.service.stock;
+
+import static onlinebookstore.util.TestDataUtil.EXISTING_ORDER_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import onlinebookstore.repository.stock.StockReservationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class StockReservationExpirerTest {
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+    @Mock
+    private StockService stockService;
+    @InjectMocks
+    private StockReservationExpirer stockReservationExpirer;
+
+    @Test
+    @DisplayName("Verify releaseExpired() releases every expired reservation batch by batch.")
+    public void releaseExpired_FullBatch_ReleasesNextBatch() {
+        // Given
+        List<Long> firstBatch = LongStream.rangeClosed(1, BATCH_SIZE).boxed().toList();
+        when(stockReservationRepository.findExpiredOrderIds(any(LocalDateTime.class),
+                anyInt())).thenReturn(firstBatch, List.of(EXISTING_ORDER_ID));
+
+        // When
+        stockReservationExpirer.releaseExpired();
+
+        // Then
+        verify(stockReservationRepository, times(2))
+                .findExpiredOrderIds(any(LocalDateTime.class), anyInt());
+        firstBatch.forEach(orderId -> verify(stockService, times(1))
+                .releaseReservation(orderId));
+        verify(stockService, times(1)).releaseReservation(EXISTING_ORDER_ID);
+    }
+
+    @Test
+    @DisplayName("Verify releaseExpired() does nothing when no reservation has expired.")
+    public void releaseExpired_NoExpiredReservations_ReleasesNothing() {
+        // Given
+        when(stockReservationRepository.findExpiredOrderIds(any(LocalDateTime.class),
+                anyInt())).thenReturn(List.of());
+
+        // When
+        stockReservationExpirer.releaseExpired();
+
+        // Then
+        verify(stockService, never()).releaseReservation(anyLong());
+    }
+}
@@ -0,0 +1,183 @@
+package onlinebookstore.service.stock;
+
+import static onlinebookstore.util.TestDataUtil.ALTERNATIVE_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_BOOK_ID;
+import static onlinebookstore.util.TestDataUtil.EXISTING_ORDER_ID;
+import static onlinebookstore.util.TestDataUtil.NOT_EXISTING_BOOK_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import onlinebookstore.dto.stock.StockDto;
+import onlinebookstore.dto.stock.StockLineDto;
+import onlinebookstore.dto.stock.UpdateStockDto;
+import onlinebookstore.exception.EntityNotFoundException;
+import onlinebookstore.exception.OrderProcessingException;
+import onlinebookstore.repository.book.BookRepository;
+import onlinebookstore.repository.order.OrderStatusRepository;
+import onlinebookstore.repository.stock.BookStockRepository;
+import onlinebookstore.repository.stock.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class StockServiceTest {
+    private static final int QUANTITY = 5;
+    private static final List<StockLineDto> ORDER_LINES = List.of(
+            new StockLineDto(EXISTING_BOOK_ID, QUANTITY),
+            new StockLineDto(ALTERNATIVE_BOOK_ID, QUANTITY));
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookStockRepository bookStockRepository;
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+    @Mock
+    private OrderStatusRepository orderStatusRepository;
+    private StockServiceImpl stockService;
+
+    @BeforeEach
+    void setUp() {
+        stockService = new StockServiceImpl(bookRepository, bookStockRepository,
+                stockReservationRepository, orderStatusRepository, Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Verify reserve() decrements the stock of every order line.")
+    public void reserve_EnoughStock_DecrementsStockAndSavesReservation() {
+        // Given
+        when(bookStockRepository.findOrderLines(EXISTING_ORDER_ID)).thenReturn(ORDER_LINES);
+        when(bookStockRepository.decrement(anyLong(), eq(QUANTITY))).thenReturn(true);
+
+        // When
+        stockService.reserve(EXISTING_ORDER_ID);
+
+        // Then
+        verify(bookStockRepository, times(1)).decrement(EXISTING_BOOK_ID, QUANTITY);
+        verify(bookStockRepository, times(1)).decrement(ALTERNATIVE_BOOK_ID, QUANTITY);
+        verify(stockReservationRepository, times(1))
+                .insert(eq(EXISTING_ORDER_ID), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Verify reserve() throws an exception when a book is out of stock.")
+    public void reserve_NotEnoughStock_ThrowsException() {
+        // Given
+        when(bookStockRepository.findOrderLines(EXISTING_ORDER_ID)).thenReturn(ORDER_LINES);
+        when(bookStockRepository.decrement(EXISTING_BOOK_ID, QUANTITY)).thenReturn(true);
+        when(bookStockRepository.decrement(ALTERNATIVE_BOOK_ID, QUANTITY)).thenReturn(false);
+        when(bookStockRepository.findQuantity(ALTERNATIVE_BOOK_ID)).thenReturn(Optional.of(0));
+
+        // When & Then
+        assertThatThrownBy(() -> stockService.reserve(EXISTING_ORDER_ID))
+                .isInstanceOf(OrderProcessingException.class)
+                .hasMessage("Not enough stock for book with id: " + ALTERNATIVE_BOOK_ID);
+        verify(stockReservationRepository, never()).insert(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Verify reserve() skips books whose stock isn't tracked.")
+    public void reserve_UntrackedBook_SavesReservation() {
+        // Given
+        when(bookStockRepository.findOrderLines(EXISTING_ORDER_ID)).thenReturn(ORDER_LINES);
+        when(bookStockRepository.decrement(EXISTING_BOOK_ID, QUANTITY)).thenReturn(true);
+        when(bookStockRepository.decrement(ALTERNATIVE_BOOK_ID, QUANTITY)).thenReturn(false);
+        when(bookStockRepository.findQuantity(ALTERNATIVE_BOOK_ID)).thenReturn(Optional.empty());
+
+        // When
+        stockService.reserve(EXISTING_ORDER_ID);
+
+        // Then
+        verify(stockReservationRepository, times(1))
+                .insert(eq(EXISTING_ORDER_ID), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Verify getStock() returns no quantity for a book whose stock isn't tracked.")
+    public void getStock_UntrackedBook_ReturnsStockDtoWithoutQuantity() {
+        // Given
+        when(bookRepository.existsById(EXISTING_BOOK_ID)).thenReturn(true);
+        when(bookStockRepository.findQuantity(EXISTING_BOOK_ID)).thenReturn(Optional.empty());
+
+        // When
+        StockDto actual = stockService.getStock(EXISTING_BOOK_ID);
+
+        // Then
+        assertThat(actual).isEqualTo(new StockDto(EXISTING_BOOK_ID, null));
+    }
+
+    @Test
+    @DisplayName("Verify releaseReservation() returns the stock of an abandoned order.")
+    public void releaseReservation_PendingOrder_ReturnsStock() {
+        // Given
+        when(orderStatusRepository.expirePending(EXISTING_ORDER_ID)).thenReturn(true);
+        when(bookStockRepository.findOrderLines(EXISTING_ORDER_ID)).thenReturn(ORDER_LINES);
+
+        // When
+        stockService.releaseReservation(EXISTING_ORDER_ID);
+
+        // Then
+        verify(bookStockRepository, times(1)).increment(EXISTING_BOOK_ID, QUANTITY);
+        verify(bookStockRepository, times(1)).increment(ALTERNATIVE_BOOK_ID, QUANTITY);
+        verify(stockReservationRepository, times(1)).delete(EXISTING_ORDER_ID);
+    }
+
+    @Test
+    @DisplayName("Verify releaseReservation() keeps the stock of an order that moved on.")
+    public void releaseReservation_PaidOrder_KeepsStock() {
+        // Given
+        when(orderStatusRepository.expirePending(EXISTING_ORDER_ID)).thenReturn(false);
+
+        // When
+        stockService.releaseReservation(EXISTING_ORDER_ID);
+
+        // Then
+        verify(bookStockRepository, never()).increment(anyLong(), anyInt());
+        verify(stockReservationRepository, times(1)).delete(EXISTING_ORDER_ID);
+    }
+
+    @Test
+    @DisplayName("Verify updateStock() sets the quantity of an existing book.")
+    public void updateStock_ExistingBook_ReturnsStockDto() {
+        // Given
+        when(bookRepository.existsById(EXISTING_BOOK_ID)).thenReturn(true);
+
+        // When
+        StockDto actual = stockService.updateStock(EXISTING_BOOK_ID,
+                new UpdateStockDto(QUANTITY));
+
+        // Then
+        assertThat(actual).isEqualTo(new StockDto(EXISTING_BOOK_ID, QUANTITY));
+        verify(bookStockRepository, times(1)).upsertQuantity(EXISTING_BOOK_ID, QUANTITY);
+    }
+
+    @Test
+    @DisplayName("Verify updateStock() throws an exception for a missing book.")
+    public void updateStock_NotExistingBook_ThrowsException() {
+        // Given
+        when(bookRepository.existsById(NOT_EXISTING_BOOK_ID)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> stockService.updateStock(NOT_EXISTING_BOOK_ID,
+                new UpdateStockDto(QUANTITY)))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Can't find book with id: " + NOT_EXISTING_BOOK_ID);
+        verify(bookStockRepository, never()).upsertQuantity(anyLong(), anyInt());
+    }
+}
@@ -27,7 +27,6 @@ import onlinebookstore.mapper.UserMapper;
 import onlinebookstore.model.Role;
 import onlinebookstore.model.User;
 import onlinebookstore.repository.user.UserRepository;
-import onlinebookstore.service.shoppingcart.ShoppingCartService;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -45,8 +44,6 @@ public class UserServiceTest {
     private UserMapper userMapper;
     @Mock
     private PasswordEncoder passwordEncoder;
-    @Mock
-    private ShoppingCartService shoppingCartService;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -84,9 +81,8 @@ public class UserServiceTest {
         verify(userMapper, times(1)).toUserEntity(userRegistrationDto);
         verify(passwordEncoder, times(1)).encode(userRegistrationDto.password());
         verify(userRepository, times(1)).save(any(User.class));
-        verify(shoppingCartService, times(1)).registerNewShoppingCart(any(User.class));
         verify(userMapper, times(1)).toUserDto(any(User.class));
-        verifyNoMoreInteractions(userRepository, userMapper, passwordEncoder, shoppingCartService);
+        verifyNoMoreInteractions(userRepository, userMapper, passwordEncoder);
     }
 
     @Test
@@ -106,8 +102,7 @@ public class UserServiceTest {
 
         verify(userRepository, times(1)).existsByEmail(userRegistrationDto.email());
         verify(userRepository, never()).save(any(User.class));
-        verify(shoppingCartService, never()).registerNewShoppingCart(any(User.class));
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(userMapper, passwordEncoder, shoppingCartService);
+        verifyNoInteractions(userMapper, passwordEncoder);
     }
 }
@@ -2,7 +2,6 @@ package onlinebookstore.util;
 
 import static onlinebookstore.model.Role.RoleName.ADMIN;
 import static onlinebookstore.model.Role.RoleName.USER;
-import static onlinebookstore.service.category.CategoryServiceImpl.categoriesCache;
 import static onlinebookstore.service.user.UserServiceImpl.rolesCache;
 import static onlinebookstore.util.repository.RepositoryTestDataUtil.DEFAULT_ORDER_STATUS;
 import static onlinebookstore.util.repository.RepositoryTestDataUtil.ORDER_DATE;
@@ -15,18 +14,24 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
+import onlinebookstore.dto.book.BookCategoryIdDto;
 import onlinebookstore.dto.book.BookDto;
 import onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import onlinebookstore.dto.book.BookSearchDocument;
+import onlinebookstore.dto.book.BookSearchParametersDto;
 import onlinebookstore.dto.book.CreateBookRequestDto;
 import onlinebookstore.dto.cartitem.CartItemDto;
+import onlinebookstore.dto.cartitem.CartItemOperationDto;
 import onlinebookstore.dto.cartitem.CartItemRequestDto;
 import onlinebookstore.dto.cartitem.UpdateCartItemDto;
 import onlinebookstore.dto.category.CategoryDto;
 import onlinebookstore.dto.category.CreateCategoryRequestDto;
 import onlinebookstore.dto.order.OrderDto;
 import onlinebookstore.dto.order.OrderRequestDto;
+import onlinebookstore.dto.order.OrderStatusVersionDto;
 import onlinebookstore.dto.order.UpdateOrderDto;
 import onlinebookstore.dto.orderitem.OrderItemDto;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
 import onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import onlinebookstore.dto.user.UserLoginRequestDto;
 import onlinebookstore.dto.user.UserRegistrationRequestDto;
@@ -39,7 +44,6 @@ import onlinebookstore.model.OrderItem;
 import onlinebookstore.model.Role;
 import onlinebookstore.model.ShoppingCart;
 import onlinebookstore.model.User;
-import onlinebookstore.repository.category.CategoryRepository;
 import onlinebookstore.repository.role.RoleRepository;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -52,6 +56,9 @@ public class TestDataUtil {
     public static final int EXPECTED_CART_ITEMS_SIZE = 2;
     public static final int EXPECTED_ORDER_ITEMS_SIZE = 2;
     public static final int UPDATED_QUANTITY = 100;
+    public static final Long EXISTING_CART_VERSION = 0L;
+    public static final Long STALE_CART_VERSION = -1L;
+    public static final String IDEMPOTENCY_KEY = "5f0c6a2e-3b1d-4c8e-9a7f-2d4b6e8c0a13";
     public static final int NEGATIVE_VALUE = -1;
     public static final Long NEGATIVE_ID = -1L;
     public static final Long EXISTING_BOOK_ID = 101L;
@@ -72,6 +79,7 @@ public class TestDataUtil {
     public static final Long ROLE_ADMIN_ID = 102L;
     public static final Long EXISTING_SHOPPING_CART_ID = 101L;
     public static final Long EXISTING_CART_ITEM_ID = 101L;
+    public static final Long ALTERNATIVE_CART_ITEM_ID = 102L;
     public static final Long NEW_CART_ITEM_ID = 103L;
     public static final Long NOT_EXISTING_CART_ITEM_ID = 999L;
     public static final Long EXISTING_ORDER_ID = 101L;
@@ -82,6 +90,8 @@ public class TestDataUtil {
     public static final String SOFT_DELETED_BOOK_ISBN = "1000000000104";
     public static final String NOT_EXISTING_ISBN = "9999999999999";
     public static final String INVALID_FORMAT_ISBN = "INVALID ISBN";
+    public static final String BOOK_CSV_HEADER =
+            "title,author,isbn,price,description,coverImage,categoryIds";
     public static final String TEST_LONG_DATA = """
             TESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTEST
             TESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTESTTEST
@@ -98,12 +108,14 @@ public class TestDataUtil {
             "id",
             "userId",
             "cartItems.id",
-            "cartItems.bookId"
+            "cartItems.bookId",
+            "version"
     };
     public static final String[] SHOPPING_CART_DTO_IGNORING_CART_ITEMS_FIELD = new String[] {
             "id",
             "userId",
-            "cartItems"
+            "cartItems",
+            "version"
     };
     public static final String[] SHOPPING_CART_IGNORING_FIELDS = new String[] {
             "id",
@@ -114,7 +126,8 @@ public class TestDataUtil {
             "cartItems.book.categories",
             "cartItems.book.id",
     };
-    public static final String[] USER_IGNORING_FIELDS = new String[] {"id", "roles.id"};
+    public static final String[] USER_IGNORING_FIELDS = new String[] {"id", "roles.id",
+            "loadedCredentials"};
     public static final String[] ORDER_IGNORING_FIELDS = new String[] {
             "id",
             "user",
@@ -185,12 +198,6 @@ public class TestDataUtil {
     protected TestDataUtil() {
     }
 
-    public static void fillCategoryCache(CategoryRepository categoryRepository) {
-        categoriesCache.clear();
-        categoryRepository.findAll().forEach(category ->
-                categoriesCache.put(category.getId(), category));
-    }
-
     public static void fillRoleCache(RoleRepository roleRepository) {
         rolesCache.clear();
         roleRepository.findAll().forEach(role ->
@@ -228,6 +235,20 @@ public class TestDataUtil {
         );
     }
 
+    public static String createTestBookCsvRow(BookDto bookDto) {
+        return String.join(",",
+                bookDto.getTitle(),
+                bookDto.getAuthor(),
+                bookDto.getIsbn(),
+                bookDto.getPrice().toString(),
+                "\"" + bookDto.getDescription().replace("\"", "\"\"") + "\"",
+                bookDto.getCoverImage(),
+                bookDto.getCategoryIds().stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(";"))
+        );
+    }
+
     public static BookDto createTestInvalidBookDto() {
         Set<Long> categoryIds = new HashSet<>();
 
@@ -286,6 +307,21 @@ public class TestDataUtil {
                 .toList();
     }
 
+    public static BookSearchParametersDto createTestBookSearchParametersDto(BookDto bookDto) {
+        return new BookSearchParametersDto(
+                bookDto.getTitle(),
+                bookDto.getAuthor(),
+                bookDto.getIsbn(),
+                List.of(bookDto.getPrice().subtract(BigDecimal.TWO),
+                        bookDto.getPrice().add(BigDecimal.TWO))
+        );
+    }
+
+    public static BookSearchDocument createTestBookSearchDocument(Long id, String title,
+                                                                  String author) {
+        return new BookSearchDocument(id, title, author, String.valueOf(id), new BigDecimal(id));
+    }
+
     public static BookDtoWithoutCategoryIds createTestBookDtoWithoutCategoryId(BookDto bookDto) {
         return new BookDtoWithoutCategoryIds(
                 bookDto.getId(),
@@ -298,6 +334,12 @@ public class TestDataUtil {
         );
     }
 
+    public static List<BookCategoryIdDto> createTestBookCategoryIdDtoList(BookDto bookDto) {
+        return bookDto.getCategoryIds().stream()
+                .map(categoryId -> new BookCategoryIdDto(bookDto.getId(), categoryId))
+                .toList();
+    }
+
     public static CategoryDto createTestCategoryDto(Long id) {
         return new CategoryDto(
                 id,
@@ -357,6 +399,10 @@ public class TestDataUtil {
         shoppingCartDto.setId(userId);
         shoppingCartDto.setUserId(userId);
         shoppingCartDto.setCartItems(cartItemDtos);
+        CartTotalsDto totals = createTestCartTotalsDto(cartItemDtos);
+        shoppingCartDto.setTotalQuantity(totals.totalQuantity());
+        shoppingCartDto.setTotalPrice(totals.totalPrice());
+        shoppingCartDto.setVersion(totals.version());
         return shoppingCartDto;
     }
 
@@ -366,6 +412,9 @@ public class TestDataUtil {
         shoppingCart.setId(shoppingCartDto.getId());
         shoppingCart.setUser(createTestUser(shoppingCartDto.getUserId()));
         shoppingCart.setCartItems(convertToCartItemSet(cartItemDtos, shoppingCart));
+        shoppingCart.setItemCount(shoppingCartDto.getTotalQuantity());
+        shoppingCart.setSubtotal(shoppingCartDto.getTotalPrice());
+        shoppingCart.setVersion(EXISTING_CART_VERSION);
         return shoppingCart;
     }
 
@@ -380,6 +429,7 @@ public class TestDataUtil {
         shoppingCart.setId(userId);
         shoppingCart.setUser(createTestUser(userId));
         shoppingCart.setCartItems(cartItems);
+        shoppingCart.setVersion(EXISTING_CART_VERSION);
         return shoppingCart;
     }
 
@@ -456,6 +506,26 @@ public class TestDataUtil {
         return requestDto;
     }
 
+    public static CartTotalsDto createTestCartTotalsDto() {
+        return createTestCartTotalsDto(createTestShoppingCartDto(EXISTING_USER_ID).getCartItems());
+    }
+
+    public static CartTotalsDto createTestCartTotalsDto(Set<CartItemDto> cartItemDtos) {
+        long totalQuantity = cartItemDtos.stream().mapToLong(CartItemDto::getQuantity).sum();
+        BigDecimal totalPrice = cartItemDtos.stream()
+                .map(cartItemDto -> new BigDecimal(cartItemDto.getBookId())
+                        .multiply(BigDecimal.valueOf(cartItemDto.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new CartTotalsDto(totalQuantity, totalPrice, EXISTING_CART_VERSION);
+    }
+
+    public static CartItemOperationDto createTestCartItemOperationDto(
+            CartItemOperationDto.Type type, Long id, Integer quantity) {
+        return type == CartItemOperationDto.Type.ADD
+                ? new CartItemOperationDto(type, id, null, quantity)
+                : new CartItemOperationDto(type, null, id, quantity);
+    }
+
     public static UpdateCartItemDto createTestUpdateCartItemDto(int updatedQuantity) {
         UpdateCartItemDto updateCartItemDto = new UpdateCartItemDto();
         updateCartItemDto.setQuantity(updatedQuantity);
@@ -568,6 +638,7 @@ public class TestDataUtil {
         order.setOrderDate(orderDto.getOrderDate());
         order.setShippingAddress(ORDER_TEST_DATA_MAP.get("shippingAddress") + orderDto.getId());
         order.setStatus(Order.Status.PENDING);
+        order.setVersion(0L);
         return order;
     }
 
@@ -586,6 +657,7 @@ public class TestDataUtil {
         order.setOrderDate(ORDER_DATE);
         order.setShippingAddress(ORDER_TEST_DATA_MAP.get("shippingAddress") + id);
         order.setStatus(Order.Status.PENDING);
+        order.setVersion(0L);
         return order;
     }
 
@@ -594,7 +666,13 @@ public class TestDataUtil {
     }
 
     public static UpdateOrderDto createTestUpdateOrderDto(Order order) {
-        return new UpdateOrderDto(order.getStatus().toString());
+        Order.Status nextStatus = Order.Status.values()[order.getStatus().ordinal() + 1];
+        return new UpdateOrderDto(nextStatus.toString());
+    }
+
+    public static OrderStatusVersionDto createTestOrderStatusVersionDto(Long id,
+                                                                        Order.Status status) {
+        return new OrderStatusVersionDto(id, status, 0L);
     }
 
     public static OrderItemDto createTestOrderItemDto(Long id) {
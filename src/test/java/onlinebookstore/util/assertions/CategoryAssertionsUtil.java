@@ -1,21 +1,23 @@
 package onlinebookstore.util.assertions;
 
-import static onlinebookstore.service.category.CategoryServiceImpl.categoriesCache;
 import static onlinebookstore.util.TestDataUtil.CATEGORY_IGNORING_FIELD;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import onlinebookstore.model.Category;
+import onlinebookstore.service.category.CategoryCache;
 
 public class CategoryAssertionsUtil extends TestAssertionsUtil {
     private CategoryAssertionsUtil() {
     }
 
-    public static void assertAddingCategoriesCash(Category actual, int expectedSize) {
-        assertThat(categoriesCache).hasSize(expectedSize);
-        assertThat(categoriesCache).containsKey(actual.getId());
+    public static void assertAddingCategoriesCash(CategoryCache categoryCache,
+                                                  Category actual,
+                                                  int expectedSize) {
+        assertThat(categoryCache.size()).isEqualTo(expectedSize);
+        assertThat(categoryCache.contains(actual.getId())).isTrue();
         assertObjectsAreEqualIgnoringFields(
                 actual,
-                categoriesCache.get(actual.getId()),
+                categoryCache.get(actual.getId()).orElseThrow(),
                 CATEGORY_IGNORING_FIELD);
     }
 }
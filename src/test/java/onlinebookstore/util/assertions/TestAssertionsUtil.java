@@ -11,6 +11,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import onlinebookstore.dto.cartitem.CartItemDto;
+import onlinebookstore.dto.shoppingcart.CartTotalsDto;
 import onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import org.springframework.data.domain.Page;
 import org.springframework.test.web.servlet.MvcResult;
@@ -83,4 +84,9 @@ public class TestAssertionsUtil {
                         && expected.getQuantity() == actual.getQuantity()
         );
     }
+
+    public static void assertCartTotalsEqual(CartTotalsDto actual, CartTotalsDto expected) {
+        assertThat(actual.totalQuantity()).isEqualTo(expected.totalQuantity());
+        assertThat(actual.totalPrice()).isEqualByComparingTo(expected.totalPrice());
+    }
 }
@@ -12,10 +12,19 @@ public class ControllerTestDataUtil extends TestDataUtil {
     public static final int UNPROCESSABLE_ENTITY = HttpStatus.UNPROCESSABLE_ENTITY.value();
     public static final int UNAUTHORIZED = HttpStatus.UNAUTHORIZED.value();
     public static final int CONFLICT = HttpStatus.CONFLICT.value();
+    public static final int PRECONDITION_FAILED = HttpStatus.PRECONDITION_FAILED.value();
     public static final String URL_BOOKS = "/books";
+    public static final String URL_BOOKS_CURSOR = "/books/cursor";
+    public static final String URL_BOOKS_IMPORT = "/books/import";
+    public static final String URL_BOOKS_EXPORT = "/books/export";
     public static final String URL_BOOKS_SEARCH = "/books/search";
+    public static final String URL_BOOKS_SEARCH_CURSOR = "/books/search/cursor";
     public static final String URL_BOOKS_EXISTING_BOOK_ID = "/books/" + EXISTING_BOOK_ID;
     public static final String URL_BOOKS_NOT_EXISTING_BOOK_ID = "/books/" + NOT_EXISTING_BOOK_ID;
+    public static final String URL_BOOKS_EXISTING_BOOK_ID_STOCK = "/books/"
+            + EXISTING_BOOK_ID + "/stock";
+    public static final String URL_BOOKS_NOT_EXISTING_BOOK_ID_STOCK = "/books/"
+            + NOT_EXISTING_BOOK_ID + "/stock";
     public static final String URL_BOOKS_SAFE_DELETED_BOOK_ID = "/books/" + SAFE_DELETED_BOOK_ID;
     public static final String URL_CATEGORIES = "/categories";
     public static final String URL_CATEGORIES_EXISTING_CATEGORY_ID = "/categories/"
@@ -26,6 +35,8 @@ public class ControllerTestDataUtil extends TestDataUtil {
             + SAFE_DELETED_CATEGORY_ID;
     public static final String URL_GET_BOOKS_BY_EXISTING_CATEGORY_ID = "/categories/"
             + EXISTING_CATEGORY_ID + "/books";
+    public static final String URL_GET_BOOKS_BY_EXISTING_CATEGORY_ID_CURSOR =
+            URL_GET_BOOKS_BY_EXISTING_CATEGORY_ID + "/cursor";
     public static final String URL_GET_BOOKS_BY_ALTERNATIVE_CATEGORY_ID = "/categories/"
             + ALTERNATIVE_CATEGORY_ID + "/books";
     public static final String URL_GET_BOOKS_BY_NOT_EXISTING_CATEGORY_ID = "/categories/"
@@ -35,7 +46,11 @@ public class ControllerTestDataUtil extends TestDataUtil {
             + EXISTING_CART_ITEM_ID;
     public static final String URL_SHOPPING_CART_ITEMS_NOT_EXISTING_CART_ID = "/cart/items/"
             + NOT_EXISTING_CART_ITEM_ID;
+    public static final String URL_SHOPPING_CART_ITEMS_BATCH = "/cart/items/batch";
+    public static final String URL_SHOPPING_CART_TOTALS = "/cart/totals";
     public static final String URL_ORDERS = "/orders";
+    public static final String URL_ORDERS_CURSOR = "/orders/cursor";
+    public static final String URL_ORDERS_STATUS = "/orders/status";
     public static final String URL_ORDERS_EXISTING_ORDER_ID = "/orders/" + EXISTING_ORDER_ID;
     public static final String URL_ORDERS_NOT_EXISTING_ORDER_ID = "/orders/"
             + NOT_EXISTING_ORDER_ID;
@@ -50,6 +65,7 @@ public class ControllerTestDataUtil extends TestDataUtil {
     public static final String URL_ORDER_ITEMS_NOT_EXISTING_ORDER_ID = "/orders/"
             + NOT_EXISTING_ORDER_ID + "/items";
     public static final String URL_LOGIN = "/auth/login";
+    public static final String URL_LOGOUT = "/auth/logout";
 
     public static final String URL_REGISTRATION = "/auth/registration";
     public static final List<String> EXPECTED_SEARCH_ERROR_MESSAGES = List.of(
@@ -87,6 +103,9 @@ public class ControllerTestDataUtil extends TestDataUtil {
             "bookId Invalid book id. Value shouldn't be null",
             "quantity Invalid quantity. Value should be positive."
     );
+    public static final List<String> EXPECTED_CART_ITEM_BATCH_ERRORS = List.of(
+            "operations Invalid operations. Value shouldn't be empty."
+    );
     public static final List<String> EXPECTED_CART_ITEM_VALUE_NEGATIVE_ERRORS = List.of(
             "bookId Invalid book id. Value should be positive.",
             "quantity Invalid quantity. Value should be positive."
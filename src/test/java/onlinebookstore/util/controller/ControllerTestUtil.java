@@ -24,11 +24,8 @@ public class ControllerTestUtil {
 
     public static List<BookDto> parseResponseToList(MvcResult result,
                                                     ObjectMapper objectMapper) throws Exception {
-        return objectMapper.readValue(
-                result.getResponse().getContentAsString(),
-                new TypeReference<>() {
-                }
-        );
+        return parsePageContent(result, objectMapper, new TypeReference<>() {
+        });
     }
 
     public static <T> T parseResponseToObject(MvcResult result,
@@ -1,15 +1,24 @@
 package onlinebookstore.util.service.book;
 
 import static onlinebookstore.util.TestDataUtil.convertToCategorySet;
+import static onlinebookstore.util.TestDataUtil.createTestBookCategoryIdDtoList;
+import static onlinebookstore.util.TestDataUtil.createTestBookDtoWithoutCategoryId;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Set;
+import onlinebookstore.dto.book.BookDto;
+import onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
 import onlinebookstore.dto.book.CreateBookRequestDto;
 import onlinebookstore.mapper.BookMapper;
 import onlinebookstore.model.Book;
 import onlinebookstore.model.Category;
+import onlinebookstore.repository.book.BookRepository;
 
 public class BookMockUtil {
     private BookMockUtil() {
@@ -30,6 +39,27 @@ public class BookMockUtil {
         }).when(bookMapper).updateBookEntity(createBookRequestDto, book);
     }
 
+    public static void mockBookDtoLoading(BookRepository bookRepository,
+                                          BookMapper bookMapper,
+                                          BookDto bookDto) {
+        BookDtoWithoutCategoryIds book = createTestBookDtoWithoutCategoryId(bookDto);
+        List<Long> ids = List.of(bookDto.getId());
+        when(bookRepository.findAllViewsByIdIn(ids)).thenReturn(List.of(book));
+        when(bookRepository.findCategoryIdsByBookIdIn(ids))
+                .thenReturn(createTestBookCategoryIdDtoList(bookDto));
+        when(bookMapper.toBookDto(book, bookDto.getCategoryIds())).thenReturn(bookDto);
+    }
+
+    public static void verifyBookDtoLoading(BookRepository bookRepository,
+                                            BookMapper bookMapper,
+                                            BookDto bookDto) {
+        List<Long> ids = List.of(bookDto.getId());
+        verify(bookRepository, times(1)).findAllViewsByIdIn(ids);
+        verify(bookRepository, times(1)).findCategoryIdsByBookIdIn(ids);
+        verify(bookMapper, times(1)).toBookDto(
+                createTestBookDtoWithoutCategoryId(bookDto), bookDto.getCategoryIds());
+    }
+
     private static void assertEntitiesAreDifferent(CreateBookRequestDto dto, Book entity) {
         assertThat(dto.title()).isNotEqualTo(entity.getTitle());
         assertThat(dto.author()).isNotEqualTo(entity.getAuthor());
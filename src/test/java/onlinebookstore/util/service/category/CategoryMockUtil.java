@@ -42,7 +42,7 @@ public class CategoryMockUtil {
                                                      Category entity) {
         assertThat(entity)
                 .usingRecursiveComparison()
-                .ignoringFields("id", "isDeleted")
+                .ignoringFields("id", "isDeleted", "updatedAt")
                 .isEqualTo(dto);
     }
 }
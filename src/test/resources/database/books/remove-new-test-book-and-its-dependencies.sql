@@ -1,2 +1,2 @@
-delete from books_categories where book_id = 105;
-delete from books where id = 105;
\ No newline at end of file
+delete from books_categories where book_id in (select id from books where isbn = '1000000000105');
+delete from books where isbn = '1000000000105';
\ No newline at end of file
@@ -1 +1 @@
-delete from books_categories where category_id between 101 and 102;
+delete from books_categories where category_id between 101 and 103;
\ No newline at end of file
@@ -3,3 +3,12 @@ values (101, 101, 101, 101);
 
 insert into cart_items (id, shopping_cart_id, book_id, quantity)
 values (102, 101, 102, 102);
+
+update shopping_carts sc
+set item_count = (select coalesce(sum(ci.quantity), 0) from cart_items ci
+                  join books b on b.id = ci.book_id and b.is_deleted = false
+                  where ci.shopping_cart_id = sc.id),
+    subtotal = (select coalesce(sum(ci.quantity * b.price), 0) from cart_items ci
+                join books b on b.id = ci.book_id and b.is_deleted = false
+                where ci.shopping_cart_id = sc.id)
+where sc.id = 101;
@@ -1 +1,10 @@
-delete from cart_items where id = 103;
+delete from cart_items where shopping_cart_id = 101 and book_id = 103;
+
+update shopping_carts sc
+set item_count = (select coalesce(sum(ci.quantity), 0) from cart_items ci
+                  join books b on b.id = ci.book_id and b.is_deleted = false
+                  where ci.shopping_cart_id = sc.id),
+    subtotal = (select coalesce(sum(ci.quantity * b.price), 0) from cart_items ci
+                join books b on b.id = ci.book_id and b.is_deleted = false
+                where ci.shopping_cart_id = sc.id)
+where sc.id = 101;
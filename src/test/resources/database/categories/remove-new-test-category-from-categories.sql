@@ -1 +1 @@
-delete from categories where id = 104;
\ No newline at end of file
+delete from categories where name = 'Test category 104';
\ No newline at end of file
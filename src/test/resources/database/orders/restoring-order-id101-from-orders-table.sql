@@ -1 +1 @@
-update orders set  status = 'PENDING' where id = 101;
+update orders set status = 'PENDING', version = 0 where id = 101;
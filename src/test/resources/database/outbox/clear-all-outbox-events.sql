@@ -0,0 +1 @@
+delete from outbox_events;
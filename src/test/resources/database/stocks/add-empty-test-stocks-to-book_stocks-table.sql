@@ -0,0 +1,5 @@
+insert into book_stocks (book_id, quantity)
+values (101, 0);
+
+insert into book_stocks (book_id, quantity)
+values (102, 0);
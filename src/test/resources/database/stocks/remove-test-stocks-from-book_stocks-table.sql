@@ -0,0 +1 @@
+delete from book_stocks where book_id between 101 and 104;
@@ -1,2 +1,2 @@
-delete from users_roles where user_id = 103;
-delete from users where id = 103;
+delete from users_roles where user_id in (select id from users where email = '103@example.com');
+delete from users where email = '103@example.com';
\ No newline at end of file